@@ -26,6 +26,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.rewrite.commenthandler.ASTCommenter;
+import org.eclipse.cdt.internal.core.model.SharedASTCache;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -43,6 +44,8 @@ public class CxxModelsCache implements ICodanDisposable {
 	private final IFile file;
 	private final ITranslationUnit tu;
 	private IASTTranslationUnit ast;
+	/** Whether {@link #ast} was acquired from the {@link SharedASTCache} and has to be released. */
+	private boolean sharedAST;
 	private IIndex index;
 	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
 	private ICodanCommentMap commentMap;
@@ -69,7 +72,8 @@ public class CxxModelsCache implements ICodanDisposable {
 		}
 		if (ast == null) {
 			getIndex();
-			ast = tu.getAST(index, PARSE_MODE);
+			ast = SharedASTCache.getDefault().acquireAST(tu, index, PARSE_MODE, null);
+			sharedAST = ast != null;
 		}
 		return ast;
 	}
@@ -139,6 +143,10 @@ public class CxxModelsCache implements ICodanDisposable {
 	public void dispose() {
 		Assert.isTrue(!disposed, "CxxASTCache.dispose() called more than once."); //$NON-NLS-1$
 		disposed = true;
+		if (sharedAST) {
+			SharedASTCache.getDefault().releaseAST(ast);
+			sharedAST = false;
+		}
 		if (index != null) {
 			index.releaseReadLock();
 		}
@@ -18,6 +18,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.cdtvariables.ICdtVariable;
+import org.eclipse.cdt.core.cdtvariables.IStorableCdtVariables;
+import org.eclipse.cdt.core.cdtvariables.IUserVarSupplier;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
@@ -296,6 +300,57 @@ public class LanguageSettingsScannerInfoProviderTests extends BaseTestCase {
 		assertEquals(1, actualLocalIncludePath.length);
 	}
 
+	/**
+	 * Test that resources with the same entries share the resolved scanner info.
+	 */
+	public void testSharedResolvedEntries() throws Exception {
+		// create a project
+		IProject project = ResourceHelper.createCDTProjectWithConfig(getName());
+		ICProjectDescription prjDescription = CProjectDescriptionManager.getInstance().getProjectDescription(project,
+				WRITEABLE);
+		assertNotNull(prjDescription);
+		ICConfigurationDescription cfgDescription = prjDescription.getDefaultSettingConfiguration();
+		assertNotNull(cfgDescription);
+		assertTrue(cfgDescription instanceof ILanguageSettingsProvidersKeeper);
+
+		// sample files
+		IFile file1 = ResourceHelper.createFile(project, "file1.c");
+		IFile file2 = ResourceHelper.createFile(project, "file2.c");
+
+		// contribute the entries
+		IFolder includeFolder = ResourceHelper.createFolder(project, "/include-path");
+		List<ICLanguageSettingEntry> entries = new ArrayList<>();
+		entries.add(new CIncludePathEntry(includeFolder, 0));
+		entries.add(new CMacroEntry("MACRO", "value", 0));
+
+		// add provider to the configuration
+		ILanguageSettingsProvider provider = new MockProvider(PROVIDER_ID, PROVIDER_NAME, entries);
+		List<ILanguageSettingsProvider> providers = new ArrayList<>();
+		providers.add(provider);
+		((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+
+		// set project description
+		CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescription);
+
+		// the resolved paths and macros are shared, but not the scanner info itself
+		LanguageSettingsScannerInfoProvider scannerInfoProvider = new LanguageSettingsScannerInfoProvider();
+		ExtendedScannerInfo info1 = scannerInfoProvider.getScannerInformation(file1);
+		ExtendedScannerInfo info2 = scannerInfoProvider.getScannerInformation(file2);
+		assertNotSame(info1, info2);
+		assertSame(info1.getIncludePaths(), info2.getIncludePaths());
+		assertSame(info1.getDefinedSymbols(), info2.getDefinedSymbols());
+		assertEquals(includeFolder.getLocation(), new Path(info2.getIncludePaths()[0]));
+		assertEquals("value", info2.getDefinedSymbols().get("MACRO"));
+
+		// the shared macros cannot be modified through one of the resources
+		try {
+			info1.getDefinedSymbols().put("MACRO", "other");
+			fail("the shared macros must not be modifiable");
+		} catch (UnsupportedOperationException e) {
+		}
+		assertEquals("value", info2.getDefinedSymbols().get("MACRO"));
+	}
+
 	/**
 	 * Test "local" flag (#include "...").
 	 */
@@ -780,6 +835,59 @@ public class LanguageSettingsScannerInfoProviderTests extends BaseTestCase {
 		assertEquals(1, actualIncludePaths.length);
 	}
 
+	/**
+	 * Test that entries are resolved again when a workspace build variable changes.
+	 */
+	public void testWorkspaceVariableChange() throws Exception {
+		// create a project
+		IProject project = ResourceHelper.createCDTProjectWithConfig(getName());
+		IFolder folder1 = ResourceHelper.createFolder(project, "Folder1");
+		IFolder folder2 = ResourceHelper.createFolder(project, "Folder2");
+		String varName = getName() + "Var";
+		IUserVarSupplier userVarSupplier = CCorePlugin.getUserVarSupplier();
+		IStorableCdtVariables workspaceVars = userVarSupplier.getWorkspaceVariablesCopy();
+		workspaceVars.createMacro(varName, ICdtVariable.VALUE_TEXT, "Folder1");
+		userVarSupplier.setWorkspaceVariables(workspaceVars);
+		try {
+			// get project/configuration descriptions
+			ICProjectDescription prjDescription = CProjectDescriptionManager.getInstance()
+					.getProjectDescription(project, WRITEABLE);
+			assertNotNull(prjDescription);
+			ICConfigurationDescription cfgDescription = prjDescription.getDefaultSettingConfiguration();
+			assertNotNull(cfgDescription);
+			assertTrue(cfgDescription instanceof ILanguageSettingsProvidersKeeper);
+
+			// create sample file
+			IFile file = ResourceHelper.createFile(project, "file.c");
+
+			// contribute the entries
+			List<ICLanguageSettingEntry> entries = new ArrayList<>();
+			entries.add(new CIncludePathEntry("${ProjDirPath}/${" + varName + "}", 0));
+
+			// add provider to the configuration
+			ILanguageSettingsProvider provider = new MockProvider(PROVIDER_ID, PROVIDER_NAME, entries);
+			List<ILanguageSettingsProvider> providers = new ArrayList<>();
+			providers.add(provider);
+			((ILanguageSettingsProvidersKeeper) cfgDescription).setLanguageSettingProviders(providers);
+
+			// set project description
+			CProjectDescriptionManager.getInstance().setProjectDescription(project, prjDescription);
+
+			// the entries are resolved with the current value of the variable
+			LanguageSettingsScannerInfoProvider scannerInfoProvider = new LanguageSettingsScannerInfoProvider();
+			ExtendedScannerInfo info = scannerInfoProvider.getScannerInformation(file);
+			assertEquals(folder1.getLocation(), new Path(info.getIncludePaths()[0]));
+
+			workspaceVars.createMacro(varName, ICdtVariable.VALUE_TEXT, "Folder2");
+			userVarSupplier.setWorkspaceVariables(workspaceVars);
+			info = scannerInfoProvider.getScannerInformation(file);
+			assertEquals(folder2.getLocation(), new Path(info.getIncludePaths()[0]));
+		} finally {
+			workspaceVars.deleteMacro(varName);
+			userVarSupplier.setWorkspaceVariables(workspaceVars);
+		}
+	}
+
 	/**
 	 * Test from parent folder's entries.
 	 */
@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.model.ASTCache;
 import org.eclipse.cdt.internal.core.model.ASTCache.ASTRunnable;
+import org.eclipse.cdt.internal.core.model.SharedASTCache;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -150,6 +151,40 @@ public class ASTCacheTests extends BaseTestCase {
 		checkAccessWithConcurrentReconciler();
 	}
 
+	public void testSharedASTCache() throws Exception {
+		SharedASTCache cache = new SharedASTCache(1);
+		IASTTranslationUnit ast1 = cache.acquireAST(fTU1, fIndex, ASTCache.PARSE_MODE, null);
+		assertNotNull(ast1);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// The cached AST is in use, a private one has to be created.
+		IASTTranslationUnit ast2 = cache.acquireAST(fTU1, fIndex, ASTCache.PARSE_MODE, null);
+		assertNotNull(ast2);
+		assertNotSame(ast1, ast2);
+		assertEquals(2, cache.getMissCount());
+		cache.releaseAST(ast2);
+		cache.releaseAST(ast1);
+
+		IASTTranslationUnit ast = cache.acquireAST(fTU1, fIndex, ASTCache.PARSE_MODE, null);
+		assertSame(ast1, ast);
+		assertEquals(1, cache.getHitCount());
+		cache.releaseAST(ast);
+
+		// Different parse flags require a different AST.
+		ast = cache.acquireAST(fTU1, fIndex, ASTCache.PARSE_MODE | ITranslationUnit.AST_SKIP_FUNCTION_BODIES,
+				null);
+		assertNotSame(ast1, ast);
+		assertEquals(3, cache.getMissCount());
+		cache.releaseAST(ast);
+
+		// The AST of fTU1 has been evicted.
+		ast = cache.acquireAST(fTU1, fIndex, ASTCache.PARSE_MODE, null);
+		assertNotSame(ast1, ast);
+		assertEquals(4, cache.getMissCount());
+		cache.releaseAST(ast);
+	}
+
 	private void checkActiveElement() throws Exception {
 		ASTCache cache = new ASTCache();
 		assertFalse(cache.isActiveElement(fTU1));
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.core.model.tests;
+
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.IParent;
+import org.eclipse.cdt.core.model.ISourceRange;
+import org.eclipse.cdt.core.model.ISourceReference;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.core.resources.IFile;
+
+import junit.framework.Test;
+
+/**
+ * Tests for building the structure of translation units from the index.
+ */
+public class IndexModelBuilderTest extends BaseTestCase {
+	private static final String MODEL_FROM_INDEX = "org.eclipse.cdt.core.model_from_index";
+
+	public static Test suite() {
+		return suite(IndexModelBuilderTest.class, "_");
+	}
+
+	private ICProject fCProject;
+	private ITranslationUnit fTU;
+
+	public IndexModelBuilderTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject(getName(), null, IPDOMManager.ID_FAST_INDEXER);
+		assertNotNull(fCProject);
+		TestSourceReader.createFile(fCProject.getProject(), "header.h", "int fromHeader;\n");
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), "source.cpp", //
+				"#include \"header.h\"\n" //
+						+ "#define MAX 10\n" //
+						+ "namespace ns {\n" //
+						+ "struct Base {};\n" //
+						+ "class A : public Base {\n" //
+						+ "public:\n" //
+						+ "	A();\n" //
+						+ "	int get() const;\n" //
+						+ "private:\n" //
+						+ "	int fValue;\n" //
+						+ "};\n" //
+						+ "int A::get() const { return fValue; }\n" //
+						+ "enum Color { RED, GREEN };\n" //
+						+ "}\n" //
+						+ "typedef int Number;\n" //
+						+ "int global;\n" //
+						+ "extern int external;\n" //
+						+ "static void helper(int a, char b) { int local; }\n");
+		fTU = (ITranslationUnit) CoreModel.getDefault().create(file);
+		assertNotNull(fTU);
+		waitForIndexer(fCProject);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		System.clearProperty(MODEL_FROM_INDEX);
+		CProjectHelper.delete(fCProject);
+		super.tearDown();
+	}
+
+	public void testStructureFromIndexMatchesParsedStructure() throws Exception {
+		fTU.close();
+		String parsed = getStructure(fTU);
+		ISourceRange parsedRange = ((ISourceReference) fTU.getElement("ns")).getSourceRange();
+		assertTrue(parsedRange.getStartPos() < parsedRange.getIdStartPos());
+
+		System.setProperty(MODEL_FROM_INDEX, "true");
+		fTU.close();
+		String fromIndex = getStructure(fTU);
+		ISourceRange indexRange = ((ISourceReference) fTU.getElement("ns")).getSourceRange();
+		// The index does not know the extent of the namespace definition.
+		assertEquals(indexRange.getIdStartPos(), indexRange.getStartPos());
+
+		assertEquals(parsed, fromIndex);
+	}
+
+	private static String getStructure(ICElement element) throws Exception {
+		StringBuilder buf = new StringBuilder();
+		appendStructure(buf, element, "");
+		return buf.toString();
+	}
+
+	private static void appendStructure(StringBuilder buf, ICElement element, String indent) throws Exception {
+		buf.append(indent).append(element.getElementType()).append(' ').append(element.getElementName()).append('\n');
+		if (element instanceof IParent) {
+			for (ICElement child : ((IParent) element).getChildren()) {
+				appendStructure(buf, child, indent + "  ");
+			}
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.core.model.tests;
+
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.model.BinaryParserConfig;
+import org.eclipse.cdt.internal.core.model.NonBinaryFileCache;
+import org.eclipse.core.resources.IResource;
+
+import junit.framework.Test;
+
+/**
+ * Tests the files remembered by the binary runner as not being binaries.
+ */
+public class NonBinaryFileCacheTest extends BaseTestCase {
+	private static final String PATH = "/testNonBinaryFileCache/file.txt";
+
+	private ICProject fProject;
+
+	public static Test suite() {
+		return suite(NonBinaryFileCacheTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCProject("testNonBinaryFileCache", null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fProject != null) {
+			CProjectHelper.delete(fProject);
+		}
+		super.tearDown();
+	}
+
+	private NonBinaryFileCache createCache(String... parserIds) {
+		BinaryParserConfig[] parsers = new BinaryParserConfig[parserIds.length];
+		for (int i = 0; i < parserIds.length; i++) {
+			parsers[i] = new BinaryParserConfig(null, parserIds[i]);
+		}
+		NonBinaryFileCache cache = new NonBinaryFileCache(fProject.getProject(), parsers);
+		cache.load();
+		return cache;
+	}
+
+	public void testFilesAreRememberedAcrossSessions() throws Exception {
+		NonBinaryFileCache cache = createCache("elf", "pe");
+		cache.setNonBinary(PATH, 1000, 42);
+		cache.save();
+
+		cache = createCache("elf", "pe");
+		assertTrue(cache.isKnownNonBinary(PATH, 1000, 42));
+		assertFalse(cache.isKnownNonBinary(PATH, 1001, 42));
+		assertFalse(cache.isKnownNonBinary(PATH, 1000, 43));
+
+		cache.setBinary(PATH);
+		cache.save();
+		assertFalse(createCache("elf", "pe").isKnownNonBinary(PATH, 1000, 42));
+	}
+
+	public void testFilesAreRememberedPerParsers() throws Exception {
+		NonBinaryFileCache cache = createCache("elf", "pe");
+		cache.setNonBinary(PATH, 1000, 42);
+		cache.save();
+
+		// A file not recognized by some parsers may be recognized by others.
+		assertFalse(createCache("elf").isKnownNonBinary(PATH, 1000, 42));
+		assertFalse(createCache("elf", "pe", "macho").isKnownNonBinary(PATH, 1000, 42));
+		assertTrue(createCache("pe", "elf").isKnownNonBinary(PATH, 1000, 42));
+	}
+
+	public void testCacheIsDeletedWithProject() throws Exception {
+		NonBinaryFileCache cache = createCache("elf");
+		cache.setNonBinary(PATH, 1000, 42);
+		cache.save();
+		assertTrue(cache.getCacheFile().exists());
+
+		fProject.getProject().delete(IResource.FORCE | IResource.ALWAYS_DELETE_PROJECT_CONTENT, null);
+		fProject = null;
+		assertFalse(cache.getCacheFile().exists());
+		assertFalse(cache.getCacheFile().getParentFile().exists());
+	}
+}
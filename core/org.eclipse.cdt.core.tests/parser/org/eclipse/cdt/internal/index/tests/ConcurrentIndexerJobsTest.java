@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.CCorePreferenceConstants;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.pdom.PDOMManager;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import junit.framework.Test;
+
+/**
+ * Tests indexing several projects with concurrent indexer jobs.
+ */
+public class ConcurrentIndexerJobsTest extends BaseTestCase {
+	private static final int PROJECT_COUNT = 4;
+
+	private ICProject[] fProjects;
+
+	public static Test suite() {
+		return suite(ConcurrentIndexerJobsTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fProjects = new ICProject[PROJECT_COUNT];
+		for (int i = 0; i < PROJECT_COUNT; i++) {
+			fProjects[i] = CProjectHelper.createCCProject("testConcurrentIndexer" + i, null,
+					IPDOMManager.ID_FAST_INDEXER);
+		}
+		for (ICProject project : fProjects) {
+			waitForIndexer(project);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (ICProject project : fProjects) {
+			CProjectHelper.delete(project);
+		}
+		super.tearDown();
+	}
+
+	private void setReferences(ICProject project, ICProject... referenced) throws Exception {
+		IProject[] projects = new IProject[referenced.length];
+		for (int i = 0; i < referenced.length; i++) {
+			projects[i] = referenced[i].getProject();
+		}
+		IProjectDescription description = project.getProject().getDescription();
+		description.setReferencedProjects(projects);
+		project.getProject().setDescription(description, new NullProgressMonitor());
+	}
+
+	public void testReferenceClosure() throws Exception {
+		setReferences(fProjects[0], fProjects[1]);
+		setReferences(fProjects[1], fProjects[2]);
+		IProject p0 = fProjects[0].getProject();
+		IProject p1 = fProjects[1].getProject();
+		IProject p2 = fProjects[2].getProject();
+		IProject p3 = fProjects[3].getProject();
+
+		assertEquals(new HashSet<>(Arrays.asList(p1, p2)), PDOMManager.getReferenceClosure(p0, true));
+		assertEquals(new HashSet<>(Arrays.asList(p0, p1)), PDOMManager.getReferenceClosure(p2, false));
+		assertEquals(Collections.singleton(p2), PDOMManager.getReferenceClosure(p1, true));
+		assertTrue(PDOMManager.getReferenceClosure(p3, true).isEmpty());
+		assertTrue(PDOMManager.getReferenceClosure(p3, false).isEmpty());
+	}
+
+	public void testFinishedJobsAreRemoved() throws Exception {
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(CCorePlugin.PLUGIN_ID);
+		prefs.putInt(CCorePreferenceConstants.MAX_CONCURRENT_INDEXER_JOBS, PROJECT_COUNT);
+		try {
+			for (int i = 0; i < PROJECT_COUNT; i++) {
+				StringBuilder contents = new StringBuilder();
+				for (int j = 0; j < 100; j++) {
+					contents.append("int var").append(i).append('_').append(j).append(";\n");
+				}
+				TestSourceReader.createFile(fProjects[i].getProject(), "file.cpp", contents.toString());
+			}
+			for (ICProject project : fProjects) {
+				waitForIndexer(project);
+			}
+
+			assertEquals(1, CCoreInternals.getPDOMManager().getIndexerJobCount());
+			for (int i = 0; i < PROJECT_COUNT; i++) {
+				IIndex index = CCorePlugin.getIndexManager().getIndex(fProjects[i]);
+				index.acquireReadLock();
+				try {
+					assertEquals(1, index.findBindings(("var" + i + "_99").toCharArray(), IndexFilter.ALL,
+							new NullProgressMonitor()).length);
+				} finally {
+					index.releaseReadLock();
+				}
+			}
+		} finally {
+			prefs.remove(CCorePreferenceConstants.MAX_CONCURRENT_INDEXER_JOBS);
+		}
+	}
+}
@@ -88,6 +88,7 @@ import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
 import org.eclipse.cdt.internal.core.pdom.CModelListener;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IContainer;
@@ -1085,6 +1086,53 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	// class getCurrentValue {};
+	// class getCachedValue {};
+	// class getter {};
+	// namespace ns {
+	//   class getComputedValue {};
+	// };
+
+	// class getCountedValue {};
+	public void testFindBindingsForContentAssistWithCamelCase() throws Exception {
+		waitForIndexer();
+		String[] contents = getContentsForTest(2);
+
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), "testFBFCA1.cpp", contents[0]);
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, file, INDEXER_TIMEOUT_SEC * 1000);
+
+		ContentAssistMatcherFactory factory = ContentAssistMatcherFactory.getInstance();
+		boolean showCamelCaseMatches = factory.getShowCamelCaseMatches();
+		factory.setShowCamelCaseMatches(true);
+		try {
+			fIndex.acquireReadLock();
+			try {
+				IBinding[] bindings = fIndex.findBindingsForContentAssist("gCV".toCharArray(), true,
+						IndexFilter.ALL, null);
+				assertEquals(2, bindings.length);
+
+				bindings = fIndex.findBindingsForContentAssist("gCV".toCharArray(), false, IndexFilter.ALL, null);
+				assertEquals(3, bindings.length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+
+			// Bindings added after the first query are found as well.
+			file = TestSourceReader.createFile(fCProject.getProject(), "testFBFCA2.cpp", contents[1]);
+			TestSourceReader.waitUntilFileIsIndexed(fIndex, file, INDEXER_TIMEOUT_SEC * 1000);
+			fIndex.acquireReadLock();
+			try {
+				IBinding[] bindings = fIndex.findBindingsForContentAssist("gCV".toCharArray(), true,
+						IndexFilter.ALL, null);
+				assertEquals(3, bindings.length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			factory.setShowCamelCaseMatches(showCamelCaseMatches);
+		}
+	}
+
 	// class a { class b { class c { void f(); }; }; };
 	public void testFilterFindBindingsFQCharArray() throws Exception {
 		waitForIndexer();
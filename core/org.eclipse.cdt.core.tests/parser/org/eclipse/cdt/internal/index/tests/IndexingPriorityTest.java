@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.core.resources.IFile;
+
+import junit.framework.Test;
+
+/**
+ * Tests the priorities set for editors and navigation targets.
+ */
+public class IndexingPriorityTest extends BaseTestCase {
+	private ICProject fProject;
+	private IIndexManager fIndexManager;
+
+	public static Test suite() {
+		return suite(IndexingPriorityTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCCProject("testIndexingPriority", null, IPDOMManager.ID_FAST_INDEXER);
+		fIndexManager = CCorePlugin.getIndexManager();
+		waitForIndexer(fProject);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	private IFile createFile(String path) throws Exception {
+		return TestSourceReader.createFile(fProject.getProject(), path, "int a;");
+	}
+
+	private void setPriority(IFile file, int priority) {
+		fIndexManager.setIndexingPriority(new ICElement[] { CoreModel.getDefault().create(file) }, priority);
+	}
+
+	private int getPriority(IFile file) {
+		return fIndexManager.getIndexingPriority(IndexLocationFactory.getWorkspaceIFL(file));
+	}
+
+	public void testEditorPriorityIsCounted() throws Exception {
+		IFile file = createFile("editor/a.cpp");
+		assertEquals(IIndexManager.PRIORITY_DEFAULT, getPriority(file));
+
+		setPriority(file, IIndexManager.PRIORITY_EDITOR);
+		setPriority(file, IIndexManager.PRIORITY_EDITOR);
+		assertEquals(IIndexManager.PRIORITY_EDITOR, getPriority(file));
+		setPriority(file, IIndexManager.PRIORITY_DEFAULT);
+		assertEquals(IIndexManager.PRIORITY_EDITOR, getPriority(file));
+
+		// A file open in an editor remains a navigation target.
+		setPriority(file, IIndexManager.PRIORITY_DEFAULT);
+		assertEquals(IIndexManager.PRIORITY_NAVIGATION, getPriority(file));
+	}
+
+	public void testNavigationPriorityAppliesToFolder() throws Exception {
+		IFile target = createFile("navigation/a.cpp");
+		IFile sibling = createFile("navigation/b.cpp");
+		IFile other = createFile("other/c.cpp");
+
+		setPriority(target, IIndexManager.PRIORITY_NAVIGATION);
+		assertEquals(IIndexManager.PRIORITY_NAVIGATION, getPriority(target));
+		assertEquals(IIndexManager.PRIORITY_NAVIGATION, getPriority(sibling));
+		assertEquals(IIndexManager.PRIORITY_DEFAULT, getPriority(other));
+
+		// Navigation does not lower the priority of a file open in an editor.
+		setPriority(other, IIndexManager.PRIORITY_EDITOR);
+		setPriority(other, IIndexManager.PRIORITY_NAVIGATION);
+		assertEquals(IIndexManager.PRIORITY_EDITOR, getPriority(other));
+		setPriority(other, IIndexManager.PRIORITY_DEFAULT);
+	}
+
+	public void testNavigationTargetsAreLimited() throws Exception {
+		IFile first = createFile("limit0/a.cpp");
+		setPriority(first, IIndexManager.PRIORITY_NAVIGATION);
+		for (int i = 1; i <= 16; i++) {
+			setPriority(createFile("limit" + i + "/a.cpp"), IIndexManager.PRIORITY_NAVIGATION);
+		}
+		assertEquals(IIndexManager.PRIORITY_DEFAULT, getPriority(first));
+	}
+}
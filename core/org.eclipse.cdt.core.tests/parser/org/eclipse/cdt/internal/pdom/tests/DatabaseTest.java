@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Random;
 
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
@@ -151,6 +153,156 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testMergeFreeBlocks() throws Exception {
+		long mem1 = db.malloc(42);
+		long mem2 = db.malloc(42);
+		long mem3 = db.malloc(42);
+		db.free(mem1);
+		db.free(mem2);
+		final int blocksize = (int) (mem2 - mem1);
+		assertEquals(1, db.mergeFreeBlocks(db.getChunkCount() - 1));
+		assertEquals(2 * blocksize, db.getShort(mem1 - Database.BLOCK_HEADER_SIZE));
+		assertEquals(-blocksize, db.getShort(mem3 - Database.BLOCK_HEADER_SIZE));
+		assertEquals(mem1, db.malloc(2 * blocksize - Database.BLOCK_HEADER_SIZE));
+	}
+
+	@Test
+	public void testTruncateFreeChunks() throws Exception {
+		final int chunkCount = db.getChunkCount();
+		long mem1 = db.malloc(42);
+		long mem2 = db.malloc(Database.MAX_MALLOC_SIZE);
+		assertEquals(chunkCount + 2, db.getChunkCount());
+		db.free(mem1);
+		assertEquals(0, db.truncateFreeChunks());
+		db.free(mem2);
+		db.mergeFreeBlocks(chunkCount);
+		db.mergeFreeBlocks(chunkCount + 1);
+		assertEquals(2 * Database.CHUNK_SIZE, db.truncateFreeChunks());
+		assertEquals(chunkCount, db.getChunkCount());
+		assertEquals(0, db.getFreeBytes());
+		assertEquals(mem1, db.malloc(42));
+	}
+
+	@Test
+	public void testReadOnlyDatabase() throws Exception {
+		long mem = db.malloc(42);
+		db.putInt(mem, 4711);
+		db.flush();
+		Database readOnly = new Database(db.getLocation(), new ChunkCache(), 0, true);
+		readOnly.setLocked(true);
+		assertEquals(db.getChunkCount(), readOnly.getChunkCount());
+		assertEquals(4711, readOnly.getInt(mem));
+		readOnly.setExclusiveLock();
+		readOnly.close();
+	}
+
+	@Test
+	public void testClosedReadOnlyDatabaseCanBeReplaced() throws Exception {
+		long mem = db.malloc(42);
+		db.putInt(mem, 4711);
+		db.flush();
+		File copy = getTestDir().append(getName() + System.currentTimeMillis() + ".copy").toFile();
+		Files.copy(db.getLocation().toPath(), copy.toPath());
+		try {
+			Database readOnly = new Database(copy, new ChunkCache(), 0, true);
+			readOnly.setLocked(true);
+			assertEquals(4711, readOnly.getInt(mem));
+			readOnly.setExclusiveLock();
+			readOnly.close();
+
+			// The file is no longer mapped, on Windows it could not be replaced otherwise.
+			Files.copy(db.getLocation().toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			assertTrue(copy.delete());
+		} finally {
+			copy.delete();
+		}
+	}
+
+	@Test
+	public void testWriteAheadLogRecovery() throws Exception {
+		File location = getTestDir().append(getName() + System.currentTimeMillis() + ".wal.dat").toFile();
+		File log = Database.getWriteAheadLogLocation(location);
+		File copy = new File(location.getPath() + ".copy");
+		System.setProperty("org.eclipse.cdt.core.pdom.wal", "true");
+		try {
+			Database walDb = new Database(location, new ChunkCache(), 0, false);
+			walDb.setExclusiveLock();
+			long mem = walDb.malloc(42);
+			walDb.putInt(mem, 1);
+			walDb.flush();
+			walDb.putInt(mem, 2);
+
+			// Simulate a crash by opening copies of the files, the committed chunks are only in the log.
+			Files.copy(location.toPath(), copy.toPath());
+			Files.copy(log.toPath(), Database.getWriteAheadLogLocation(copy).toPath());
+			Database recovered = new Database(copy, new ChunkCache(), 0, false);
+			recovered.setExclusiveLock();
+			assertEquals(1, recovered.getInt(mem));
+			recovered.close();
+
+			walDb.flush();
+			walDb.close();
+			assertTrue(!log.exists());
+			Database reopened = new Database(location, new ChunkCache(), 0, false);
+			reopened.setExclusiveLock();
+			assertEquals(2, reopened.getInt(mem));
+			reopened.close();
+		} finally {
+			System.clearProperty("org.eclipse.cdt.core.pdom.wal");
+			location.delete();
+			copy.delete();
+		}
+	}
+
+	@Test
+	public void testWriteAheadLogRecoveredWhenDisabled() throws Exception {
+		File location = getTestDir().append(getName() + System.currentTimeMillis() + ".wal.dat").toFile();
+		File log = Database.getWriteAheadLogLocation(location);
+		File copy = new File(location.getPath() + ".copy");
+		File copyLog = Database.getWriteAheadLogLocation(copy);
+		System.setProperty("org.eclipse.cdt.core.pdom.wal", "true");
+		try {
+			Database walDb = new Database(location, new ChunkCache(), 0, false);
+			walDb.setExclusiveLock();
+			long mem = walDb.malloc(42);
+			walDb.putInt(mem, 1);
+			walDb.flush();
+			Files.copy(location.toPath(), copy.toPath());
+			Files.copy(log.toPath(), copyLog.toPath());
+			walDb.close();
+
+			// A read-only database reads the committed chunks from the log and keeps it.
+			Database readOnly = new Database(copy, new ChunkCache(), 0, true);
+			readOnly.setExclusiveLock();
+			assertEquals(1, readOnly.getInt(mem));
+			readOnly.close();
+			assertTrue(copyLog.exists());
+
+			// The log is recovered and deleted although it is no longer enabled.
+			System.clearProperty("org.eclipse.cdt.core.pdom.wal");
+			Database recovered = new Database(copy, new ChunkCache(), 0, false);
+			recovered.setExclusiveLock();
+			assertEquals(1, recovered.getInt(mem));
+			assertTrue(!copyLog.exists());
+			recovered.putInt(mem, 2);
+			recovered.flush();
+			recovered.close();
+
+			// Enabling the log again does not replay stale chunks.
+			System.setProperty("org.eclipse.cdt.core.pdom.wal", "true");
+			Database reopened = new Database(copy, new ChunkCache(), 0, false);
+			reopened.setExclusiveLock();
+			assertEquals(2, reopened.getInt(mem));
+			reopened.close();
+		} finally {
+			System.clearProperty("org.eclipse.cdt.core.pdom.wal");
+			location.delete();
+			copy.delete();
+			Database.deleteWriteAheadLogs(copy);
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -41,6 +41,7 @@ import org.eclipse.cdt.core.settings.model.ICPathEntry;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.core.settings.model.ICSettingEntry;
 import org.eclipse.cdt.core.settings.model.util.CDataUtil;
+import org.eclipse.cdt.internal.core.language.settings.providers.ScannerInfoCache.ResolvedInfo;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.cdt.internal.core.settings.model.CProjectDescriptionManager;
 import org.eclipse.cdt.internal.core.settings.model.SettingsModelMessages;
@@ -122,6 +123,28 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 			macroEntries.addAll(macros);
 		}
 
+		// Resources with the same entries share the resolved locations and macros
+		List<List<ICLanguageSettingEntry>> key = ScannerInfoCache.createKey(new ArrayList<>(includePathEntries),
+				new ArrayList<>(includePathLocalEntries), new ArrayList<>(includeFileEntries),
+				new ArrayList<>(macroFileEntries), new ArrayList<>(macroEntries));
+		ResolvedInfo resolved = ScannerInfoCache.getInstance().get(cfgDescription, key,
+				() -> resolve(includePathEntries, includePathLocalEntries, includeFileEntries, macroFileEntries,
+						macroEntries, cfgDescription));
+
+		ExtendedScannerInfo extendedScannerInfo = new ExtendedScannerInfo(resolved.definedMacros,
+				resolved.includePaths, resolved.macroFiles, resolved.includeFiles, resolved.includePathsLocal);
+		extendedScannerInfo.setParserSettings(new ParserSettings2(project));
+		return extendedScannerInfo;
+	}
+
+	/**
+	 * Resolves the language setting entries to file system locations and a map of macros.
+	 */
+	private ResolvedInfo resolve(LinkedHashSet<ICLanguageSettingEntry> includePathEntries,
+			LinkedHashSet<ICLanguageSettingEntry> includePathLocalEntries,
+			LinkedHashSet<ICLanguageSettingEntry> includeFileEntries,
+			LinkedHashSet<ICLanguageSettingEntry> macroFileEntries, LinkedHashSet<ICLanguageSettingEntry> macroEntries,
+			ICConfigurationDescription cfgDescription) {
 		String[] includePaths = convertToLocations(includePathEntries, cfgDescription);
 		String[] includePathsLocal = convertToLocations(includePathLocalEntries, cfgDescription);
 		String[] includeFiles = convertToLocations(includeFileEntries, cfgDescription);
@@ -134,11 +157,8 @@ public class LanguageSettingsScannerInfoProvider implements IScannerInfoProvider
 			String value = macroEntry.getValue();
 			definedMacros.put(name, value);
 		}
-
-		ExtendedScannerInfo extendedScannerInfo = new ExtendedScannerInfo(definedMacros, includePaths, macroFiles,
-				includeFiles, includePathsLocal);
-		extendedScannerInfo.setParserSettings(new ParserSettings2(project));
-		return extendedScannerInfo;
+		return new ResolvedInfo(Collections.unmodifiableMap(definedMacros), includePaths, includePathsLocal,
+				includeFiles, macroFiles);
 	}
 
 	private String expandVariables(String pathStr, ICConfigurationDescription cfgDescription) {
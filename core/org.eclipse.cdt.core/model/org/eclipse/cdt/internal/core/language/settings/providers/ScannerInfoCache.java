@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.language.settings.providers;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.cdt.core.language.settings.providers.ILanguageSettingsChangeEvent;
+import org.eclipse.cdt.core.language.settings.providers.ILanguageSettingsChangeListener;
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsManager;
+import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
+import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
+import org.eclipse.cdt.core.settings.model.ICLanguageSettingEntry;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
+import org.eclipse.cdt.internal.core.cdtvariables.UserDefinedVariableSupplier;
+import org.eclipse.cdt.internal.core.envvar.EnvironmentVariableManager;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+import org.eclipse.cdt.internal.core.settings.model.CProjectDescriptionManager;
+
+/**
+ * Canonicalizing cache for the scanner information computed by
+ * {@link LanguageSettingsScannerInfoProvider}. Resources with identical language setting entries
+ * share a single instance of the resolved include paths and macros, so that variables are resolved
+ * and macro maps are built only once per distinct set of entries rather than once per resource.
+ * <p>
+ * The cache is keyed by configuration description and by the lists of entries, the configuration
+ * description is weakly referenced so that the resolved values are discarded together with it.
+ * Values of a configuration are discarded when its language settings or its project description
+ * change. Since the entries are resolved with the build and environment variables, all values are
+ * discarded when the variables defined in the workspace preferences change.
+ */
+class ScannerInfoCache implements ILanguageSettingsChangeListener, ICProjectDescriptionListener {
+	/** Maximum number of distinct sets of entries kept per configuration, the least recently used are dropped */
+	private static final int MAX_ENTRIES_PER_CONFIGURATION = 1000;
+
+	private static ScannerInfoCache fgInstance;
+
+	/**
+	 * Resolved scanner information, shared by all resources with the same entries.
+	 */
+	static class ResolvedInfo {
+		final Map<String, String> definedMacros;
+		final String[] includePaths;
+		final String[] includePathsLocal;
+		final String[] includeFiles;
+		final String[] macroFiles;
+
+		ResolvedInfo(Map<String, String> definedMacros, String[] includePaths, String[] includePathsLocal,
+				String[] includeFiles, String[] macroFiles) {
+			this.definedMacros = definedMacros;
+			this.includePaths = includePaths;
+			this.includePathsLocal = includePathsLocal;
+			this.includeFiles = includeFiles;
+			this.macroFiles = macroFiles;
+		}
+	}
+
+	private final Map<ICConfigurationDescription, Map<List<List<ICLanguageSettingEntry>>, ResolvedInfo>> fCache =
+			new WeakHashMap<>();
+
+	/**
+	 * Returns the shared instance, which is registered for language settings change events.
+	 */
+	static synchronized ScannerInfoCache getInstance() {
+		if (fgInstance == null) {
+			fgInstance = new ScannerInfoCache();
+			LanguageSettingsManager.registerLanguageSettingsChangeListener(fgInstance);
+			CProjectDescriptionManager.getInstance().addCProjectDescriptionListener(fgInstance,
+					CProjectDescriptionEvent.APPLIED);
+			UserDefinedVariableSupplier.getInstance().addListener(event -> fgInstance.clear());
+			EnvironmentVariableManager.fUserSupplier.registerEnvironmentChangeListener(event -> fgInstance.clear());
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the resolved information for the given entries, computing it if necessary.
+	 *
+	 * @param cfgDescription the configuration description the entries are resolved in
+	 * @param entries the lists of entries the resolved information is computed from
+	 * @param resolver computes the resolved information for the entries
+	 */
+	ResolvedInfo get(ICConfigurationDescription cfgDescription, List<List<ICLanguageSettingEntry>> entries,
+			Supplier<ResolvedInfo> resolver) {
+		Map<List<List<ICLanguageSettingEntry>>, ResolvedInfo> map;
+		synchronized (fCache) {
+			map = fCache.computeIfAbsent(cfgDescription, cfg -> new LRUCache<>(MAX_ENTRIES_PER_CONFIGURATION));
+			ResolvedInfo info = map.get(entries);
+			if (info != null) {
+				return info;
+			}
+		}
+		// Resolve outside of the lock, variable resolution may access the project description.
+		ResolvedInfo info = resolver.get();
+		synchronized (fCache) {
+			if (fCache.get(cfgDescription) == map) {
+				ResolvedInfo old = map.putIfAbsent(entries, info);
+				if (old != null) {
+					info = old;
+				}
+			}
+		}
+		return info;
+	}
+
+	/**
+	 * Creates the key for the given lists of entries.
+	 */
+	@SafeVarargs
+	static List<List<ICLanguageSettingEntry>> createKey(List<ICLanguageSettingEntry>... entries) {
+		return Arrays.asList(entries);
+	}
+
+	@Override
+	public void handleEvent(ILanguageSettingsChangeEvent event) {
+		String projectName = event.getProjectName();
+		List<String> cfgIds = Arrays.asList(event.getConfigurationDescriptionIds());
+		removeConfigurations(projectName, cfgIds);
+	}
+
+	@Override
+	public void handleEvent(CProjectDescriptionEvent event) {
+		// The build settings and the variables of the project may have changed
+		removeConfigurations(event.getProject().getName(), null);
+	}
+
+	/**
+	 * Discards the values of the given configurations of a project, or of all its configurations
+	 * if no identifiers are given.
+	 */
+	private void removeConfigurations(String projectName, List<String> cfgIds) {
+		synchronized (fCache) {
+			for (Iterator<ICConfigurationDescription> iter = fCache.keySet().iterator(); iter.hasNext();) {
+				ICConfigurationDescription cfgDescription = iter.next();
+				ICProjectDescription prjDescription = cfgDescription.getProjectDescription();
+				if (prjDescription == null || (prjDescription.getName().equals(projectName)
+						&& (cfgIds == null || cfgIds.contains(cfgDescription.getId())))) {
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards all the values.
+	 */
+	void clear() {
+		synchronized (fCache) {
+			fCache.clear();
+		}
+	}
+}
@@ -33,7 +33,8 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of a single translation unit at a time. ASTs of other translation units
+ * are obtained from the {@link SharedASTCache}.
  *
  * @since 4.0
  */
@@ -262,6 +263,10 @@ public class ASTCache {
 	 */
 	public final IASTTranslationUnit acquireSharedAST(ITranslationUnit tUnit, IIndex index, boolean wait,
 			IProgressMonitor progressMonitor) {
+		if (wait && tUnit != null && !isActiveElement(tUnit)) {
+			// ASTs of translation units not open in the active editor are shared with other clients.
+			return acquireSharedASTOfInactiveElement(tUnit, index, progressMonitor);
+		}
 		IASTTranslationUnit ast = getAST(tUnit, index, wait, progressMonitor);
 		if (ast != null) {
 			try {
@@ -279,6 +284,20 @@ public class ASTCache {
 		return ast;
 	}
 
+	private IASTTranslationUnit acquireSharedASTOfInactiveElement(ITranslationUnit tUnit, IIndex index,
+			IProgressMonitor progressMonitor) {
+		try {
+			return SharedASTCache.getDefault().acquireAST(tUnit, index, fParseMode, progressMonitor);
+		} catch (OperationCanceledException e) {
+			return null;
+		} catch (CoreException e) {
+			IStatus status = new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, IStatus.OK,
+					"Error in CDT Core during AST creation", e); //$NON-NLS-1$
+			CCorePlugin.getDefault().getLog().log(status);
+			return null;
+		}
+	}
+
 	/**
 	 * Releases a shared AST previously acquired by calling
 	 * {@link #acquireSharedAST(ITranslationUnit, IIndex, boolean, IProgressMonitor)}.
@@ -16,6 +16,18 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
 import org.eclipse.cdt.core.model.CModelException;
@@ -39,9 +51,29 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 
 public class BinaryRunner {
+	/** Maximum number of jobs reading file headers concurrently */
+	private static final int MAX_WORKERS = 8;
+	/** Number of binaries added to the containers at once */
+	private static final int BATCH_SIZE = 256;
+
+	/** A file recognized by a binary parser */
+	private static class BinaryCandidate {
+		final IFile file;
+		final IBinaryFile binary;
+
+		BinaryCandidate(IFile file, IBinaryFile binary) {
+			this.file = file;
+			this.binary = binary;
+		}
+	}
+
+	/** Marks the end of the results of a worker */
+	private static final BinaryCandidate WORKER_DONE = new BinaryCandidate(null, null);
 
 	class BinaryRunnerOperation extends CModelOperation {
 
@@ -118,7 +150,11 @@ public class BinaryRunner {
 						BinaryParserConfig[] parsers = CModelManager.getDefault()
 								.getBinaryParser(cproject.getProject());
 						if (parsers.length > 0) {
-							cproject.getProject().accept(new Visitor(monitor), IContainer.INCLUDE_PHANTOMS);
+							Visitor visitor = new Visitor(monitor);
+							cproject.getProject().accept(visitor, IContainer.INCLUDE_PHANTOMS);
+							if (!monitor.isCanceled()) {
+								parseBinaries(visitor.candidates, parsers, monitor);
+							}
 						}
 
 						if (!monitor.isCanceled()) {
@@ -140,6 +176,119 @@ public class BinaryRunner {
 		return job;
 	}
 
+	/**
+	 * Runs the binary parsers on the given files using a bounded number of worker jobs, and adds
+	 * the recognized binaries to the binary and archive containers in batches.
+	 */
+	private void parseBinaries(List<IFile> files, BinaryParserConfig[] parsers, IProgressMonitor monitor)
+			throws CoreException {
+		for (BinaryParserConfig parser : parsers) {
+			// Make sure the parsers are created before they are used concurrently.
+			parser.getBinaryParser();
+		}
+		final NonBinaryFileCache cache = new NonBinaryFileCache(cproject.getProject(), parsers);
+		cache.load();
+
+		final ConcurrentLinkedQueue<IFile> queue = new ConcurrentLinkedQueue<>(files);
+		final BlockingQueue<BinaryCandidate> results = new LinkedBlockingQueue<>();
+		final int workerCount = Math.max(1,
+				Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS), files.size()));
+		List<Job> workers = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			Job worker = new Job(runnerJob.getName()) {
+				@Override
+				protected IStatus run(IProgressMonitor workerMonitor) {
+					IFile file;
+					while ((file = queue.poll()) != null && !monitor.isCanceled() && !workerMonitor.isCanceled()) {
+						IBinaryFile bin = createBinaryFile(file, cache);
+						if (bin != null)
+							results.add(new BinaryCandidate(file, bin));
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			worker.addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// Also called if the worker is cancelled before it runs.
+					results.add(WORKER_DONE);
+				}
+			});
+			worker.setSystem(true);
+			worker.setPriority(Job.LONG);
+			workers.add(worker);
+			worker.schedule();
+		}
+
+		CModelManager factory = CModelManager.getDefault();
+		List<BinaryCandidate> batch = new ArrayList<>(BATCH_SIZE);
+		try {
+			for (int running = workerCount; running > 0;) {
+				if (monitor.isCanceled()) {
+					// Do not wait for the files the workers are parsing.
+					for (Job worker : workers) {
+						worker.cancel();
+					}
+					break;
+				}
+				BinaryCandidate candidate = results.poll(100, TimeUnit.MILLISECONDS);
+				if (candidate == WORKER_DONE) {
+					running--;
+				} else if (candidate != null) {
+					batch.add(candidate);
+				}
+				if (batch.size() >= BATCH_SIZE || (running == 0 && !batch.isEmpty())) {
+					// Containers are only modified by this thread.
+					for (BinaryCandidate bin : batch) {
+						factory.create(bin.file, bin.binary, cproject);
+					}
+					monitor.worked(batch.size());
+					batch.clear();
+				}
+			}
+		} catch (InterruptedException e) {
+			for (Job worker : workers) {
+				worker.cancel();
+			}
+			monitor.setCanceled(true);
+		}
+
+		if (!monitor.isCanceled()) {
+			Set<String> paths = new HashSet<>(files.size());
+			for (IFile file : files) {
+				paths.add(file.getFullPath().toString());
+			}
+			cache.retainAll(paths);
+		}
+		cache.save();
+	}
+
+	/**
+	 * Runs the binary parsers on the given file unless it is known not to be a binary.
+	 * Called by the worker jobs.
+	 */
+	private static IBinaryFile createBinaryFile(IFile file, NonBinaryFileCache cache) {
+		String path = file.getFullPath().toString();
+		IPath location = file.getLocation();
+		BasicFileAttributes attributes = null;
+		if (location != null) {
+			try {
+				attributes = Files.readAttributes(location.toFile().toPath(), BasicFileAttributes.class);
+				if (cache.isKnownNonBinary(path, attributes.lastModifiedTime().toMillis(), attributes.size()))
+					return null;
+			} catch (IOException e) {
+				// Let the binary parsers deal with the file.
+			}
+		}
+		IBinaryFile bin = CModelManager.getDefault().createBinaryFile(file);
+		if (bin != null) {
+			cache.setBinary(path);
+		} else if (attributes != null) {
+			cache.setNonBinary(path, attributes.lastModifiedTime().toMillis(), attributes.size());
+		}
+		return bin;
+	}
+
 	public void start() {
 		synchronized (runnerJob) {
 			if (!isStopped) {
@@ -176,6 +325,8 @@ public class BinaryRunner {
 		private final IProgressMonitor vMonitor;
 		private final IProject project;
 		private final IContentType textContentType;
+		/** Files on output entries that may be binaries */
+		final List<IFile> candidates = new ArrayList<>();
 
 		public Visitor(IProgressMonitor monitor) {
 			vMonitor = monitor;
@@ -221,13 +372,8 @@ public class BinaryRunner {
 			if (path != null) {
 				for (IOutputEntry entrie : entries) {
 					if (isOnOutputEntry(entrie, path)) {
-						IFile file = (IFile) proxy.requestResource();
-						CModelManager factory = CModelManager.getDefault();
-						IBinaryFile bin = factory.createBinaryFile(file);
-						if (bin != null) {
-							// Create the file will add it to the {Archive,Binary}Container.
-							factory.create(file, bin, cproject);
-						}
+						// The binary parsers are run concurrently once all candidates are known.
+						candidates.add((IFile) proxy.requestResource());
 						return true;
 					}
 				}
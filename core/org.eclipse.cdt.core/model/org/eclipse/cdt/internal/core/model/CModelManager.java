@@ -22,7 +22,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -743,7 +747,22 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 			}
 		}
 		byte[] bytes = new byte[hints];
-		if (hints > 0) {
+		IPath location = file.getLocation();
+		if (hints > 0 && location != null) {
+			// Read the header directly from the file system, avoiding the overhead of the resource layer.
+			try (FileChannel channel = FileChannel.open(location.toFile().toPath(), StandardOpenOption.READ)) {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0)
+						break;
+				}
+				if (buffer.position() > 0 && buffer.position() < bytes.length) {
+					bytes = Arrays.copyOf(bytes, buffer.position());
+				}
+			} catch (IOException e) {
+				return null;
+			}
+		} else if (hints > 0) {
 			InputStream is = null;
 			try {
 				is = file.getContents();
@@ -773,8 +792,6 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 			}
 		}
 
-		IPath location = file.getLocation();
-
 		for (BinaryParserConfig parser2 : parsers) {
 			try {
 				IBinaryParser parser = parser2.getBinaryParser();
@@ -1414,6 +1431,7 @@ public class CModelManager implements IResourceChangeListener, IContentTypeChang
 		binaryParsersMap.remove(project);
 		// Stop the binary runner for this project
 		removeBinaryRunner(project);
+		NonBinaryFileCache.delete(project);
 	}
 
 	private void preCloseProject(IProject project) {
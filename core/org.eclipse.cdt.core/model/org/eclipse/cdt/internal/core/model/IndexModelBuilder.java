@@ -0,0 +1,520 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.ICompositeType;
+import org.eclipse.cdt.core.dom.ast.IEnumeration;
+import org.eclipse.cdt.core.dom.ast.IEnumerator;
+import org.eclipse.cdt.core.dom.ast.IField;
+import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.IFunctionType;
+import org.eclipse.cdt.core.dom.ast.IParameter;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassTemplate;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPField;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionTemplate;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMember;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespace;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespaceAlias;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariableTemplate;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ISourceReference;
+import org.eclipse.cdt.core.parser.Keywords;
+import org.eclipse.cdt.core.parser.ast.ASTAccessVisibility;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Builds the structure of a translation unit from the declarations stored in the index rather
+ * than by parsing the file. This is possible for translation units that are not open in an
+ * editor and whose index file is up to date, and is considerably cheaper than running
+ * {@link CModelBuilder2} when browsing large source trees.
+ * <p>
+ * The index does not record the extent of declarations, therefore the body position of the
+ * created elements is the position of their name and line numbers are not available. Elements
+ * that the index does not know about (e.g. using-declarations or inactive code) are missing.
+ * The builder is disabled by default, it is enabled by setting the system property
+ * {@code org.eclipse.cdt.core.model_from_index} to {@code true}.
+ */
+class IndexModelBuilder {
+	private final static boolean DEBUG = Util.isActive(DebugLogConstants.MODEL);
+
+	private static final String ENABLEMENT_PROPERTY = "org.eclipse.cdt.core.model_from_index"; //$NON-NLS-1$
+
+	private final TranslationUnit fTranslationUnit;
+	private final Map<ICElement, CElementInfo> fNewElements;
+	private final IProgressMonitor fProgressMonitor;
+
+	private IIndex fIndex;
+	private final Map<ISourceReference, int[]> fEqualElements = new HashMap<>();
+	/** Elements for namespace, class and enumeration definitions, by the qualified name of the binding */
+	private final Map<String, List<Parent>> fScopeElements = new HashMap<>();
+	/** Elements for class definitions, by the offset of the name of the definition */
+	private final Map<Integer, Parent> fClassElements = new HashMap<>();
+
+	/**
+	 * Returns whether translation units may be built from the index.
+	 */
+	static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getProperty(ENABLEMENT_PROPERTY));
+	}
+
+	/**
+	 * Create a model builder for the given translation unit.
+	 *
+	 * @param tu  the translation unit
+	 * @param newElements  element cache
+	 * @param monitor the progress monitor
+	 */
+	IndexModelBuilder(TranslationUnit tu, Map<ICElement, CElementInfo> newElements, IProgressMonitor monitor) {
+		fTranslationUnit = tu;
+		fNewElements = newElements;
+		fProgressMonitor = monitor;
+	}
+
+	/**
+	 * Builds the structure of the translation unit, if the index is up to date for it.
+	 *
+	 * @return {@code true} if the structure was built, {@code false} if the translation unit
+	 *     needs to be parsed
+	 */
+	boolean build() throws CoreException, InterruptedException {
+		if (fTranslationUnit.isWorkingCopy())
+			return false;
+		final IResource resource = fTranslationUnit.getResource();
+		if (!(resource instanceof IFile))
+			return false;
+		final CElementInfo elementInfo = getElementInfo(fTranslationUnit);
+		if (elementInfo instanceof ASTHolderTUInfo)
+			return false;
+
+		fIndex = CCorePlugin.getIndexManager().getIndex(fTranslationUnit.getCProject());
+		fIndex.acquireReadLock();
+		try {
+			final IIndexFileLocation ifl = IndexLocationFactory.getWorkspaceIFL((IFile) resource);
+			final IIndexFile[] files = fIndex.getFiles(ifl);
+			// A header parsed in multiple contexts has no single structure.
+			if (files.length != 1 || files[0].getTimestamp() != resource.getLocalTimeStamp())
+				return false;
+
+			long startTime = System.currentTimeMillis();
+			buildModel(files[0]);
+			elementInfo.setIsStructureKnown(true);
+			if (DEBUG) {
+				Util.debugLog("IndexModelBuilder: building " //$NON-NLS-1$
+						+ fTranslationUnit.getElementName() + " children=" //$NON-NLS-1$
+						+ elementInfo.internalGetChildren().size() + " time=" //$NON-NLS-1$
+						+ (System.currentTimeMillis() - startTime) + "ms", //$NON-NLS-1$
+						DebugLogConstants.MODEL, false);
+			}
+			return true;
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private void checkCanceled() {
+		if (fProgressMonitor != null && fProgressMonitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private void buildModel(IIndexFile file) throws CoreException {
+		for (IIndexInclude include : file.getIncludes()) {
+			createInclusion(include);
+		}
+		for (IIndexMacro macro : file.getMacros()) {
+			IIndexName name = macro.getDefinition();
+			if (name != null) {
+				createMacro(macro, name);
+			}
+		}
+
+		IIndexName[] names = file.findNames(0, Integer.MAX_VALUE);
+		Arrays.sort(names, Comparator.comparingInt(IIndexName::getNodeOffset));
+		for (IIndexName name : names) {
+			checkCanceled();
+			if (name.isDeclaration()) {
+				IIndexBinding binding = fIndex.findBinding(name);
+				if (binding != null) {
+					createDeclaration(name, binding);
+				}
+			}
+		}
+
+		// Sort by offset
+		final List<ICElement> children = getElementInfo(fTranslationUnit).internalGetChildren();
+		Collections.sort(children, (o1, o2) -> getSourceManipulationInfo((SourceManipulation) o1).getIdStartPos()
+				- getSourceManipulationInfo((SourceManipulation) o2).getIdStartPos());
+	}
+
+	private void createInclusion(IIndexInclude include) throws CoreException {
+		final Include element = new Include(fTranslationUnit, include.getFullName(), include.isSystemInclude());
+		IIndexFileLocation includesLocation = include.getIncludesLocation();
+		if (includesLocation != null) {
+			IPath path = IndexLocationFactory.getAbsolutePath(includesLocation);
+			if (path != null) {
+				element.setFullPathName(path.toOSString());
+			}
+		}
+		setIndex(element);
+		element.setActive(include.isActive());
+		element.setResolved(include.isResolved());
+		fTranslationUnit.addChild(element);
+		setPosition(element, include.getNameOffset(), include.getNameLength());
+	}
+
+	private void createMacro(IIndexMacro macro, IIndexName name) throws CoreException {
+		final Macro element = new Macro(fTranslationUnit, new String(macro.getNameCharArray()));
+		setIndex(element);
+		element.setActive(true);
+		fTranslationUnit.addChild(element);
+		setPosition(element, name.getNodeOffset(), name.getNodeLength());
+	}
+
+	private void createDeclaration(IIndexName name, IIndexBinding binding) throws CoreException {
+		if (binding instanceof IParameter || binding instanceof ICPPTemplateParameter
+				|| binding instanceof ICPPNamespaceAlias) {
+			return;
+		}
+		final Parent parent = getParent(name, binding);
+		if (parent == null) {
+			return;
+		}
+		final String elementName = getElementName(binding, parent);
+		final SourceManipulation element;
+		if (binding instanceof ICPPNamespace) {
+			if (!name.isDefinition())
+				return;
+			Namespace namespace = new Namespace(parent, elementName);
+			namespace.setTypeName(Keywords.NAMESPACE);
+			addScopeElement(binding, namespace);
+			element = namespace;
+		} else if (binding instanceof ICompositeType) {
+			element = createCompositeType(parent, name, (ICompositeType) binding, elementName);
+		} else if (binding instanceof IEnumeration) {
+			if (!name.isDefinition())
+				return;
+			Enumeration enumeration = new Enumeration(parent, elementName);
+			((EnumerationInfo) getElementInfo(enumeration)).setTypeName(Keywords.ENUM);
+			addScopeElement(binding, enumeration);
+			element = enumeration;
+		} else if (binding instanceof IEnumerator) {
+			element = new Enumerator(parent, elementName);
+		} else if (binding instanceof ITypedef) {
+			TypeDef typedef = new TypeDef(parent, elementName);
+			typedef.setTypeName(ASTTypeUtil.getType(((ITypedef) binding).getType()));
+			element = typedef;
+		} else if (binding instanceof IFunction) {
+			element = createFunction(parent, name, (IFunction) binding, elementName);
+		} else if (binding instanceof IField) {
+			element = createField(parent, (IField) binding, elementName);
+		} else if (binding instanceof IVariable) {
+			element = createVariable(parent, name, (IVariable) binding, elementName);
+		} else {
+			return;
+		}
+		setIndex(element);
+		element.setActive(true);
+		parent.addChild(element);
+		setPosition(element, name.getNodeOffset(), name.getNodeLength());
+	}
+
+	private SourceManipulation createCompositeType(Parent parent, IIndexName name, ICompositeType binding,
+			String elementName) throws CoreException {
+		final boolean isTemplate = binding instanceof ICPPClassTemplate;
+		final boolean isDefinition = name.isDefinition();
+		final String type;
+		final int kind;
+		switch (binding.getKey()) {
+		case ICompositeType.k_union:
+			type = Keywords.UNION;
+			kind = isDefinition ? (isTemplate ? ICElement.C_TEMPLATE_UNION : ICElement.C_UNION)
+					: (isTemplate ? ICElement.C_TEMPLATE_UNION_DECLARATION : ICElement.C_UNION_DECLARATION);
+			break;
+		case ICPPClassType.k_class:
+			type = Keywords.CLASS;
+			kind = isDefinition ? (isTemplate ? ICElement.C_TEMPLATE_CLASS : ICElement.C_CLASS)
+					: (isTemplate ? ICElement.C_TEMPLATE_CLASS_DECLARATION : ICElement.C_CLASS_DECLARATION);
+			break;
+		default:
+			type = Keywords.STRUCT;
+			kind = isDefinition ? (isTemplate ? ICElement.C_TEMPLATE_STRUCT : ICElement.C_STRUCT)
+					: (isTemplate ? ICElement.C_TEMPLATE_STRUCT_DECLARATION : ICElement.C_STRUCT_DECLARATION);
+			break;
+		}
+
+		final StructureDeclaration element;
+		if (!isDefinition) {
+			element = isTemplate ? new StructureTemplateDeclaration(parent, kind, elementName)
+					: new StructureDeclaration(parent, elementName, kind);
+		} else {
+			final Structure structure = isTemplate ? new StructureTemplate(parent, kind, elementName)
+					: new Structure(parent, kind, elementName);
+			if (binding instanceof ICPPClassType) {
+				for (ICPPBase base : ((ICPPClassType) binding).getBases()) {
+					IBinding baseClass = base.getBaseClass();
+					if (baseClass != null) {
+						structure.addSuperClass(baseClass.getName(), adaptVisibilityConstant(base.getVisibility()));
+					}
+				}
+			}
+			addScopeElement((IIndexBinding) binding, structure);
+			fClassElements.put(name.getNodeOffset(), structure);
+			element = structure;
+		}
+		((StructureInfo) getElementInfo(element)).setTypeName(type);
+		return element;
+	}
+
+	private SourceManipulation createFunction(Parent parent, IIndexName name, IFunction binding, String elementName)
+			throws CoreException {
+		final boolean isTemplate = binding instanceof ICPPFunctionTemplate;
+		final boolean isDefinition = name.isDefinition();
+		final IFunctionType type = binding.getType();
+		final IType[] parameterTypes = type.getParameterTypes();
+		final String[] parameterSignature = new String[parameterTypes.length];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			parameterSignature[i] = ASTTypeUtil.getType(parameterTypes[i]);
+		}
+		final String returnType = ASTTypeUtil.getType(type.getReturnType());
+		final boolean isConst = type instanceof ICPPFunctionType && ((ICPPFunctionType) type).isConst();
+		final boolean isVolatile = type instanceof ICPPFunctionType && ((ICPPFunctionType) type).isVolatile();
+
+		final FunctionDeclaration element;
+		final FunctionInfo info;
+		if (binding instanceof ICPPMethod) {
+			final ICPPMethod method = (ICPPMethod) binding;
+			final MethodDeclaration methodElement;
+			if (isDefinition) {
+				methodElement = isTemplate ? new MethodTemplate(parent, elementName) : new Method(parent, elementName);
+			} else {
+				methodElement = isTemplate ? new MethodTemplateDeclaration(parent, elementName)
+						: new MethodDeclaration(parent, elementName);
+			}
+			// establish identity attributes before getElementInfo()
+			methodElement.setParameterTypes(parameterSignature);
+			methodElement.setReturnType(returnType);
+			methodElement.setConst(isConst);
+			methodElement.setConstructor(method instanceof ICPPConstructor);
+			methodElement.setDestructor(method.isDestructor());
+			final MethodInfo methodInfo = (MethodInfo) getElementInfo(methodElement);
+			methodInfo.setVirtual(method.isVirtual());
+			methodInfo.setInline(method.isInline());
+			methodInfo.setPureVirtual(method.isPureVirtual());
+			methodInfo.setVisibility(adaptVisibilityConstant(method.getVisibility()));
+			element = methodElement;
+			info = methodInfo;
+		} else {
+			if (isDefinition) {
+				element = isTemplate ? new FunctionTemplate(parent, elementName) : new Function(parent, elementName);
+			} else {
+				element = isTemplate ? new FunctionTemplateDeclaration(parent, elementName)
+						: new FunctionDeclaration(parent, elementName);
+			}
+			element.setParameterTypes(parameterSignature);
+			element.setReturnType(returnType);
+			info = (FunctionInfo) getElementInfo(element);
+			info.setConst(isConst);
+		}
+		info.setVolatile(isVolatile);
+		info.setStatic(binding.isStatic());
+		return element;
+	}
+
+	private SourceManipulation createField(Parent parent, IField binding, String elementName) throws CoreException {
+		final Field element = new Field(parent, elementName);
+		final FieldInfo info = (FieldInfo) getElementInfo(element);
+		final IType type = binding.getType();
+		info.setTypeName(ASTTypeUtil.getType(type));
+		info.setConst(SemanticUtil.getCVQualifier(type).isConst());
+		info.setVolatile(SemanticUtil.getCVQualifier(type).isVolatile());
+		info.setStatic(binding.isStatic());
+		if (binding instanceof ICPPField) {
+			info.setMutable(((ICPPField) binding).isMutable());
+			info.setVisibility(adaptVisibilityConstant(((ICPPField) binding).getVisibility()));
+		}
+		return element;
+	}
+
+	private SourceManipulation createVariable(Parent parent, IIndexName name, IVariable binding,
+			String elementName) throws CoreException {
+		final VariableDeclaration element;
+		if (binding instanceof ICPPVariableTemplate) {
+			element = new VariableTemplate(parent, elementName);
+		} else if (name.isDefinition()) {
+			element = new Variable(parent, elementName);
+		} else {
+			element = new VariableDeclaration(parent, elementName);
+		}
+		final VariableInfo info = (VariableInfo) getElementInfo(element);
+		final IType type = binding.getType();
+		info.setTypeName(ASTTypeUtil.getType(type));
+		info.setConst(SemanticUtil.getCVQualifier(type).isConst());
+		info.setVolatile(SemanticUtil.getCVQualifier(type).isVolatile());
+		info.setStatic(binding.isStatic());
+		return element;
+	}
+
+	/**
+	 * Returns the element the declaration belongs to, or {@code null} if the declaration is
+	 * local to a function or belongs to an element that is not part of the model.
+	 */
+	private Parent getParent(IIndexName name, IIndexBinding binding) throws CoreException {
+		if (binding instanceof IEnumerator) {
+			IType enumeration = ((IEnumerator) binding).getType();
+			if (enumeration instanceof IIndexBinding) {
+				return findScopeElement((IIndexBinding) enumeration, name.getNodeOffset());
+			}
+			return null;
+		}
+		// Members declared inside a class definition are enclosed by that definition.
+		IIndexName enclosing = name.getEnclosingDefinition();
+		if (enclosing != null) {
+			return fClassElements.get(enclosing.getNodeOffset());
+		}
+		// Namespace members and out-of-line definitions.
+		for (IIndexBinding owner = binding.getOwner(); owner != null; owner = owner.getOwner()) {
+			if (owner instanceof IFunction) {
+				return null;
+			}
+			if (owner instanceof ICPPNamespace) {
+				Parent parent = findScopeElement(owner, name.getNodeOffset());
+				if (parent != null) {
+					return parent;
+				}
+			}
+		}
+		return fTranslationUnit;
+	}
+
+	/**
+	 * Returns the name of the element for the binding. Out-of-line definitions are qualified
+	 * relative to the parent element.
+	 */
+	private String getElementName(IIndexBinding binding, Parent parent) throws CoreException {
+		if (parent instanceof Structure || parent instanceof Enumeration || binding instanceof IEnumerator)
+			return binding.getName();
+		final String[] qualifiedName = binding.getQualifiedName();
+		int start = qualifiedName.length - 1;
+		if (binding instanceof ICPPMember) {
+			String parentName = parent instanceof Namespace ? getQualifiedName(parent) : ""; //$NON-NLS-1$
+			for (IIndexBinding owner = binding.getOwner(); owner != null && !(owner instanceof ICPPNamespace
+					&& String.join("::", owner.getQualifiedName()).equals(parentName)); owner = owner.getOwner()) { //$NON-NLS-1$
+				start--;
+			}
+		}
+		return String.join("::", Arrays.asList(qualifiedName).subList(Math.max(start, 0), qualifiedName.length)); //$NON-NLS-1$
+	}
+
+	private String getQualifiedName(Parent element) {
+		List<String> names = new ArrayList<>();
+		for (ICElement e = element; e instanceof Namespace; e = e.getParent()) {
+			names.add(0, e.getElementName());
+		}
+		return String.join("::", names); //$NON-NLS-1$
+	}
+
+	private void addScopeElement(IIndexBinding binding, Parent element) {
+		fScopeElements.computeIfAbsent(String.join("::", binding.getQualifiedName()), k -> new ArrayList<>()) //$NON-NLS-1$
+				.add(element);
+	}
+
+	/**
+	 * Returns the last element created for a definition of the binding that precedes the
+	 * given offset.
+	 */
+	private Parent findScopeElement(IIndexBinding binding, int offset) {
+		List<Parent> elements = fScopeElements.get(String.join("::", binding.getQualifiedName())); //$NON-NLS-1$
+		if (elements == null)
+			return null;
+		for (int i = elements.size() - 1; i >= 0; i--) {
+			Parent element = elements.get(i);
+			if (getSourceManipulationInfo((SourceManipulation) element).getIdStartPos() < offset) {
+				return element;
+			}
+		}
+		return null;
+	}
+
+	private void setIndex(SourceManipulation element) {
+		int[] idx = fEqualElements.get(element);
+		if (idx == null) {
+			idx = new int[] { 0 };
+			fEqualElements.put(element, idx);
+		} else {
+			element.setIndex(++idx[0]);
+		}
+	}
+
+	private void setPosition(SourceManipulation element, int offset, int length) {
+		final SourceManipulationInfo info = getSourceManipulationInfo(element);
+		info.setIdPos(offset, length);
+		info.setPos(offset, length);
+	}
+
+	private CElementInfo getElementInfo(CElement cElement) {
+		CElementInfo info = fNewElements.get(cElement);
+		if (info == null) {
+			info = cElement.createElementInfo();
+			fNewElements.put(cElement, info);
+		}
+		return info;
+	}
+
+	private SourceManipulationInfo getSourceManipulationInfo(SourceManipulation cElement) {
+		return (SourceManipulationInfo) getElementInfo(cElement);
+	}
+
+	private static ASTAccessVisibility adaptVisibilityConstant(int visibility) {
+		switch (visibility) {
+		case ICPPMember.v_protected:
+			return ASTAccessVisibility.PROTECTED;
+		case ICPPMember.v_private:
+			return ASTAccessVisibility.PRIVATE;
+		default:
+			return ASTAccessVisibility.PUBLIC;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.resources.IProject;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers, across sessions, the files of a project that the configured binary parsers did not
+ * recognize, so that the {@link BinaryRunner} does not need to read their headers again as long
+ * as their modification time and size are unchanged. The files are remembered separately for
+ * each set of binary parsers of the project.
+ */
+public class NonBinaryFileCache {
+	private static class Stamp {
+		long modified;
+		long size;
+
+		Stamp(long modified, long size) {
+			this.modified = modified;
+			this.size = size;
+		}
+	}
+
+	private static class Contents {
+		String parsers;
+		Map<String, Stamp> files;
+	}
+
+	private final File fCacheFile;
+	private final String fParsers;
+	private final Map<String, Stamp> fFiles = new ConcurrentHashMap<>();
+	private volatile boolean fDirty;
+
+	/**
+	 * @param project the project
+	 * @param parsers the binary parser configurations of the project
+	 */
+	public NonBinaryFileCache(IProject project, BinaryParserConfig[] parsers) {
+		String[] ids = new String[parsers.length];
+		for (int i = 0; i < parsers.length; i++) {
+			ids[i] = parsers[i].getId();
+		}
+		// The order of the parsers does not change which files they recognize.
+		Arrays.sort(ids);
+		StringBuilder buf = new StringBuilder();
+		for (String id : ids) {
+			buf.append(id).append(';');
+		}
+		fParsers = buf.toString();
+		fCacheFile = new File(getCacheDirectory(project), Integer.toHexString(fParsers.hashCode()) + ".json"); //$NON-NLS-1$
+	}
+
+	private static File getCacheDirectory(IProject project) {
+		return CCorePlugin.getDefault().getStateLocation().append("binaryRunner") //$NON-NLS-1$
+				.append(project.getName()).toFile();
+	}
+
+	/**
+	 * Deletes the files remembered for the given project.
+	 */
+	public static void delete(IProject project) {
+		File directory = getCacheDirectory(project);
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Returns the file the cache is stored in.
+	 */
+	public File getCacheFile() {
+		return fCacheFile;
+	}
+
+	public void load() {
+		if (!fCacheFile.exists())
+			return;
+		try (Reader reader = Files.newBufferedReader(fCacheFile.toPath(), StandardCharsets.UTF_8)) {
+			Contents contents = new Gson().fromJson(reader, Contents.class);
+			if (contents != null && fParsers.equals(contents.parsers) && contents.files != null) {
+				fFiles.putAll(contents.files);
+			}
+		} catch (IOException | JsonParseException e) {
+			// Start with an empty cache.
+		}
+	}
+
+	public void save() {
+		if (!fDirty)
+			return;
+		try {
+			Files.createDirectories(fCacheFile.getParentFile().toPath());
+			try (Writer writer = Files.newBufferedWriter(fCacheFile.toPath(), StandardCharsets.UTF_8)) {
+				Contents contents = new Contents();
+				contents.parsers = fParsers;
+				contents.files = fFiles;
+				new Gson().toJson(contents, writer);
+			}
+			fDirty = false;
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Returns whether the file has been found not to be a binary with the given modification
+	 * time and size.
+	 */
+	public boolean isKnownNonBinary(String path, long modified, long size) {
+		Stamp stamp = fFiles.get(path);
+		return stamp != null && stamp.modified == modified && stamp.size == size;
+	}
+
+	public void setNonBinary(String path, long modified, long size) {
+		fFiles.put(path, new Stamp(modified, size));
+		fDirty = true;
+	}
+
+	public void setBinary(String path) {
+		if (fFiles.remove(path) != null)
+			fDirty = true;
+	}
+
+	/**
+	 * Forgets all files but the given ones.
+	 */
+	public void retainAll(Collection<String> paths) {
+		if (fFiles.keySet().retainAll(paths))
+			fDirty = true;
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.model;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Keeps the most recently used ASTs of translation units that are not open in an editor, so that
+ * features parsing the same file with the same options (code analysis, hovers, refactorings)
+ * can share a single AST instead of parsing the file again.
+ * <p>
+ * An AST is keyed by its translation unit and parse style, and is reused only while the content
+ * of the file, the index fragments and the last write access to the index are unchanged.
+ * Working copies are never cached since their content is not versioned; the AST of the active
+ * editor is managed by {@link ASTCache}. Cached ASTs are softly referenced and are dropped when
+ * memory runs low.
+ * <p>
+ * An AST returned by {@link #acquireAST} is held for exclusive access until it is released by
+ * {@link #releaseAST}. Different ASTs may be used concurrently by different threads. If a cached
+ * AST is currently in use by another client, a private AST is created instead of waiting.
+ */
+public final class SharedASTCache {
+	private static final boolean DEBUG = Boolean
+			.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.core/debug/ASTCache")); //$NON-NLS-1$
+	private static final String DEBUG_PREFIX = "[SharedASTCache] "; //$NON-NLS-1$
+
+	/** Default number of ASTs kept by the shared instance. */
+	public static final int DEFAULT_CAPACITY = 8;
+
+	private static final SharedASTCache fgDefault = new SharedASTCache(DEFAULT_CAPACITY);
+
+	private static class Key {
+		final ITranslationUnit fTU;
+		final int fStyle;
+
+		Key(ITranslationUnit tu, int style) {
+			fTU = tu;
+			fStyle = style;
+		}
+
+		@Override
+		public int hashCode() {
+			return fTU.hashCode() * 31 + fStyle;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fStyle == other.fStyle && fTU.equals(other.fTU);
+		}
+	}
+
+	private static class Entry {
+		final SoftReference<IASTTranslationUnit> fAST;
+		final long fContentStamp;
+		final IIndexFragment[] fFragments;
+		final long fLastWriteOnIndex;
+
+		Entry(IASTTranslationUnit ast, long contentStamp, IIndexFragment[] fragments, long lastWriteOnIndex) {
+			fAST = new SoftReference<>(ast);
+			fContentStamp = contentStamp;
+			fFragments = fragments;
+			fLastWriteOnIndex = lastWriteOnIndex;
+		}
+
+		boolean isValidFor(long contentStamp, IIndexFragment[] fragments, IIndex index) {
+			return fContentStamp == contentStamp && Arrays.equals(fFragments, fragments)
+					&& fLastWriteOnIndex >= index.getLastWriteAccess();
+		}
+	}
+
+	private final int fCapacity;
+	private final Map<Key, Entry> fEntries;
+	private final AtomicInteger fHitCount = new AtomicInteger();
+	private final AtomicInteger fMissCount = new AtomicInteger();
+
+	/**
+	 * Returns the cache shared by all clients in the workspace.
+	 */
+	public static SharedASTCache getDefault() {
+		return fgDefault;
+	}
+
+	/**
+	 * Creates a cache keeping up to the given number of ASTs.
+	 *
+	 * @param capacity the maximum number of cached ASTs
+	 */
+	public SharedASTCache(int capacity) {
+		fCapacity = capacity;
+		fEntries = new LinkedHashMap<>(capacity + 1, 0.75f, true);
+	}
+
+	/**
+	 * Returns an AST for the given translation unit, either a cached one or a newly created one.
+	 * The returned AST is locked for exclusive access and has to be released by calling
+	 * {@link #releaseAST(IASTTranslationUnit)}.
+	 * <p>
+	 * Clients are not allowed to modify the AST and must hold an index read lock prior to calling
+	 * this method and continue to hold the lock as long as the AST is being used.
+	 *
+	 * @param tu the translation unit
+	 * @param index the index used to create the AST, needs to be read-locked
+	 * @param style the parse style, see {@link ITranslationUnit#getAST(IIndex, int)}
+	 * @param monitor the progress monitor or {@code null}
+	 * @return the AST, or {@code null} if the operation was cancelled or no AST could be created
+	 * @throws CoreException if the AST could not be created
+	 */
+	public IASTTranslationUnit acquireAST(ITranslationUnit tu, IIndex index, int style, IProgressMonitor monitor)
+			throws CoreException {
+		final long contentStamp = getContentStamp(tu);
+		final IIndexFragment[] fragments = index instanceof CIndex ? ((CIndex) index).getFragments() : null;
+		final boolean cacheable = contentStamp != IResource.NULL_STAMP && fragments != null;
+		final Key key = new Key(tu, style);
+
+		if (cacheable) {
+			synchronized (fEntries) {
+				Entry entry = fEntries.get(key);
+				if (entry != null) {
+					IASTTranslationUnit ast = entry.fAST.get();
+					if (ast == null || !entry.isValidFor(contentStamp, fragments, index)) {
+						fEntries.remove(key);
+					} else if (tryBeginExclusiveAccess(ast)) {
+						fHitCount.incrementAndGet();
+						if (DEBUG)
+							System.out.println(DEBUG_PREFIX + "returning cached AST for: " + tu.getElementName()); //$NON-NLS-1$
+						return ast;
+					}
+				}
+			}
+		}
+
+		if (monitor != null && monitor.isCanceled())
+			return null;
+		IASTTranslationUnit ast = tu.getAST(index, style);
+		if (ast == null || (monitor != null && monitor.isCanceled()))
+			return null;
+		fMissCount.incrementAndGet();
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + "created AST for: " + tu.getElementName()); //$NON-NLS-1$
+		tryBeginExclusiveAccess(ast); // Always succeeds since nobody else knows about the AST yet.
+
+		if (cacheable) {
+			synchronized (fEntries) {
+				Entry entry = fEntries.get(key);
+				if (entry == null || entry.fAST.get() == null
+						|| !entry.isValidFor(contentStamp, fragments, index)) {
+					fEntries.put(key, new Entry(ast, contentStamp, fragments, index.getLastWriteAccess()));
+					evictEntries();
+				}
+			}
+		}
+		return ast;
+	}
+
+	/**
+	 * Releases an AST previously acquired by calling
+	 * {@link #acquireAST(ITranslationUnit, IIndex, int, IProgressMonitor)}.
+	 * Can be called by a thread other than the one that acquired the AST.
+	 *
+	 * @param ast the AST to release
+	 */
+	public void releaseAST(IASTTranslationUnit ast) {
+		((ASTTranslationUnit) ast).endExclusiveAccess();
+	}
+
+	/**
+	 * Removes all ASTs from the cache.
+	 */
+	public void clear() {
+		synchronized (fEntries) {
+			fEntries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of requests that were satisfied by a cached AST, i.e. the number of
+	 * parses that were avoided.
+	 */
+	public int getHitCount() {
+		return fHitCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that required creating a new AST.
+	 */
+	public int getMissCount() {
+		return fMissCount.get();
+	}
+
+	private void evictEntries() {
+		assert Thread.holdsLock(fEntries);
+		for (Iterator<Entry> iter = fEntries.values().iterator(); iter.hasNext();) {
+			if (iter.next().fAST.get() == null)
+				iter.remove();
+		}
+		for (Iterator<Entry> iter = fEntries.values().iterator(); fEntries.size() > fCapacity;) {
+			iter.next();
+			iter.remove();
+		}
+	}
+
+	private static boolean tryBeginExclusiveAccess(IASTTranslationUnit ast) {
+		try {
+			return ((ASTTranslationUnit) ast).tryBeginExclusiveAccess(0);
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Returns a stamp identifying the content of the translation unit, or
+	 * {@link IResource#NULL_STAMP} if the content cannot be versioned.
+	 */
+	private static long getContentStamp(ITranslationUnit tu) {
+		if (tu.isWorkingCopy())
+			return IResource.NULL_STAMP;
+		IResource resource = tu.getResource();
+		if (resource != null)
+			return resource.getModificationStamp();
+		IPath location = tu.getLocation();
+		if (location != null) {
+			File file = location.toFile();
+			if (file.isFile())
+				return 31 * file.lastModified() + file.length();
+		}
+		return IResource.NULL_STAMP;
+	}
+}
@@ -667,6 +667,9 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		IContributedModelBuilder mb = LanguageManager.getInstance()
 				.getContributedModelBuilderFor((ITranslationUnit) this);
 		if (mb == null) {
+			if (IndexModelBuilder.isEnabled() && buildUsingIndex(newElements, monitor)) {
+				return;
+			}
 			parseUsingCModelBuilder(newElements, quickParseMode, monitor);
 		} else {
 			parseUsingContributedModelBuilder(mb, quickParseMode, monitor);
@@ -691,6 +694,21 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		}
 	}
 
+	/**
+	 * Builds the structure of this element from the index, without parsing it.
+	 * @return whether the structure was built
+	 */
+	private boolean buildUsingIndex(Map<ICElement, CElementInfo> newElements, IProgressMonitor monitor) {
+		try {
+			return new IndexModelBuilder(this, newElements, monitor).build();
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
 	private void parseUsingContributedModelBuilder(IContributedModelBuilder mb, boolean quickParseMode,
 			IProgressMonitor monitor) {
 		// We did reuse the shared info cache in the internal model builder.
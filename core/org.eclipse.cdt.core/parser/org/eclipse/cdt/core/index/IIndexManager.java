@@ -186,6 +186,29 @@ public interface IIndexManager extends IPDOMManager {
 	 */
 	public static final int UPDATE_UNRESOLVED_INCLUDES = 0x80;
 
+	/**
+	 * Indexing priority of files without a specific priority.
+	 * @see #setIndexingPriority(ICElement[], int)
+	 * @since 8.3
+	 */
+	public static final int PRIORITY_DEFAULT = 0;
+
+	/**
+	 * Indexing priority of recent navigation targets. Files located in the same folder as one
+	 * of the recent navigation targets are indexed with the same priority.
+	 * @see #setIndexingPriority(ICElement[], int)
+	 * @since 8.3
+	 */
+	public static final int PRIORITY_NAVIGATION = 1;
+
+	/**
+	 * Indexing priority of files that are open in an editor. Files opened in an editor are also
+	 * considered to be navigation targets.
+	 * @see #setIndexingPriority(ICElement[], int)
+	 * @since 8.3
+	 */
+	public static final int PRIORITY_EDITOR = 2;
+
 	/**
 	 * Returns the index for the given project.
 	 *
@@ -333,6 +356,34 @@ public interface IIndexManager extends IPDOMManager {
 	 */
 	public void update(ICElement[] tuSelection, int options) throws CoreException;
 
+	/**
+	 * Sets the priority of indexing the given translation units. Pending updates of files with
+	 * a higher priority are performed before the updates of files with a lower priority, the
+	 * files included by a translation unit are updated together with it. When the indexer is
+	 * busy, the pending updates of the given translation units are moved ahead of the remaining
+	 * work.
+	 * <p>
+	 * Requests for {@link #PRIORITY_EDITOR} are counted, a translation unit keeps the priority
+	 * until each request has been undone by setting {@link #PRIORITY_DEFAULT}. The priority
+	 * {@link #PRIORITY_NAVIGATION} is kept for a limited number of recent requests only.
+	 *
+	 * @param tuSelection the translation units to set the priority for.
+	 * @param priority one of {@link #PRIORITY_DEFAULT}, {@link #PRIORITY_NAVIGATION} or
+	 *     {@link #PRIORITY_EDITOR}.
+	 * @since 8.3
+	 */
+	public void setIndexingPriority(ICElement[] tuSelection, int priority);
+
+	/**
+	 * Returns the priority of indexing the file at the given location.
+	 *
+	 * @param location the location of the file.
+	 * @return one of {@link #PRIORITY_DEFAULT}, {@link #PRIORITY_NAVIGATION} or
+	 *     {@link #PRIORITY_EDITOR}.
+	 * @since 8.3
+	 */
+	public int getIndexingPriority(IIndexFileLocation location);
+
 	/**
 	 * Exports index for usage within a team.
 	 *
@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.index.IIndexLocationConverter;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 
@@ -29,7 +30,14 @@ import org.eclipse.core.runtime.IPath;
  * Internal singleton map maintained for non-project PDOM objects
  */
 class PDOMCache {
+	/**
+	 * Read-only PDOMs are memory-mapped, reading a chunk is cheap. They use a small cache of
+	 * their own such that they do not displace the chunks of the project PDOMs.
+	 */
+	private static final long READ_ONLY_CACHE_SIZE = 4 * 1024 * 1024;
+
 	private Map<File, PDOM> path2pdom; // gives the PDOM for a particular path
+	private final ChunkCache fChunkCache = new ChunkCache(READ_ONLY_CACHE_SIZE);
 
 	private static PDOMCache singleton;
 	private static Object singletonMutex = new Object();
@@ -71,7 +79,8 @@ class PDOMCache {
 			}
 			if (result == null) {
 				try {
-					result = new PDOM(file, converter, LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+					result = new PDOM(file, converter, fChunkCache,
+							LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
 					path2pdom.put(file, result);
 				} catch (CoreException ce) {
 					CCorePlugin.log(ce);
@@ -28,11 +28,13 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -135,6 +137,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A file whose contents hash is unchanged, with the timestamp and size/encoding hash that
+	 * were observed when comparing it to the index.
+	 */
+	private static class UnchangedFile {
+		final IIndexFragmentFile fFile;
+		final long fTimestamp;
+		final int fSizeAndEncodingHashcode;
+
+		UnchangedFile(IIndexFragmentFile file, long timestamp, int sizeAndEncodingHashcode) {
+			fFile = file;
+			fTimestamp = timestamp;
+			fSizeAndEncodingHashcode = sizeAndEncodingHashcode;
+		}
+	}
+
 	private static class LocationTask {
 		private boolean fCountedUnknownVersion;
 		private boolean fStoredAVersion;
@@ -324,6 +342,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
 	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
+	/** Files with a modified timestamp, but the same contents as recorded in the index */
+	private final List<UnchangedFile> fUnchangedFiles = new ArrayList<>();
 	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
 
@@ -556,6 +576,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					HashMap<Integer, List<IIndexFileLocation>> files = new HashMap<>();
 					final ArrayList<IIndexFragmentFile> indexFilesToRemove = new ArrayList<>();
 					extractFiles(files, indexFilesToRemove, progress.split(1));
+					updateUnchangedFiles(progress.split(1));
 
 					setResume(true, progress.split(1));
 
@@ -565,21 +586,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					HashMap<Integer, List<IIndexFileLocation>> moreFiles = null;
 					while (true) {
 						int[] linkageIDs = getLinkagesToParse();
-						progress.setWorkRemaining((linkageIDs.length + 2) * 2);
+						progress.setWorkRemaining((linkageIDs.length + 3) * 2);
+						parsePrioritizedFiles(linkageIDs, files, progress.split(1));
 						for (int linkageID : linkageIDs) {
+							if (hasUrgentTasks())
+								break;
 							final List<IIndexFileLocation> filesForLinkage = files.get(linkageID);
 							if (filesForLinkage != null) {
 								parseLinkage(linkageID, filesForLinkage, progress.split(1));
-								for (Iterator<LocationTask> it = fOneLinkageTasks.values().iterator(); it.hasNext();) {
-									LocationTask task = it.next();
-									if (task.isCompleted())
-										it.remove();
-								}
-								fIndexContentCache.clear();
-								fIndexFilesCache.clear();
+								removeCompletedTasks();
 							}
-							if (hasUrgentTasks())
-								break;
 						}
 						synchronized (this) {
 							if (fUrgentTasks.isEmpty()) {
@@ -615,6 +631,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							fFilesToRemove = urgentTask.fFilesToRemove;
 							incrementRequestedFilesCount(fFilesToUpdate.length + fFilesToRemove.size());
 							extractFiles(files, indexFilesToRemove, progress.split(1));
+							updateUnchangedFiles(progress.split(1));
 							removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
 						}
 					}
@@ -634,6 +651,25 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Updates the timestamps of files that were found to be unchanged by comparing their contents
+	 * hash.
+	 */
+	private void updateUnchangedFiles(IProgressMonitor monitor) throws InterruptedException, CoreException {
+		if (fUnchangedFiles.isEmpty())
+			return;
+		fIndex.acquireWriteLock(monitor);
+		try {
+			for (UnchangedFile unchanged : fUnchangedFiles) {
+				unchanged.fFile.setTimestamp(unchanged.fTimestamp);
+				unchanged.fFile.setSizeAndEncodingHashcode(unchanged.fSizeAndEncodingHashcode);
+			}
+		} finally {
+			fIndex.releaseWriteLock();
+			fUnchangedFiles.clear();
+		}
+	}
+
 	private void setResume(boolean value, IProgressMonitor monitor) throws InterruptedException, CoreException {
 		fIndex.acquireWriteLock(monitor);
 		try {
@@ -754,9 +790,13 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private boolean isModified(boolean checkTimestamps, boolean checkFileContentsHash, IIndexFileLocation ifl,
 			Object tu, IIndexFragmentFile file) throws CoreException {
 		if (checkTimestamps) {
-			if (fResolver.getLastModified(ifl) != file.getTimestamp()
-					|| computeFileSizeAndEncodingHashcode(ifl) != file.getSizeAndEncodingHashcode()) {
+			long timestamp = fResolver.getLastModified(ifl);
+			int sizeAndEncodingHashcode = computeFileSizeAndEncodingHashcode(ifl);
+			if (timestamp != file.getTimestamp() || sizeAndEncodingHashcode != file.getSizeAndEncodingHashcode()) {
 				if (checkFileContentsHash && computeFileContentsHash(tu) == file.getContentsHash()) {
+					// Remember the timestamp that was hashed, such that the contents are not hashed again
+					// next time. A later modification gets a newer timestamp and is detected.
+					fUnchangedFiles.add(new UnchangedFile(file, timestamp, sizeAndEncodingHashcode));
 					return false;
 				}
 				return true;
@@ -866,6 +906,50 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		filesToRemove.clear();
 	}
 
+	/**
+	 * Parses the files with a priority above the default priority ahead of all other files.
+	 * The files are parsed in the order of decreasing priority across all linkages.
+	 */
+	private void parsePrioritizedFiles(int[] linkageIDs, Map<Integer, List<IIndexFileLocation>> files,
+			IProgressMonitor monitor) throws CoreException, InterruptedException {
+		TreeMap<Integer, Map<Integer, List<IIndexFileLocation>>> filesByPriority = new TreeMap<>(
+				Collections.reverseOrder());
+		for (int linkageID : linkageIDs) {
+			final List<IIndexFileLocation> filesForLinkage = files.get(linkageID);
+			if (filesForLinkage == null)
+				continue;
+			for (IIndexFileLocation ifl : filesForLinkage) {
+				int priority = fResolver.getIndexingPriority(ifl);
+				if (priority > IIndexManager.PRIORITY_DEFAULT) {
+					filesByPriority.computeIfAbsent(priority, p -> new LinkedHashMap<>())
+							.computeIfAbsent(linkageID, l -> new ArrayList<>()).add(ifl);
+				}
+			}
+		}
+		if (filesByPriority.isEmpty())
+			return;
+
+		SubMonitor progress = SubMonitor.convert(monitor, filesByPriority.size() * linkageIDs.length);
+		for (Map<Integer, List<IIndexFileLocation>> filesAtPriority : filesByPriority.values()) {
+			for (Map.Entry<Integer, List<IIndexFileLocation>> entry : filesAtPriority.entrySet()) {
+				if (hasUrgentTasks())
+					return;
+				parseLinkage(entry.getKey(), entry.getValue(), progress.split(1));
+			}
+		}
+		removeCompletedTasks();
+	}
+
+	private void removeCompletedTasks() {
+		for (Iterator<LocationTask> it = fOneLinkageTasks.values().iterator(); it.hasNext();) {
+			LocationTask task = it.next();
+			if (task.isCompleted())
+				it.remove();
+		}
+		fIndexContentCache.clear();
+		fIndexFilesCache.clear();
+	}
+
 	private void parseLinkage(int linkageID, List<IIndexFileLocation> files, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
 		LinkageTask map = findRequestMap(linkageID);
@@ -1096,19 +1180,23 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			progress.subTask(
 					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+			long start = System.currentTimeMillis();
 			FileContent codeReader = fResolver.getCodeReader(tu);
+			long parseStart = System.currentTimeMillis();
+			fStatistics.fReadingFilesTime += parseStart - start;
 
-			long start = System.currentTimeMillis();
 			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
-			fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			final int parsingTime = (int) (System.currentTimeMillis() - parseStart);
+			fStatistics.fParsingTime += parsingTime;
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
 				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, progress.split(10));
 				resultCacheCleared = true; // The cache was cleared while writing to the index.
 			}
+			long time = System.currentTimeMillis() - start;
+			fStatistics.addFileTime(path.toOSString(), parsingTime, (int) time);
 			if (fShowActivity) {
-				long time = System.currentTimeMillis() - start;
 				trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
 		} catch (OperationCanceledException e) {
@@ -20,6 +20,14 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.resources.IFile;
@@ -99,7 +107,7 @@ public class Checksums {
 	}
 
 	/**
-	 * Creates a map to persist checksums for a project.
+	 * Creates a map to persist checksums for a project. The checksums are computed concurrently.
 	 * @throws OperationCanceledException
 	 * @since 4.0
 	 */
@@ -108,25 +116,56 @@ public class Checksums {
 		Map<String, Object> result = new HashMap<>();
 		putAlgorithm(result, md);
 		pm.beginTask(Messages.Checksums_taskComputeChecksums, tus.length);
-		for (IFile file : tus) {
-			if (pm.isCanceled()) {
-				throw new OperationCanceledException();
+		final int nThreads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), tus.length));
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(nThreads, r -> {
+			Thread thread = new Thread(r, "Index Checksums #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+			try {
+				return MessageDigest.getInstance(md.getAlgorithm());
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
 			}
-			if (file != null) {
-				IPath location = file.getLocation();
-				if (location != null) {
-					File f = location.toFile();
-					if (f.isFile()) {
-						try {
-							byte[] checksum = computeChecksum(md, f);
-							putChecksum(result, file, checksum);
-						} catch (IOException e) {
-							CCorePlugin.log(e);
+		});
+		try {
+			CompletionService<byte[]> completionService = new ExecutorCompletionService<>(executor);
+			Map<Future<byte[]>, IFile> pending = new HashMap<>();
+			for (IFile file : tus) {
+				if (file != null) {
+					IPath location = file.getLocation();
+					if (location != null) {
+						File f = location.toFile();
+						if (f.isFile()) {
+							pending.put(completionService.submit(() -> computeChecksum(digests.get(), f)), file);
+							continue;
 						}
 					}
 				}
+				pm.worked(1);
+			}
+			while (!pending.isEmpty()) {
+				if (pm.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Future<byte[]> future = completionService.poll(100, TimeUnit.MILLISECONDS);
+				if (future != null) {
+					IFile file = pending.remove(future);
+					try {
+						putChecksum(result, file, future.get());
+					} catch (ExecutionException e) {
+						CCorePlugin.log(e.getCause());
+					}
+					pm.worked(1);
+				}
 			}
-			pm.worked(1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
 		}
 		pm.done();
 		return result;
@@ -14,10 +14,36 @@
 
 package org.eclipse.cdt.internal.core.pdom;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
 public class IndexerStatistics {
+	/** Number of files reported by {@link #getSlowestFiles()} */
+	public static final int SLOWEST_FILES_COUNT = 10;
+
+	/**
+	 * Time spent on a single file in milliseconds.
+	 */
+	public static class FileTime {
+		public final String fPath;
+		public final int fParsingTime;
+		public final int fTotalTime;
+
+		public FileTime(String path, int parsingTime, int totalTime) {
+			fPath = path;
+			fParsingTime = parsingTime;
+			fTotalTime = totalTime;
+		}
+	}
+
 	public int fResolutionTime;
 	public int fParsingTime;
 	public int fAddToIndexTime;
+	public int fReadingFilesTime;
+	public int fLockWaitTime;
 	public int fErrorCount;
 	public int fReferenceCount = 0;
 	public int fDeclarationCount = 0;
@@ -26,4 +52,28 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+
+	private static final Comparator<FileTime> BY_TOTAL_TIME = Comparator.comparingInt(f -> f.fTotalTime);
+	private final PriorityQueue<FileTime> fSlowestFiles = new PriorityQueue<>(BY_TOTAL_TIME);
+
+	/**
+	 * Records the time spent on a file, only the slowest files are kept.
+	 */
+	public void addFileTime(String path, int parsingTime, int totalTime) {
+		if (fSlowestFiles.size() < SLOWEST_FILES_COUNT) {
+			fSlowestFiles.add(new FileTime(path, parsingTime, totalTime));
+		} else if (fSlowestFiles.peek().fTotalTime < totalTime) {
+			fSlowestFiles.poll();
+			fSlowestFiles.add(new FileTime(path, parsingTime, totalTime));
+		}
+	}
+
+	/**
+	 * Returns the files that took longest to be indexed, slowest first.
+	 */
+	public List<FileTime> getSlowestFiles() {
+		List<FileTime> result = new ArrayList<>(fSlowestFiles);
+		Collections.sort(result, Collections.reverseOrder(BY_TOTAL_TIME));
+		return result;
+	}
 }
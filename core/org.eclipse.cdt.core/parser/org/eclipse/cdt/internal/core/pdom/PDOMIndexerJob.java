@@ -74,7 +74,7 @@ public class PDOMIndexerJob extends Job {
 
 	private static final int PROGRESS_UPDATE_INTERVAL = 500;
 	private static final int TOTAL_MONITOR_WORK = 1000;
-	static volatile String sMonitorDetail = null;
+	private volatile String fMonitorDetail;
 
 	private final PDOMManager pdomManager;
 	private IPDOMIndexerTask currentTask;
@@ -90,6 +90,13 @@ public class PDOMIndexerJob extends Job {
 		setPriority(Job.LONG);
 	}
 
+	/**
+	 * Returns the detail of the progress of the current task.
+	 */
+	String getMonitorDetail() {
+		return fMonitorDetail;
+	}
+
 	public synchronized void subTask(String msg) {
 		if (fMonitor != null) {
 			fMonitor.subTask(msg);
@@ -129,7 +136,7 @@ public class PDOMIndexerJob extends Job {
 
 				@Override
 				public void subTask(String name) {
-					sMonitorDetail = name;
+					fMonitorDetail = name;
 				}
 			};
 
@@ -140,12 +147,12 @@ public class PDOMIndexerJob extends Job {
 
 					// User cancel, tell manager and return.
 					if (monitor.isCanceled()) {
-						pdomManager.indexerJobCanceled(cancelledByManager);
+						pdomManager.indexerJobCanceled(this, cancelledByManager);
 						return Status.CANCEL_STATUS;
 					}
 
 					// Pick up new task.
-					currentTask = pdomManager.getNextTask();
+					currentTask = pdomManager.getNextTask(this);
 				}
 
 				if (currentTask != null) {
@@ -184,7 +191,7 @@ public class PDOMIndexerJob extends Job {
 	}
 
 	private void indexingAborted() {
-		pdomManager.indexerJobCanceled(true);
+		pdomManager.indexerJobCanceled(this, true);
 		synchronized (taskMutex) {
 			currentTask = null;
 			taskMutex.notifyAll();
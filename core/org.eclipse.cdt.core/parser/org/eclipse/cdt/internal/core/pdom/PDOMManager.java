@@ -27,15 +27,19 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URI;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -79,12 +83,15 @@ import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMProjectIndexLocationConverter;
 import org.eclipse.cdt.internal.core.pdom.indexer.AbstractPDOMIndexer;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.cdt.internal.core.pdom.indexer.PDOMCompactTask;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMNullIndexer;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMRebuildTask;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMUpdateTask;
@@ -141,6 +148,10 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/** Memory required by an indexer job for parsing large translation units */
+	private static final long MEMORY_PER_INDEXER_JOB = 512L * 1024 * 1024;
+	/** Number of recent navigation targets whose folders are indexed with navigation priority */
+	private static final int MAX_NAVIGATION_FOLDERS = 16;
 	private static final QualifiedName dbNameProperty = new QualifiedName(CCorePlugin.PLUGIN_ID, "pdomName"); //$NON-NLS-1$
 
 	public static final int[] IDS_FOR_LINKAGES_TO_INDEX = { ILinkage.CPP_LINKAGE_ID, ILinkage.C_LINKAGE_ID,
@@ -151,17 +162,26 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	private final ArrayDeque<ICProject> fProjectQueue = new ArrayDeque<>();
 	private final PDOMSetupJob fSetupJob;
 	/**
-	 * Protects fIndexerJob, fCurrentTask and fTaskQueue.
+	 * Protects fIndexerJobs, fCurrentTasks and fTaskQueue.
 	 */
 	private final ArrayDeque<IPDOMIndexerTask> fTaskQueue = new ArrayDeque<>();
+	/** The indexer job reporting the overall progress, it is the first of fIndexerJobs */
 	private final PDOMIndexerJob fIndexerJob;
-	private IPDOMIndexerTask fCurrentTask;
+	/** Indexer jobs running tasks of different projects concurrently */
+	private final List<PDOMIndexerJob> fIndexerJobs = new ArrayList<>();
+	/** The tasks run by the indexer jobs */
+	private final Map<PDOMIndexerJob, IPDOMIndexerTask> fCurrentTasks = new LinkedHashMap<>();
+	private int fMaxIndexerJobs = 1;
 	private int fSourceCount, fHeaderCount, fTickCount;
 
 	private final ArrayDeque<Runnable> fChangeEvents = new ArrayDeque<>();
 	private final Job fNotificationJob;
 
 	private final AtomicMultiSet<IIndexFileLocation> fFilesIndexedUnconditionlly = new AtomicMultiSet<>();
+	/** Files with editor priority, see {@link #setIndexingPriority(ICElement[], int)} */
+	private final AtomicMultiSet<IIndexFileLocation> fFilesWithEditorPriority = new AtomicMultiSet<>();
+	/** Folders of the recent navigation targets, protected by itself */
+	private final Map<URI, Boolean> fNavigationFolders = new LRUCache<>(MAX_NAVIGATION_FOLDERS);
 
 	/**
 	 * Stores mapping from pdom to project, used to serialize creation of new pdoms.
@@ -209,6 +229,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		fPreferenceChangeListener = event -> onPreferenceChange(event);
 		fSetupJob = new PDOMSetupJob(this);
 		fIndexerJob = new PDOMIndexerJob(this);
+		fIndexerJobs.add(fIndexerJob);
 		fNotificationJob = createNotifyJob();
 	}
 
@@ -242,6 +263,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		InstanceScope.INSTANCE.getNode(CCorePlugin.PLUGIN_ID).addPreferenceChangeListener(fPreferenceChangeListener);
 		Job.getJobManager().addJobChangeListener(fJobChangeListener);
 		adjustCacheSize();
+		adjustIndexerJobs();
 		updatePathCanonicalizationStrategy();
 		fIndexProviderManager.startup();
 
@@ -275,14 +297,14 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fCModelListener);
 		LanguageSettingsManager.unregisterLanguageSettingsChangeListener(fLanguageSettingsChangeListener);
 		LanguageManager.getInstance().unregisterLanguageChangeListener(fLanguageChangeListener);
-		PDOMIndexerJob jobToCancel = null;
+		List<PDOMIndexerJob> jobsToCancel;
 		synchronized (fTaskQueue) {
 			fTaskQueue.clear();
-			jobToCancel = fIndexerJob;
+			jobsToCancel = new ArrayList<>(fIndexerJobs);
 		}
 
-		if (jobToCancel != null) {
-			assert !Thread.holdsLock(fTaskQueue);
+		assert !Thread.holdsLock(fTaskQueue);
+		for (PDOMIndexerJob jobToCancel : jobsToCancel) {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
@@ -293,6 +315,8 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		if (prop.equals(CCorePreferenceConstants.INDEX_DB_CACHE_SIZE_PCT)
 				|| prop.equals(CCorePreferenceConstants.MAX_INDEX_DB_CACHE_SIZE_MB)) {
 			adjustCacheSize();
+		} else if (prop.equals(CCorePreferenceConstants.MAX_CONCURRENT_INDEXER_JOBS)) {
+			adjustIndexerJobs();
 		} else if (prop.equals(CCorePreferenceConstants.TODO_TASK_TAGS)
 				|| prop.equals(CCorePreferenceConstants.TODO_TASK_PRIORITIES)
 				|| prop.equals(CCorePreferenceConstants.TODO_TASK_CASE_SENSITIVE)) {
@@ -315,6 +339,21 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		ChunkCache.getSharedInstance().setMaxSize(m2);
 	}
 
+	/**
+	 * Computes the maximum number of concurrent indexer jobs from the preference, limited by the
+	 * number of available processors and by the maximum memory.
+	 */
+	protected void adjustIndexerJobs() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		int maxJobs = prefs.getInt(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.MAX_CONCURRENT_INDEXER_JOBS, 1,
+				null);
+		final Runtime runtime = Runtime.getRuntime();
+		long limit = Math.min(runtime.availableProcessors(), runtime.maxMemory() / MEMORY_PER_INDEXER_JOB);
+		synchronized (fTaskQueue) {
+			fMaxIndexerJobs = (int) Math.max(1, Math.min(maxJobs, limit));
+		}
+	}
+
 	private void updatePathCanonicalizationStrategy() {
 		IPreferencesService prefs = Platform.getPreferencesService();
 		boolean canonicalize = prefs.getBoolean(CCorePlugin.PLUGIN_ID,
@@ -371,6 +410,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 						if (!currentOwner.exists()) {
 							fFileToProject.remove(dbFile);
 							dbFile.delete();
+							Database.deleteWriteAheadLogs(dbFile);
 						}
 						dbName = null;
 						dbFile = null;
@@ -395,6 +435,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				CCorePlugin.log("Failed to open C/C++ index file " + dbFile.getAbsolutePath() //$NON-NLS-1$
 						+ " - rebuilding the index", e); //$NON-NLS-1$
 				dbFile.delete();
+				Database.deleteWriteAheadLogs(dbFile);
 				fromScratch = true;
 				pdom = new WritablePDOM(dbFile, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
 			}
@@ -700,8 +741,10 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 	public void enqueue(IPDOMIndexerTask subjob) {
 		synchronized (fTaskQueue) {
-			if (fCurrentTask != null && fCurrentTask.acceptUrgentTask(subjob)) {
-				return;
+			for (IPDOMIndexerTask task : fCurrentTasks.values()) {
+				if (task.acceptUrgentTask(subjob)) {
+					return;
+				}
 			}
 			for (IPDOMIndexerTask task : fTaskQueue) {
 				if (task.acceptUrgentTask(subjob)) {
@@ -710,40 +753,223 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			}
 			fTaskQueue.addLast(subjob);
 		}
-		fIndexerJob.schedule();
+		scheduleIndexerJobs();
 	}
 
-	IPDOMIndexerTask getNextTask() {
+	/**
+	 * Schedules the indexer job and creates as many additional jobs as there are tasks that can
+	 * run concurrently with the current tasks. An additional job ends and is removed when it finds
+	 * no task to run.
+	 */
+	private void scheduleIndexerJobs() {
+		List<PDOMIndexerJob> jobsToSchedule = new ArrayList<>();
+		synchronized (fTaskQueue) {
+			jobsToSchedule.add(fIndexerJob);
+			int runnable = getNumberOfRunnableTasks();
+			// Jobs without a task are about to pick up one of the runnable tasks.
+			for (PDOMIndexerJob job : fIndexerJobs) {
+				if (!fCurrentTasks.containsKey(job)) {
+					runnable--;
+				}
+			}
+			while (runnable > 0 && fIndexerJobs.size() < fMaxIndexerJobs) {
+				PDOMIndexerJob job = new PDOMIndexerJob(this);
+				fIndexerJobs.add(job);
+				jobsToSchedule.add(job);
+				runnable--;
+			}
+		}
+		for (PDOMIndexerJob job : jobsToSchedule) {
+			job.schedule();
+		}
+	}
+
+	IPDOMIndexerTask getNextTask(PDOMIndexerJob job) {
 		IPDOMIndexerTask result = null;
+		boolean scheduleJobs = false;
 		synchronized (fTaskQueue) {
-			if (fTaskQueue.isEmpty()) {
-				fCurrentTask = null;
+			IPDOMIndexerTask previous = fCurrentTasks.remove(job);
+			if (previous != null) {
+				IndexerProgress info = previous.getProgressInformation();
+				fSourceCount += info.fCompletedSources;
+				fHeaderCount += info.fCompletedHeaders;
+				// for the ticks we don't consider additional headers
+				fTickCount += info.fCompletedSources + info.fPrimaryHeaderCount;
+			}
+			if (fIndexerJobs.indexOf(job) < fMaxIndexerJobs) {
+				result = pollRunnableTask();
+			}
+			if (result != null) {
+				fCurrentTasks.put(job, result);
+			} else if (job != fIndexerJob) {
+				fIndexerJobs.remove(job);
+			}
+			if (fCurrentTasks.isEmpty() && fTaskQueue.isEmpty()) {
 				fSourceCount = fHeaderCount = fTickCount = 0;
+			}
+			// Tasks that had to wait for the previous task may run now.
+			scheduleJobs = previous != null && !fTaskQueue.isEmpty() && (result == null || fMaxIndexerJobs > 1);
+		}
+		if (scheduleJobs) {
+			scheduleIndexerJobs();
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the first task from the queue that can run concurrently with the current tasks.
+	 * Tasks of a project are run one after the other. They are not run concurrently with the
+	 * tasks of projects it references or is referenced by, because the index of a project holds
+	 * read locks on the indexes of the referenced projects. Tasks not associated with a project
+	 * are run exclusively.
+	 */
+	private IPDOMIndexerTask pollRunnableTask() {
+		assert Thread.holdsLock(fTaskQueue);
+		Set<IProject> busyProjects = new HashSet<>();
+		for (IPDOMIndexerTask task : fCurrentTasks.values()) {
+			IProject project = getProject(task);
+			if (project == null)
+				return null;
+			busyProjects.add(project);
+		}
+		for (Iterator<IPDOMIndexerTask> it = fTaskQueue.iterator(); it.hasNext();) {
+			IPDOMIndexerTask task = it.next();
+			IProject project = getProject(task);
+			if (project == null) {
+				if (!busyProjects.isEmpty())
+					return null;
+				it.remove();
+				return task;
+			}
+			if (!busyProjects.contains(project) && !isRelatedToAny(project, busyProjects)) {
+				it.remove();
+				return task;
+			}
+			busyProjects.add(project);
+		}
+		return null;
+	}
+
+	private int getNumberOfRunnableTasks() {
+		assert Thread.holdsLock(fTaskQueue);
+		Set<IProject> busyProjects = new HashSet<>();
+		for (IPDOMIndexerTask task : fCurrentTasks.values()) {
+			IProject project = getProject(task);
+			if (project == null)
+				return 0;
+			busyProjects.add(project);
+		}
+		int count = 0;
+		for (IPDOMIndexerTask task : fTaskQueue) {
+			IProject project = getProject(task);
+			if (project == null)
+				return busyProjects.isEmpty() ? 1 : count;
+			if (!busyProjects.contains(project) && !isRelatedToAny(project, busyProjects)) {
+				count++;
+			}
+			busyProjects.add(project);
+		}
+		return count;
+	}
+
+	private static IProject getProject(IPDOMIndexerTask task) {
+		IPDOMIndexer indexer = task.getIndexer();
+		if (indexer != null) {
+			ICProject cproject = indexer.getProject();
+			if (cproject != null)
+				return cproject.getProject();
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the given project references one of the given projects, or is referenced by
+	 * one of them, directly or through other projects.
+	 */
+	private static boolean isRelatedToAny(IProject project, Set<IProject> projects) {
+		return containsAny(getReferenceClosure(project, true), projects)
+				|| containsAny(getReferenceClosure(project, false), projects);
+	}
+
+	/**
+	 * Returns the projects transitively referenced by the given project, or the projects
+	 * transitively referencing it.
+	 */
+	public static Set<IProject> getReferenceClosure(IProject project, boolean referenced) {
+		Set<IProject> closure = new HashSet<>();
+		ArrayDeque<IProject> pending = new ArrayDeque<>();
+		pending.add(project);
+		while (!pending.isEmpty()) {
+			IProject next = pending.removeFirst();
+			IProject[] neighbors;
+			if (referenced) {
+				try {
+					neighbors = next.getReferencedProjects();
+				} catch (CoreException e) {
+					// The project is closed or does not exist.
+					continue;
+				}
 			} else {
-				if (fCurrentTask != null) {
-					IndexerProgress info = fCurrentTask.getProgressInformation();
-					fSourceCount += info.fCompletedSources;
-					fHeaderCount += info.fCompletedHeaders;
-					// for the ticks we don't consider additional headers
-					fTickCount += info.fCompletedSources + info.fPrimaryHeaderCount;
+				neighbors = next.getReferencingProjects();
+			}
+			for (IProject neighbor : neighbors) {
+				if (!neighbor.equals(project) && closure.add(neighbor)) {
+					pending.addLast(neighbor);
 				}
-				result = fCurrentTask = fTaskQueue.removeFirst();
 			}
 		}
-		return result;
+		return closure;
 	}
 
-	void indexerJobCanceled(boolean byManager) {
+	private static boolean containsAny(Set<IProject> closure, Set<IProject> projects) {
+		for (IProject project : projects) {
+			if (closure.contains(project))
+				return true;
+		}
+		return false;
+	}
+
+	void indexerJobCanceled(PDOMIndexerJob job, boolean byManager) {
 		boolean scheduleJob;
+		List<PDOMIndexerJob> jobsToCancel = new ArrayList<>();
 		synchronized (fTaskQueue) {
-			fCurrentTask = null;
+			IPDOMIndexerTask task = fCurrentTasks.remove(job);
+			if (job != fIndexerJob) {
+				fIndexerJobs.remove(job);
+			}
 			if (!byManager) {
-				fTaskQueue.clear();
+				if (job == fIndexerJob) {
+					// The user cancels indexing of all projects.
+					fTaskQueue.clear();
+					jobsToCancel.addAll(fCurrentTasks.keySet());
+				} else if (task != null) {
+					// The user cancels indexing of the project of the task.
+					IProject project = getProject(task);
+					for (Iterator<IPDOMIndexerTask> it = fTaskQueue.iterator(); it.hasNext();) {
+						IPDOMIndexerTask queued = it.next();
+						if (project == null || project.equals(getProject(queued))) {
+							it.remove();
+						}
+					}
+				}
 			}
 			scheduleJob = !fTaskQueue.isEmpty();
 		}
+		for (PDOMIndexerJob other : jobsToCancel) {
+			other.cancel();
+		}
 		if (scheduleJob) {
-			fIndexerJob.schedule();
+			scheduleIndexerJobs();
+		}
+	}
+
+	/**
+	 * Returns the number of indexer jobs, including the ones that have finished their last task
+	 * but have not yet been removed.
+	 */
+	public int getIndexerJobCount() {
+		synchronized (fTaskQueue) {
+			return fIndexerJobs.size();
 		}
 	}
 
@@ -962,7 +1188,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	}
 
 	private void cancelIndexerJobs(IPDOMIndexer indexer) {
-		PDOMIndexerJob jobToCancel = null;
+		List<PDOMIndexerJob> jobsToCancel;
 		synchronized (fTaskQueue) {
 			for (Iterator<IPDOMIndexerTask> iter = fTaskQueue.iterator(); iter.hasNext();) {
 				IPDOMIndexerTask task = iter.next();
@@ -970,11 +1196,11 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 					iter.remove();
 				}
 			}
-			jobToCancel = fIndexerJob;
+			jobsToCancel = new ArrayList<>(fIndexerJobs);
 		}
 
-		if (jobToCancel != null) {
-			assert !Thread.holdsLock(fTaskQueue);
+		assert !Thread.holdsLock(fTaskQueue);
+		for (PDOMIndexerJob jobToCancel : jobsToCancel) {
 			jobToCancel.cancelJobs(indexer, true);
 		}
 	}
@@ -1026,6 +1252,19 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		job.schedule();
 	}
 
+	/**
+	 * Schedules the compaction of the index of the given project. The contents of the index
+	 * are retained, the database file is shrunk when possible.
+	 */
+	public void compact(final ICProject project) {
+		synchronized (fUpdatePolicies) {
+			IPDOMIndexer indexer = getIndexer(project);
+			if (indexer != null) {
+				enqueue(new PDOMCompactTask(indexer));
+			}
+		}
+	}
+
 	@Override
 	public void addIndexChangeListener(IIndexChangeListener listener) {
 		fChangeListeners.add(listener);
@@ -1189,20 +1428,29 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		int sourceCount, sourceEstimate, headerCount, tickCount, tickEstimate;
 		String detail = null;
 		synchronized (fTaskQueue) {
-			// Add historic data.
-			sourceCount = sourceEstimate = fSourceCount;
-			headerCount = fHeaderCount;
-			tickCount = tickEstimate = fTickCount;
-
-			// Add future data.
-			for (IPDOMIndexerTask task : fTaskQueue) {
-				final IndexerProgress info = task.getProgressInformation();
-				sourceEstimate += info.fRequestedFilesCount;
-				tickEstimate += info.getEstimatedTicks();
+			Collection<IPDOMIndexerTask> currentTasks;
+			if (job == fIndexerJob) {
+				// Add historic data.
+				sourceCount = sourceEstimate = fSourceCount;
+				headerCount = fHeaderCount;
+				tickCount = tickEstimate = fTickCount;
+
+				// Add future data.
+				for (IPDOMIndexerTask task : fTaskQueue) {
+					final IndexerProgress info = task.getProgressInformation();
+					sourceEstimate += info.fRequestedFilesCount;
+					tickEstimate += info.getEstimatedTicks();
+				}
+				currentTasks = fCurrentTasks.values();
+			} else {
+				// Additional jobs report the progress of their own task.
+				sourceCount = sourceEstimate = headerCount = tickCount = tickEstimate = 0;
+				IPDOMIndexerTask task = fCurrentTasks.get(job);
+				currentTasks = task != null ? Collections.singletonList(task) : Collections.emptyList();
 			}
 			// Add current data.
-			if (fCurrentTask != null) {
-				final IndexerProgress info = fCurrentTask.getProgressInformation();
+			for (IPDOMIndexerTask currentTask : currentTasks) {
+				final IndexerProgress info = currentTask.getProgressInformation();
 				sourceCount += info.fCompletedSources;
 				sourceEstimate += info.fRequestedFilesCount - info.fPrimaryHeaderCount;
 				headerCount += info.fCompletedHeaders;
@@ -1225,7 +1473,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 					tickCount += completedPrimary;
 					tickEstimate += info.fTimeEstimate;
 				}
-				detail = PDOMIndexerJob.sMonitorDetail;
+			}
+			if (!currentTasks.isEmpty()) {
+				detail = job.getMonitorDetail();
 			}
 		}
 
@@ -1284,6 +1534,22 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 */
 	public void exportProjectPDOM(ICProject cproject, File targetLocation, final IIndexLocationConverter newConverter,
 			IProgressMonitor monitor) throws CoreException {
+		exportProjectPDOM(cproject, targetLocation, newConverter, null, monitor);
+	}
+
+	/**
+	 * Exports the project PDOM to the specified location, rewriting locations with
+	 * the specified location converter and storing the given properties in the exported PDOM.
+	 * <br>
+	 * Note. This will acquire a write lock while the pdom is exported
+	 * @param targetLocation a location that does not currently exist
+	 * @param newConverter
+	 * @param properties the properties to store in the exported PDOM, may be <code>null</code>
+	 * @throws CoreException
+	 * @throws IllegalArgumentException if a file exists at targetLocation
+	 */
+	public void exportProjectPDOM(ICProject cproject, File targetLocation, final IIndexLocationConverter newConverter,
+			Map<String, String> properties, IProgressMonitor monitor) throws CoreException {
 		if (targetLocation.exists()) {
 			boolean deleted = targetLocation.delete();
 			if (!deleted) {
@@ -1316,6 +1582,11 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				// Ensure that fragment id has a sensible value, in case callee's do not
 				// overwrite with their own values.
 				newPDOM.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, "exported." + oldID); //$NON-NLS-1$
+				if (properties != null) {
+					for (Map.Entry<String, String> entry : properties.entrySet()) {
+						newPDOM.setProperty(entry.getKey(), entry.getValue());
+					}
+				}
 				newPDOM.close();
 			} finally {
 				newPDOM.releaseWriteLock();
@@ -1697,7 +1968,56 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		return fFilesIndexedUnconditionlly.contains(ifl);
 	}
 
+	@Override
+	public void setIndexingPriority(ICElement[] tuSelection, int priority) {
+		List<ICElement> prioritized = new ArrayList<>();
+		for (ICElement element : tuSelection) {
+			if (element instanceof ITranslationUnit) {
+				IIndexFileLocation ifl = IndexLocationFactory.getIFL((ITranslationUnit) element);
+				if (ifl == null)
+					continue;
+				int previous = getIndexingPriority(ifl);
+				switch (priority) {
+				case IIndexManager.PRIORITY_EDITOR:
+					fFilesWithEditorPriority.add(ifl);
+					//$FALL-THROUGH$
+				case IIndexManager.PRIORITY_NAVIGATION:
+					synchronized (fNavigationFolders) {
+						fNavigationFolders.put(getFolder(ifl), Boolean.TRUE);
+					}
+					// Switching back to a file that already has the priority requires no new check.
+					if (previous < priority)
+						prioritized.add(element);
+					break;
+				default:
+					fFilesWithEditorPriority.remove(ifl);
+					break;
+				}
+			}
+		}
+		if (!prioritized.isEmpty() && !isIndexerIdle()) {
+			// Pending updates of the files are taken over as urgent work by the queued tasks.
+			try {
+				update(prioritized.toArray(new ICElement[prioritized.size()]),
+						IIndexManager.UPDATE_CHECK_TIMESTAMPS);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+
+	@Override
 	public int getIndexingPriority(IIndexFileLocation ifl) {
-		return fFilesIndexedUnconditionlly.getCount(ifl);
+		if (fFilesWithEditorPriority.contains(ifl) || fFilesIndexedUnconditionlly.contains(ifl))
+			return IIndexManager.PRIORITY_EDITOR;
+		synchronized (fNavigationFolders) {
+			if (!fNavigationFolders.isEmpty() && fNavigationFolders.containsKey(getFolder(ifl)))
+				return IIndexManager.PRIORITY_NAVIGATION;
+		}
+		return IIndexManager.PRIORITY_DEFAULT;
+	}
+
+	private static URI getFolder(IIndexFileLocation ifl) {
+		return ifl.getURI().resolve("."); //$NON-NLS-1$
 	}
 }
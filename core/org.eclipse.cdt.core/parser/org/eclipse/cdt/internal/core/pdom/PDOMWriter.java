@@ -371,6 +371,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
 				}
 				fStatistics.fAddToIndexTime += lock.getCumulativeLockTime();
+				fStatistics.fLockWaitTime += lock.getCumulativeWaitTime();
 			}
 		}
 	}
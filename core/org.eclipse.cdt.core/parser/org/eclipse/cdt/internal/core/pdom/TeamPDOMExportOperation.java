@@ -48,7 +48,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 
@@ -92,10 +91,8 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		getTargetLocation();
 
 		File tmpPDOM = null;
-		File tmpChecksums = null;
 		try {
 			tmpPDOM = File.createTempFile("tmp", ".pdom"); //$NON-NLS-1$//$NON-NLS-2$
-			tmpChecksums = File.createTempFile("checksums", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
 		} catch (IOException e) {
 			throw new CoreException(
 					CCorePlugin.createStatus(Messages.TeamPDOMExportOperation_errorCreatingTempFile, e));
@@ -114,11 +111,11 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 			monitor.worked(5);
 
 			// Create checksums.
+			IFile[] files;
 			PDOM pdom = new PDOM(tmpPDOM, converter, LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
 			pdom.acquireReadLock();
 			try {
-				progress.setTaskName(Messages.Checksums_taskComputeChecksums);
-				createChecksums(fProject, pdom, tmpChecksums, progress.split(49));
+				files = getWorkspaceFiles(pdom.getAllFiles());
 				pdom.db.setExclusiveLock(); // The tmpPDOM is all ours.
 				pdom.close();
 			} finally {
@@ -126,7 +123,8 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 			}
 
 			// Create archive.
-			createArchive(tmpPDOM, tmpChecksums);
+			progress.setTaskName(Messages.Checksums_taskComputeChecksums);
+			createArchive(tmpPDOM, files, fMessageDigest, fTargetLocationFile, progress.split(49));
 
 			// Store preferences.
 			progress.setTaskName(Messages.TeamPDOMExportOperation_taskExportIndex);
@@ -146,9 +144,6 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 			if (tmpPDOM != null) {
 				tmpPDOM.delete();
 			}
-			if (tmpChecksums != null) {
-				tmpChecksums.delete();
-			}
 		}
 	}
 
@@ -174,24 +169,16 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		}
 	}
 
-	private void createChecksums(ICProject cproject, PDOM pdom, File target, IProgressMonitor monitor)
-			throws CoreException {
+	/**
+	 * Returns the workspace files for the given files of an index.
+	 */
+	public static IFile[] getWorkspaceFiles(IIndexFile[] ifiles) throws CoreException {
 		HashSet<String> fullPaths = new HashSet<>();
-		try {
-			pdom.acquireReadLock();
-		} catch (InterruptedException e) {
-			throw new OperationCanceledException();
-		}
-		try {
-			IIndexFile[] ifiles = pdom.getAllFiles();
-			for (IIndexFile ifile : ifiles) {
-				String fullPath = ifile.getLocation().getFullPath();
-				if (fullPath != null) {
-					fullPaths.add(fullPath);
-				}
+		for (IIndexFile ifile : ifiles) {
+			String fullPath = ifile.getLocation().getFullPath();
+			if (fullPath != null) {
+				fullPaths.add(fullPath);
 			}
-		} finally {
-			pdom.releaseReadLock();
 		}
 		int i = 0;
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
@@ -199,11 +186,32 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		for (String fullPath : fullPaths) {
 			files[i++] = root.getFile(new Path(fullPath));
 		}
-		Map<String, Object> map = Checksums.createChecksumMap(files, fMessageDigest, monitor);
-		writeChecksums(map, target);
+		return files;
+	}
+
+	/**
+	 * Writes an exported index together with the checksums of the given files to a compressed
+	 * archive, in the format read by {@link TeamPDOMImportOperation}.
+	 */
+	public static void createArchive(File pdomFile, IFile[] files, MessageDigest md, File target,
+			IProgressMonitor monitor) throws CoreException {
+		File tmpChecksums = null;
+		try {
+			tmpChecksums = File.createTempFile("checksums", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (IOException e) {
+			throw new CoreException(
+					CCorePlugin.createStatus(Messages.TeamPDOMExportOperation_errorCreatingTempFile, e));
+		}
+		try {
+			Map<String, Object> map = Checksums.createChecksumMap(files, md, monitor);
+			writeChecksums(map, tmpChecksums);
+			writeArchive(pdomFile, tmpChecksums, target);
+		} finally {
+			tmpChecksums.delete();
+		}
 	}
 
-	private void writeChecksums(Map<?, ?> map, File target) throws CoreException {
+	private static void writeChecksums(Map<?, ?> map, File target) throws CoreException {
 		ObjectOutputStream out = null;
 		try {
 			out = new ObjectOutputStream(new FileOutputStream(target));
@@ -215,7 +223,7 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		}
 	}
 
-	private void close(InputStream in) {
+	private static void close(InputStream in) {
 		try {
 			if (in != null) {
 				in.close();
@@ -225,7 +233,7 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		}
 	}
 
-	private void close(OutputStream out) {
+	private static void close(OutputStream out) {
 		try {
 			if (out != null) {
 				out.close();
@@ -235,12 +243,12 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		}
 	}
 
-	private void createArchive(File tmpPDOM, File tmpChecksums) throws CoreException {
-		fTargetLocationFile.delete();
+	private static void writeArchive(File tmpPDOM, File tmpChecksums, File target) throws CoreException {
+		target.delete();
 		ZipOutputStream out = null;
 		try {
-			fTargetLocationFile.getParentFile().mkdirs();
-			out = new ZipOutputStream(new FileOutputStream(fTargetLocationFile));
+			target.getAbsoluteFile().getParentFile().mkdirs();
+			out = new ZipOutputStream(new FileOutputStream(target));
 			out.setLevel(Deflater.BEST_COMPRESSION);
 			writeEntry(out, TeamPDOMImportOperation.INDEX_NAME, tmpPDOM);
 			writeEntry(out, TeamPDOMImportOperation.CHECKSUMS_NAME, tmpChecksums);
@@ -249,13 +257,13 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		} finally {
 			close(out);
 		}
-		IFile[] wsResource = ResourceLookup.findFilesForLocation(new Path(fTargetLocationFile.getAbsolutePath()));
+		IFile[] wsResource = ResourceLookup.findFilesForLocation(new Path(target.getAbsolutePath()));
 		for (IFile file : wsResource) {
 			file.refreshLocal(0, new NullProgressMonitor());
 		}
 	}
 
-	private void writeEntry(ZipOutputStream out, String name, File input) throws IOException {
+	private static void writeEntry(ZipOutputStream out, String name, File input) throws IOException {
 		ZipEntry e = new ZipEntry(name);
 		out.putNextEntry(e);
 		int read = 0;
@@ -21,6 +21,7 @@ package org.eclipse.cdt.internal.core.pdom.db;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
@@ -29,6 +30,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
@@ -36,8 +38,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -99,9 +103,18 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/** Size of the write-ahead log that causes its chunks to be copied to the database file in the background */
+	private static final long CHECKPOINT_LOG_SIZE = 64 * 1024 * 1024;
+	/** Size of the regions a read-only database is mapped into memory with */
+	private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private ByteBuffer[] fMappedSegments; // Only for read-only databases.
+	private volatile WriteAheadLog fLog; // When enabled, or left by a writer for a read-only database.
+	private volatile WriteAheadLog fCheckpointLog; // Log whose chunks are being copied to the file.
+	private Job fCheckpointJob;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -150,8 +163,20 @@ public class Database {
 			fReadOnly = openReadOnly;
 			fCache = cache;
 			openFile();
+			if (openReadOnly) {
+				mapFile();
+				openLogsReadOnly();
+			} else {
+				openLogs();
+			}
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
+			if (fLog != null) {
+				nChunksOnDisk = fLog.getChunkCount(nChunksOnDisk);
+			}
+			if (fCheckpointLog != null) {
+				nChunksOnDisk = fCheckpointLog.getChunkCount(nChunksOnDisk);
+			}
 			fHeaderChunk = new Chunk(this, 0);
 			fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
 			if (nChunksOnDisk <= 0) {
@@ -173,20 +198,148 @@ public class Database {
 		fFile = new RandomAccessFile(fLocation, fReadOnly ? "r" : "rw"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Maps a read-only database into memory, such that chunks are copied from the pages of the
+	 * file shared by all processes rather than read through the file channel. Falls back to
+	 * reading through the channel when the file cannot be mapped.
+	 */
+	private void mapFile() {
+		try {
+			final FileChannel channel = fFile.getChannel();
+			final long size = channel.size();
+			final int count = (int) ((size + MAPPED_SEGMENT_SIZE - 1) / MAPPED_SEGMENT_SIZE);
+			final ByteBuffer[] segments = new ByteBuffer[count];
+			for (int i = 0; i < segments.length; i++) {
+				final long start = i * MAPPED_SEGMENT_SIZE;
+				segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(MAPPED_SEGMENT_SIZE, size - start));
+			}
+			fMappedSegments = segments;
+		} catch (IOException e) {
+			fMappedSegments = null;
+		}
+	}
+
+	/**
+	 * Releases the mapped segments of a read-only database right away, rather than when they are
+	 * garbage collected. A file that is mapped cannot be deleted or replaced on Windows.
+	 * Must only be called when no other thread reads from the database.
+	 */
+	private void unmapFile() {
+		final ByteBuffer[] segments = fMappedSegments;
+		fMappedSegments = null;
+		if (segments != null) {
+			for (ByteBuffer segment : segments) {
+				MappedBufferCleaner.clean(segment);
+			}
+		}
+	}
+
+	/**
+	 * Copies the chunks committed to the write-ahead logs left by a previous session to the
+	 * database file, and opens the write-ahead log if enabled. The logs are recovered even if
+	 * the log is no longer enabled, they may have commits that are newer than the file.
+	 */
+	private void openLogs() throws IOException {
+		final File checkpointLocation = getCheckpointLogLocation(fLocation);
+		if (checkpointLocation.exists()) {
+			// The checkpoint was interrupted, its log is older than the current one.
+			recoverLog(checkpointLocation);
+		}
+		final File location = getWriteAheadLogLocation(fLocation);
+		if (WriteAheadLog.isEnabled()) {
+			fLog = new WriteAheadLog(location, false);
+			fLog.recover(fFile.getChannel());
+		} else if (location.exists()) {
+			recoverLog(location);
+		}
+	}
+
+	private void recoverLog(File location) throws IOException {
+		final WriteAheadLog log = new WriteAheadLog(location, false);
+		log.recover(fFile.getChannel());
+		log.delete();
+	}
+
+	/**
+	 * Opens the write-ahead logs left by a writer of a read-only database, the chunks committed
+	 * to them are read from the logs without modifying the database file.
+	 */
+	private void openLogsReadOnly() throws IOException {
+		final File checkpointLocation = getCheckpointLogLocation(fLocation);
+		if (checkpointLocation.exists()) {
+			fCheckpointLog = new WriteAheadLog(checkpointLocation, true);
+			fCheckpointLog.recover(null);
+		}
+		final File location = getWriteAheadLogLocation(fLocation);
+		if (location.exists()) {
+			fLog = new WriteAheadLog(location, true);
+			fLog.recover(null);
+		}
+	}
+
+	/**
+	 * Returns the location of the write-ahead log for the database at the given location.
+	 */
+	public static File getWriteAheadLogLocation(File location) {
+		return new File(location.getPath() + ".wal"); //$NON-NLS-1$
+	}
+
+	private static File getCheckpointLogLocation(File location) {
+		return new File(location.getPath() + ".wal.old"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Deletes the write-ahead logs of the database at the given location.
+	 */
+	public static void deleteWriteAheadLogs(File location) {
+		getWriteAheadLogLocation(location).delete();
+		getCheckpointLogLocation(location).delete();
+	}
+
 	void read(ByteBuffer buf, long position) throws IOException {
+		// The checkpoint log is set before the log is replaced with a new one.
+		final WriteAheadLog log = fLog;
+		if (log != null && log.read((int) (position / CHUNK_SIZE), buf))
+			return;
+		final WriteAheadLog checkpointLog = fCheckpointLog;
+		if (checkpointLog != null && checkpointLog.read((int) (position / CHUNK_SIZE), buf))
+			return;
+		final ByteBuffer[] segments = fMappedSegments;
+		if (segments != null) {
+			// Copy from the mapped segments, the rest beyond the mapped size is read from the file.
+			while (buf.hasRemaining()) {
+				final int segment = (int) (position / MAPPED_SEGMENT_SIZE);
+				final int offset = (int) (position % MAPPED_SEGMENT_SIZE);
+				if (segment >= segments.length || offset >= segments[segment].limit())
+					break;
+				final ByteBuffer src = segments[segment].duplicate();
+				src.position(offset);
+				src.limit(Math.min(src.limit(), offset + buf.remaining()));
+				position += src.remaining();
+				buf.put(src);
+			}
+		}
 		int retries = 0;
-		do {
+		while (buf.hasRemaining()) {
 			try {
-				fFile.getChannel().read(buf, position);
-				return;
+				final int read = fFile.getChannel().read(buf, position);
+				if (read < 0)
+					return;
+				position += read;
 			} catch (ClosedChannelException e) {
 				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
 				reopen(e, ++retries);
 			}
-		} while (true);
+		}
 	}
 
 	void write(ByteBuffer buf, long position) throws IOException {
+		assert !fReadOnly;
+		if (fLog != null) {
+			assert position % CHUNK_SIZE == 0 && buf.remaining() == CHUNK_SIZE;
+			fLog.append((int) (position / CHUNK_SIZE), buf);
+			return;
+		}
 		int retries = 0;
 		while (true) {
 			try {
@@ -209,6 +362,12 @@ public class Database {
 
 	public void transferTo(FileChannel target) throws IOException {
 		assert fLocked;
+		if (!fReadOnly) {
+			joinCheckpoint();
+			if (fLog != null) {
+				fLog.checkpoint(fFile.getChannel(), fChunksUsed);
+			}
+		}
 		final FileChannel from = fFile.getChannel();
 		long nRead = 0;
 		long position = 0;
@@ -248,7 +407,15 @@ public class Database {
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
 		try {
+			joinCheckpoint();
+			if (fLog != null) {
+				fLog.reset();
+			}
 			fHeaderChunk.flush(); // Zero out header chunk.
+			if (fLog != null) {
+				fLog.commit();
+				fLog.checkpoint(fFile.getChannel(), fChunksUsed);
+			}
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
 		} catch (IOException e) {
 			CCorePlugin.log(e);
@@ -494,6 +661,112 @@ public class Database {
 		stringCache.remove(offset); // also remove record from string cache (if it exists)
 	}
 
+	/**
+	 * Returns the number of chunks of the database, including the header chunk.
+	 */
+	public int getChunkCount() {
+		return fChunksUsed;
+	}
+
+	/**
+	 * Returns the total size of the free blocks of the database.
+	 */
+	public long getFreeBytes() throws CoreException {
+		assert fLocked;
+		long result = 0;
+		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
+			long block = getFirstBlock(bs);
+			while (block != 0) {
+				result += bs;
+				block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Merges adjacent free blocks within the given chunk, such that the space can be used
+	 * for larger allocations.
+	 *
+	 * @param chunkIndex the index of a chunk, must be greater than zero.
+	 * @return the number of free blocks that were merged with a preceding one.
+	 */
+	public int mergeFreeBlocks(int chunkIndex) throws CoreException {
+		assert fExclusiveLock;
+		assert chunkIndex > 0 && chunkIndex < fChunksUsed;
+		final long start = (long) chunkIndex * CHUNK_SIZE;
+		final long end = start + CHUNK_SIZE;
+		final Chunk chunk = getChunk(start);
+		int merged = 0;
+		long block = start;
+		while (block < end) {
+			int blocksize = chunk.getShort(block);
+			if (blocksize == 0) {
+				// Chunk has never been used.
+				break;
+			}
+			if (blocksize < 0) {
+				block -= blocksize;
+				continue;
+			}
+			final long first = block;
+			int count = 0;
+			while (block < end && (blocksize = chunk.getShort(block)) > 0) {
+				block += blocksize;
+				count++;
+			}
+			if (count > 1) {
+				for (long b = first; b < block; b += blocksize) {
+					blocksize = chunk.getShort(b);
+					removeBlock(chunk, blocksize, b);
+				}
+				addBlock(chunk, (int) (block - first), first);
+				merged += count - 1;
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Removes free chunks from the end of the database and shrinks the file accordingly. Adjacent
+	 * free blocks need to be merged by {@link #mergeFreeBlocks(int)} for a chunk to be recognized
+	 * as free.
+	 *
+	 * @return the number of bytes the file has been shrunk by.
+	 */
+	public long truncateFreeChunks() throws CoreException {
+		assert fExclusiveLock;
+		final int oldChunksUsed = fChunksUsed;
+		while (fChunksUsed > 1) {
+			final int index = fChunksUsed - 1;
+			final long address = (long) index * CHUNK_SIZE;
+			final Chunk chunk = getChunk(address);
+			if (chunk.getShort(address) != CHUNK_SIZE)
+				break;
+			removeBlock(chunk, CHUNK_SIZE, address);
+			synchronized (fCache) {
+				fCache.remove(chunk);
+				fChunks[index] = null;
+				fChunksUsed--;
+			}
+		}
+		if (fChunksUsed == oldChunksUsed)
+			return 0;
+
+		// With a write-ahead log the file is truncated by the next checkpoint.
+		if (fLog == null) {
+			// The free lists in the header chunk are written later, make sure an interrupted
+			// operation is detected.
+			markFileIncomplete();
+			try {
+				fFile.getChannel().truncate((long) fChunksUsed * CHUNK_SIZE);
+			} catch (IOException e) {
+				throw new CoreException(new DBStatus(e));
+			}
+		}
+		return (long) (oldChunksUsed - fChunksUsed) * CHUNK_SIZE;
+	}
+
 	public void putByte(long offset, byte value) throws CoreException {
 		getChunk(offset).putByte(offset, value);
 	}
@@ -667,6 +940,16 @@ public class Database {
 	public void close() throws CoreException {
 		assert fExclusiveLock;
 		flush();
+		if (!fReadOnly) {
+			try {
+				joinCheckpoint();
+				if (fLog != null) {
+					fLog.checkpoint(fFile.getChannel(), fChunksUsed);
+				}
+			} catch (IOException e) {
+				throw new CoreException(new DBStatus(e));
+			}
+		}
 		removeChunksFromCache();
 
 		// Chunks have been removed from the cache, so we are fine.
@@ -674,7 +957,20 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		unmapFile();
 		try {
+			if (fLog != null) {
+				if (fReadOnly) {
+					fLog.close();
+				} else {
+					fLog.delete();
+				}
+				fLog = null;
+			}
+			if (fCheckpointLog != null) {
+				fCheckpointLog.close();
+				fCheckpointLog = null;
+			}
 			fFile.close();
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -824,11 +1120,87 @@ public class Database {
 					fHeaderChunk.flush();
 					fIsMarkedIncomplete = false;
 				}
+				if (fLog != null && !fReadOnly) {
+					commitLog();
+				}
 			}
 		}
 	}
 
+	/**
+	 * Commits the chunks written to the write-ahead log, starts copying them to the database
+	 * file when the log has grown large.
+	 */
+	private void commitLog() throws CoreException {
+		try {
+			fLog.commit();
+			if (fLog.getSize() >= CHECKPOINT_LOG_SIZE && fCheckpointLog == null) {
+				startCheckpoint();
+			}
+		} catch (IOException e) {
+			throw new CoreException(new DBStatus(e));
+		}
+	}
+
+	/**
+	 * Replaces the write-ahead log with a new one and copies the chunks of the previous log to
+	 * the database file in the background. Chunks are read from the new log first, then from the
+	 * previous one and then from the file. Called while holding the header chunk monitor.
+	 */
+	private void startCheckpoint() throws IOException {
+		final WriteAheadLog log = fLog;
+		// Later commits in the new log must not survive a crash without the commits of this one.
+		log.force();
+		log.moveTo(getCheckpointLogLocation(fLocation));
+		fCheckpointLog = log;
+		fLog = new WriteAheadLog(getWriteAheadLogLocation(fLocation), false);
+
+		final int chunkCount = fChunksUsed;
+		fCheckpointJob = new Job("Checkpoint of " + fLocation.getName()) { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					log.checkpoint(fFile.getChannel(), chunkCount);
+					log.delete();
+					fCheckpointLog = null;
+				} catch (IOException e) {
+					// Retried when the database is closed.
+					return new DBStatus(e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fCheckpointJob.setSystem(true);
+		fCheckpointJob.schedule();
+	}
+
+	/**
+	 * Waits for the checkpoint running in the background, and completes it if it failed.
+	 */
+	private void joinCheckpoint() throws IOException {
+		final Job job = fCheckpointJob;
+		if (job != null) {
+			try {
+				job.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			fCheckpointJob = null;
+		}
+		final WriteAheadLog log = fCheckpointLog;
+		if (log != null) {
+			log.checkpoint(fFile.getChannel(), fChunksUsed);
+			log.delete();
+			fCheckpointLog = null;
+		}
+	}
+
 	private void markFileIncomplete() throws CoreException {
+		if (fLog != null) {
+			// The database file is only modified with complete commits.
+			return;
+		}
 		if (!fIsMarkedIncomplete) {
 			fIsMarkedIncomplete = true;
 			try {
@@ -853,6 +1225,10 @@ public class Database {
 	}
 
 	public long getSizeBytes() {
+		if (fLog != null || fCheckpointLog != null) {
+			// Chunks may only exist in the logs, and chunks freed in the file are truncated by a checkpoint.
+			return (long) fChunksUsed * CHUNK_SIZE;
+		}
 		try {
 			return fFile.length();
 		} catch (IOException e) {
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Redo log for the chunks of a {@link Database}. Chunks written by the database are appended
+ * to the log rather than written to the database file. A commit appends a marker with the
+ * checksum of the chunks written since the previous commit. Committed chunks are copied to the
+ * database file by a checkpoint, after which the log is deleted.
+ * <p>
+ * Commits are not forced to the disk, a crash of the operating system may lose the latest
+ * commits. The log is forced before any of its chunks are copied to the database file, so the
+ * database file is only modified with the chunks of complete and durable commits. After a crash
+ * the committed chunks are copied from the log and the chunks of the first incomplete commit
+ * and of all commits after it are discarded, such that the database is in the state of one of
+ * the last commits.
+ */
+/*
+ * Format of the log:
+ *
+ * record       | chunk index (INT_SIZE) | contents of the chunk (CHUNK_SIZE)
+ * commit       | COMMIT_MARKER (INT_SIZE) | CRC32 of the records since the previous commit (8 bytes)
+ */
+final class WriteAheadLog {
+	private static final String PROPERTY_ENABLED = "org.eclipse.cdt.core.pdom.wal"; //$NON-NLS-1$
+	private static final int COMMIT_MARKER = -1;
+	private static final int RECORD_SIZE = Database.INT_SIZE + Database.CHUNK_SIZE;
+	private static final int COMMIT_SIZE = Database.INT_SIZE + 8;
+
+	private File fLocation;
+	private final boolean fReadOnly;
+	private RandomAccessFile fFile;
+	private long fSize;
+	private boolean fDeleted;
+	private final CRC32 fChecksum = new CRC32();
+	/** Offsets of the latest committed images of chunks, by chunk index */
+	private final Map<Integer, Long> fCommitted = new HashMap<>();
+	/** Offsets of the latest images of chunks written since the last commit, by chunk index */
+	private final Map<Integer, Long> fUncommitted = new HashMap<>();
+
+	/**
+	 * Returns whether databases shall be written through a write-ahead log.
+	 */
+	static boolean isEnabled() {
+		return Boolean.getBoolean(PROPERTY_ENABLED);
+	}
+
+	WriteAheadLog(File location, boolean readOnly) throws FileNotFoundException {
+		fLocation = location;
+		fReadOnly = readOnly;
+		fFile = new RandomAccessFile(location, readOnly ? "r" : "rw"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private FileChannel getChannel() throws IOException {
+		if (!fFile.getChannel().isOpen()) {
+			// The channel is closed when a thread is interrupted during an I/O operation.
+			fFile = new RandomAccessFile(fLocation, fReadOnly ? "r" : "rw"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return fFile.getChannel();
+	}
+
+	/**
+	 * Reads the chunks of all complete commits in the log. A trailing incomplete commit is
+	 * discarded. If a database file is given, the chunks are copied to it and the log is
+	 * truncated, otherwise they are read from the log.
+	 *
+	 * @param database the channel of the database file, or <code>null</code> for a read-only
+	 *     database
+	 */
+	synchronized void recover(FileChannel database) throws IOException {
+		final FileChannel channel = getChannel();
+		final long size = channel.size();
+		final ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE);
+		long position = 0;
+		while (position + COMMIT_SIZE <= size) {
+			buf.clear().limit(Database.INT_SIZE);
+			if (!readFully(channel, buf, position))
+				break;
+			final int index = buf.getInt(0);
+			if (index == COMMIT_MARKER) {
+				buf.clear().limit(8);
+				if (!readFully(channel, buf, position + Database.INT_SIZE) || buf.getLong(0) != fChecksum.getValue())
+					break;
+				fCommitted.putAll(fUncommitted);
+				fUncommitted.clear();
+				fChecksum.reset();
+				position += COMMIT_SIZE;
+			} else {
+				if (index < 0 || position + RECORD_SIZE > size)
+					break;
+				buf.clear();
+				if (!readFully(channel, buf, position))
+					break;
+				fChecksum.update(buf.array(), 0, RECORD_SIZE);
+				fUncommitted.put(index, position + Database.INT_SIZE);
+				position += RECORD_SIZE;
+			}
+		}
+		fUncommitted.clear();
+		fChecksum.reset();
+		fSize = position;
+		if (database != null) {
+			checkpoint(database, Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Appends the image of a chunk to the log.
+	 */
+	synchronized void append(int index, ByteBuffer chunk) throws IOException {
+		final ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE);
+		buf.putInt(index);
+		buf.put(chunk);
+		buf.flip();
+		fChecksum.update(buf.array(), 0, RECORD_SIZE);
+		final long position = fSize;
+		write(buf, position);
+		fUncommitted.put(index, position + Database.INT_SIZE);
+		fSize += RECORD_SIZE;
+	}
+
+	/**
+	 * Marks the chunks appended since the last commit as committed. The commit is not forced
+	 * to the disk.
+	 */
+	synchronized void commit() throws IOException {
+		if (fUncommitted.isEmpty())
+			return;
+		final ByteBuffer buf = ByteBuffer.allocate(COMMIT_SIZE);
+		buf.putInt(COMMIT_MARKER);
+		buf.putLong(fChecksum.getValue());
+		buf.flip();
+		write(buf, fSize);
+		fSize += COMMIT_SIZE;
+		fCommitted.putAll(fUncommitted);
+		fUncommitted.clear();
+		fChecksum.reset();
+	}
+
+	/**
+	 * Forces the commits to the disk.
+	 */
+	synchronized void force() throws IOException {
+		getChannel().force(false);
+	}
+
+	/**
+	 * Reads the latest image of a chunk from the log.
+	 * @return whether the log contains an image of the chunk.
+	 */
+	synchronized boolean read(int index, ByteBuffer buf) throws IOException {
+		if (fDeleted)
+			return false;
+		Long offset = fUncommitted.get(index);
+		if (offset == null) {
+			offset = fCommitted.get(index);
+			if (offset == null)
+				return false;
+		}
+		if (!readFully(getChannel(), buf, offset))
+			throw new EOFException();
+		return true;
+	}
+
+	/**
+	 * Copies the committed chunks to the database file, forces it to the disk and truncates
+	 * the log. Must not be called while there are uncommitted chunks. Chunks can be read from
+	 * the log while it is checkpointed, the log must not be appended to.
+	 *
+	 * @param database the channel of the database file
+	 * @param chunkCount the number of chunks of the database, chunks beyond are discarded.
+	 */
+	void checkpoint(FileChannel database, int chunkCount) throws IOException {
+		final Map<Integer, Long> committed;
+		synchronized (this) {
+			assert fUncommitted.isEmpty();
+			if (fSize == 0)
+				return;
+			// The chunks must not be in the database file before they are durable in the log.
+			force();
+			committed = new HashMap<>(fCommitted);
+		}
+		final ByteBuffer buf = ByteBuffer.allocate(Database.CHUNK_SIZE);
+		for (Map.Entry<Integer, Long> entry : committed.entrySet()) {
+			final int index = entry.getKey();
+			if (index < chunkCount) {
+				buf.clear();
+				synchronized (this) {
+					if (!readFully(getChannel(), buf, entry.getValue()))
+						throw new EOFException();
+				}
+				buf.flip();
+				long position = (long) index * Database.CHUNK_SIZE;
+				while (buf.hasRemaining()) {
+					position += database.write(buf, position);
+				}
+			}
+		}
+		if (database.size() > (long) chunkCount * Database.CHUNK_SIZE) {
+			database.truncate((long) chunkCount * Database.CHUNK_SIZE);
+		}
+		database.force(false);
+		reset();
+	}
+
+	/**
+	 * Discards the contents of the log.
+	 */
+	synchronized void reset() throws IOException {
+		getChannel().truncate(0);
+		fSize = 0;
+		fCommitted.clear();
+		fUncommitted.clear();
+		fChecksum.reset();
+	}
+
+	/**
+	 * Returns the size of the log in bytes.
+	 */
+	synchronized long getSize() {
+		return fSize;
+	}
+
+	/**
+	 * Returns the number of chunks of the database, including the chunks that are only in the log.
+	 */
+	synchronized int getChunkCount(int chunksOnDisk) {
+		int count = chunksOnDisk;
+		for (Integer index : fCommitted.keySet()) {
+			count = Math.max(count, index + 1);
+		}
+		for (Integer index : fUncommitted.keySet()) {
+			count = Math.max(count, index + 1);
+		}
+		return count;
+	}
+
+	/**
+	 * Renames the log, such that a new log can be created at its location.
+	 */
+	synchronized void moveTo(File location) throws IOException {
+		fFile.close();
+		Files.move(fLocation.toPath(), location.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		fLocation = location;
+		fFile = new RandomAccessFile(location, "rw"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Closes the log without deleting it.
+	 */
+	synchronized void close() throws IOException {
+		fDeleted = true;
+		fFile.close();
+	}
+
+	/**
+	 * Closes and deletes the log, all chunks must have been checkpointed.
+	 */
+	synchronized void delete() throws IOException {
+		assert fSize == 0;
+		close();
+		fLocation.delete();
+	}
+
+	private static boolean readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		while (buf.hasRemaining()) {
+			final int read = channel.read(buf, position);
+			if (read < 0)
+				return false;
+			position += read;
+		}
+		return true;
+	}
+
+	private void write(ByteBuffer buf, long position) throws IOException {
+		final FileChannel channel = getChannel();
+		while (buf.hasRemaining()) {
+			position += channel.write(buf, position);
+		}
+	}
+}
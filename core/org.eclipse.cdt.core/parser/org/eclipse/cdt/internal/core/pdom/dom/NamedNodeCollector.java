@@ -122,6 +122,10 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 		if (record == 0)
 			return true;
 
+		if (!matchesContentAssist(PDOMNamedNode.getDBName(linkage.getDB(), record))) {
+			// Don't load nodes that don't match.
+			return true;
+		}
 		PDOMNode node = PDOMNode.load(linkage.getPDOM(), record);
 		if (node instanceof PDOMNamedNode) {
 			return addNode((PDOMNamedNode) node);
@@ -134,12 +138,18 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 	 * @throws CoreException
 	 */
 	protected boolean addNode(PDOMNamedNode node) throws CoreException {
-		if ((contentAssistMatcher == null) || contentAssistMatcher.match(node.getDBName().getChars())) {
-			nodes.add(node);
-		}
+		nodes.add(node);
 		return true; // look for more
 	}
 
+	/**
+	 * Checks the name against the content assist matcher, the binary search only
+	 * narrows the names down to the prefix of the pattern.
+	 */
+	private boolean matchesContentAssist(IString name) throws CoreException {
+		return contentAssistMatcher == null || contentAssistMatcher.match(name.getChars());
+	}
+
 	final protected List<PDOMNamedNode> getNodeList() {
 		return nodes;
 	}
@@ -155,7 +165,8 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 
 		if (node instanceof PDOMNamedNode) {
 			PDOMNamedNode pb = (PDOMNamedNode) node;
-			if (compare(pb.getDBName()) == 0) {
+			IString name = pb.getDBName();
+			if (compare(name) == 0 && matchesContentAssist(name)) {
 				addNode(pb);
 			}
 		}
@@ -17,18 +17,22 @@
 package org.eclipse.cdt.internal.core.pdom.export;
 
 import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
-import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexLocationConverter;
 import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.index.export.IExportProjectProvider;
 import org.eclipse.cdt.core.model.ICProject;
-import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.internal.core.CCoreInternals;
-import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.Checksums;
+import org.eclipse.cdt.internal.core.pdom.TeamPDOMExportOperation;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -50,6 +54,7 @@ public class GeneratePDOM {
 	protected String indexerID;
 	protected boolean deleteOnExit;
 	protected boolean checkIndexStatus;
+	protected boolean writeArchive;
 
 	/**
 	 * Runnable to export a PDOM.
@@ -80,6 +85,15 @@ public class GeneratePDOM {
 		this.deleteOnExit = deleteOnExit;
 	}
 
+	/**
+	 * When set, the PDOM is written together with the checksums of the indexed files to a
+	 * compressed archive, which can be imported as a team shared index. By default this is not set.
+	 * @param writeArchive
+	 */
+	public void setWriteArchive(boolean writeArchive) {
+		this.writeArchive = writeArchive;
+	}
+
 	/**
 	 * Executes the PDOM generation
 	 * @return {@link IStatus#OK} if the generated content is complete, {@link IStatus#ERROR} otherwise.
@@ -130,23 +144,12 @@ public class GeneratePDOM {
 					return m;
 				}
 			}
-			// Export a .pdom file
-			CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, targetLocation, converter, null);
-
-			// Write properties to exported PDOM
-			WritablePDOM exportedPDOM = new WritablePDOM(targetLocation, converter,
-					LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
-			exportedPDOM.acquireWriteLock(0, null);
-			try {
-				Map<String, String> exportProperties = pm.getExportProperties();
-				if (exportProperties != null) {
-					for (Map.Entry<String, String> entry : exportProperties.entrySet()) {
-						exportedPDOM.setProperty(entry.getKey(), entry.getValue());
-					}
-				}
-				exportedPDOM.close();
-			} finally {
-				exportedPDOM.releaseWriteLock();
+			if (writeArchive) {
+				exportArchive(cproject, converter);
+			} else {
+				// Export a .pdom file and write the properties in the same pass.
+				CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, targetLocation, converter,
+						pm.getExportProperties(), null);
 			}
 		} catch (InterruptedException ie) {
 			String msg = MessageFormat.format(Messages.GeneratePDOM_GenericGenerationFailed,
@@ -161,6 +164,37 @@ public class GeneratePDOM {
 		return new Status(IStatus.OK, CCorePlugin.PLUGIN_ID, Messages.GeneratePDOM_Success);
 	}
 
+	private void exportArchive(ICProject cproject, IIndexLocationConverter converter)
+			throws CoreException, InterruptedException {
+		File tmpPDOM;
+		try {
+			tmpPDOM = File.createTempFile("tmp", ".pdom"); //$NON-NLS-1$//$NON-NLS-2$
+		} catch (IOException e) {
+			throw new CoreException(CCorePlugin.createStatus(e.getMessage(), e));
+		}
+		try {
+			CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, tmpPDOM, converter,
+					pm.getExportProperties(), null);
+			IFile[] files;
+			IIndex index = CCorePlugin.getIndexManager().getIndex(cproject);
+			index.acquireReadLock();
+			try {
+				files = TeamPDOMExportOperation.getWorkspaceFiles(index.getAllFiles());
+			} finally {
+				index.releaseReadLock();
+			}
+			MessageDigest md;
+			try {
+				md = Checksums.getDefaultAlgorithm();
+			} catch (NoSuchAlgorithmException e) {
+				throw new CoreException(CCorePlugin.createStatus(e.getMessage(), e));
+			}
+			TeamPDOMExportOperation.createArchive(tmpPDOM, files, md, targetLocation, new NullProgressMonitor());
+		} finally {
+			tmpPDOM.delete();
+		}
+	}
+
 	private void fail(String message) throws CoreException {
 		GeneratePDOMApplication.fail(message);
 	}
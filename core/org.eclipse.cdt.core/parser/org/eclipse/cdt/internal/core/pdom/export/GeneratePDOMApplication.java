@@ -52,6 +52,7 @@ public class GeneratePDOMApplication implements IApplication {
 	public static final String OPT_TARGET = "-target"; //$NON-NLS-1$
 	public static final String OPT_QUIET = "-quiet"; //$NON-NLS-1$
 	public static final String OPT_INDEXER_ID = "-indexer"; //$NON-NLS-1$
+	public static final String OPT_ARCHIVE = "-archive"; //$NON-NLS-1$
 
 	/**
 	 * Applications needing to fail in an expected way (without stack dump), should throw
@@ -98,6 +99,7 @@ public class GeneratePDOMApplication implements IApplication {
 		}
 		String target = CLIUtil.getArg(arguments, OPT_TARGET, 1).get(0);
 		boolean quiet = arguments.get(OPT_QUIET) != null;
+		boolean archive = arguments.get(OPT_ARCHIVE) != null;
 
 		String indexerID = IPDOMManager.ID_FAST_INDEXER;
 		List<String> indexerIDs = arguments.get(OPT_INDEXER_ID);
@@ -128,6 +130,7 @@ public class GeneratePDOMApplication implements IApplication {
 			File targetLocation = new File(target);
 
 			GeneratePDOM generate = new GeneratePDOM(pprovider, appArgs, targetLocation, indexerID);
+			generate.setWriteArchive(archive);
 			output(Messages.GeneratePDOMApplication_GenerationStarts);
 			IStatus status = generate.run(); // CoreException handled in start method
 			if (!status.isOK()) {
@@ -28,6 +28,9 @@ class Messages extends NLS {
 	public static String PDOMImportTask_updatingFileListJob_Name;
 	public static String PDOMImportTask_importIndexJob_Name;
 	public static String PDOMRebuildTask_0;
+	public static String PDOMCompactTask_compactingTask;
+	public static String PDOMCompactTask_info;
+	public static String PDOMCompactTask_error;
 
 	static {
 		// Initialize resource bundle.
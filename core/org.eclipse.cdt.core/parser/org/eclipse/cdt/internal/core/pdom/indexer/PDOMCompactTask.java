@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.indexer;
+
+import java.text.NumberFormat;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMIndexer;
+import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
+import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
+import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A task for compacting the database of an index without discarding its contents. Adjacent
+ * free blocks are merged and free chunks at the end of the database are removed from the file.
+ * The write lock is yielded to readers while the task is running.
+ */
+public class PDOMCompactTask implements IPDOMIndexerTask {
+	/** Number of chunks processed before the write lock is released to unlock the visited chunks */
+	private static final int CHUNKS_PER_LOCK = 1024;
+
+	private final IPDOMIndexer fIndexer;
+	private final IndexerProgress fProgress;
+	private volatile boolean fCancelled;
+
+	public PDOMCompactTask(IPDOMIndexer indexer) {
+		fIndexer = indexer;
+		fProgress = new IndexerProgress();
+		fProgress.fTimeEstimate = 1000;
+	}
+
+	@Override
+	public IPDOMIndexer getIndexer() {
+		return fIndexer;
+	}
+
+	@Override
+	public void run(IProgressMonitor monitor) throws InterruptedException {
+		ICProject cproject = fIndexer.getProject();
+		monitor.subTask(NLS.bind(Messages.PDOMCompactTask_compactingTask, cproject.getElementName()));
+		try {
+			IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager()).getWritableIndex(cproject);
+			if (index != null && index.getWritableFragment() instanceof WritablePDOM) {
+				compact(cproject, index, ((WritablePDOM) index.getWritableFragment()).getDB(), monitor);
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(NLS.bind(Messages.PDOMCompactTask_error, cproject.getElementName()), e);
+		}
+	}
+
+	private void compact(ICProject cproject, IWritableIndex index, Database db, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		final long start = System.currentTimeMillis();
+		YieldableIndexLock lock = new YieldableIndexLock(index, true, monitor);
+		lock.acquire();
+		try {
+			final long sizeBefore = db.getSizeBytes();
+			final long freeBefore = db.getFreeBytes();
+			SubMonitor progress = SubMonitor.convert(monitor, db.getChunkCount());
+			int merged = 0;
+			for (int i = 1; i < db.getChunkCount(); i++) {
+				if (fCancelled || progress.isCanceled())
+					return;
+				merged += db.mergeFreeBlocks(i);
+				progress.worked(1);
+				if (i % CHUNKS_PER_LOCK == 0) {
+					// Chunks stay in memory as long as the write lock is held.
+					lock.release();
+					lock.acquire();
+				} else {
+					lock.yield();
+				}
+			}
+			final long reclaimed = db.truncateFreeChunks();
+			final long sizeAfter = db.getSizeBytes();
+			final long freeAfter = db.getFreeBytes();
+			logResult(cproject, System.currentTimeMillis() - start, reclaimed, merged,
+					sizeBefore == 0 ? 0 : (double) freeBefore / sizeBefore,
+					sizeAfter == 0 ? 0 : (double) freeAfter / sizeAfter);
+		} catch (FailedToReAcquireLockException e) {
+			e.reThrow();
+		} finally {
+			lock.release();
+		}
+	}
+
+	private void logResult(ICProject cproject, long time, long reclaimed, int merged, double fragmentationBefore,
+			double fragmentationAfter) {
+		NumberFormat nfGroup = NumberFormat.getNumberInstance();
+		nfGroup.setGroupingUsed(true);
+		NumberFormat nfPercent = NumberFormat.getPercentInstance();
+		nfPercent.setMaximumFractionDigits(1);
+		final String msg = NLS.bind(Messages.PDOMCompactTask_info,
+				new Object[] { cproject.getElementName(), nfGroup.format(time / 1000.), nfGroup.format(reclaimed),
+						nfGroup.format(merged), nfPercent.format(fragmentationBefore),
+						nfPercent.format(fragmentationAfter) });
+		CCorePlugin.getDefault().getLog().log(new Status(IStatus.INFO, CCorePlugin.PLUGIN_ID, msg));
+	}
+
+	@Override
+	public IndexerProgress getProgressInformation() {
+		return fProgress;
+	}
+
+	@Override
+	public boolean acceptUrgentTask(IPDOMIndexerTask task) {
+		return false;
+	}
+
+	@Override
+	public void cancel() {
+		fCancelled = true;
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -40,6 +41,7 @@ import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.IndexerStatistics.FileTime;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -289,9 +291,11 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			System.out.println(indent + " Database: " + dbSize + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
 			System.out.println(indent + " Timings: " //$NON-NLS-1$
 					+ totalTime + " total, " //$NON-NLS-1$
+					+ fStatistics.fReadingFilesTime + " reading files, " //$NON-NLS-1$
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
 					+ fStatistics.fResolutionTime + " resolution, " //$NON-NLS-1$
-					+ fStatistics.fAddToIndexTime + " index update."); //$NON-NLS-1$
+					+ fStatistics.fAddToIndexTime + " index update, " //$NON-NLS-1$
+					+ fStatistics.fLockWaitTime + " waiting for index lock."); //$NON-NLS-1$
 			System.out.println(indent + " Errors: " //$NON-NLS-1$
 					+ fStatistics.fErrorCount + " internal, " //$NON-NLS-1$
 					+ fStatistics.fUnresolvedIncludesCount + " include, " //$NON-NLS-1$
@@ -318,6 +322,15 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+hits + " hits, " //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
 
+			List<FileTime> slowestFiles = fStatistics.getSlowestFiles();
+			if (!slowestFiles.isEmpty()) {
+				System.out.println(indent + " Slowest files:"); //$NON-NLS-1$
+				for (FileTime file : slowestFiles) {
+					System.out.println(indent + "  " + file.fTotalTime + " total, " //$NON-NLS-1$ //$NON-NLS-2$
+							+ file.fParsingTime + " parser: " + file.fPath); //$NON-NLS-1$
+				}
+			}
+
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
 				NumberFormat twoDigits = NumberFormat.getNumberInstance();
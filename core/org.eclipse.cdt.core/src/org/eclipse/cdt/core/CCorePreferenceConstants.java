@@ -134,6 +134,21 @@ public class CCorePreferenceConstants {
 	 */
 	public static final String DEFAULT_MAX_INDEX_DB_CACHE_SIZE_MB = "256"; //$NON-NLS-1$
 
+	/**
+	 * Maximum number of projects indexed concurrently. The number of concurrent indexer jobs is
+	 * further limited by the number of available processors and by the maximum memory.
+	 * @since 8.3
+	 */
+	public static final String MAX_CONCURRENT_INDEXER_JOBS = CCorePlugin.PLUGIN_ID + ".maxConcurrentIndexerJobs"; //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of projects indexed concurrently. The projects are indexed one
+	 * after the other unless more jobs are allowed with {@link #MAX_CONCURRENT_INDEXER_JOBS}.
+	 * Projects referencing each other are never indexed concurrently.
+	 * @since 8.3
+	 */
+	public static final String DEFAULT_MAX_CONCURRENT_INDEXER_JOBS = "1"; //$NON-NLS-1$
+
 	/**
 	 * Boolean preference controlling whether paths of non-workspace files are stored in index in canonical
 	 * form or not. Canonicalization is performed by calling {@link java.io.File#getCanonicalPath()}.
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.actions;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+
+/**
+ * Reclaims the free space of the index of the selected projects, without changing its contents.
+ */
+public class CompactIndexAction extends AbstractUpdateIndexAction {
+	@Override
+	protected void doRun(ICElement[] elements) {
+		Set<ICProject> projects = new LinkedHashSet<>();
+		for (ICElement element : elements) {
+			if (element != null) {
+				projects.add(element.getCProject());
+			}
+		}
+		for (ICProject project : projects) {
+			CCoreInternals.getPDOMManager().compact(project);
+		}
+	}
+
+	@Override
+	protected int getUpdateOptions() {
+		return 0;
+	}
+}
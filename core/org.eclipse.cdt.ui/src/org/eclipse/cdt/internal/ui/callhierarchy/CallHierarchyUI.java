@@ -113,6 +113,7 @@ public class CallHierarchyUI {
 			viewPart = (CHViewPart) page.showView(CUIPlugin.ID_CALL_HIERARCHY, secondaryId,
 					IWorkbenchPage.VIEW_ACTIVATE);
 			viewPart.setInput(input);
+			IndexUI.setNavigationPriority(input);
 			return viewPart;
 		} catch (CoreException e) {
 			ExceptionHandler.handle(e, window.getShell(), CHMessages.OpenCallHierarchyAction_label, null);
@@ -34,27 +34,32 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChange
  * A controller for on-demand indexing of files opened in C/C++ editors.
  */
 public class IndexUpdateRequestor implements IPreferenceChangeListener {
-	private static class IndexUpdateRequestorJob extends Job {
-		private final ITranslationUnit tuToAdd;
-		private final ITranslationUnit tuToReset;
-
-		/**
-		 * @param tu The translation unit to add or to remove from the index.
-		 * @param add {@code true} to add, {@code false} to reset index inclusion.
-		 */
-		IndexUpdateRequestorJob(ITranslationUnit tuToAdd, ITranslationUnit tuToReset) {
+	/**
+	 * Moves the forced index inclusion to the most recently requested translation unit.
+	 * Requests arriving while the job waits are coalesced.
+	 */
+	private class IndexUpdateRequestorJob extends Job {
+		// The translation unit added to the index, accessed by the job only
+		private ITranslationUnit fTuIncluded;
+
+		IndexUpdateRequestorJob() {
 			super(CEditorMessages.IndexUpdateRequestor_job_name);
-			this.tuToAdd = tuToAdd;
-			this.tuToReset = tuToReset;
 			setSystem(true);
 		}
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
+			ITranslationUnit tuToAdd;
+			synchronized (IndexUpdateRequestor.this) {
+				tuToAdd = fTuAddedToIndex;
+			}
+			if (Objects.equals(tuToAdd, fTuIncluded))
+				return Status.OK_STATUS;
+
 			try {
 				IIndexManager indexManager = CCorePlugin.getIndexManager();
-				if (tuToReset != null) {
-					indexManager.update(new ICElement[] { CModelUtil.toOriginal(tuToReset) },
+				if (fTuIncluded != null) {
+					indexManager.update(new ICElement[] { CModelUtil.toOriginal(fTuIncluded) },
 							IIndexManager.RESET_INDEX_INCLUSION | IIndexManager.UPDATE_CHECK_TIMESTAMPS);
 				}
 				if (tuToAdd != null) {
@@ -63,12 +68,56 @@ public class IndexUpdateRequestor implements IPreferenceChangeListener {
 				}
 			} catch (CoreException e) {
 			}
+			fTuIncluded = tuToAdd;
 			return Status.OK_STATUS;
 		}
 	}
 
+	/**
+	 * Moves the editor priority to the most recently requested translation unit. Requests
+	 * arriving while the job waits are coalesced, switching back and forth between editors
+	 * results in a single change of the priority.
+	 */
+	private class IndexingPriorityJob extends Job {
+		// The translation unit having the editor priority, accessed by the job only
+		private ITranslationUnit fTuPrioritized;
+
+		IndexingPriorityJob() {
+			super(CEditorMessages.IndexUpdateRequestor_job_name);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			ITranslationUnit tuToPrioritize;
+			synchronized (IndexUpdateRequestor.this) {
+				tuToPrioritize = fTuWithPriority;
+			}
+			if (Objects.equals(tuToPrioritize, fTuPrioritized))
+				return Status.OK_STATUS;
+
+			IIndexManager indexManager = CCorePlugin.getIndexManager();
+			if (fTuPrioritized != null) {
+				indexManager.setIndexingPriority(new ICElement[] { CModelUtil.toOriginal(fTuPrioritized) },
+						IIndexManager.PRIORITY_DEFAULT);
+			}
+			if (tuToPrioritize != null) {
+				indexManager.setIndexingPriority(new ICElement[] { CModelUtil.toOriginal(tuToPrioritize) },
+						IIndexManager.PRIORITY_EDITOR);
+			}
+			fTuPrioritized = tuToPrioritize;
+			return Status.OK_STATUS;
+		}
+	}
+
+	/** Delay for coalescing the requests of quick editor switches, in milliseconds */
+	private static final long REQUEST_DELAY = 300;
+
 	private ITranslationUnit fTu;
 	private ITranslationUnit fTuAddedToIndex;
+	private ITranslationUnit fTuWithPriority;
+	private final IndexUpdateRequestorJob fIndexUpdateJob = new IndexUpdateRequestorJob();
+	private final IndexingPriorityJob fIndexingPriorityJob = new IndexingPriorityJob();
 
 	public void updateIndexInclusion(ITranslationUnit tu) {
 		IProject oldProject;
@@ -88,6 +137,8 @@ public class IndexUpdateRequestor implements IPreferenceChangeListener {
 			}
 		}
 
+		requestIndexingPriority(tu);
+
 		if (tu != null) {
 			IProject project = tu.getCProject().getProject();
 			if (!String.valueOf(true)
@@ -98,11 +149,17 @@ public class IndexUpdateRequestor implements IPreferenceChangeListener {
 		requestIndexUpdate(tu);
 	}
 
+	private synchronized void requestIndexingPriority(ITranslationUnit tu) {
+		if (!Objects.equals(tu, fTuWithPriority)) {
+			fTuWithPriority = tu;
+			fIndexingPriorityJob.schedule(tu == null ? 0 : REQUEST_DELAY);
+		}
+	}
+
 	private synchronized void requestIndexUpdate(ITranslationUnit tu) {
 		if (!Objects.equals(tu, fTuAddedToIndex)) {
-			IndexUpdateRequestorJob job = new IndexUpdateRequestorJob(tu, fTuAddedToIndex);
 			fTuAddedToIndex = tu;
-			job.schedule();
+			fIndexUpdateJob.schedule(tu == null ? 0 : REQUEST_DELAY);
 		}
 	}
 
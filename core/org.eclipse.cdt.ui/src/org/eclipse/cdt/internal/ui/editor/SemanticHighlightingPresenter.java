@@ -270,6 +270,31 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * Adds all current positions overlapping the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param offset The range offset
+	 * @param length The range length
+	 */
+	public void addPositionsInRange(List<? super HighlightedPosition> list, int offset, int length) {
+		synchronized (fPositionLock) {
+			int i = computeIndexAtOffset(fPositions, offset);
+			while (i > 0 && fPositions.get(i - 1).overlapsWith(offset, length)) {
+				i--;
+			}
+			for (int n = fPositions.size(); i < n; i++) {
+				HighlightedPosition position = fPositions.get(i);
+				if (position.getOffset() >= offset + length)
+					break;
+				list.add(position);
+			}
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
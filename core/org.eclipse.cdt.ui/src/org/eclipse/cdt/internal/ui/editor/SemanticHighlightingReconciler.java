@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.ui.editor;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,6 +25,7 @@ import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
 import org.eclipse.cdt.core.dom.ast.IASTMacroExpansionLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -50,7 +52,14 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextListener;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.swt.widgets.Display;
@@ -77,6 +86,10 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		/** The semantic token */
 		private SemanticToken fToken = new SemanticToken();
 
+		/** The range of the file positions are collected for */
+		private int fRangeOffset = 0;
+		private int fRangeEnd = Integer.MAX_VALUE;
+
 		private class PositionCollectorRequirements {
 			public boolean visitImplicitNames = false;
 			public boolean visitExpressions = false;
@@ -100,6 +113,28 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			shouldVisitImplicitNameAlternates = requirements.visitImplicitNames;
 		}
 
+		/**
+		 * Restricts the collected positions to the given range of the translation unit file.
+		 * Nodes outside of the range are skipped without resolving their bindings.
+		 *
+		 * @param offset the range offset
+		 * @param length the range length
+		 */
+		public void setRange(int offset, int length) {
+			fRangeOffset = offset;
+			fRangeEnd = offset + length;
+		}
+
+		private boolean isInRange(IASTNode node) {
+			if (fRangeOffset == 0 && fRangeEnd == Integer.MAX_VALUE)
+				return true;
+			IASTFileLocation location = node.getFileLocation();
+			if (location == null)
+				return true;
+			int offset = location.getNodeOffset();
+			return offset < fRangeEnd && offset + location.getNodeLength() >= fRangeOffset;
+		}
+
 		private PositionCollectorRequirements getRequirements() {
 			PositionCollectorRequirements result = new PositionCollectorRequirements();
 			for (int i = 0; i < fHighlightings.length; i++) {
@@ -121,7 +156,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			// Visit macro definitions.
 			IASTPreprocessorMacroDefinition[] macroDefs = tu.getMacroDefinitions();
 			for (IASTPreprocessorMacroDefinition macroDef : macroDefs) {
-				if (macroDef.isPartOfTranslationUnitFile()) {
+				if (macroDef.isPartOfTranslationUnitFile() && isInRange(macroDef)) {
 					visitNode(macroDef.getName());
 				}
 			}
@@ -129,7 +164,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			// Visit macro expansions.
 			IASTPreprocessorMacroExpansion[] macroExps = tu.getMacroExpansions();
 			for (IASTPreprocessorMacroExpansion macroExp : macroExps) {
-				if (macroExp.isPartOfTranslationUnitFile()) {
+				if (macroExp.isPartOfTranslationUnitFile() && isInRange(macroExp)) {
 					IASTName macroRef = macroExp.getMacroReference();
 					visitNode(macroRef);
 					IASTName[] nestedMacroRefs = macroExp.getNestedMacroReferences();
@@ -145,7 +180,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 		@Override
 		public int visit(IASTDeclaration declaration) {
-			if (!declaration.isPartOfTranslationUnitFile()) {
+			if (!declaration.isPartOfTranslationUnitFile() || !isInRange(declaration)) {
 				return PROCESS_SKIP;
 			}
 			return PROCESS_CONTINUE;
@@ -167,7 +202,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 		@Override
 		public int visit(ICPPASTNamespaceDefinition namespace) {
-			if (!namespace.isPartOfTranslationUnitFile()) {
+			if (!namespace.isPartOfTranslationUnitFile() || !isInRange(namespace)) {
 				return PROCESS_SKIP;
 			}
 			return PROCESS_CONTINUE;
@@ -186,12 +221,15 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			//			if (!shouldVisitCatchHandlers && statement instanceof ICPPASTCatchHandler) {
 			//				return PROCESS_SKIP;
 			//			}
+			if (!isInRange(statement)) {
+				return PROCESS_SKIP;
+			}
 			return PROCESS_CONTINUE;
 		}
 
 		@Override
 		public int visit(IASTName name) {
-			if (visitNode(name)) {
+			if (!isInRange(name) || visitNode(name)) {
 				return PROCESS_SKIP;
 			}
 			return PROCESS_CONTINUE;
@@ -211,7 +249,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 		@Override
 		public int visit(IASTExpression expression) {
-			if (visitNode(expression)) {
+			if (!isInRange(expression) || visitNode(expression)) {
 				return PROCESS_SKIP;
 			}
 			return PROCESS_CONTINUE;
@@ -335,8 +373,53 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		}
 	}
 
+	/**
+	 * Tracks the visible part of the document in the UI thread and triggers highlighting
+	 * of parts scrolled into view that have not been highlighted yet.
+	 */
+	private class ViewportTracker implements IViewportListener, ITextListener {
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			updateVisibleRange();
+			IRegion range = fVisibleRange;
+			if (range != null && !isCovered(range))
+				scheduleJob(SCROLL_DELAY);
+		}
+
+		@Override
+		public void textChanged(TextEvent event) {
+			updateVisibleRange();
+		}
+	}
+
+	/**
+	 * Documents longer than this number of characters are highlighted only around the visible
+	 * range. The rest of the document is highlighted as it is scrolled into view.
+	 */
+	private static final int RANGE_LIMIT_THRESHOLD = 300000;
+	/** Minimum number of lines highlighted above and below the visible range */
+	private static final int MIN_MARGIN_LINES = 50;
+	/** Delay in milliseconds before highlighting a range that has been scrolled into view */
+	private static final int SCROLL_DELAY = 100;
+
 	/** The C editor this semantic highlighting reconciler is installed on */
 	private CEditor fEditor;
+	/** The source viewer this semantic highlighting reconciler is installed on */
+	private ISourceViewer fSourceViewer;
+	/** The viewport tracker, only installed on the source viewer while it is set */
+	private final ViewportTracker fViewportTracker = new ViewportTracker();
+	/**
+	 * The visible range including a margin, or <code>null</code> if the whole document is to be
+	 * highlighted. Updated in the UI thread.
+	 */
+	private volatile IRegion fVisibleRange;
+	/**
+	 * The range highlighted for the AST referenced by {@link #fCoveredAST}, or <code>null</code>
+	 * if the whole document has been highlighted.
+	 */
+	private volatile IRegion fCoveredRange;
+	/** The AST the covered range has been highlighted for */
+	private WeakReference<IASTTranslationUnit> fCoveredAST = new WeakReference<>(null);
 	/** The semantic highlighting presenter */
 	protected SemanticHighlightingPresenter fPresenter;
 	/** Semantic highlightings */
@@ -378,6 +461,11 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
 	 */
 	private HighlightingStyle[] fJobHighlightings;
+	/**
+	 * The range to highlight - cache for background thread, only valid during
+	 * {@link #reconciled(IASTTranslationUnit, boolean, IProgressMonitor)}
+	 */
+	private IRegion fJobRange;
 
 	@Override
 	public void aboutToBeReconciled() {
@@ -395,6 +483,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		fJobPresenter = fPresenter;
 		fJobSemanticHighlightings = fSemanticHighlightings;
 		fJobHighlightings = fHighlightings;
+		fJobRange = fVisibleRange;
 
 		try {
 			if (fJobPresenter == null || fJobSemanticHighlightings == null || fJobHighlightings == null)
@@ -406,6 +495,8 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 				return;
 
 			PositionCollector collector = new PositionCollector();
+			if (fJobRange != null)
+				collector.setRange(fJobRange.getOffset(), fJobRange.getLength());
 
 			startReconcilingPositions();
 
@@ -416,14 +507,17 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			if (!fJobPresenter.isCanceled())
 				textPresentation = fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				updateCoveredRange(ast, fJobRange);
+			}
 
 			stopReconcilingPositions();
 		} finally {
 			fJobPresenter = null;
 			fJobSemanticHighlightings = null;
 			fJobHighlightings = null;
+			fJobRange = null;
 			synchronized (fReconcileLock) {
 				fIsReconciling = false;
 			}
@@ -434,10 +528,81 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * Starts reconciling positions.
 	 */
 	protected void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+		if (fJobRange != null) {
+			// Positions outside of the range are kept as they are.
+			fJobPresenter.addPositionsInRange(fRemovedPositions, fJobRange.getOffset(), fJobRange.getLength());
+		} else {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		}
 		fNOfRemovedPositions = fRemovedPositions.size();
 	}
 
+	/**
+	 * Records the range highlighted for the given AST.
+	 *
+	 * @param ast the AST
+	 * @param range the highlighted range, or <code>null</code> for the whole document
+	 */
+	private void updateCoveredRange(IASTTranslationUnit ast, IRegion range) {
+		IRegion covered = fCoveredRange;
+		if (range == null) {
+			covered = null;
+		} else if (fCoveredAST.get() != ast) {
+			covered = range;
+		} else if (covered != null) {
+			int start = covered.getOffset();
+			int end = start + covered.getLength();
+			if (range.getOffset() <= end && range.getOffset() + range.getLength() >= start) {
+				// Merge overlapping ranges.
+				start = Math.min(start, range.getOffset());
+				end = Math.max(end, range.getOffset() + range.getLength());
+				covered = new Region(start, end - start);
+			} else {
+				covered = range;
+			}
+		}
+		fCoveredAST = new WeakReference<>(ast);
+		fCoveredRange = covered;
+	}
+
+	/**
+	 * Checks whether the given range has already been highlighted.
+	 */
+	private boolean isCovered(IRegion range) {
+		IRegion covered = fCoveredRange;
+		if (covered == null)
+			return true;
+		return range.getOffset() >= covered.getOffset()
+				&& range.getOffset() + range.getLength() <= covered.getOffset() + covered.getLength();
+	}
+
+	/**
+	 * Computes the range to highlight from the visible part of the document.
+	 * <p>
+	 * NOTE: Called from UI thread.
+	 * </p>
+	 */
+	private void updateVisibleRange() {
+		ISourceViewer sourceViewer = fSourceViewer;
+		IDocument document = sourceViewer != null ? sourceViewer.getDocument() : null;
+		if (document == null || document.getLength() < RANGE_LIMIT_THRESHOLD) {
+			fVisibleRange = null;
+			return;
+		}
+		int topLine = sourceViewer.getTopIndex();
+		int bottomLine = sourceViewer.getBottomIndex();
+		int margin = Math.max(bottomLine - topLine, MIN_MARGIN_LINES);
+		int firstLine = Math.max(topLine - margin, 0);
+		int lastLine = Math.min(bottomLine + margin, document.getNumberOfLines() - 1);
+		try {
+			int start = document.getLineOffset(firstLine);
+			IRegion last = document.getLineInformation(lastLine);
+			fVisibleRange = new Region(start, last.getOffset() + last.getLength() - start);
+		} catch (BadLocationException e) {
+			fVisibleRange = null;
+		}
+	}
+
 	/**
 	 * Reconciles positions based on the AST.
 	 *
@@ -524,6 +689,13 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		fHighlightings = highlightings;
 
 		fEditor = editor;
+		fSourceViewer = sourceViewer;
+
+		if (fSourceViewer != null) {
+			fSourceViewer.addViewportListener(fViewportTracker);
+			fSourceViewer.addTextListener(fViewportTracker);
+			updateVisibleRange();
+		}
 
 		if (fEditor != null) {
 			fEditor.addReconcileListener(this);
@@ -542,6 +714,14 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			fEditor = null;
 		}
 
+		if (fSourceViewer != null) {
+			fSourceViewer.removeViewportListener(fViewportTracker);
+			fSourceViewer.removeTextListener(fViewportTracker);
+			fSourceViewer = null;
+		}
+		fVisibleRange = null;
+		fCoveredRange = null;
+
 		fSemanticHighlightings = null;
 		fHighlightings = null;
 		fPresenter = null;
@@ -549,9 +729,14 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 	/**
 	 * Schedules a background job for retrieving the AST and reconciling the Semantic Highlighting model.
+	 *
+	 * @param delay the delay in milliseconds before the job starts
 	 */
-	private void scheduleJob() {
-		final ICElement element = fEditor.getInputCElement();
+	private void scheduleJob(long delay) {
+		CEditor editor = fEditor;
+		if (editor == null)
+			return;
+		final ICElement element = editor.getInputCElement();
 
 		synchronized (fJobLock) {
 			final Job oldJob = fJob;
@@ -595,7 +780,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 				};
 				//				fJob.setSystem(true);
 				fJob.setPriority(Job.SHORT);
-				fJob.schedule();
+				fJob.schedule(delay);
 			}
 		}
 	}
@@ -604,6 +789,6 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 * Refreshes the highlighting.
 	 */
 	public void refresh() {
-		scheduleJob();
+		scheduleJob(0);
 	}
 }
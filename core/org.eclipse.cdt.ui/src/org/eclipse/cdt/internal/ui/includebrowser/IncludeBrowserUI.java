@@ -44,6 +44,7 @@ public class IncludeBrowserUI {
 				IWorkbenchPage page = window.getActivePage();
 				IBViewPart result = (IBViewPart) page.showView(CUIPlugin.ID_INCLUDE_BROWSER);
 				result.setInput(tu);
+				IndexUI.setNavigationPriority(tu);
 			}
 		} catch (CoreException e) {
 			ExceptionHandler.handle(e, window.getShell(), IBMessages.OpenIncludeBrowserAction_label, null);
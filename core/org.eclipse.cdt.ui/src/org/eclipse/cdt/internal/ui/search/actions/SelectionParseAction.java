@@ -24,6 +24,8 @@ import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.ui.search.CSearchMessages;
 import org.eclipse.cdt.internal.ui.util.EditorUtility;
 import org.eclipse.cdt.internal.ui.util.StatusLineHandler;
+import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
+import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.cdt.ui.ICModelBasedEditor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -94,6 +96,8 @@ public class SelectionParseAction extends Action {
 		ITextEditor textEditor = EditorUtility.getTextEditor(editor);
 		if (textEditor != null) {
 			textEditor.selectAndReveal(currentOffset, currentLength);
+			IndexUI.setNavigationPriority(
+					CUIPlugin.getDefault().getWorkingCopyManager().getWorkingCopy(textEditor.getEditorInput()));
 		} else {
 			reportSourceFileOpenFailure(path);
 		}
@@ -106,6 +110,7 @@ public class SelectionParseAction extends Action {
 		ITextEditor textEditor = EditorUtility.getTextEditor(editor);
 		if (textEditor != null) {
 			textEditor.selectAndReveal(currentOffset, currentLength);
+			IndexUI.setNavigationPriority(tu);
 		} else {
 			reportSourceFileOpenFailure(tu.getPath());
 		}
@@ -81,6 +81,7 @@ public class TypeHierarchyUI {
 		try {
 			THViewPart result = (THViewPart) page.showView(CUIPlugin.ID_TYPE_HIERARCHY);
 			result.setInput(input, member);
+			IndexUI.setNavigationPriority(input);
 			return result;
 		} catch (CoreException e) {
 			ExceptionHandler.handle(e, window.getShell(), Messages.TypeHierarchyUI_OpenTypeHierarchy, null);
@@ -60,6 +60,7 @@ import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.index.IndexFilter;
@@ -82,6 +83,7 @@ import org.eclipse.cdt.internal.core.model.ext.CElementHandleFactory;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.cdt.internal.core.resources.ResourceLookup;
+import org.eclipse.cdt.internal.corext.util.CModelUtil;
 import org.eclipse.cdt.internal.ui.editor.ASTProvider;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.core.resources.IFile;
@@ -367,6 +369,19 @@ public class IndexUI {
 		return null;
 	}
 
+	/**
+	 * Gives the files in the folder of the given navigation target navigation priority for
+	 * indexing, see {@link IIndexManager#setIndexingPriority(ICElement[], int)}.
+	 */
+	public static void setNavigationPriority(ICElement target) {
+		ITranslationUnit tu = target instanceof ITranslationUnit ? (ITranslationUnit) target
+				: target == null ? null : (ITranslationUnit) target.getAncestor(ICElement.C_UNIT);
+		if (tu != null) {
+			CCorePlugin.getIndexManager().setIndexingPriority(new ICElement[] { CModelUtil.toOriginal(tu) },
+					IIndexManager.PRIORITY_NAVIGATION);
+		}
+	}
+
 	/**
 	 * Given a 'source' and a 'target' translation unit, return a translation unit
 	 * that resolves to the same file as 'target' and has a workspace path that
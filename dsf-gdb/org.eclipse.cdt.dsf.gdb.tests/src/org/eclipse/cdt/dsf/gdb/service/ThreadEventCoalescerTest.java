@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIExecAsyncOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.junit.Test;
+
+/**
+ * Feeds the coalescer of the non-stop run control with the <code>*running</code> and
+ * <code>*stopped</code> records that GDB reports when the threads of large processes are
+ * interrupted and resumed.
+ */
+public class ThreadEventCoalescerTest {
+	private static final int THREADS = 10000;
+	private static final int PROCESSES = 2;
+
+	private final MIParser fParser = new MIParser();
+	private final ThreadEventCoalescer<String, String, MIExecAsyncOutput> fCoalescer = new ThreadEventCoalescer<>();
+	// The threads of each process and whether they are suspended
+	private final Map<String, Map<String, Boolean>> fStates = new LinkedHashMap<>();
+	private final Map<String, String> fProcessOfThread = new HashMap<>();
+
+	private final ThreadEventCoalescer.IThreadStates<String, String> fThreadStates = new ThreadEventCoalescer.IThreadStates<String, String>() {
+		@Override
+		public Collection<String> getThreads(String container) {
+			return fStates.get(container).keySet();
+		}
+
+		@Override
+		public boolean isSuspended(String thread) {
+			return fStates.get(fProcessOfThread.get(thread)).get(thread);
+		}
+	};
+
+	public ThreadEventCoalescerTest() {
+		for (int i = 1; i <= THREADS; i++) {
+			addThread("i" + (1 + (i - 1) * PROCESSES / THREADS), String.valueOf(i)); //$NON-NLS-1$
+		}
+	}
+
+	private void addThread(String process, String thread) {
+		fStates.computeIfAbsent(process, p -> new LinkedHashMap<>()).put(thread, false);
+		fProcessOfThread.put(thread, process);
+	}
+
+	/**
+	 * Generates the records GDB reports when the given threads stop or resume.
+	 */
+	private static List<String> generateStream(int first, int last, boolean stopped, String reason) {
+		List<String> lines = new ArrayList<>();
+		for (int i = first; i <= last; i++) {
+			if (stopped) {
+				lines.add("*stopped,reason=\"" + reason + "\",signal-name=\"SIGINT\",signal-meaning=\"Interrupt\"," //$NON-NLS-1$ //$NON-NLS-2$
+						+ "frame={addr=\"0x00007ffff7bc8a15\",func=\"pthread_cond_wait\",args=[]},thread-id=\"" + i //$NON-NLS-1$
+						+ "\",stopped-threads=[\"" + i + "\"],core=\"" + i % 64 + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else {
+				lines.add("*running,thread-id=\"" + i + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return lines;
+	}
+
+	private void feed(List<String> lines) {
+		for (String line : lines) {
+			MIExecAsyncOutput exec = (MIExecAsyncOutput) fParser.parseMIOOBRecord(line);
+			String thread = getThreadId(exec);
+			boolean stopped = "stopped".equals(exec.getAsyncClass()); //$NON-NLS-1$
+			boolean coalescible = !line.contains("reason=\"breakpoint-hit\""); //$NON-NLS-1$
+			if (!fCoalescer.add(fProcessOfThread.get(thread), thread, stopped, coalescible, exec)) {
+				flush();
+				assertTrue(fCoalescer.add(fProcessOfThread.get(thread), thread, stopped, coalescible, exec));
+			}
+		}
+	}
+
+	private List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> flush() {
+		List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> batches = fCoalescer.flush(fThreadStates);
+		// Dispatching the events updates the state of the threads
+		for (ThreadEventCoalescer.Batch<String, MIExecAsyncOutput> batch : batches) {
+			for (MIExecAsyncOutput exec : batch.fEvents) {
+				String thread = getThreadId(exec);
+				fStates.get(fProcessOfThread.get(thread)).put(thread, batch.fSuspended);
+			}
+		}
+		return batches;
+	}
+
+	private static String getThreadId(MIExecAsyncOutput exec) {
+		for (MIResult result : exec.getMIResults()) {
+			if ("thread-id".equals(result.getVariable())) { //$NON-NLS-1$
+				return ((MIConst) result.getMIValue()).getString();
+			}
+		}
+		throw new IllegalArgumentException();
+	}
+
+	@Test
+	public void testAllThreadsStopAndResume() {
+		feed(generateStream(1, THREADS, true, "signal-received")); //$NON-NLS-1$
+		assertEquals(THREADS, fCoalescer.size());
+		List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> batches = flush();
+		assertEquals(PROCESSES, batches.size());
+		for (ThreadEventCoalescer.Batch<String, MIExecAsyncOutput> batch : batches) {
+			assertTrue(batch.isCoalesced());
+			assertTrue(batch.fSuspended);
+			assertEquals(THREADS / PROCESSES, batch.fEvents.size());
+		}
+		assertTrue(fCoalescer.isEmpty());
+
+		feed(generateStream(1, THREADS, false, null));
+		batches = flush();
+		assertEquals(PROCESSES, batches.size());
+		assertTrue(batches.get(0).isCoalesced());
+		assertFalse(batches.get(0).fSuspended);
+		assertEquals("i1", batches.get(0).fContainer); //$NON-NLS-1$
+		assertEquals("i2", batches.get(1).fContainer); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testPartialStop() {
+		// The other threads of the process keep running, each thread is reported
+		int stopped = THREADS / PROCESSES / 2;
+		feed(generateStream(1, stopped, true, "signal-received")); //$NON-NLS-1$
+		List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> batches = flush();
+		assertEquals(stopped, batches.size());
+		for (ThreadEventCoalescer.Batch<String, MIExecAsyncOutput> batch : batches) {
+			assertFalse(batch.isCoalesced());
+			assertEquals(1, batch.fEvents.size());
+		}
+
+		// Once the remaining threads stop, the process is reported at once
+		feed(generateStream(stopped + 1, THREADS / PROCESSES, true, "signal-received")); //$NON-NLS-1$
+		batches = flush();
+		assertEquals(1, batches.size());
+		assertTrue(batches.get(0).isCoalesced());
+		assertEquals(THREADS / PROCESSES - stopped, batches.get(0).fEvents.size());
+	}
+
+	@Test
+	public void testFewThreads() {
+		for (int i = 1; i <= ThreadEventCoalescer.MIN_COALESCED_THREADS - 1; i++) {
+			addThread("i3", "t" + i); //$NON-NLS-1$ //$NON-NLS-2$
+			fCoalescer.add("i3", "t" + i, true, true, null); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> batches = fCoalescer.flush(fThreadStates);
+		assertEquals(ThreadEventCoalescer.MIN_COALESCED_THREADS - 1, batches.size());
+		assertFalse(batches.get(0).isCoalesced());
+	}
+
+	@Test
+	public void testBreakpointHitIsReportedFirst() {
+		List<String> lines = generateStream(1, THREADS / PROCESSES, true, "signal-received"); //$NON-NLS-1$
+		lines.set(100, generateStream(101, 101, true, "breakpoint-hit").get(0)); //$NON-NLS-1$
+		feed(lines);
+		List<ThreadEventCoalescer.Batch<String, MIExecAsyncOutput>> batches = flush();
+		assertEquals(2, batches.size());
+		assertFalse(batches.get(0).isCoalesced());
+		assertEquals("101", getThreadId(batches.get(0).fEvents.get(0))); //$NON-NLS-1$
+		assertTrue(batches.get(1).isCoalesced());
+		assertEquals(THREADS / PROCESSES - 1, batches.get(1).fEvents.size());
+	}
+
+	@Test
+	public void testOppositeChangeRequiresFlush() {
+		assertTrue(fCoalescer.add("i1", "1", true, true, null)); //$NON-NLS-1$ //$NON-NLS-2$
+		// A duplicate is dropped
+		assertTrue(fCoalescer.add("i1", "1", true, true, null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, fCoalescer.size());
+		assertFalse(fCoalescer.add("i1", "1", false, true, null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testManyThreads() {
+		// 10 interrupt and resume cycles of all the threads
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			feed(generateStream(1, THREADS, true, "signal-received")); //$NON-NLS-1$
+			assertEquals(PROCESSES, flush().size());
+			feed(generateStream(1, THREADS, false, null));
+			assertEquals(PROCESSES, flush().size());
+		}
+		long elapsedMs = (System.nanoTime() - start) / 1000000;
+		assertTrue("Took " + elapsedMs + " ms", elapsedMs < 30000); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
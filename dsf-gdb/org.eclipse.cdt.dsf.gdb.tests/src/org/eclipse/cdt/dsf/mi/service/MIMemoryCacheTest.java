@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.MIMemory.MIMemoryCache;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests which memory the memory cache reads from the target and which memory it keeps, with
+ * a target whose contents are computed from the addresses.
+ */
+public class MIMemoryCacheTest {
+
+	/** The first address of a range that cannot be read */
+	private static final long UNREADABLE_START = 0x3000;
+	private static final long UNREADABLE_END = 0x3010;
+
+	private DsfSession fSession;
+	private TestMemory fMemory;
+	private MIMemoryCache fCache;
+
+	/**
+	 * Answers the reads from the computed target memory and records them.
+	 */
+	private static class TestMemory extends MIMemory {
+		final List<long[]> fReads = new ArrayList<>();
+		// Whether the target returns only the first half of the next block
+		boolean fShortRead;
+
+		TestMemory(DsfSession session) {
+			super(session);
+		}
+
+		@Override
+		protected void readMemoryBlock(IDMContext dmc, IAddress address, long offset, int wordSize, int wordCount,
+				DataRequestMonitor<MemoryByte[]> drm) {
+			long start = address.getValue().longValue() + offset;
+			fReads.add(new long[] { start, wordCount });
+			int length = wordCount;
+			if (fShortRead) {
+				fShortRead = false;
+				length = wordCount / 2;
+			}
+			MemoryByte[] block = new MemoryByte[length];
+			for (int i = 0; i < length; i++) {
+				long a = start + i;
+				block[i] = a >= UNREADABLE_START && a < UNREADABLE_END ? new MemoryByte((byte) 0, (byte) 0)
+						: new MemoryByte((byte) a);
+			}
+			drm.done(block);
+		}
+	}
+
+	@Before
+	public void startSession() throws Exception {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fMemory = new TestMemory(fSession);
+		fCache = callInExecutor(() -> fMemory.new MIMemoryCache());
+	}
+
+	@After
+	public void endSession() throws Exception {
+		callInExecutor(() -> {
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		fSession.getExecutor().shutdown();
+		assertTrue(fSession.getExecutor().awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	private <T> T callInExecutor(Callable<T> callable) throws Exception {
+		return fSession.getExecutor().submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private MemoryByte[] read(long address, int count) throws Exception {
+		final CompletableFuture<MemoryByte[]> result = new CompletableFuture<>();
+		callInExecutor(() -> {
+			fCache.getMemory(null, new Addr64(Long.toString(address)), 1, count,
+					new DataRequestMonitor<MemoryByte[]>(ImmediateExecutor.getInstance(), null) {
+						@Override
+						protected void handleCompleted() {
+							if (isSuccess()) {
+								result.complete(getData());
+							} else {
+								result.completeExceptionally(new Exception(getStatus().getMessage()));
+							}
+						}
+					});
+			return null;
+		});
+		MemoryByte[] bytes = result.get(10, TimeUnit.SECONDS);
+		assertEquals(count, bytes.length);
+		return bytes;
+	}
+
+	private void assertReads(long[]... expected) {
+		assertEquals(expected.length, fMemory.fReads.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals("start of read " + i, expected[i][0], fMemory.fReads.get(i)[0]); //$NON-NLS-1$
+			assertEquals("length of read " + i, expected[i][1], fMemory.fReads.get(i)[1]); //$NON-NLS-1$
+		}
+		fMemory.fReads.clear();
+	}
+
+	private void assertContents(long address, MemoryByte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			assertTrue(bytes[i].isReadable());
+			assertEquals((byte) (address + i), bytes[i].getValue());
+		}
+	}
+
+	@Test
+	public void readsOnlyTheRequestedRange() throws Exception {
+		assertContents(0x100a, read(0x100a, 16));
+		assertReads(new long[] { 0x100a, 16 });
+
+		assertContents(0x100a, read(0x100a, 16));
+		assertReads();
+
+		// Only the units around the cached ones are read
+		assertContents(0x1005, read(0x1005, 32));
+		assertReads(new long[] { 0x1005, 5 }, new long[] { 0x101a, 11 });
+	}
+
+	@Test
+	public void readsAcrossPages() throws Exception {
+		assertContents(0x13f0, read(0x13f0, 0x20));
+		assertReads(new long[] { 0x13f0, 0x20 });
+		assertContents(0x13f8, read(0x13f8, 0x10));
+		assertReads();
+	}
+
+	@Test
+	public void unreadableMemoryIsNotCached() throws Exception {
+		MemoryByte[] bytes = read(0x2ff8, 0x20);
+		assertReads(new long[] { 0x2ff8, 0x20 });
+		for (int i = 0; i < bytes.length; i++) {
+			long address = 0x2ff8 + i;
+			assertEquals(address < UNREADABLE_START || address >= UNREADABLE_END, bytes[i].isReadable());
+		}
+
+		// The unreadable units are read again, they could be readable now
+		read(0x2ff8, 0x20);
+		assertReads(new long[] { UNREADABLE_START, UNREADABLE_END - UNREADABLE_START });
+	}
+
+	@Test
+	public void paddingOfShortReadIsNotCached() throws Exception {
+		fMemory.fShortRead = true;
+		MemoryByte[] bytes = read(0x1000, 16);
+		assertReads(new long[] { 0x1000, 16 });
+		for (int i = 0; i < bytes.length; i++) {
+			assertEquals(i < 8, bytes[i].isReadable());
+		}
+
+		assertContents(0x1000, read(0x1000, 16));
+		assertReads(new long[] { 0x1008, 8 });
+	}
+
+	@Test
+	public void readAheadIsOptIn() throws Exception {
+		fMemory.fMemoryReadAhead = true;
+		assertContents(0x100a, read(0x100a, 16));
+		assertReads(new long[] { 0x1000, 0x400 });
+
+		assertContents(0x1200, read(0x1200, 0x10));
+		assertReads();
+	}
+
+	@Test
+	public void leastRecentlyUsedPagesAreEvicted() throws Exception {
+		callInExecutor(() -> {
+			fMemory.fMemoryCacheBudget = 2048;
+			return null;
+		});
+		read(0x1000, 1);
+		read(0x2000, 1);
+		// Use the first page so that the second one is the least recently used
+		read(0x1000, 1);
+		read(0x4000, 1);
+		fMemory.fReads.clear();
+
+		read(0x1000, 1);
+		read(0x4000, 1);
+		assertReads();
+		read(0x2000, 1);
+		assertReads(new long[] { 0x2000, 1 });
+	}
+}
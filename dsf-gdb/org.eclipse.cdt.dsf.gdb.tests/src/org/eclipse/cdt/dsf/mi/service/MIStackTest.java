@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
+import org.eclipse.cdt.dsf.debug.service.IRunControl;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerResumedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IResumedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
+import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl.MIRunMode;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the reuse of the deep frames of the previous stop after a step, with a command
+ * control that queues the commands until the tests answer them. The frames of the stacks
+ * are computed from their distance to the bottom of the stack.
+ */
+public class MIStackTest {
+
+	private DsfSession fSession;
+	private MIProcesses fProcesses;
+	private ScriptedCommandControl fCommandControl;
+	private MIStack fStack;
+	private ICommandControlDMContext fControlDmc;
+	private MIRunMode fRunMode = MIRunMode.ALL_STOP;
+
+	@Before
+	public void startSession() throws Exception {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fCommandControl = new ScriptedCommandControl(fSession);
+		fControlDmc = fCommandControl.getContext();
+		// All threads are suspended
+		final IRunControl runControl = (IRunControl) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { IMIRunControl.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "isSuspended": //$NON-NLS-1$
+						return Boolean.TRUE;
+					case "getRunMode": //$NON-NLS-1$
+						return fRunMode;
+					default:
+						return null;
+					}
+				});
+		// There is no service registry in these tests
+		final BundleContext bundleContext = ScriptedCommandControl.createBundleContext();
+		final DsfServicesTracker tracker = fCommandControl.createServicesTracker(bundleContext, runControl);
+		fStack = callInExecutor(() -> {
+			fProcesses = new MIProcesses(fSession);
+			return new MIStack(fSession) {
+				@Override
+				protected BundleContext getBundleContext() {
+					return bundleContext;
+				}
+
+				@Override
+				protected DsfServicesTracker getServicesTracker() {
+					return tracker;
+				}
+			};
+		});
+		final DataRequestMonitor<Object> rm = new ImmediateDataRequestMonitor<>();
+		callInExecutor(() -> {
+			fStack.initialize(rm);
+			return null;
+		});
+		assertTrue(rm.isSuccess());
+	}
+
+	@After
+	public void endSession() throws Exception {
+		callInExecutor(() -> {
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		fSession.getExecutor().shutdown();
+		assertTrue(fSession.getExecutor().awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	private <T> T callInExecutor(Callable<T> callable) throws Exception {
+		return fSession.getExecutor().submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private IMIExecutionDMContext createThread(String threadId) {
+		return fProcesses.createExecutionContext(
+				fProcesses.createContainerContext(fProcesses.createProcessContext(fControlDmc, "1"), "i1"), //$NON-NLS-1$ //$NON-NLS-2$
+				fProcesses.createThreadContext(fProcesses.createProcessContext(fControlDmc, "1"), threadId), //$NON-NLS-1$
+				threadId);
+	}
+
+	/**
+	 * Waits for the next command, it is sent after the results of the previous commands have
+	 * been processed.
+	 */
+	private String waitForCommand() throws Exception {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (callInExecutor(() -> fCommandControl.fQueued.isEmpty())) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("No command sent"); //$NON-NLS-1$
+			}
+			Thread.sleep(10);
+		}
+		return callInExecutor(() -> fCommandControl.fQueued.get(0).toString().trim());
+	}
+
+	private void answer(String resultRecord) throws Exception {
+		callInExecutor(() -> {
+			fCommandControl.answer(0, resultRecord);
+			return null;
+		});
+	}
+
+	private void assertNoCommand() throws Exception {
+		// Let the executor process the pending results
+		for (int i = 0; i < 10; i++) {
+			callInExecutor(() -> null);
+		}
+		assertEquals(0, (int) callInExecutor(() -> fCommandControl.fQueued.size()));
+	}
+
+	private <V> V waitForDone(DataRequestMonitor<V> rm) throws Exception {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!callInExecutor(() -> rm.isSuccess() && rm.getData() != null)) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Request not completed: " + rm); //$NON-NLS-1$
+			}
+			Thread.sleep(10);
+		}
+		return rm.getData();
+	}
+
+	/**
+	 * Answers a request for the frames from <code>low</code> to <code>high</code> of a stack
+	 * with the given depth.
+	 */
+	private void answerFrames(int low, int high, int depth) throws Exception {
+		StringBuilder result = new StringBuilder("^done,stack=["); //$NON-NLS-1$
+		for (int level = low; level <= high && level < depth; level++) {
+			int distance = depth - level;
+			if (level > low) {
+				result.append(',');
+			}
+			result.append("frame={level=\"").append(level) //$NON-NLS-1$
+					.append("\",addr=\"0x").append(Integer.toHexString(0x1000 + distance)) //$NON-NLS-1$
+					.append("\",func=\"f").append(distance) //$NON-NLS-1$
+					.append("\",file=\"a.c\",fullname=\"/a.c\",line=\"").append(distance).append("\"}"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		answer(result.append(']').toString());
+	}
+
+	private DataRequestMonitor<IFrameDMData> getFrameData(IMIExecutionDMContext thread, int level)
+			throws Exception {
+		return callInExecutor(() -> {
+			DataRequestMonitor<IFrameDMData> rm = new ImmediateDataRequestMonitor<>();
+			fStack.getFrameData(fStack.createFrameDMContext(thread, level), rm);
+			return rm;
+		});
+	}
+
+	/**
+	 * Caches the depth and the frames at the given levels of a stack, with the commands
+	 * a view sends for a stop.
+	 */
+	private void cacheStack(IMIExecutionDMContext thread, int depth, int... levels) throws Exception {
+		DataRequestMonitor<Integer> depthRm = getStackDepth(thread);
+		assertTrue(waitForCommand().startsWith("-stack-info-depth")); //$NON-NLS-1$
+		answer("^done,depth=\"" + depth + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(depth, (int) waitForDone(depthRm));
+
+		for (int level : levels) {
+			DataRequestMonitor<IFrameDMData> rm = getFrameData(thread, level);
+			int low = level - level % 64;
+			assertTrue(waitForCommand().endsWith(low + " " + (low + 63))); //$NON-NLS-1$
+			answerFrames(low, low + 63, depth);
+			assertEquals("f" + (depth - level), waitForDone(rm).getFunction()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Sends the events of a step of the given thread in all-stop mode, in which the process
+	 * resumes and suspends as a whole.
+	 */
+	private void step(IMIExecutionDMContext thread) throws Exception {
+		final IContainerDMContext container = DMContexts.getAncestorOfType(thread, IContainerDMContext.class);
+		final InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getDMContext": //$NON-NLS-1$
+				return container;
+			case "getTriggeringContexts": //$NON-NLS-1$
+				return new IExecutionDMContext[] { thread };
+			case "getReason": //$NON-NLS-1$
+				return StateChangeReason.STEP;
+			default:
+				return null;
+			}
+		};
+		final IContainerResumedDMEvent resumed = (IContainerResumedDMEvent) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { IContainerResumedDMEvent.class }, handler);
+		final IContainerSuspendedDMEvent suspended = (IContainerSuspendedDMEvent) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { IContainerSuspendedDMEvent.class }, handler);
+		callInExecutor(() -> {
+			fStack.eventDispatched(resumed);
+			fStack.eventDispatched(suspended);
+			return null;
+		});
+	}
+
+	private DataRequestMonitor<Integer> getStackDepth(IMIExecutionDMContext thread) throws Exception {
+		return callInExecutor(() -> {
+			DataRequestMonitor<Integer> rm = new ImmediateDataRequestMonitor<>();
+			fStack.getStackDepth(thread, 0, rm);
+			return rm;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T createEvent(Class<T> eventClass, IExecutionDMContext dmc, IExecutionDMContext... triggering) {
+		return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { eventClass },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getDMContext": //$NON-NLS-1$
+						return dmc;
+					case "getTriggeringContexts": //$NON-NLS-1$
+						return triggering;
+					case "getThreadEvents": //$NON-NLS-1$
+						return Collections.emptyList();
+					case "getReason": //$NON-NLS-1$
+						return StateChangeReason.SIGNAL;
+					default:
+						return null;
+					}
+				});
+	}
+
+	@Test
+	public void deepFrameIsReusedAtItsNewLevel() throws Exception {
+		IMIExecutionDMContext thread = createThread("1"); //$NON-NLS-1$
+		cacheStack(thread, 200, 1, 100);
+		// Step into a function, which adds one frame to the stack
+		step(thread);
+
+		DataRequestMonitor<IFrameDMData> rm = getFrameData(thread, 101);
+		// Only the depth needed to compare the top frames is requested
+		assertEquals("-stack-info-depth 264", waitForCommand()); //$NON-NLS-1$
+		answer("^done,depth=\"201\""); //$NON-NLS-1$
+		assertTrue(waitForCommand().endsWith("0 63")); //$NON-NLS-1$
+		answerFrames(0, 63, 201);
+
+		IFrameDMData frameData = waitForDone(rm);
+		assertEquals("f100", frameData.getFunction()); //$NON-NLS-1$
+		assertEquals(101, ((MIStack.FrameData) frameData).getMIFrame().getLevel());
+		assertNoCommand();
+	}
+
+	@Test
+	public void deepFramesAreNotReusedAfterChangeOfTheStack() throws Exception {
+		IMIExecutionDMContext thread = createThread("1"); //$NON-NLS-1$
+		cacheStack(thread, 200, 1, 100);
+		step(thread);
+
+		DataRequestMonitor<IFrameDMData> rm = getFrameData(thread, 101);
+		waitForCommand();
+		answer("^done,depth=\"201\""); //$NON-NLS-1$
+		waitForCommand();
+		// The stack of this stop is entirely different
+		answerFrames(0, 63, 401);
+		assertTrue(waitForCommand().endsWith("64 127")); //$NON-NLS-1$
+		answerFrames(64, 127, 401);
+		assertEquals("f300", waitForDone(rm).getFunction()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void framesOfOtherThreadsAreNotReused() throws Exception {
+		IMIExecutionDMContext thread1 = createThread("1"); //$NON-NLS-1$
+		IMIExecutionDMContext thread2 = createThread("2"); //$NON-NLS-1$
+		cacheStack(thread1, 200, 1, 100);
+		cacheStack(thread2, 200, 1, 100);
+		step(thread1);
+
+		// The thread that did not step fetches its frames again
+		DataRequestMonitor<IFrameDMData> rm = getFrameData(thread2, 100);
+		assertEquals("-stack-list-frames 64 127", waitForCommand()); //$NON-NLS-1$
+		assertEquals(thread2, callInExecutor(() -> fCommandControl.fQueued.get(0).getContext()));
+		answerFrames(64, 127, 200);
+		assertEquals("f100", waitForDone(rm).getFunction()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void threadResumedAfterCoalescedSuspendIsNotAvailable() throws Exception {
+		fRunMode = MIRunMode.NON_STOP;
+		IMIExecutionDMContext thread1 = createThread("1"); //$NON-NLS-1$
+		IMIExecutionDMContext thread2 = createThread("2"); //$NON-NLS-1$
+		IContainerDMContext container = DMContexts.getAncestorOfType(thread1, IContainerDMContext.class);
+		// The threads of the process stopped together, then one of them resumes on its own
+		IMIContainerSuspendedDMEvent suspended = createEvent(IMIContainerSuspendedDMEvent.class, container,
+				thread1, thread2);
+		IResumedDMEvent resumed = createEvent(IResumedDMEvent.class, thread1);
+		callInExecutor(() -> {
+			fStack.eventDispatched(suspended);
+			fStack.eventDispatched(resumed);
+			return null;
+		});
+
+		// No command is sent for the running thread
+		getStackDepth(thread1);
+		assertNoCommand();
+
+		// The other thread is still suspended
+		DataRequestMonitor<Integer> rm2 = getStackDepth(thread2);
+		assertTrue(waitForCommand().startsWith("-stack-info-depth")); //$NON-NLS-1$
+		answer("^done,depth=\"3\""); //$NON-NLS-1$
+		assertEquals(3, (int) waitForDone(rm2));
+	}
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
+import org.eclipse.cdt.dsf.debug.service.IRunControl;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.MIExpressions.MIExpressionDMC;
+import org.eclipse.cdt.dsf.mi.service.MIVariableManager.MIVariableObject;
+import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetVar;
+import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetVarInfo;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the update of out-of-date root variable objects with a single "-var-update *", with
+ * a command control that queues the commands until the tests answer them.
+ */
+public class MIVariableManagerTest {
+
+	private DsfSession fSession;
+	private MIProcesses fProcesses;
+	private ScriptedCommandControl fCommandControl;
+	private MIVariableManager fVariableManager;
+	private ICommandControlDMContext fControlDmc;
+	private final Set<IExecutionDMContext> fRunningThreads = new HashSet<>();
+
+	@Before
+	public void startSession() throws Exception {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fCommandControl = new ScriptedCommandControl(fSession);
+		fControlDmc = fCommandControl.getContext();
+		// Only the thread state is used by the variable manager
+		final IRunControl runControl = (IRunControl) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { IRunControl.class },
+				(proxy, method, args) -> method.getName().equals("isSuspended") //$NON-NLS-1$
+						? !fRunningThreads.contains(args[0])
+						: null);
+		// There is no service registry in these tests
+		final DsfServicesTracker tracker = fCommandControl
+				.createServicesTracker(ScriptedCommandControl.createBundleContext(), runControl);
+		fVariableManager = callInExecutor(() -> {
+			fProcesses = new MIProcesses(fSession);
+			return new MIVariableManager(fSession, tracker);
+		});
+	}
+
+	@After
+	public void endSession() throws Exception {
+		callInExecutor(() -> {
+			fVariableManager.dispose();
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		fSession.getExecutor().shutdown();
+		assertTrue(fSession.getExecutor().awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	private <T> T callInExecutor(Callable<T> callable) throws Exception {
+		return fSession.getExecutor().submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private IMIExecutionDMContext createThread(String threadId) {
+		return fProcesses.createExecutionContext(
+				fProcesses.createContainerContext(fProcesses.createProcessContext(fControlDmc, "1"), "i1"), //$NON-NLS-1$ //$NON-NLS-2$
+				fProcesses.createThreadContext(fProcesses.createProcessContext(fControlDmc, "1"), threadId), //$NON-NLS-1$
+				threadId);
+	}
+
+	private MIExpressionDMC createExpression(String expression, IMIExecutionDMContext thread) {
+		return new MIExpressionDMC(fSession.getId(), expression, expression, thread);
+	}
+
+	/**
+	 * Requests the variable object of an expression, as the expressions service does.
+	 */
+	private DataRequestMonitor<ExprMetaGetVarInfo> getVariable(MIExpressionDMC expression) throws Exception {
+		return callInExecutor(() -> {
+			DataRequestMonitor<ExprMetaGetVarInfo> rm = new ImmediateDataRequestMonitor<>();
+			fVariableManager.queueCommand(new ExprMetaGetVar(expression), rm);
+			return rm;
+		});
+	}
+
+	private void answer(int index, String resultRecord) throws Exception {
+		callInExecutor(() -> {
+			fCommandControl.answer(index, resultRecord);
+			return null;
+		});
+	}
+
+	private String getCommand(int index) throws Exception {
+		return callInExecutor(() -> fCommandControl.fQueued.get(index).toString().trim());
+	}
+
+	private int indexOf(String command) throws Exception {
+		for (int i = 0; i < getQueuedCount(); i++) {
+			if (getCommand(i).equals(command)) {
+				return i;
+			}
+		}
+		fail("Command not sent: " + command); //$NON-NLS-1$
+		return -1;
+	}
+
+	private int getQueuedCount() throws Exception {
+		return callInExecutor(() -> fCommandControl.fQueued.size());
+	}
+
+	private void waitForDone(DataRequestMonitor<?> rm) throws Exception {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!callInExecutor(() -> rm.isSuccess() && rm.getData() != null)) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Request not completed: " + rm); //$NON-NLS-1$
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private void waitForValue(String gdbName, String value) throws Exception {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!value.equals(callInExecutor(() -> getValue(gdbName)))) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Value of " + gdbName + " is " + callInExecutor(() -> getValue(gdbName))); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private String getValue(String gdbName) {
+		for (MIVariableObject varObj : fVariableManager.getLRUCache().values()) {
+			if (gdbName.equals(varObj.getGdbName())) {
+				return varObj.getValue(IFormattedValues.NATURAL_FORMAT);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the root variable object of an expression, with the given GDB name and value.
+	 */
+	private MIExpressionDMC createRoot(String expression, IMIExecutionDMContext thread, String gdbName,
+			String value) throws Exception {
+		MIExpressionDMC expressionDmc = createExpression(expression, thread);
+		DataRequestMonitor<ExprMetaGetVarInfo> rm = getVariable(expressionDmc);
+		assertEquals(1, getQueuedCount());
+		assertTrue(getCommand(0), getCommand(0).startsWith("-var-create")); //$NON-NLS-1$
+		answer(0, "^done,name=\"" + gdbName + "\",numchild=\"0\",value=\"" + value //$NON-NLS-1$ //$NON-NLS-2$
+				+ "\",type=\"int\",thread-id=\"" + thread.getThreadId() + "\",has_more=\"0\""); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForDone(rm);
+		return expressionDmc;
+	}
+
+	private static String change(String gdbName, String value) {
+		return "{name=\"" + gdbName + "\",value=\"" + value //$NON-NLS-1$ //$NON-NLS-2$
+				+ "\",in_scope=\"true\",type_changed=\"false\",has_more=\"0\"}"; //$NON-NLS-1$
+	}
+
+	private void markAllOutOfDate() throws Exception {
+		callInExecutor(() -> {
+			fVariableManager.markAllOutOfDate();
+			return null;
+		});
+	}
+
+	@Test
+	public void testOutOfDateRootsAreUpdatedTogether() throws Exception {
+		IMIExecutionDMContext thread = createThread("1"); //$NON-NLS-1$
+		MIExpressionDMC a = createRoot("a", thread, "var1", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		MIExpressionDMC b = createRoot("b", thread, "var2", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		markAllOutOfDate();
+
+		DataRequestMonitor<ExprMetaGetVarInfo> rmA = getVariable(a);
+		DataRequestMonitor<ExprMetaGetVarInfo> rmB = getVariable(b);
+		assertEquals(1, getQueuedCount());
+		assertTrue(getCommand(0), getCommand(0).endsWith("*")); //$NON-NLS-1$
+
+		answer(0, "^done,changelist=[" + change("var1", "2") + ',' + change("var2", "3") + ']'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		waitForDone(rmA);
+		waitForDone(rmB);
+		assertEquals("2", getValue("var1")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("3", getValue("var2")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, getQueuedCount());
+	}
+
+	@Test
+	public void testRootOutsideOfBatchIsUpdatedOnItsOwn() throws Exception {
+		IMIExecutionDMContext thread1 = createThread("1"); //$NON-NLS-1$
+		IMIExecutionDMContext thread2 = createThread("2"); //$NON-NLS-1$
+		createRoot("a", thread1, "var1", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		createRoot("b", thread1, "var2", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		MIExpressionDMC c = createRoot("c", thread2, "var3", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		markAllOutOfDate();
+		// GDB does not update the variable objects of running threads with "-var-update *"
+		fRunningThreads.add(thread2);
+
+		DataRequestMonitor<ExprMetaGetVarInfo> rmC = getVariable(c);
+		assertEquals(1, getQueuedCount());
+		assertEquals("-var-update 1 var3", getCommand(0)); //$NON-NLS-1$
+		answer(0, "^done,changelist=[" + change("var3", "4") + ']'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		waitForDone(rmC);
+		assertEquals("4", getValue("var3")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testChangesOfUpdatingRootAreApplied() throws Exception {
+		IMIExecutionDMContext thread1 = createThread("1"); //$NON-NLS-1$
+		IMIExecutionDMContext thread2 = createThread("2"); //$NON-NLS-1$
+		MIExpressionDMC a = createRoot("a", thread1, "var1", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		createRoot("b", thread1, "var2", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		MIExpressionDMC c = createRoot("c", thread2, "var3", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		markAllOutOfDate();
+
+		// The root of the running thread is updated on its own
+		fRunningThreads.add(thread2);
+		DataRequestMonitor<ExprMetaGetVarInfo> rmC = getVariable(c);
+		fRunningThreads.remove(thread2);
+		// The other roots are updated together, while the root of the second thread is updating
+		DataRequestMonitor<ExprMetaGetVarInfo> rmA = getVariable(a);
+		assertEquals(2, getQueuedCount());
+		assertTrue(getCommand(1), getCommand(1).endsWith("*")); //$NON-NLS-1$
+
+		// "-var-update *" reports the change of the updating root, which its own request
+		// does not report again
+		answer(1, "^done,changelist=[" + change("var1", "2") + ',' + change("var3", "5") + ']'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		waitForDone(rmA);
+		assertEquals("2", getValue("var1")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(callInExecutor(() -> rmC.isSuccess() && rmC.getData() != null));
+
+		answer(0, "^done,changelist=[]"); //$NON-NLS-1$
+		waitForDone(rmC);
+		waitForValue("var3", "5"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testChangesOfUpToDateRootAreApplied() throws Exception {
+		IMIExecutionDMContext thread = createThread("1"); //$NON-NLS-1$
+		MIExpressionDMC a = createRoot("a", thread, "var1", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		createRoot("b", thread, "var2", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		markAllOutOfDate();
+		// Created after the resume, so it is up-to-date
+		createRoot("c", thread, "var3", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		DataRequestMonitor<ExprMetaGetVarInfo> rmA = getVariable(a);
+		answer(0, "^done,changelist=[" + change("var3", "6") + ']'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		waitForDone(rmA);
+		waitForValue("var3", "6"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testRootsAreUpdatedOnTheirOwnAfterBatchFailure() throws Exception {
+		IMIExecutionDMContext thread = createThread("1"); //$NON-NLS-1$
+		MIExpressionDMC a = createRoot("a", thread, "var1", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		MIExpressionDMC b = createRoot("b", thread, "var2", "1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		markAllOutOfDate();
+
+		DataRequestMonitor<ExprMetaGetVarInfo> rmA = getVariable(a);
+		DataRequestMonitor<ExprMetaGetVarInfo> rmB = getVariable(b);
+		answer(0, "^error,msg=\"Expected by the test\""); //$NON-NLS-1$
+		assertEquals(2, getQueuedCount());
+		answer(indexOf("-var-update 1 var1"), "^done,changelist=[" + change("var1", "2") + ']'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		answer(indexOf("-var-update 1 var2"), "^done,changelist=[]"); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForDone(rmA);
+		waitForDone(rmB);
+		assertEquals("2", getValue("var1")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
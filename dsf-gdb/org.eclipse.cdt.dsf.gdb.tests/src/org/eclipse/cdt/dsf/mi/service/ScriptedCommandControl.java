@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.IRunControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.MIControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+
+/**
+ * A command control that queues the commands until the tests answer them with MI result
+ * records, for testing a service without GDB.  It also provides the services of the test
+ * without a service registry.
+ */
+class ScriptedCommandControl implements IMICommandControl {
+	private final DsfSession fSession;
+	private final ICommandControlDMContext fControlDmc;
+	private final CommandFactory fCommandFactory = new CommandFactory();
+	final List<ICommand<?>> fQueued = new ArrayList<>();
+	private final List<DataRequestMonitor<?>> fRequestMonitors = new ArrayList<>();
+
+	ScriptedCommandControl(DsfSession session) {
+		fSession = session;
+		fControlDmc = new MIControlDMContext(session.getId(), getId());
+	}
+
+	@Override
+	public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+			DataRequestMonitor<V> rm) {
+		fQueued.add(command);
+		fRequestMonitors.add(rm);
+		return () -> command;
+	}
+
+	/**
+	 * Completes the queued command at the given index with the result that GDB would have
+	 * given in the result record.  Must be called in the executor of the session.
+	 */
+	@SuppressWarnings("unchecked")
+	void answer(int index, String resultRecord) {
+		MICommand<MIInfo> command = (MICommand<MIInfo>) fQueued.remove(index);
+		DataRequestMonitor<MIInfo> rm = (DataRequestMonitor<MIInfo>) fRequestMonitors.remove(index);
+		MIOutput output = new MIOutput(new MIParser().parseMIResultRecord(resultRecord), null);
+		MIInfo info = command.getResult(output);
+		if (info.isError()) {
+			rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, info.getErrorMsg()));
+		} else {
+			rm.done(info);
+		}
+	}
+
+	/**
+	 * Returns a bundle context with which services can register without a service registry.
+	 */
+	static BundleContext createBundleContext() {
+		ClassLoader classLoader = ScriptedCommandControl.class.getClassLoader();
+		final ServiceReference<?> reference = (ServiceReference<?>) Proxy.newProxyInstance(classLoader,
+				new Class<?>[] { ServiceReference.class }, (proxy, method, args) -> new String[0]);
+		final ServiceRegistration<?> registration = (ServiceRegistration<?>) Proxy.newProxyInstance(classLoader,
+				new Class<?>[] { ServiceRegistration.class },
+				(proxy, method, args) -> method.getName().equals("getReference") ? reference : null); //$NON-NLS-1$
+		return (BundleContext) Proxy.newProxyInstance(classLoader, new Class<?>[] { BundleContext.class },
+				(proxy, method, args) -> method.getName().equals("registerService") ? registration : null); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns a services tracker that gives this command control and the given run control
+	 * for the interfaces they implement, and no other service.
+	 */
+	DsfServicesTracker createServicesTracker(BundleContext bundleContext, final IRunControl runControl) {
+		return new DsfServicesTracker(bundleContext, fSession.getId()) {
+			@SuppressWarnings("unchecked")
+			@Override
+			public <V> V getService(Class<V> serviceClass, String filter) {
+				if (serviceClass.isInstance(ScriptedCommandControl.this)) {
+					return (V) ScriptedCommandControl.this;
+				}
+				if (serviceClass.isInstance(runControl)) {
+					return (V) runControl;
+				}
+				return null;
+			}
+		};
+	}
+
+	@Override
+	public void removeCommand(ICommandToken token) {
+	}
+
+	@Override
+	public void addCommandListener(ICommandListener listener) {
+	}
+
+	@Override
+	public void removeCommandListener(ICommandListener listener) {
+	}
+
+	@Override
+	public void addEventListener(IEventListener listener) {
+	}
+
+	@Override
+	public void removeEventListener(IEventListener listener) {
+	}
+
+	@Override
+	public CommandFactory getCommandFactory() {
+		return fCommandFactory;
+	}
+
+	@Override
+	public String getId() {
+		return "TestControl"; //$NON-NLS-1$
+	}
+
+	@Override
+	public ICommandControlDMContext getContext() {
+		return fControlDmc;
+	}
+
+	@Override
+	public boolean isActive() {
+		return true;
+	}
+
+	@Override
+	public DsfSession getSession() {
+		return fSession;
+	}
+
+	@Override
+	public DsfExecutor getExecutor() {
+		return fSession.getExecutor();
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Dictionary getProperties() {
+		return new Hashtable<>();
+	}
+
+	@Override
+	public String getServiceFilter() {
+		return null;
+	}
+
+	@Override
+	public void initialize(RequestMonitor requestMonitor) {
+		requestMonitor.done();
+	}
+
+	@Override
+	public void shutdown(RequestMonitor requestMonitor) {
+		requestMonitor.done();
+	}
+
+	@Override
+	public boolean isRegistered() {
+		return true;
+	}
+
+	@Override
+	public int getStartupNumber() {
+		return 0;
+	}
+}
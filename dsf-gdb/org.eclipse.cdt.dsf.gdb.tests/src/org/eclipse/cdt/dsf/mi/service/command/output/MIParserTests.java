@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MIParserTests {
+	private final MIParser fParser = new MIParser();
+
+	@Test
+	public void testResultRecord() {
+		MIResultRecord rr = fParser.parseMIResultRecord(
+				"12^done,stack=[frame={level=\"0\",addr=\"0x1\",func=\"main\"},frame={level=\"1\",func=\"f\"}]"); //$NON-NLS-1$
+		assertEquals(12, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		assertEquals(1, rr.getMIResults().length);
+		assertEquals("stack", rr.getMIResults()[0].getVariable()); //$NON-NLS-1$
+		MIList stack = (MIList) rr.getMIResults()[0].getMIValue();
+		assertEquals(2, stack.getMIResults().length);
+		MITuple frame = (MITuple) stack.getMIResults()[1].getMIValue();
+		assertEquals("f", ((MIConst) frame.getField("func")).getCString()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testResultClasses() {
+		assertEquals(MIResultRecord.ERROR, fParser.parseMIResultRecord("^error,msg=\"m\"").getResultClass()); //$NON-NLS-1$
+		assertEquals(MIResultRecord.EXIT, fParser.parseMIResultRecord("^exit").getResultClass()); //$NON-NLS-1$
+		assertEquals(MIResultRecord.RUNNING, fParser.parseMIResultRecord("3^running").getResultClass()); //$NON-NLS-1$
+		assertEquals(MIResultRecord.CONNECTED, fParser.parseMIResultRecord("^connected").getResultClass()); //$NON-NLS-1$
+		assertEquals(-1, fParser.parseMIResultRecord("^done").getToken()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testValues() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^done,a=[\"1\",\"2\",{x=\"3\"},[]],b={}"); //$NON-NLS-1$
+		MIList a = (MIList) rr.getMIResults()[0].getMIValue();
+		assertEquals(4, a.getMIValues().length);
+		assertEquals("2", ((MIConst) a.getMIValues()[1]).getCString()); //$NON-NLS-1$
+		assertEquals(0, ((MIList) a.getMIValues()[3]).getMIValues().length);
+		MITuple b = (MITuple) rr.getMIResults()[1].getMIValue();
+		assertEquals(0, b.getMIResults().length);
+		assertEquals(0, b.getMIValues().length);
+	}
+
+	@Test
+	public void testEscapes() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^done,value=\"a \\\"b\\\" \\\\c\",next=\"\""); //$NON-NLS-1$
+		assertEquals("a \"b\" \\c", ((MIConst) rr.getMIResults()[0].getMIValue()).getCString()); //$NON-NLS-1$
+		assertEquals("", ((MIConst) rr.getMIResults()[1].getMIValue()).getCString()); //$NON-NLS-1$
+
+		// An unknown escape sequence is kept.
+		rr = fParser.parseMIResultRecord("^done,value=\"a\\qb\""); //$NON-NLS-1$
+		assertEquals("a\\qb", ((MIConst) rr.getMIResults()[0].getMIValue()).getCString()); //$NON-NLS-1$
+
+		// An unterminated string extends to the end of the line.
+		rr = fParser.parseMIResultRecord("^done,value=\"abc"); //$NON-NLS-1$
+		assertEquals("abc", ((MIConst) rr.getMIResults()[0].getMIValue()).getCString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAsyncRecords() {
+		MIOOBRecord oob = fParser.parseMIOOBRecord("*stopped,reason=\"breakpoint-hit\",thread-id=\"1\""); //$NON-NLS-1$
+		assertTrue(oob instanceof MIExecAsyncOutput);
+		MIExecAsyncOutput exec = (MIExecAsyncOutput) oob;
+		assertEquals("stopped", exec.getAsyncClass()); //$NON-NLS-1$
+		assertEquals(2, exec.getMIResults().length);
+		assertEquals("thread-id", exec.getMIResults()[1].getVariable()); //$NON-NLS-1$
+
+		oob = fParser.parseMIOOBRecord("5=thread-group-added,id=\"i1\""); //$NON-NLS-1$
+		assertTrue(oob instanceof MINotifyAsyncOutput);
+		assertEquals(5, ((MINotifyAsyncOutput) oob).getToken());
+		assertEquals("thread-group-added", ((MINotifyAsyncOutput) oob).getAsyncClass()); //$NON-NLS-1$
+
+		// Result without a variable (bug 527419).
+		oob = fParser.parseMIOOBRecord("+download,{section=\".text\"}"); //$NON-NLS-1$
+		MIResult result = ((MIStatusAsyncOutput) oob).getMIResults()[0];
+		assertTrue(result.getMIValue() instanceof MITuple);
+	}
+
+	@Test
+	public void testStreamRecords() {
+		MIOOBRecord oob = fParser.parseMIOOBRecord("~\"hello \\\\ world\\n\""); //$NON-NLS-1$
+		assertTrue(oob instanceof MIConsoleStreamOutput);
+		// Backslashes of stream records are kept for MIStringHandler.
+		assertEquals("hello \\\\ world\\n", ((MIStreamRecord) oob).getCString()); //$NON-NLS-1$
+
+		oob = fParser.parseMIOOBRecord("not an MI record"); //$NON-NLS-1$
+		assertTrue(oob instanceof MITargetStreamOutput);
+		assertEquals("not an MI record\n", ((MIStreamRecord) oob).getCString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testDataListChangedRegisters() {
+		MIOutput output = new MIOutput(
+				fParser.parseMIResultRecord("7^done,changed-registers=[\"0\",\"1\",\"17\",\" 42 \",\"pc\"]"), //$NON-NLS-1$
+				new MIOOBRecord[0]);
+		assertArrayEquals(new int[] { 0, 1, 17, 42 }, new MIDataListChangedRegistersInfo(output).getRegisterNumbers());
+
+		output = new MIOutput(fParser.parseMIResultRecord("^done,changed-registers=[]"), new MIOOBRecord[0]); //$NON-NLS-1$
+		assertEquals(0, new MIDataListChangedRegistersInfo(output).getRegisterNumbers().length);
+
+		output = new MIOutput(fParser.parseMIResultRecord("^error,msg=\"No registers.\""), new MIOOBRecord[0]); //$NON-NLS-1$
+		MIDataListChangedRegistersInfo info = new MIDataListChangedRegistersInfo(output);
+		assertTrue(info.isError());
+		assertEquals(0, info.getRegisterNumbers().length);
+	}
+
+	@Test
+	public void testLargeOutput() {
+		final int frames = 20000;
+		StringBuilder line = new StringBuilder("42^done,stack=["); //$NON-NLS-1$
+		for (int i = 0; i < frames; i++) {
+			if (i > 0) {
+				line.append(',');
+			}
+			line.append("frame={level=\"").append(i).append("\",addr=\"0x401136\",func=\"recurse\",file=\"r.c\"}"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		line.append(']');
+		MIResultRecord rr = fParser.parseMIResultRecord(line.toString());
+		MIList stack = (MIList) rr.getMIResults()[0].getMIValue();
+		assertEquals(frames, stack.getMIResults().length);
+		MITuple last = (MITuple) stack.getMIResults()[frames - 1].getMIValue();
+		assertEquals(String.valueOf(frames - 1), ((MIConst) last.getField("level")).getCString()); //$NON-NLS-1$
+	}
+}
@@ -34,6 +34,7 @@ import org.eclipse.cdt.dsf.gdb.service.IGDBHardwareAndOS2;
 import org.eclipse.cdt.dsf.gdb.service.IGDBHardwareAndOS2.IResourceClass;
 import org.eclipse.cdt.dsf.gdb.service.IGDBHardwareAndOS2.IResourcesInformation;
 import org.eclipse.cdt.dsf.mi.service.IMIRunControl;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl.MIRunMode;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
@@ -252,8 +253,13 @@ public class SessionOSData {
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
 		if (e instanceof IContainerResumedDMEvent) {
-			// This event is raised only in all-stop. It does not
-			// seem to be possible to issue -info-os in all-stop,
+			// In non-stop, this event only means that all the threads
+			// of a process resumed together, commands can still be issued.
+			IMIRunControl runControl = fTracker.getService(IMIRunControl.class);
+			if (runControl != null && runControl.getRunMode() == MIRunMode.NON_STOP) {
+				return;
+			}
+			// It does not seem to be possible to issue -info-os in all-stop,
 			// regardless of whether target-async is in effect, and
 			// according to DSF folks, all-stop+target-async will
 			// not work anyway. So, we assume that no commands
@@ -261,4 +261,49 @@ public interface IGdbDebugPreferenceConstants {
 	 * @since 6.5
 	 */
 	public static final int SUSPEND_TIMEOUT_VALUE_DEFAULT = 10;
+
+	/**
+	 * The maximum amount of target memory, in kilobytes, cached per memory context
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MEMORY_CACHE_SIZE = "memoryCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MEMORY_CACHE_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MEMORY_CACHE_SIZE_DEFAULT = 4096;
+
+	/**
+	 * Whether the memory cache reads the whole pages of 1024 addressable units around a request,
+	 * instead of only the requested memory. Reading memory outside of the requested range can
+	 * have side effects on memory mapped peripherals.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MEMORY_READ_AHEAD = "memoryReadAhead"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MEMORY_READ_AHEAD}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean MEMORY_READ_AHEAD_DEFAULT = false;
+
+	/**
+	 * Whether the DSF sessions of new launches use a {@link org.eclipse.cdt.dsf.concurrent.LockFreeDsfExecutor}
+	 * instead of a {@link org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor}
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_USE_LOCK_FREE_EXECUTOR = "useLockFreeExecutor"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_USE_LOCK_FREE_EXECUTOR}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean USE_LOCK_FREE_EXECUTOR_DEFAULT = false;
 }
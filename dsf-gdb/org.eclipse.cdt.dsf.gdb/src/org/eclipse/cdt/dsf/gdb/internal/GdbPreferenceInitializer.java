@@ -73,5 +73,11 @@ public class GdbPreferenceInitializer extends AbstractPreferenceInitializer {
 				IGDBLaunchConfigurationConstants.DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT);
 		node.putInt(IGdbDebugPreferenceConstants.PREF_SUSPEND_TIMEOUT_VALUE,
 				IGdbDebugPreferenceConstants.SUSPEND_TIMEOUT_VALUE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_SIZE_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_MEMORY_READ_AHEAD,
+				IGdbDebugPreferenceConstants.MEMORY_READ_AHEAD_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_USE_LOCK_FREE_EXECUTOR,
+				IGdbDebugPreferenceConstants.USE_LOCK_FREE_EXECUTOR_DEFAULT);
 	}
 }
@@ -50,6 +50,7 @@ import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.LockFreeDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.Sequence;
 import org.eclipse.cdt.dsf.concurrent.Sequence.Step;
@@ -101,7 +102,7 @@ import org.eclipse.launchbar.core.target.launch.ITargetedLaunch;
  */
 @ThreadSafe
 public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaunch {
-	private DefaultDsfExecutor fExecutor;
+	private DsfExecutor fExecutor;
 	private DsfSession fSession;
 	private DsfServicesTracker fTracker;
 	private boolean fInitialized = false;
@@ -118,9 +119,15 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 
 		// Create the dispatch queue to be used by debugger control and services
 		// that belong to this launch
-		final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
-		dsfExecutor.prestartCoreThread();
-		fExecutor = dsfExecutor;
+		if (Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_USE_LOCK_FREE_EXECUTOR,
+				IGdbDebugPreferenceConstants.USE_LOCK_FREE_EXECUTOR_DEFAULT, null)) {
+			fExecutor = new LockFreeDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
+		} else {
+			final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
+			dsfExecutor.prestartCoreThread();
+			fExecutor = dsfExecutor;
+		}
 		fSession = DsfSession.startSession(fExecutor, GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
 	}
 
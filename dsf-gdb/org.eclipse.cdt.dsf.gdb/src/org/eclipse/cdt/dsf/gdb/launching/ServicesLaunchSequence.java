@@ -31,6 +31,7 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup.ISourceLookupDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandCacheStatistics;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.service.IGDBFocusSynchronizer;
 import org.eclipse.cdt.dsf.gdb.service.IGDBHardwareAndOS;
@@ -63,6 +64,18 @@ public class ServicesLaunchSequence extends Sequence {
 					fLaunch.getLaunchConfiguration());
 			fCommandControl.initialize(requestMonitor);
 		}
+	}, new Step() {
+		@Override
+		public void execute(RequestMonitor requestMonitor) {
+			// Started before the services that create command caches, such that the caches are added to it
+			ICommandCacheStatistics service = fLaunch.getServiceFactory().createService(ICommandCacheStatistics.class,
+					fSession);
+			if (service != null) {
+				service.initialize(requestMonitor);
+			} else {
+				requestMonitor.done();
+			}
+		}
 	}, new Step() {
 		@Override
 		public void execute(RequestMonitor requestMonitor) {
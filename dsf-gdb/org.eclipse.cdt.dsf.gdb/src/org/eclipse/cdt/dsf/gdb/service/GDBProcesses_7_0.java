@@ -1964,17 +1964,23 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
-		if (e instanceof IContainerResumedDMEvent) {
+		if (e instanceof IContainerResumedDMEvent && !isNonStop()) {
 			// This will happen in all-stop mode
 			fContainerCommandCache.setContextAvailable(e.getDMContext(), false);
 			fThreadCommandCache.setContextAvailable(e.getDMContext(), false);
 			fListThreadGroupsAvailableCache.setContextAvailable(e.getDMContext(), false);
 		} else {
-			// This will happen in non-stop mode
+			// This will happen in non-stop mode, where the resumed threads of a
+			// process may also be reported with a single container event.
 			// Keep target available for Container commands
 		}
 	}
 
+	private boolean isNonStop() {
+		IMIRunControl runControl = getServicesTracker().getService(IMIRunControl.class);
+		return runControl != null && runControl.getRunMode() == MIRunMode.NON_STOP;
+	}
+
 	/** @since 5.2 */
 	protected MIInferiorProcess createInferiorProcess(IContainerDMContext container, OutputStream outputStream) {
 		return new MIInferiorProcess(container, outputStream);
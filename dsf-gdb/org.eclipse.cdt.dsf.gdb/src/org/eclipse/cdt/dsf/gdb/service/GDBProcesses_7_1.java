@@ -37,6 +37,8 @@ import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
 import org.eclipse.cdt.dsf.mi.service.IMIProcessDMContext;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl.MIRunMode;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIListThreadGroupsInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIListThreadGroupsInfo.IThreadGroupInfo;
@@ -242,7 +244,9 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 
 	@DsfServiceEventHandler
 	public void eventDispatched_7_1(IResumedDMEvent e) {
-		if (e instanceof IContainerResumedDMEvent) {
+		IMIRunControl runControl = getServicesTracker().getService(IMIRunControl.class);
+		if (e instanceof IContainerResumedDMEvent
+				&& (runControl == null || runControl.getRunMode() != MIRunMode.NON_STOP)) {
 			// This will happen in all-stop mode
 			fCommandForCoresCache.setContextAvailable(e.getDMContext(), false);
 		} else {
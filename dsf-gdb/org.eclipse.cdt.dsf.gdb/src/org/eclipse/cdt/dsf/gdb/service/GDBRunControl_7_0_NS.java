@@ -23,6 +23,7 @@ package org.eclipse.cdt.dsf.gdb.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -30,6 +31,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.model.IFunctionDeclaration;
@@ -72,9 +74,12 @@ import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.internal.service.command.events.MITracepointSelectedEvent;
 import org.eclipse.cdt.dsf.gdb.internal.service.control.StepIntoSelectionActiveOperation;
 import org.eclipse.cdt.dsf.gdb.internal.service.control.StepIntoSelectionUtils;
+import org.eclipse.cdt.dsf.gdb.service.ThreadEventCoalescer.Batch;
+import org.eclipse.cdt.dsf.gdb.service.ThreadEventCoalescer.IThreadStates;
 import org.eclipse.cdt.dsf.mi.service.IMIBreakpointPathAdjuster;
 import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
 import org.eclipse.cdt.dsf.mi.service.IMIContainerDMContext;
+import org.eclipse.cdt.dsf.mi.service.IMIContainerSuspendedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
 import org.eclipse.cdt.dsf.mi.service.IMIProcesses;
 import org.eclipse.cdt.dsf.mi.service.IMIRunControl;
@@ -311,6 +316,69 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 		}
 	}
 
+	/**
+	 * Indicates that all the threads of the given container have been suspended, replacing
+	 * the events of the threads that were suspended together.  The threads that did not
+	 * stop because of a signal are the first triggering contexts.
+	 * @since 7.2
+	 */
+	@Immutable
+	protected static class ContainerSuspendedEvent extends SuspendedEvent implements IMIContainerSuspendedDMEvent {
+		private final List<SuspendedEvent> fThreadEvents;
+		private final IExecutionDMContext[] fTriggeringDmcs;
+
+		ContainerSuspendedEvent(IContainerDMContext containerDmc, List<SuspendedEvent> threadEvents) {
+			super(containerDmc, threadEvents.get(0).getMIEvent());
+			fThreadEvents = threadEvents;
+			fTriggeringDmcs = new IExecutionDMContext[threadEvents.size()];
+			for (int i = 0; i < fTriggeringDmcs.length; i++) {
+				fTriggeringDmcs[i] = threadEvents.get(i).getDMContext();
+			}
+		}
+
+		@Override
+		public List<SuspendedEvent> getThreadEvents() {
+			return fThreadEvents;
+		}
+
+		@Override
+		public IExecutionDMContext[] getTriggeringContexts() {
+			return fTriggeringDmcs;
+		}
+	}
+
+	/**
+	 * Indicates that all the threads of the given container have been resumed, replacing
+	 * the events of the threads that were resumed together.
+	 * @since 7.2
+	 */
+	@Immutable
+	protected static class ContainerResumedEvent extends ResumedEvent implements IContainerResumedDMEvent {
+		private final List<ResumedEvent> fThreadEvents;
+		private final IExecutionDMContext[] fTriggeringDmcs;
+
+		ContainerResumedEvent(IContainerDMContext containerDmc, List<ResumedEvent> threadEvents) {
+			super(containerDmc, threadEvents.get(0).getMIEvent());
+			fThreadEvents = threadEvents;
+			fTriggeringDmcs = new IExecutionDMContext[threadEvents.size()];
+			for (int i = 0; i < fTriggeringDmcs.length; i++) {
+				fTriggeringDmcs[i] = threadEvents.get(i).getDMContext();
+			}
+		}
+
+		/**
+		 * Returns the events of the threads that were resumed.
+		 */
+		public List<ResumedEvent> getThreadEvents() {
+			return fThreadEvents;
+		}
+
+		@Override
+		public IExecutionDMContext[] getTriggeringContexts() {
+			return fTriggeringDmcs;
+		}
+	}
+
 	protected class MIThreadRunState {
 		// State flags
 		boolean fSuspended = false;
@@ -387,6 +455,51 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 	// ThreadStates indexed by the execution context
 	protected Map<IMIExecutionDMContext, MIThreadRunState> fThreadRunStates = new HashMap<>();
 
+	/**
+	 * Maximum time during which the state changes of threads are held back to be coalesced,
+	 * while more changes keep being reported.
+	 */
+	private static final long MAX_COALESCING_TIME = 100; // ms
+
+	/**
+	 * The resumed and suspended events of threads that were not dispatched yet.  When a
+	 * process with many threads is interrupted or resumed, GDB reports each thread
+	 * separately; the events that arrive in a burst are dispatched once the burst is over,
+	 * as a single container event if all the threads of the process changed state.
+	 * <p>
+	 * The first events of a burst are dispatched right away, so that the state of the
+	 * threads is not held back while a few threads change state.  Only once the burst is
+	 * large enough for its events to be coalesced are the next events held, and the thread
+	 * states returned by {@link #isSuspended(IExecutionDMContext)} are then updated when the
+	 * burst is over, at most {@link #MAX_COALESCING_TIME} later.
+	 */
+	private final ThreadEventCoalescer<IContainerDMContext, IMIExecutionDMContext,
+			RunControlEvent<IExecutionDMContext, ?>> fEventCoalescer = new ThreadEventCoalescer<>();
+	private final IThreadStates<IContainerDMContext, IMIExecutionDMContext> fDispatchedThreadStates =
+			new IThreadStates<>() {
+				@Override
+				public Collection<IMIExecutionDMContext> getThreads(IContainerDMContext container) {
+					List<IMIExecutionDMContext> threads = new ArrayList<>();
+					for (IMIExecutionDMContext thread : fThreadRunStates.keySet()) {
+						if (DMContexts.isAncestorOf(thread, container)) {
+							threads.add(thread);
+						}
+					}
+					return threads;
+				}
+
+				@Override
+				public boolean isSuspended(IMIExecutionDMContext thread) {
+					MIThreadRunState threadState = fThreadRunStates.get(thread);
+					return threadState != null && threadState.fSuspended;
+				}
+			};
+	// Whether a check for the end of the current burst is scheduled
+	private boolean fBurstCheckScheduled;
+	private int fEventsSinceBurstCheck;
+	private int fBurstSize;
+	private long fBurstStartTime;
+
 	private RunToLineActiveOperation fRunToLineActiveOperation = null;
 
 	private StepIntoSelectionActiveOperation fStepInToSelectionActiveOperation = null;
@@ -454,6 +567,7 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 
 	@Override
 	public void shutdown(final RequestMonitor rm) {
+		flushPendingEvents();
 		unregister();
 		getSession().removeServiceEventListener(this);
 		super.shutdown(rm);
@@ -1695,13 +1809,13 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 
 		if (fRunToLineActiveOperation == null && fStepInToSelectionActiveOperation == null) {
 			// No special case here, i.e. send notification
-			getSession().dispatchEvent(new ResumedEvent(e.getDMContext(), e), getProperties());
+			dispatchThreadEvent(new ResumedEvent(e.getDMContext(), e), false);
 		} else {
 			// Either RunToLine or StepIntoSelection operations are active
 			if (threadState == null || threadState.fLatestEvent instanceof ISuspendedDMEvent) {
 				// Need to send out Running event notification, only once per operation, then a stop event is expected
 				// at the end of the operation
-				getSession().dispatchEvent(new ResumedEvent(e.getDMContext(), e), getProperties());
+				dispatchThreadEvent(new ResumedEvent(e.getDMContext(), e), false);
 			}
 		}
 	}
@@ -1749,7 +1863,105 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 			event = new SuspendedEvent(e.getDMContext(), e);
 		}
 
-		getSession().dispatchEvent(event, getProperties());
+		dispatchThreadEvent((SuspendedEvent) event, true);
+	}
+
+	/**
+	 * Dispatches the resumed or suspended event of a thread.  During a large burst of state
+	 * changes, the event is held until the state changes of the other threads that are
+	 * reported at the same time are known.
+	 */
+	private void dispatchThreadEvent(RunControlEvent<IExecutionDMContext, ?> event, boolean suspended) {
+		IExecutionDMContext ctx = event.getDMContext();
+		if (!(ctx instanceof IMIExecutionDMContext)) {
+			flushPendingEvents();
+			getSession().dispatchEvent(event, getProperties());
+			return;
+		}
+
+		IMIExecutionDMContext threadDmc = (IMIExecutionDMContext) ctx;
+		IContainerDMContext containerDmc = DMContexts.getAncestorOfType(threadDmc, IContainerDMContext.class);
+		// A breakpoint hit must be reported for the thread that hit it, and the return value of a
+		// finished function is only read from the event of its own thread
+		boolean coalescible = !(event instanceof IBreakpointHitDMEvent)
+				&& !(event.getMIEvent() instanceof MIFunctionFinishedEvent);
+		fBurstSize++;
+		fEventsSinceBurstCheck++;
+		if (!fBurstCheckScheduled) {
+			fBurstCheckScheduled = true;
+			fEventsSinceBurstCheck = 0;
+			fBurstStartTime = System.currentTimeMillis();
+			scheduleBurstCheck();
+		}
+
+		if (fEventCoalescer.isEmpty() && fBurstSize < ThreadEventCoalescer.MIN_COALESCED_THREADS) {
+			// Too few threads changed state so far for their events to be coalesced
+			getSession().dispatchEvent(event, getProperties());
+			return;
+		}
+
+		if (!fEventCoalescer.add(containerDmc, threadDmc, suspended, coalescible, event)) {
+			flushPendingEvents();
+			fEventCoalescer.add(containerDmc, threadDmc, suspended, coalescible, event);
+		}
+	}
+
+	private void scheduleBurstCheck() {
+		try {
+			getExecutor().execute(new DsfRunnable() {
+				@Override
+				public void run() {
+					// The MI events that were received with the previous ones were dispatched
+					// before this runnable.  If more arrived meanwhile, the burst is not over.
+					if (fEventsSinceBurstCheck > 0
+							&& System.currentTimeMillis() - fBurstStartTime < MAX_COALESCING_TIME) {
+						fEventsSinceBurstCheck = 0;
+						scheduleBurstCheck();
+						return;
+					}
+					fBurstCheckScheduled = false;
+					fBurstSize = 0;
+					flushPendingEvents();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// The session is shutting down
+			fBurstCheckScheduled = false;
+		}
+	}
+
+	/**
+	 * Dispatches the pending thread events.  This must be done before dispatching any other
+	 * event, such that events are received in the order of the state changes.
+	 */
+	private void flushPendingEvents() {
+		if (fEventCoalescer.isEmpty()) {
+			return;
+		}
+		for (Batch<IContainerDMContext, RunControlEvent<IExecutionDMContext, ?>> batch : fEventCoalescer
+				.flush(fDispatchedThreadStates)) {
+			IDMEvent<?> event;
+			if (!batch.isCoalesced()) {
+				event = batch.fEvents.get(0);
+			} else if (batch.fSuspended) {
+				List<SuspendedEvent> threadEvents = new ArrayList<>();
+				List<SuspendedEvent> signalEvents = new ArrayList<>();
+				for (RunControlEvent<IExecutionDMContext, ?> threadEvent : batch.fEvents) {
+					SuspendedEvent suspendedEvent = (SuspendedEvent) threadEvent;
+					(suspendedEvent.getMIEvent() instanceof MISignalEvent ? signalEvents : threadEvents)
+							.add(suspendedEvent);
+				}
+				threadEvents.addAll(signalEvents);
+				event = new ContainerSuspendedEvent(batch.fContainer, threadEvents);
+			} else {
+				List<ResumedEvent> threadEvents = new ArrayList<>();
+				for (RunControlEvent<IExecutionDMContext, ?> threadEvent : batch.fEvents) {
+					threadEvents.add((ResumedEvent) threadEvent);
+				}
+				event = new ContainerResumedEvent(batch.fContainer, threadEvents);
+			}
+			getSession().dispatchEvent(event, getProperties());
+		}
 	}
 
 	private boolean processStepIntoSelection(final MIStoppedEvent e) {
@@ -1951,6 +2163,7 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 		if (e.getStrId() != null) {
 			executionCtx = createMIExecutionContext(containerDmc, e.getStrId());
 		}
+		flushPendingEvents();
 		getSession().dispatchEvent(new StartedDMEvent(executionCtx, e), getProperties());
 	}
 
@@ -1965,6 +2178,7 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 		if (e.getStrId() != null) {
 			executionCtx = createMIExecutionContext(containerDmc, e.getStrId());
 		}
+		flushPendingEvents();
 		getSession().dispatchEvent(new ExitedDMEvent(executionCtx, e), getProperties());
 	}
 
@@ -1992,6 +2206,30 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 		}
 	}
 
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ContainerResumedEvent e) {
+		for (ResumedEvent threadEvent : e.getThreadEvents()) {
+			updateThreadState((IMIExecutionDMContext) threadEvent.getDMContext(), threadEvent);
+		}
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ContainerSuspendedEvent e) {
+		for (SuspendedEvent threadEvent : e.getThreadEvents()) {
+			updateThreadState((IMIExecutionDMContext) threadEvent.getDMContext(), threadEvent);
+		}
+	}
+
 	/**
 	 * @nooverride This method is not intended to be re-implemented or extended by clients.
 	 * @noreference This method is not intended to be referenced by clients.
@@ -2079,14 +2317,12 @@ public class GDBRunControl_7_0_NS extends AbstractDsfService
 								if (MIThread.MI_THREAD_STATE_RUNNING.equals(thread.getState())) {
 									if (threadState.fSuspended == true) {
 										// We missed a resumed event!  Send it now.
-										IResumedDMEvent resumedEvent = new ResumedEvent(execDmc, null);
-										fConnection.getSession().dispatchEvent(resumedEvent, getProperties());
+										dispatchThreadEvent(new ResumedEvent(execDmc, null), false);
 									}
 								} else if (MIThread.MI_THREAD_STATE_STOPPED.equals(thread.getState())) {
 									if (threadState.fSuspended == false) {
 										// We missed a suspend event!  Send it now.
-										ISuspendedDMEvent suspendedEvent = new SuspendedEvent(execDmc, null);
-										fConnection.getSession().dispatchEvent(suspendedEvent, getProperties());
+										dispatchThreadEvent(new SuspendedEvent(execDmc, null), true);
 									}
 								} else {
 									assert false : "Invalid thread state: " + thread.getState(); //$NON-NLS-1$
@@ -39,6 +39,8 @@ import org.eclipse.cdt.dsf.debug.service.IRegisters;
 import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheStatistics;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandCacheStatistics;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.internal.service.GDBFocusSynchronizer;
@@ -178,6 +180,8 @@ public class GdbDebugServicesFactory extends AbstractDsfDebugServicesFactory {
 			return (V) createBreakpointsSynchronizerService(session);
 		} else if (IGDBFocusSynchronizer.class.isAssignableFrom(clazz)) {
 			return (V) createFocusSynchronizerService(session);
+		} else if (ICommandCacheStatistics.class.isAssignableFrom(clazz)) {
+			return (V) createCommandCacheStatisticsService(session);
 		}
 
 		return super.createService(clazz, session, optionalArguments);
@@ -395,6 +399,13 @@ public class GdbDebugServicesFactory extends AbstractDsfDebugServicesFactory {
 		return new GDBFocusSynchronizer(session);
 	}
 
+	/**
+	 * @since 7.2
+	 */
+	protected ICommandCacheStatistics createCommandCacheStatisticsService(DsfSession session) {
+		return new CommandCacheStatistics(session);
+	}
+
 	/**
 	 * Compares the GDB version of the current debug session with the one specified by
 	 * parameter 'version'.  Returns -1, 0, or 1 if the current version is less than,
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the state changes of threads that are reported in a burst, such as when all the
+ * threads of a process are interrupted or resumed in non-stop mode, and groups them by
+ * process. When all the threads of a process end up in the same state, their changes can
+ * be reported with a single container event rather than with an event per thread.
+ *
+ * @param <C> the type of the containers
+ * @param <T> the type of the threads
+ * @param <E> the type of the events
+ */
+class ThreadEventCoalescer<C, T, E> {
+
+	/** Minimum number of threads changing state together for their events to be coalesced */
+	static final int MIN_COALESCED_THREADS = 16;
+
+	/**
+	 * The state of the threads, as reported by the events that were dispatched.
+	 */
+	interface IThreadStates<C, T> {
+		/** Returns the known threads of the given container */
+		Collection<T> getThreads(C container);
+
+		boolean isSuspended(T thread);
+	}
+
+	/**
+	 * Events to dispatch, either the event of a single thread or the coalesced events of
+	 * the threads of a container.
+	 */
+	static class Batch<C, E> {
+		/** The container of the coalesced events, <code>null</code> for a single event */
+		final C fContainer;
+		final boolean fSuspended;
+		final List<E> fEvents;
+
+		Batch(C container, boolean suspended, List<E> events) {
+			fContainer = container;
+			fSuspended = suspended;
+			fEvents = events;
+		}
+
+		boolean isCoalesced() {
+			return fContainer != null;
+		}
+	}
+
+	private static class Pending<C, E> {
+		final C fContainer;
+		final boolean fSuspended;
+		final boolean fCoalescible;
+		final E fEvent;
+
+		Pending(C container, boolean suspended, boolean coalescible, E event) {
+			fContainer = container;
+			fSuspended = suspended;
+			fCoalescible = coalescible;
+			fEvent = event;
+		}
+	}
+
+	// The pending state change of each thread, in the order they were reported
+	private final Map<T, Pending<C, E>> fPending = new LinkedHashMap<>();
+
+	/**
+	 * Adds the state change of a thread. A change to the state that is already pending for
+	 * the thread is dropped.
+	 *
+	 * @param container the container of the thread, or <code>null</code> if unknown
+	 * @param coalescible whether the event may be replaced by a container event
+	 * @return <code>false</code> if a change to the other state is pending for the thread,
+	 *         in which case the pending changes must be flushed first
+	 */
+	boolean add(C container, T thread, boolean suspended, boolean coalescible, E event) {
+		Pending<C, E> pending = fPending.get(thread);
+		if (pending != null) {
+			return pending.fSuspended == suspended;
+		}
+		fPending.put(thread, new Pending<>(container, suspended, coalescible, event));
+		return true;
+	}
+
+	boolean isEmpty() {
+		return fPending.isEmpty();
+	}
+
+	int size() {
+		return fPending.size();
+	}
+
+	/**
+	 * Returns the pending changes in the order they should be dispatched and clears them.
+	 * The changes of a container are coalesced if there are enough of them, they are all
+	 * to the same state and all the other known threads of the container are already in
+	 * that state. Changes that are not coalescible are returned before the coalesced ones.
+	 */
+	List<Batch<C, E>> flush(IThreadStates<C, T> states) {
+		Map<C, List<Pending<C, E>>> byContainer = new LinkedHashMap<>();
+		List<Batch<C, E>> batches = new ArrayList<>();
+		for (Pending<C, E> pending : fPending.values()) {
+			if (pending.fContainer == null) {
+				batches.add(single(pending));
+			} else {
+				byContainer.computeIfAbsent(pending.fContainer, c -> new ArrayList<>()).add(pending);
+			}
+		}
+
+		for (Map.Entry<C, List<Pending<C, E>>> entry : byContainer.entrySet()) {
+			List<Pending<C, E>> coalescible = new ArrayList<>();
+			List<Pending<C, E>> singles = new ArrayList<>();
+			for (Pending<C, E> pending : entry.getValue()) {
+				(pending.fCoalescible ? coalescible : singles).add(pending);
+			}
+			if (canCoalesce(entry.getKey(), coalescible, states)) {
+				for (Pending<C, E> pending : singles) {
+					batches.add(single(pending));
+				}
+				List<E> events = new ArrayList<>(coalescible.size());
+				for (Pending<C, E> pending : coalescible) {
+					events.add(pending.fEvent);
+				}
+				batches.add(new Batch<>(entry.getKey(), coalescible.get(0).fSuspended, events));
+			} else {
+				for (Pending<C, E> pending : entry.getValue()) {
+					batches.add(single(pending));
+				}
+			}
+		}
+		fPending.clear();
+		return batches;
+	}
+
+	private boolean canCoalesce(C container, List<Pending<C, E>> coalescible, IThreadStates<C, T> states) {
+		if (coalescible.size() < MIN_COALESCED_THREADS) {
+			return false;
+		}
+		boolean suspended = coalescible.get(0).fSuspended;
+		for (Pending<C, E> pending : coalescible) {
+			if (pending.fSuspended != suspended) {
+				return false;
+			}
+		}
+		for (T thread : states.getThreads(container)) {
+			Pending<C, E> pending = fPending.get(thread);
+			if ((pending != null ? pending.fSuspended : states.isSuspended(thread)) != suspended) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static <C, E> Batch<C, E> single(Pending<C, E> pending) {
+		return new Batch<>(null, pending.fSuspended, Collections.singletonList(pending.fEvent));
+	}
+}
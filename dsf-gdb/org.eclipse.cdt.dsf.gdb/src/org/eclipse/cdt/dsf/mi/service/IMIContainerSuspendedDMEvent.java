@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.util.List;
+
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
+
+/**
+ * Indicates that the threads of a container were suspended together in non-stop mode.
+ * This event replaces the events of the threads, each of which carries the MI event
+ * with which GDB reported the thread.
+ * @since 7.2
+ */
+public interface IMIContainerSuspendedDMEvent extends IContainerSuspendedDMEvent {
+	/**
+	 * Returns the events of the threads that were suspended.
+	 */
+	public List<? extends ISuspendedDMEvent> getThreadEvents();
+}
@@ -1644,7 +1644,7 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
-		fExpressionCache.setContextAvailable(e.getDMContext(), false);
+		RunStateEvents.setContextAvailable(fExpressionCache, e, isNonStop(), false);
 		if (e.getReason() != StateChangeReason.STEP) {
 			fExpressionCache.reset();
 		}
@@ -1652,13 +1652,26 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 
 	@DsfServiceEventHandler
 	public void eventDispatched(ISuspendedDMEvent e) {
-		fExpressionCache.setContextAvailable(e.getDMContext(), true);
+		RunStateEvents.setContextAvailable(fExpressionCache, e, isNonStop(), true);
 		fExpressionCache.reset();
 
 		handleReturnValueAliasing(e);
 	}
 
+	private boolean isNonStop() {
+		return RunStateEvents.isNonStop(getServicesTracker().getService(IMIRunControl.class));
+	}
+
 	private void handleReturnValueAliasing(ISuspendedDMEvent e) {
+		if (e instanceof IMIContainerSuspendedDMEvent) {
+			// Non-stop mode, where the threads of a process that stopped together
+			// are reported by one container event.  Each thread has its own stopped event.
+			for (ISuspendedDMEvent threadEvent : ((IMIContainerSuspendedDMEvent) e).getThreadEvents()) {
+				handleReturnValueAliasing(threadEvent);
+			}
+			return;
+		}
+
 		// Process MIStoppedEvent from within the ISuspendedDMEvent
 		// to avoid any race conditions where the actual MIStoppedEvent
 		// can arrive faster that a preceding IResumedDMEvent
@@ -21,12 +21,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import org.eclipse.cdt.core.IAddress;
@@ -51,8 +53,10 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl.MIRunMode;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionChangedEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryBytesInfo;
@@ -64,6 +68,8 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.model.MemoryByte;
 import org.osgi.framework.BundleContext;
@@ -77,6 +83,10 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	//data-read-memory write is deprecated, its description could be ambiguous for e.g. 16 bit addressable systems
 	private static final String DATA_WRITE_MEMORY_16_NOT_SUPPORTED = "data-write-memory with word-size != 1 not supported"; //$NON-NLS-1$
 
+	/** The memory cache fetches and stores pages of 2^PAGE_BITS addressable units */
+	private static final int PAGE_BITS = 10;
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
 	public class MemoryChangedEvent extends AbstractDMEvent<IMemoryDMContext> implements IMemoryChangedEvent {
 		private IAddress[] fAddresses;
 
@@ -112,6 +122,13 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	// instead of -data-read-memory
 	private boolean fDataReadMemoryBytes;
 
+	// The maximum number of octets cached per memory context
+	long fMemoryCacheBudget = 1024L * IGdbDebugPreferenceConstants.MEMORY_CACHE_SIZE_DEFAULT;
+
+	// Whether the memory cache reads the whole pages of a request, only enabled
+	// with -data-read-memory-bytes which reports unreadable parts per byte
+	boolean fMemoryReadAhead;
+
 	/**
 	 *  Constructor
 	 */
@@ -142,6 +159,14 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 
 		fDataReadMemoryBytes = commandControl.getFeatures().contains(READ_MEMORY_BYTES_FEATURE);
 
+		IPreferencesService preferences = Platform.getPreferencesService();
+		fMemoryCacheBudget = 1024L * preferences.getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_SIZE_DEFAULT, null);
+		fMemoryReadAhead = fDataReadMemoryBytes && preferences.getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_READ_AHEAD,
+				IGdbDebugPreferenceConstants.MEMORY_READ_AHEAD_DEFAULT, null);
+
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
 		// This cache stores the result of a command when received; also, this cache
@@ -443,7 +468,11 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
 		if (e instanceof IContainerResumedDMEvent) {
-			fCommandCache.setContextAvailable(e.getDMContext(), false);
+			// In non-stop mode, memory can be accessed while the threads are running
+			IMIRunControl runControl = getServicesTracker().getService(IMIRunControl.class);
+			if (runControl == null || runControl.getRunMode() != MIRunMode.NON_STOP) {
+				fCommandCache.setContextAvailable(e.getDMContext(), false);
+			}
 		}
 
 		if (e.getReason() != StateChangeReason.STEP) {
@@ -532,364 +561,181 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	}
 
 	///////////////////////////////////////////////////////////////////////////
-	// SortedLinkedlist
+	// MIMemoryCache
 	///////////////////////////////////////////////////////////////////////////
 
-	// This class is really the equivalent of a C struct (old habits die hard...)
-	// For simplicity, everything is public.
-	private static class MemoryBlock {
-		public IAddress fAddress;
-		public long fLengthInAddressableUnits;
-		public long fLengthInOctets;
-		public MemoryByte[] fBlock;
-
-		public MemoryBlock(IAddress address, long lengthInOctets, long lengthInAddressableUnits, MemoryByte[] block) {
-			// A memory block is expected to be populated with the contents of a defined range of addresses
-			// therefore the number of octets shall be divisible by the number of addresses
-			assert (lengthInOctets % lengthInAddressableUnits == 0);
-			fAddress = address;
-			fLengthInAddressableUnits = lengthInAddressableUnits;
-			fLengthInOctets = lengthInOctets;
-			fBlock = block;
-		}
-	}
-
-	// Address-ordered data structure to cache the memory blocks.
-	// Contiguous blocks are merged if possible.
-	@SuppressWarnings("serial")
-	private static class SortedMemoryBlockList extends LinkedList<MemoryBlock> {
-
-		public SortedMemoryBlockList() {
-			super();
-		}
-
-		// Insert the block in the sorted linked list and merge contiguous
-		// blocks if necessary
-		@Override
-		public boolean add(MemoryBlock block) {
-
-			// If the list is empty, just store the block
-			if (isEmpty()) {
-				addFirst(block);
-				return true;
-			}
-
-			// Insert the block at the correct location and then
-			// merge the blocks if possible
-			ListIterator<MemoryBlock> it = listIterator();
-			while (it.hasNext()) {
-				int index = it.nextIndex();
-				MemoryBlock item = it.next();
-				if (block.fAddress.compareTo(item.fAddress) < 0) {
-					add(index, block);
-					compact(index);
-					return true;
-				}
-			}
-
-			// Put at the end of the list and merge if necessary
-			addLast(block);
-			compact(size() - 1);
-			return true;
-		}
-
-		// Merge this block with its contiguous neighbors (if any)
-		// Note: Merge is not performed if resulting block size would exceed MAXINT
-		private void compact(int index) {
-
-			MemoryBlock newBlock = get(index);
-
-			// Case where the block is to be merged with the previous block
-			if (index > 0) {
-				MemoryBlock prevBlock = get(index - 1);
-				IAddress endOfPreviousBlock = prevBlock.fAddress.add(prevBlock.fLengthInAddressableUnits);
-				if (endOfPreviousBlock.distanceTo(newBlock.fAddress).longValue() == 0) {
-					long newLengthInOctets = prevBlock.fLengthInOctets + newBlock.fLengthInOctets;
-					long newLengthInAddressableUnits = prevBlock.fLengthInAddressableUnits
-							+ newBlock.fLengthInAddressableUnits;
-					if (newLengthInOctets <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLengthInOctets];
-						System.arraycopy(prevBlock.fBlock, 0, block, 0, (int) prevBlock.fLengthInOctets);
-						System.arraycopy(newBlock.fBlock, 0, block, (int) prevBlock.fLengthInOctets,
-								(int) newBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(prevBlock.fAddress, newLengthInOctets, newLengthInAddressableUnits,
-								block);
-						remove(index);
-						index -= 1;
-						set(index, newBlock);
-					}
-				}
-			}
-
-			// Case where the block is to be merged with the following block
-			int lastIndex = size() - 1;
-			if (index < lastIndex) {
-				MemoryBlock nextBlock = get(index + 1);
-				IAddress endOfNewBlock = newBlock.fAddress.add(newBlock.fLengthInAddressableUnits);
-				if (endOfNewBlock.distanceTo(nextBlock.fAddress).longValue() == 0) {
-					long newLength = newBlock.fLengthInOctets + nextBlock.fLengthInOctets;
-					long newAddressesLength = newBlock.fLengthInAddressableUnits + nextBlock.fLengthInAddressableUnits;
-					if (newLength <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLength];
-						System.arraycopy(newBlock.fBlock, 0, block, 0, (int) newBlock.fLengthInOctets);
-						System.arraycopy(nextBlock.fBlock, 0, block, (int) newBlock.fLengthInOctets,
-								(int) nextBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(newBlock.fAddress, newLength, newAddressesLength, block);
-						set(index, newBlock);
-						remove(index + 1);
-					}
-				}
-			}
-		}
+	/**
+	 * Visits a range of addressable units one page at a time.
+	 */
+	private interface PageVisitor {
+		/**
+		 * @param page the page number
+		 * @param pagePos the position of the first unit in the page
+		 * @param rangePos the position of the first unit in the range
+		 * @param length the number of units in this page
+		 */
+		void visit(long page, int pagePos, int rangePos, int length);
 	}
 
-	///////////////////////////////////////////////////////////////////////////
-	// MIMemoryCache
-	///////////////////////////////////////////////////////////////////////////
-
 	/** @since 4.2 */
 	protected class MIMemoryCache {
-		// The memory cache data structure
-		private SortedMemoryBlockList fMemoryBlockList;
+		/**
+		 * The cached pages by page number, the least recently used page first. The bytes of the
+		 * units that are not cached are <code>null</code>.
+		 */
+		private final LinkedHashMap<Long, MemoryByte[]> fPages = new LinkedHashMap<>(16, 0.75f, true);
+		/** The number of octets per addressable unit of the cached pages */
+		private int fWordSize = 1;
 
 		public MIMemoryCache() {
-			// Create the memory block cache
-			fMemoryBlockList = new SortedMemoryBlockList();
 		}
 
 		public void reset() {
 			// Clear the memory cache
-			fMemoryBlockList.clear();
+			fPages.clear();
 		}
 
-		/**
-		 *  This function walks the address-sorted memory block list to identify
-		 *  the 'missing' blocks (i.e. the holes) that need to be fetched on the target.
-		 *
-		 *  The idea is fairly simple but an illustration could perhaps help.
-		 *  Assume the cache holds a number of cached memory blocks with gaps i.e.
-		 *  there is un-cached memory areas between blocks A, B and C:
-		 *
-		 *        +---------+      +---------+      +---------+
-		 *        +    A    +      +    B    +      +    C    +
-		 *        +---------+      +---------+      +---------+
-		 *        :         :      :         :      :         :
-		 *   [a]  :         :  [b] :         :  [c] :         :  [d]
-		 *        :         :      :         :      :         :
-		 *   [e---+--]      :  [f--+---------+--]   :         :
-		 *   [g---+---------+------+---------+------+---------+----]
-		 *        :         :      :         :      :         :
-		 *        :   [h]   :      :   [i----+--]   :         :
-		 *
-		 *
-		 *  We have the following cases to consider.The requested block [a-i] either:
-		 *
-		 *  [1] Fits entirely before A, in one of the gaps, or after C
-		 *      with no overlap and no contiguousness (e.g. [a], [b], [c] and [d])
-		 *      -> Add the requested block to the list of blocks to fetch
-		 *
-		 *  [2] Starts before an existing block but overlaps part of it, possibly
-		 *      spilling in the gap following the cached block (e.g. [e], [f] and [g])
-		 *      -> Determine the length of the missing part (< count)
-		 *      -> Add a request to fill the gap before the existing block
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by cached block length (possibly becoming negative, e.g. [e])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  [3] Starts at or into an existing block and overlaps part of it ([h] and [i])
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by length to end of cached block (possibly becoming negative, e.g. [h])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  We iterate over the cached blocks list until there is no entry left or until
-		 *  the remaining requested block count is <= 0, meaning the result list contains
-		 *  only the sub-blocks needed to fill the gap(s), if any.
-		 *
-		 *  (As is often the case, it takes much more typing to explain it than to just do it :-)
-		 *
-		 *  What is missing is a parameter that indicates the minimal block size that is worth fetching.
-		 *  This is target-specific and straight in the realm of the coalescing function...
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return A list of the sub-blocks to fetch in order to fill enough gaps in the memory cache
-		 * to service the request
-		 */
-		private List<MemoryBlock> getListOfMissingBlocks(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int octetCount = wordCount * wordSize;
-
-			LinkedList<MemoryBlock> list = new LinkedList<>();
-			ListIterator<MemoryBlock> it = fMemoryBlockList.listIterator();
-
-			// Look for holes in the list of memory blocks
-			while (it.hasNext() && octetCount > 0) {
-				MemoryBlock cachedBlock = it.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where we miss a block before the cached block
-				if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0) {
-					int lengthInOctets = (int) Math
-							.min(reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize, octetCount);
-					// If both blocks start at the same location, no need to create a new cached block
-					if (lengthInOctets > 0) {
-						int lengthInAddressableUnits = lengthInOctets / wordSize;
-						MemoryBlock newBlock = new MemoryBlock(reqBlockStart, lengthInOctets, lengthInAddressableUnits,
-								new MemoryByte[0]);
-						list.add(newBlock);
-					}
-					// Adjust request block start and length for the next iteration
-					reqBlockStart = cachedBlockEnd;
-					octetCount -= lengthInOctets + cachedBlock.fLengthInOctets;
-				}
+		private long getPageNumber(IAddress address) {
+			return address.getValue().shiftRight(PAGE_BITS).longValue();
+		}
 
-				// Case where the requested block starts somewhere in the cached block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() > 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					// Start of the requested block already in cache
-					// Adjust request block start and length for the next iteration
-					octetCount -= reqBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					reqBlockStart = cachedBlockEnd;
-				}
-			}
+		private IAddress getPageAddress(IAddress address, long page) {
+			return address.add(BigInteger.valueOf(page).shiftLeft(PAGE_BITS).subtract(address.getValue()));
+		}
 
-			// Case where we miss a block at the end of the cache
-			if (octetCount > 0) {
-				int addressesLength = octetCount / wordSize;
-				MemoryBlock newBlock = new MemoryBlock(reqBlockStart, octetCount, addressesLength, new MemoryByte[0]);
-				list.add(newBlock);
+		private void visitPages(IAddress address, int wordCount, PageVisitor visitor) {
+			long page = getPageNumber(address);
+			int pos = address.getValue().intValue() & (PAGE_SIZE - 1);
+			int visited = 0;
+			while (visited < wordCount) {
+				int length = Math.min(PAGE_SIZE - pos, wordCount - visited);
+				visitor.visit(page, pos, visited, length);
+				visited += length;
+				pos = 0;
+				page++;
 			}
+		}
 
-			return list;
+		/**
+		 * Discards the cached pages if they have a different addressable size.
+		 */
+		private void checkWordSize(int wordSize) {
+			if (wordSize != fWordSize) {
+				fPages.clear();
+				fWordSize = wordSize;
+			}
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to get the
-		 *  cached memory bytes (possibly from multiple contiguous blocks).
-		 *  This function is called *after* the missing blocks have been read from
-		 *  the back end i.e. the requested memory is all cached.
-		 *
-		 *  Again, this is fairly simple. As we loop over the address-ordered list,
-		 *  There are really only 2 cases:
-		 *
-		 *  [1] The requested block fits entirely in the cached block ([a] or [b])
-		 *  [2] The requested block starts in a cached block and ends in the
-		 *      following (contiguous) one ([c]) in which case it is treated
-		 *      as 2 contiguous requests ([c'] and [c"])
-		 *
-		 *       +--------------+--------------+
-		 *       +       A      +      B       +
-		 *       +--------------+--------------+
-		 *       :  [a----]     :   [b-----]   :
-		 *       :              :              :
-		 *       :       [c-----+------]       :
-		 *       :       [c'---]+[c"---]       :
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return The cached memory content
+		 * Returns the cached page, adding it to the cache if needed. The least recently used
+		 * pages beyond the budget are evicted.
 		 */
-		private MemoryByte[] getMemoryBlockFromCache(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int count = wordCount * wordSize;
-
-			IAddress reqBlockEnd = reqBlockStart.add(wordCount);
-			MemoryByte[] resultBlock = new MemoryByte[count];
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where the cached block overlaps completely the requested memory block
-				if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, count);
+		private MemoryByte[] getPageForUpdate(long page) {
+			MemoryByte[] bytes = fPages.get(page);
+			if (bytes == null) {
+				bytes = new MemoryByte[PAGE_SIZE * fWordSize];
+				fPages.put(page, bytes);
+				long maxPages = Math.max(1, fMemoryCacheBudget / bytes.length);
+				Iterator<Long> it = fPages.keySet().iterator();
+				while (fPages.size() > maxPages && it.hasNext()) {
+					it.next();
+					it.remove();
 				}
+			}
+			return bytes;
+		}
 
-				// Case where the beginning of the cached block is within the requested memory block
-				else if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockStart.distanceTo(reqBlockEnd).longValue() > 0) {
-					int pos = (int) reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets, count - pos);
-					System.arraycopy(cachedBlock.fBlock, 0, resultBlock, pos, length);
+		/**
+		 * Caches the readable units of a block read from the target. Units that could not be
+		 * read, or that are missing from a short block, are not cached.
+		 */
+		private void storeInCache(IAddress blockStart, int wordCount, MemoryByte[] block, int wordSize) {
+			if (wordSize != fWordSize) {
+				return;
+			}
+			visitPages(blockStart, wordCount, (page, pagePos, rangePos, length) -> {
+				MemoryByte[] cached = null;
+				for (int i = 0; i < length; i++) {
+					int from = (rangePos + i) * wordSize;
+					if (isReadable(block, from, wordSize)) {
+						if (cached == null) {
+							cached = getPageForUpdate(page);
+						}
+						System.arraycopy(block, from, cached, (pagePos + i) * wordSize, wordSize);
+					}
 				}
+			});
+		}
 
-				// Case where the end of the cached block is within the requested memory block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets - pos, count);
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, length);
+		private boolean isReadable(MemoryByte[] block, int from, int wordSize) {
+			if (from + wordSize > block.length) {
+				return false;
+			}
+			for (int k = 0; k < wordSize; k++) {
+				if (block[from + k] == null || !block[from + k].isReadable()) {
+					return false;
 				}
 			}
-			return resultBlock;
+			return true;
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list and updates
-		 *  the content with the actual memory just read from the target.
+		 *  Updates the cached units with memory just read from the target.
+		 *  Units that are not cached are left alone, units that became unreadable
+		 *  are removed from the cache.
 		 *
 		 * @param modBlockStart
 		 * @param wordCount - Number of addressable units
 		 * @param modBlock
 		 * @param wordSize - Number of octets per addressable unit
+		 * @return whether the value of a cached byte has changed
 		 */
-		private void updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
-			IAddress modBlockEnd = modBlockStart.add(wordCount);
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-			int count = wordCount * wordSize;
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// For now, we only bother to update bytes already cached.
-				// Note: In a better implementation (v1.1), we would augment
-				// the cache with the missing memory blocks since we went
-				// through the pains of reading them in the first place.
-				// (this is left as an exercise to the reader :-)
-
-				// Case where the modified block is completely included in the cached block
-				if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, count);
-				}
-
-				// Case where the cached block is completely included in the modified block
-				else if (modBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockEnd.distanceTo(modBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, (int) cachedBlock.fLengthInOctets);
+		private boolean updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
+			if (wordSize != fWordSize || wordCount == 0) {
+				return false;
+			}
+			final boolean[] changed = new boolean[1];
+			visitPages(modBlockStart, wordCount, (page, pagePos, rangePos, length) -> {
+				MemoryByte[] cached = fPages.get(page);
+				if (cached == null) {
+					return;
 				}
-
-				// Case where the beginning of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					int length = (int) modBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, length);
+				for (int i = 0; i < length; i++) {
+					int to = (pagePos + i) * wordSize;
+					if (cached[to] == null) {
+						continue;
+					}
+					int from = (rangePos + i) * wordSize;
+					boolean readable = isReadable(modBlock, from, wordSize);
+					for (int k = 0; k < wordSize; k++) {
+						if (!readable || cached[to + k].getValue() != modBlock[from + k].getValue()) {
+							changed[0] = true;
+						}
+						cached[to + k] = readable ? modBlock[from + k] : null;
+					}
 				}
+			});
+			return changed[0];
+		}
 
-				// Case where the end of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockEnd).longValue() > 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) cachedBlockStart.distanceTo(modBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, length);
+		/**
+		 * Discards the cached units of the given range.
+		 */
+		private void invalidate(IAddress address, int wordCount) {
+			visitPages(address, wordCount, (page, pagePos, rangePos, length) -> {
+				MemoryByte[] cached = fPages.get(page);
+				if (cached != null) {
+					Arrays.fill(cached, pagePos * fWordSize, (pagePos + length) * fWordSize, null);
 				}
-			}
-			return;
+			});
 		}
 
 		/**
+		 * Reads the requested memory through the cache. Only the units that are not cached are
+		 * fetched from the target, with one request per run of missing units. Unless read-ahead
+		 * is enabled, no memory outside of the requested range is read: reading memory mapped
+		 * peripherals can have side effects.
+		 *
 		 * @param memoryDMC
 		 * @param address	the memory block address (on the target)
 		 * @param wordSize	the size, in bytes, of an addressable item
@@ -898,36 +744,86 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 */
 		public void getMemory(IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
 				final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
-			// Determine the number of read requests to issue
-			List<MemoryBlock> missingBlocks = getListOfMissingBlocks(address, wordCount, wordSize);
-			int numberOfRequests = missingBlocks.size();
+			if (wordCount == 0) {
+				drm.done(new MemoryByte[0]);
+				return;
+			}
+			checkWordSize(wordSize);
+
+			final long first = getPageNumber(address);
+			final long last = getPageNumber(address.add(wordCount - 1));
+			if (last < first) {
+				// The block wraps around the end of the address space, don't cache it
+				readMemoryBlock(memoryDMC, address, 0, wordSize, wordCount, drm);
+				return;
+			}
+
+			// With read-ahead, the whole pages of the request are read
+			IAddress start = address;
+			int count = wordCount;
+			if (fMemoryReadAhead && (last - first + 1) * PAGE_SIZE <= Integer.MAX_VALUE / wordSize) {
+				start = getPageAddress(address, first);
+				count = (int) (last - first + 1) * PAGE_SIZE;
+			}
+			// The number of units read before the requested ones
+			final int skipped = (int) start.distanceTo(address).longValue();
+
+			// Take the cached units and find the runs of missing ones
+			final MemoryByte[] result = new MemoryByte[wordCount * wordSize];
+			final List<int[]> runs = new ArrayList<>();
+			visitPages(start, count, (page, pagePos, rangePos, length) -> {
+				MemoryByte[] cached = fPages.get(page);
+				for (int i = 0; i < length; i++) {
+					int unit = rangePos + i;
+					if (cached != null && cached[(pagePos + i) * wordSize] != null) {
+						int to = unit - skipped;
+						if (to >= 0 && to < wordCount) {
+							System.arraycopy(cached, (pagePos + i) * wordSize, result, to * wordSize, wordSize);
+						}
+					} else {
+						int[] run = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+						if (run != null && run[1] == unit) {
+							run[1] = unit + 1;
+						} else {
+							runs.add(new int[] { unit, unit + 1 });
+						}
+					}
+				}
+			});
+			if (runs.isEmpty()) {
+				drm.done(result);
+				return;
+			}
 
-			// A read request will be issued for each block needed
-			// so we need to keep track of the count
 			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					// We received everything so read the result from the memory cache
-					drm.setData(getMemoryBlockFromCache(address, wordCount, wordSize));
-					drm.done();
+					// We received everything so return the assembled result
+					drm.done(result);
 				}
 			};
-			countingRM.setDoneCount(numberOfRequests);
-
-			// Issue the read requests
-			for (int i = 0; i < numberOfRequests; i++) {
-				MemoryBlock block = missingBlocks.get(i);
-				final IAddress startAddress = block.fAddress;
-				final int length = (int) block.fLengthInAddressableUnits;
-				readMemoryBlock(memoryDMC, startAddress, 0, wordSize, length,
+			countingRM.setDoneCount(runs.size());
+
+			for (final int[] run : runs) {
+				final IAddress runStart = start.add(run[0]);
+				final int runCount = run[1] - run[0];
+				readMemoryBlock(memoryDMC, runStart, 0, wordSize, runCount,
 						new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), drm) {
 							@Override
 							protected void handleSuccess() {
 								MemoryByte[] block = getData();
-								int lenghtInaddressableUnits = block.length / wordSize;
-								MemoryBlock memoryBlock = new MemoryBlock(startAddress, block.length,
-										lenghtInaddressableUnits, block);
-								fMemoryBlockList.add(memoryBlock);
+								storeInCache(runStart, runCount, block, wordSize);
+								for (int unit = Math.max(run[0], skipped); unit < Math.min(run[1],
+										skipped + wordCount); unit++) {
+									int from = (unit - run[0]) * wordSize;
+									int to = (unit - skipped) * wordSize;
+									for (int k = 0; k < wordSize; k++) {
+										// A short block is padded with unreadable bytes
+										result[to + k] = from + k < block.length && block[from + k] != null
+												? block[from + k]
+												: new MemoryByte((byte) 0, (byte) 0);
+									}
+								}
 								countingRM.done();
 							}
 						});
@@ -968,8 +864,22 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 													getProperties());
 											rm.done();
 										}
+
+										@Override
+										protected void handleError() {
+											invalidate(address.add(offset), wordCount);
+											super.handleError();
+										}
 									});
 						}
+
+						@Override
+						protected void handleError() {
+							// Part of the memory may have been written
+							fCommandCache.reset();
+							invalidate(address.add(offset), wordCount);
+							super.handleError();
+						}
 					});
 		}
 
@@ -986,14 +896,17 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 				final int wordSize, final int wordCount, final boolean sendMemoryEvent, final RequestMonitor rm) {
 			// Check if we already cache part of this memory area (which means it
 			// is used by a memory service client that will have to be updated)
-			List<MemoryBlock> list = getListOfMissingBlocks(address, wordCount, wordSize);
-			int sizeToRead = 0;
-			for (MemoryBlock block : list) {
-				sizeToRead += block.fLengthInAddressableUnits;
+			boolean cached = false;
+			if (wordSize == fWordSize && wordCount > 0) {
+				IAddress start = address.add(offset);
+				long last = getPageNumber(start.add(wordCount - 1));
+				for (long page = getPageNumber(start); page <= last && !cached; page++) {
+					cached = fPages.containsKey(page);
+				}
 			}
 
 			// If none of the requested memory is in cache, just get out
-			if (sizeToRead == wordCount) {
+			if (!cached) {
 				rm.done();
 				return;
 			}
@@ -1004,26 +917,16 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 					new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
-							MemoryByte[] oldBlock = getMemoryBlockFromCache(address, wordCount, wordSize);
-							MemoryByte[] newBlock = getData();
-							boolean blocksDiffer = false;
-							for (int i = 0; i < oldBlock.length; i++) {
-								if (oldBlock[i].getValue() != newBlock[i].getValue()) {
-									blocksDiffer = true;
-									break;
-								}
-							}
-							if (blocksDiffer) {
-								updateMemoryCache(address.add(offset), wordCount, newBlock, wordSize);
-								if (sendMemoryEvent) {
-									// Send the MemoryChangedEvent
-									final IAddress[] addresses = new IAddress[wordCount];
-									for (int i = 0; i < wordCount; i++) {
-										addresses[i] = address.add(offset + i);
-									}
-									getSession().dispatchEvent(new MemoryChangedEvent(memoryDMC, addresses),
-											getProperties());
+							boolean blocksDiffer = updateMemoryCache(address.add(offset), wordCount, getData(),
+									wordSize);
+							if (blocksDiffer && sendMemoryEvent) {
+								// Send the MemoryChangedEvent
+								final IAddress[] addresses = new IAddress[wordCount];
+								for (int i = 0; i < wordCount; i++) {
+									addresses[i] = address.add(offset + i);
 								}
+								getSession().dispatchEvent(new MemoryChangedEvent(memoryDMC, addresses),
+										getProperties());
 							}
 							rm.done();
 						}
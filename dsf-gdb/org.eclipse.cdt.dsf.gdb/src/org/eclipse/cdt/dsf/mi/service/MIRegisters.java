@@ -21,9 +21,11 @@ package org.eclipse.cdt.dsf.mi.service;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
@@ -46,6 +48,7 @@ import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListChangedRegistersInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterNamesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterValuesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
@@ -256,6 +259,46 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	private CommandCache fRegisterNameCache; // Cache for holding the Register Names in the single Group
 	private CommandCache fRegisterValueCache; // Cache for holding the Register Values
 
+	/**
+	 * Register values of the top frame of a thread, kept across suspends. Before they are
+	 * used after a suspend, the registers reported by -data-list-changed-registers are
+	 * removed, such that only the changed registers are fetched again.
+	 */
+	private static class RetainedRegisterValues {
+		// Values by MI format and register number
+		private final Map<Integer, Map<Integer, String>> fValues = new HashMap<>();
+		// Whether the changed registers of the current suspend were removed
+		private boolean fUpToDate;
+
+		private String get(int format, int regno) {
+			Map<Integer, String> values = fValues.get(format);
+			return values != null ? values.get(regno) : null;
+		}
+
+		private void put(int format, int regno, String value) {
+			fValues.computeIfAbsent(format, f -> new HashMap<>()).put(regno, value);
+		}
+
+		private void removeChanged(int[] regnos) {
+			for (Map<Integer, String> values : fValues.values()) {
+				for (int regno : regnos) {
+					values.remove(regno);
+				}
+			}
+		}
+	}
+
+	// Requests for register values by format, served together by flushRegisterValueRequests()
+	private final Map<String, Map<MIRegisterDMC, List<DataRequestMonitor<FormattedValueDMData>>>> fPendingValueRequests = new LinkedHashMap<>();
+
+	private final Map<IMIExecutionDMContext, RetainedRegisterValues> fRetainedValues = new HashMap<>();
+	// GDB compares the registers with those of the previous -data-list-changed-registers,
+	// whatever thread it was for. This is the thread of that previous command.
+	private IMIExecutionDMContext fChangedRegistersThread;
+	// Incremented on every resume and suspend, such that the results of commands sent before
+	// are not taken for those of the current suspend.
+	private int fRunStateGeneration;
+
 	public MIRegisters(DsfSession session) {
 		super(session);
 	}
@@ -383,35 +426,30 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 			}
 
 			int[] regnos = { miRegDmc.getRegNo() };
-			fRegisterValueCache.execute(
-					fCommandFactory.createMIDataListRegisterValues(frameDmc, MIFormat.HEXADECIMAL, regnos),
-					new DataRequestMonitor<MIDataListRegisterValuesInfo>(getExecutor(), rm) {
+			getRegisterValues(frameDmc, MIFormat.HEXADECIMAL, regnos,
+					new DataRequestMonitor<Map<Integer, String>>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
 							// Retrieve the register value.
-							MIRegisterValue[] regValue = getData().getMIRegisterValues();
+							String value = getData().get(miRegDmc.getRegNo());
 
-							// If the list is empty just return empty handed.
+							// If the value is missing just return empty handed.
 							// The only known case this happens is caused by a bug in GDB's Python
 							// scripts. See https://sourceware.org/bugzilla/show_bug.cgi?id=19637
 							// In this case, we know the register name anyway, we just guess that
 							// it is not floating point. The matching code in getRegisterDataValue()
 							// displays the error with link to a workaround
-							if (regValue.length == 0) {
+							if (value == null) {
 								rm.setData(new RegisterData(frameDmc, miRegDmc.getName(), BLANK_STRING, false));
 								rm.done();
 								return;
 							}
 
-							// the request was for only one register
-							assert regValue.length == 1;
-
 							// We can determine if the register is floating point because
 							// GDB returns this additional information as part of the value.
-							MIRegisterValue reg = regValue[0];
 							boolean isFloat = false;
 
-							if (reg.getValue().contains("float")) { //$NON-NLS-1$
+							if (value.contains("float")) { //$NON-NLS-1$
 								isFloat = true;
 							}
 
@@ -426,63 +464,226 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		}
 	}
 
+	/**
+	 * Queues a request for the value of a register. The requests made while the executor is
+	 * busy, typically by the Registers view for all the registers it shows, are served together
+	 * with a request per frame and format.
+	 */
 	private void getRegisterDataValue(final MIRegisterDMC regDmc, final String formatId,
 			final DataRequestMonitor<FormattedValueDMData> rm) {
-		IFrameDMContext frameDmc = DMContexts.getAncestorOfType(regDmc, IFrameDMContext.class);
-		if (frameDmc == null) {
-			// Set value to blank if frame dmc is not present
-			rm.setData(new FormattedValueDMData(BLANK_STRING));
-			rm.done();
+		if (fPendingValueRequests.isEmpty()) {
+			getExecutor().execute(this::flushRegisterValueRequests);
+		}
+		fPendingValueRequests.computeIfAbsent(formatId, f -> new LinkedHashMap<>())
+				.computeIfAbsent(regDmc, r -> new ArrayList<>()).add(rm);
+	}
+
+	private void flushRegisterValueRequests() {
+		for (Map.Entry<String, Map<MIRegisterDMC, List<DataRequestMonitor<FormattedValueDMData>>>> entry : fPendingValueRequests
+				.entrySet()) {
+			final Map<MIRegisterDMC, List<DataRequestMonitor<FormattedValueDMData>>> requests = entry.getValue();
+			final MIRegisterDMC[] regDmcs = requests.keySet().toArray(new MIRegisterDMC[requests.size()]);
+			getRegisterDataValues(regDmcs, entry.getKey(),
+					new DataRequestMonitor<FormattedValueDMData[]>(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							for (int i = 0; i < regDmcs.length; i++) {
+								for (DataRequestMonitor<FormattedValueDMData> rm : requests.get(regDmcs[i])) {
+									if (!isSuccess()) {
+										rm.done(getStatus());
+									} else if (getData()[i] == null) {
+										// The only known case this happens is caused by a bug in GDB's Python
+										// scripts. See https://sourceware.org/bugzilla/show_bug.cgi?id=19637
+										// In the display data, we show link to Eclipse Bugzilla entry which has
+										// a comment on how to fix this manually.
+										rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID,
+												IDsfStatusConstants.REQUEST_FAILED,
+												"Encountered a GDB Error See http://eclip.se/506382#c7 for workarounds", //$NON-NLS-1$
+												null));
+									} else {
+										rm.done(getData()[i]);
+									}
+								}
+							}
+						}
+					});
+		}
+		fPendingValueRequests.clear();
+	}
+
+	/**
+	 * Retrieves the values of registers of a frame, by register number. The values of the
+	 * top frame of a thread are retained across suspends and only the registers that GDB
+	 * reports as changed are fetched again. The registers that are not known yet are
+	 * fetched with a single -data-list-register-values request.
+	 */
+	private void getRegisterValues(final IFrameDMContext frameDmc, final int format, final int[] regnos,
+			final DataRequestMonitor<Map<Integer, String>> rm) {
+		final IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(frameDmc, IMIExecutionDMContext.class);
+		if (execDmc == null || frameDmc.getLevel() != 0) {
+			fetchRegisterValues(frameDmc, format, regnos, null, new HashMap<>(), rm);
 			return;
 		}
 
-		// Select the format to be shown
-		int NumberFormat = MIFormat.HEXADECIMAL;
+		removeChangedRegisters(execDmc, frameDmc, new ImmediateRequestMonitor(rm) {
+			@Override
+			protected void handleSuccess() {
+				RetainedRegisterValues retained = fRetainedValues.computeIfAbsent(execDmc,
+						e -> new RetainedRegisterValues());
+				Map<Integer, String> values = new HashMap<>();
+				List<Integer> missing = new ArrayList<>();
+				for (int regno : regnos) {
+					String value = retained.fUpToDate ? retained.get(format, regno) : null;
+					if (value != null) {
+						values.put(regno, value);
+					} else {
+						missing.add(regno);
+					}
+				}
+				if (missing.isEmpty()) {
+					rm.done(values);
+				} else {
+					fetchRegisterValues(frameDmc, format, missing.stream().mapToInt(Integer::intValue).toArray(),
+							retained, values, rm);
+				}
+			}
+		});
+	}
 
-		if (HEX_FORMAT.equals(formatId)) {
-			NumberFormat = MIFormat.HEXADECIMAL;
+	/**
+	 * Fetches the values of registers and adds them to the given values, and to the retained
+	 * values if they are still those of the current suspend.
+	 */
+	private void fetchRegisterValues(IFrameDMContext frameDmc, final int format, int[] regnos,
+			final RetainedRegisterValues retained, final Map<Integer, String> values,
+			final DataRequestMonitor<Map<Integer, String>> rm) {
+		final int generation = fRunStateGeneration;
+		fRegisterValueCache.execute(fCommandFactory.createMIDataListRegisterValues(frameDmc, format, regnos),
+				new DataRequestMonitor<MIDataListRegisterValuesInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						for (MIRegisterValue reg : getData().getMIRegisterValues()) {
+							values.put(reg.getNumber(), reg.getValue());
+							if (retained != null && retained.fUpToDate && generation == fRunStateGeneration) {
+								retained.put(format, reg.getNumber(), reg.getValue());
+							}
+						}
+						rm.done(values);
+					}
+				});
+	}
+
+	/**
+	 * Removes the registers that changed since the previous suspend from the values retained
+	 * for a thread. If the changes are unknown, all the values of the thread are dropped.
+	 */
+	private void removeChangedRegisters(final IMIExecutionDMContext execDmc, IFrameDMContext frameDmc,
+			final RequestMonitor rm) {
+		RetainedRegisterValues retained = fRetainedValues.get(execDmc);
+		if (retained != null && retained.fUpToDate) {
+			rm.done();
+			return;
 		}
+
+		final int generation = fRunStateGeneration;
+		fRegisterValueCache.execute(fCommandFactory.createMIDataListChangedRegisters(frameDmc),
+				new DataRequestMonitor<MIDataListChangedRegistersInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						if (generation != fRunStateGeneration) {
+							// The target resumed or suspended while the command was pending, it is
+							// unknown which state the reported changes refer to.
+							fRetainedValues.remove(execDmc);
+							fChangedRegistersThread = null;
+							rm.done();
+							return;
+						}
+						RetainedRegisterValues current = fRetainedValues.get(execDmc);
+						if (current != null && current.fUpToDate) {
+							// Already removed by a concurrent request
+							rm.done();
+							return;
+						}
+						if (isSuccess() && current != null && execDmc.equals(fChangedRegistersThread)) {
+							current.removeChanged(getData().getRegisterNumbers());
+						} else {
+							current = new RetainedRegisterValues();
+							fRetainedValues.put(execDmc, current);
+						}
+						fChangedRegistersThread = isSuccess() ? execDmc : null;
+						// Without the changes, the values fetched next are not retained
+						current.fUpToDate = isSuccess();
+						rm.done();
+					}
+				});
+	}
+
+	private static int getMIFormat(String formatId) {
 		if (OCTAL_FORMAT.equals(formatId)) {
-			NumberFormat = MIFormat.OCTAL;
+			return MIFormat.OCTAL;
 		}
 		if (NATURAL_FORMAT.equals(formatId)) {
-			NumberFormat = MIFormat.NATURAL;
+			return MIFormat.NATURAL;
 		}
 		if (BINARY_FORMAT.equals(formatId)) {
-			NumberFormat = MIFormat.BINARY;
+			return MIFormat.BINARY;
 		}
 		if (DECIMAL_FORMAT.equals(formatId)) {
-			NumberFormat = MIFormat.DECIMAL;
+			return MIFormat.DECIMAL;
 		}
+		return MIFormat.HEXADECIMAL;
+	}
 
-		int[] regnos = { regDmc.getRegNo() };
-		fRegisterValueCache.execute(fCommandFactory.createMIDataListRegisterValues(frameDmc, NumberFormat, regnos),
-				new DataRequestMonitor<MIDataListRegisterValuesInfo>(getExecutor(), rm) {
-					@Override
-					protected void handleSuccess() {
-						// Retrieve the register value.
-						MIRegisterValue[] regValue = getData().getMIRegisterValues();
+	/**
+	 * Retrieves the values of several registers in the given format. The values of the
+	 * registers of a frame are fetched with a single -data-list-register-values request,
+	 * rather than with a request per register.
+	 * <p>
+	 * The returned array is parallel to the given registers. Registers without a frame
+	 * have a blank value, registers whose value is not reported by GDB have <code>null</code>.
+	 */
+	private void getRegisterDataValues(final MIRegisterDMC[] regDmcs, String formatId,
+			final DataRequestMonitor<FormattedValueDMData[]> rm) {
+		final FormattedValueDMData[] values = new FormattedValueDMData[regDmcs.length];
+		// The indexes of the requested registers, by frame
+		Map<IFrameDMContext, List<Integer>> framesToIndexes = new LinkedHashMap<>();
+		for (int i = 0; i < regDmcs.length; i++) {
+			IFrameDMContext frameDmc = DMContexts.getAncestorOfType(regDmcs[i], IFrameDMContext.class);
+			if (frameDmc == null) {
+				values[i] = new FormattedValueDMData(BLANK_STRING);
+			} else {
+				framesToIndexes.computeIfAbsent(frameDmc, f -> new ArrayList<>()).add(i);
+			}
+		}
 
-						// If the list is empty just return empty handed.
-						// The only known case this happens is caused by a bug in GDB's Python
-						// scripts. See https://sourceware.org/bugzilla/show_bug.cgi?id=19637
-						// In the display data, we show link to Eclipse Bugzilla entry which has
-						// a comment on how to fix this manually.
-						if (regValue.length == 0) {
-							rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID,
-									IDsfStatusConstants.REQUEST_FAILED,
-									"Encountered a GDB Error See http://eclip.se/506382#c7 for workarounds", null)); //$NON-NLS-1$
-							rm.done();
-							return;
+		final int format = getMIFormat(formatId);
+		CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				rm.done(values);
+			}
+		};
+		crm.setDoneCount(framesToIndexes.size());
+		for (Map.Entry<IFrameDMContext, List<Integer>> entry : framesToIndexes.entrySet()) {
+			final List<Integer> indexes = entry.getValue();
+			int[] regnos = new int[indexes.size()];
+			for (int i = 0; i < regnos.length; i++) {
+				regnos[i] = regDmcs[indexes.get(i)].getRegNo();
+			}
+			getRegisterValues(entry.getKey(), format, regnos,
+					new DataRequestMonitor<Map<Integer, String>>(getExecutor(), crm) {
+						@Override
+						protected void handleSuccess() {
+							for (int index : indexes) {
+								String value = getData().get(regDmcs[index].getRegNo());
+								if (value != null) {
+									values[index] = new FormattedValueDMData(value);
+								}
+							}
+							crm.done();
 						}
-
-						MIRegisterValue reg = regValue[0];
-
-						// Return the new register value.
-						rm.setData(new FormattedValueDMData(reg.getValue()));
-						rm.done();
-					}
-				});
+					});
+		}
 	}
 
 	/**
@@ -585,10 +786,15 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	 */
 	@DsfServiceEventHandler
 	public void eventDispatched(IRunControl.IResumedDMEvent e) {
-		fRegisterValueCache.setContextAvailable(e.getDMContext(), false);
+		RunStateEvents.setContextAvailable(fRegisterValueCache, e, isNonStop(), false);
 		if (e.getReason() != StateChangeReason.STEP) {
 			fRegisterValueCache.reset();
 		}
+		// The retained values are checked for changes at the next suspend
+		fRunStateGeneration++;
+		for (RetainedRegisterValues retained : fRetainedValues.values()) {
+			retained.fUpToDate = false;
+		}
 	}
 
 	/**
@@ -597,8 +803,26 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	 */
 	@DsfServiceEventHandler
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
-		fRegisterValueCache.setContextAvailable(e.getDMContext(), true);
+		RunStateEvents.setContextAvailable(fRegisterValueCache, e, isNonStop(), true);
 		fRegisterValueCache.reset();
+		fRunStateGeneration++;
+		for (RetainedRegisterValues retained : fRetainedValues.values()) {
+			retained.fUpToDate = false;
+		}
+	}
+
+	private boolean isNonStop() {
+		return RunStateEvents.isNonStop(getServicesTracker().getService(IMIRunControl.class));
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IRunControl.IExitedDMEvent e) {
+		clearRetainedValues(e.getDMContext());
 	}
 
 	/**
@@ -608,6 +832,21 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	@DsfServiceEventHandler
 	public void eventDispatched(final IRegisters.IRegisterChangedDMEvent e) {
 		fRegisterValueCache.reset();
+		// Writing a register can affect other registers
+		clearRetainedValues(null);
+	}
+
+	/**
+	 * Drops the register values retained for the threads of the given context, or for all
+	 * threads if the context is <code>null</code>.
+	 */
+	private void clearRetainedValues(IDMContext context) {
+		IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(context, IMIExecutionDMContext.class);
+		if (execDmc != null) {
+			fRetainedValues.remove(execDmc);
+		} else {
+			fRetainedValues.keySet().removeIf(e -> context == null || DMContexts.isAncestorOf(e, context));
+		}
 	}
 
 	/**
@@ -870,5 +1109,6 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	public void flushCache(IDMContext context) {
 		fRegisterNameCache.reset(context);
 		fRegisterValueCache.reset(context);
+		clearRetainedValues(context);
 	}
 }
@@ -19,10 +19,13 @@ package org.eclipse.cdt.dsf.mi.service;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
@@ -46,6 +49,7 @@ import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
@@ -58,6 +62,8 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIStackInfoDepthInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListArgumentsInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListLocalsInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIThread;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
@@ -69,6 +75,16 @@ import org.osgi.framework.BundleContext;
 
 public class MIStack extends AbstractDsfService implements IStack, ICachingService {
 	private static final int DEFAULT_STACK_DEPTH = 5;
+	/**
+	 * Number of frames fetched at once when the data of a frame is not cached. Deep stacks
+	 * are fetched in windows of this size rather than all at once.
+	 */
+	private static final int FRAME_WINDOW = 64;
+	/**
+	 * Minimum number of frames that have to be identical to the ones of the previous stop,
+	 * for the deeper frames of the previous stop to be reused after a step.
+	 */
+	private static final int MIN_FRAMES_TO_REUSE = 8;
 
 	protected static class MIFrameDMC extends AbstractDMContext implements IFrameDMContext {
 		private final int fLevel;
@@ -196,6 +212,11 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		// The actual depth we received
 		private int stackDepth = -1;
 		private final List<FrameData> frames = new ArrayList<>();
+		// The frames of the previous stop if the thread stopped after a step. They are reused
+		// once the top frames were found identical, at a level shifted by the change of the depth.
+		private FramesCacheInfo previous;
+		private boolean previousValidated;
+		private int previousShift;
 
 		/**
 		 * Return currently cached stack depth if cache value if valid, otherwise return -1.
@@ -244,22 +265,29 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 			return stackDepth;
 		}
 
+		public boolean isStackDepthKnown() {
+			return !limited && stackDepth > 0;
+		}
+
 		public void updateFrameData(FrameData frame) {
 			try {
-				int level = frame.getMIFrame().getLevel();
-				if (stackDepth < level + 1) {
-					stackDepth = level + 1;
-				}
-				while (level >= frames.size()) {
-					frames.add(null);
-				}
-				frames.set(level, frame);
+				setFrameData(frame.getMIFrame().getLevel(), frame);
 			} catch (Exception e) {
 				// cannot afford throwing runtime exceptions
 				GdbPlugin.log(e);
 			}
 		}
 
+		private void setFrameData(int level, FrameData frame) {
+			if (stackDepth < level + 1) {
+				stackDepth = level + 1;
+			}
+			while (level >= frames.size()) {
+				frames.add(null);
+			}
+			frames.set(level, frame);
+		}
+
 		public FrameData getFrameData(int level) {
 			try {
 				if (level < 0 || level >= frames.size()) {
@@ -272,6 +300,54 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 			}
 			return null;
 		}
+
+		/**
+		 * Compares the cached frames with the frames of the previous stop, shifted by the change
+		 * of the stack depth. The frames above the shift and the top frame may differ, all other
+		 * frames known in both stops must be identical. Both stack depths must be known.
+		 *
+		 * @return whether the frames of the previous stop can be reused
+		 */
+		public boolean validatePrevious() {
+			if (previous == null || previousValidated) {
+				return previousValidated;
+			}
+			int shift = stackDepth - previous.stackDepth;
+			int identical = 0;
+			for (int level = Math.max(1, shift + 1); level < frames.size(); level++) {
+				FrameData frame = getFrameData(level);
+				FrameData previousFrame = previous.getFrameData(level - shift);
+				if (frame != null && previousFrame != null) {
+					if (!isSameFrame(frame.getMIFrame(), previousFrame.getMIFrame())) {
+						previous = null;
+						return false;
+					}
+					identical++;
+				}
+			}
+			if (identical < MIN_FRAMES_TO_REUSE) {
+				previous = null;
+				return false;
+			}
+			previousShift = shift;
+			previousValidated = true;
+			return true;
+		}
+
+		/**
+		 * Returns the frame of the previous stop that is at the given level in this stop,
+		 * {@link #validatePrevious()} must have succeeded.
+		 */
+		public MIFrame getPreviousFrame(int level) {
+			FrameData frame = previous.getFrameData(level - previousShift);
+			return frame != null ? frame.getMIFrame() : null;
+		}
+
+		private static boolean isSameFrame(MIFrame frame, MIFrame other) {
+			return Objects.equals(frame.getAddress(), other.getAddress())
+					&& Objects.equals(frame.getFunction(), other.getFunction())
+					&& Objects.equals(frame.getFile(), other.getFile()) && frame.getLine() == other.getLine();
+		}
 	}
 
 	/**
@@ -330,9 +406,51 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 			}
 			return info;
 		}
+
+		public FramesCacheInfo update(String threadId, MIStackListFramesInfo framesInfo, int startIndex,
+				int endIndex) {
+			FramesCacheInfo info = update(threadId, framesInfo);
+			int len = framesInfo != null ? framesInfo.getMIFrames().length : 0;
+			if (len > 0 && len < endIndex - startIndex + 1) {
+				// Fewer frames than requested, the bottom of the stack was reached
+				info.setStackDepth(startIndex + len, endIndex + 1);
+			}
+			return info;
+		}
+
+		/**
+		 * Clears the cache after a step. The frames of the stepping threads of which the stack
+		 * depth is known are kept as the frames of the previous stop, since a step usually only
+		 * changes the top of the stack.
+		 *
+		 * @param steppingThreads the ids of the threads whose last resume was a step
+		 */
+		public void clearAfterStep(Set<String> steppingThreads) {
+			Map<String, FramesCacheInfo> retained = new HashMap<>();
+			forEach((threadId, info) -> {
+				if (!steppingThreads.contains(threadId)) {
+					return;
+				}
+				FramesCacheInfo previous = info.isStackDepthKnown() ? info : info.previous;
+				if (previous != null) {
+					FramesCacheInfo next = new FramesCacheInfo();
+					if (previous == info) {
+						info.previous = null;
+					}
+					next.previous = previous;
+					retained.put(threadId, next);
+				}
+			});
+			clear();
+			putAll(retained);
+		}
 	}
 
 	private FramesCache fFramesCache = new FramesCache();
+	// Requests for uncached top frames, served together by flushTopFrameRequests()
+	private final Map<IFrameDMContext, List<DataRequestMonitor<IFrameDMData>>> fPendingTopFrameRequests = new LinkedHashMap<>();
+	/** The ids of the threads whose last resume was a step */
+	private final Set<String> fSteppingThreads = new HashSet<>();
 
 	private MIStoppedEvent fCachedStoppedEvent;
 	private IRunControl fRunControl;
@@ -358,7 +476,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	 * Base class for the IFrameDMData object that uses an MIFrame object to
 	 * provide the data.  Sub-classes must provide the MIFrame object
 	 */
-	private abstract class FrameData implements IFrameDMData {
+	abstract class FrameData implements IFrameDMData {
 		protected abstract MIFrame getMIFrame();
 
 		@Override
@@ -421,6 +539,32 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		}
 	}
 
+	private class FrameDataFromPreviousStop extends FrameData {
+		private final MIFrame fFrame;
+
+		FrameDataFromPreviousStop(MIFrame frame) {
+			fFrame = frame;
+		}
+
+		@Override
+		protected MIFrame getMIFrame() {
+			return fFrame;
+		}
+	}
+
+	private class FrameDataFromThreadInfo extends FrameData {
+		private final MIFrame fFrame;
+
+		FrameDataFromThreadInfo(MIFrame frame) {
+			fFrame = frame;
+		}
+
+		@Override
+		protected MIFrame getMIFrame() {
+			return fFrame;
+		}
+	}
+
 	private class FrameDataFromMIStackFrameListInfo extends FrameData {
 		private MIStackListFramesInfo fFrameDataCacheInfo;
 		private int fFrameIndex;
@@ -547,6 +691,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		if (depth > 0) { // our stack depth cache is good so we can use it to fill levels array
 			rm.setData(getDMFrames(execDmc, startIndex, endIndex, depth));
 			rm.done();
+			prefetchFrames(execDmc, startIndex, endIndex, depth);
 			return;
 		}
 		getStackDepth(execDmc, maxDepth, new DataRequestMonitor<Integer>(getExecutor(), rm) {
@@ -559,10 +704,60 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 				// we will return frames array even if we get error when attempting to get stack depth.
 				int stackDepth = fFramesCache.getThreadFramesCache(threadId).getValidStackDepth();
 				rm.done(getDMFrames(execDmc, startIndex, endIndex, stackDepth));
+				if (isSuccess()) {
+					prefetchFrames(execDmc, startIndex, endIndex, stackDepth);
+				}
 			}
 		});
 	}
 
+	/**
+	 * Fetches the frames of the given range that are not cached yet, by windows of
+	 * {@link #FRAME_WINDOW} frames. Views request the frames of the range they show (e.g. the
+	 * Debug view requests the frames of the expanded range of a thread) and then the data of
+	 * each frame, which is then served by the cache or by the pending window request, rather
+	 * than by a request for the whole stack.
+	 */
+	private void prefetchFrames(final IMIExecutionDMContext execDmc, int startIndex, int endIndex, int stackDepth) {
+		if (endIndex < 0 || endIndex >= stackDepth) {
+			endIndex = stackDepth - 1;
+		}
+		FramesCacheInfo info = fFramesCache.getThreadFramesCache(execDmc.getThreadId());
+		for (int window = startIndex - startIndex % FRAME_WINDOW; window <= endIndex; window += FRAME_WINDOW) {
+			if (window >= FRAME_WINDOW && info.previous != null) {
+				// The frames of the previous stop may be reused, see getFrameData()
+				break;
+			}
+			for (int level = Math.max(window, startIndex); level <= Math.min(window + FRAME_WINDOW - 1,
+					endIndex); level++) {
+				if (info.getFrameData(level) == null) {
+					fetchFrames(execDmc, window, window + FRAME_WINDOW - 1,
+							new DataRequestMonitor<FramesCacheInfo>(getExecutor(), null) {
+								@Override
+								protected void handleError() {
+									// The frames are requested again when their data is needed
+								}
+							});
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fetches a range of frames into the cache.
+	 */
+	private void fetchFrames(final IMIExecutionDMContext execDmc, final int startIndex, final int endIndex,
+			final DataRequestMonitor<FramesCacheInfo> rm) {
+		fMICommandCache.execute(createMIStackListFrames(execDmc, startIndex, endIndex),
+				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						rm.done(fFramesCache.update(execDmc.getThreadId(), getData(), startIndex, endIndex));
+					}
+				});
+	}
+
 	private IFrameDMContext[] getDMFrames(final IMIExecutionDMContext execDmc, int startIndex, int endIndex,
 			int stackDepth) {
 		if (endIndex > stackDepth - 1 || endIndex < 0) {
@@ -579,10 +774,6 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		return frameDMCs;
 	}
 
-	private ICommand<MIStackListFramesInfo> createMIStackListFrames(final IMIExecutionDMContext execDmc) {
-		return fCommandFactory.createMIStackListFrames(execDmc);
-	}
-
 	private ICommand<MIStackListFramesInfo> createMIStackListFrames(final IMIExecutionDMContext execDmc,
 			final int startIndex, final int endIndex) {
 		final ICommand<MIStackListFramesInfo> miStackListCmd;
@@ -665,15 +856,32 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 					rm.done();
 				}
 			}
+			requestTopFrameData(frameDmc, rm);
+			return;
 		}
 
-		// If not, retrieve the full list of frame data.
-		fMICommandCache.execute(createMIStackListFrames(execDmc),
-				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
+		if (frameLevel >= FRAME_WINDOW && fFramesCache.getThreadFramesCache(threadId).previous != null) {
+			// After a step, deep frames are usually those of the previous stop
+			reusePreviousFrameData(execDmc, frameDmc, rm);
+		} else {
+			fetchFrameData(execDmc, frameDmc, rm);
+		}
+	}
+
+	/**
+	 * Fetches the window of {@link #FRAME_WINDOW} frames that contains the given frame, rather
+	 * than the full list of frames, which is expensive with deep stacks.
+	 */
+	private void fetchFrameData(final IMIExecutionDMContext execDmc, final IFrameDMContext frameDmc,
+			final DataRequestMonitor<IFrameDMData> rm) {
+		final String threadId = execDmc.getThreadId();
+		final int frameLevel = frameDmc.getLevel();
+		final int startIndex = frameLevel - frameLevel % FRAME_WINDOW;
+		fetchFrames(execDmc, startIndex, startIndex + FRAME_WINDOW - 1,
+				new DataRequestMonitor<FramesCacheInfo>(getExecutor(), rm) {
 					@Override
 					protected void handleSuccess() {
-						FramesCacheInfo info = fFramesCache.update(threadId, getData());
-						FrameData frameData = info.getFrameData(frameLevel);
+						FrameData frameData = getData().getFrameData(frameLevel);
 						if (frameData == null) {
 							rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE,
 									"Invalid frame " + frameDmc, null)); //$NON-NLS-1$
@@ -684,8 +892,8 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 
 					@Override
 					protected void handleError() {
-						// We're seeing gdb in some cases fail when it's being asked for the stack
-						// frames with no limits, but the same command succeeds if the request is limited
+						// We're seeing gdb in some cases fail when it's being asked for a range of
+						// stack frames, but the same command succeeds if the request is limited
 						// to one frame. So try again with a limit of 1.
 						// It's better to show just one frame than none at all
 						fMICommandCache.execute(createMIStackListFrames(execDmc, frameLevel, frameLevel),
@@ -706,6 +914,156 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 				});
 	}
 
+	/**
+	 * Retrieves a frame from the previous stop. MI gives no identity to frames, so the frames
+	 * of the previous stop are only reused once the stack depth and the first window of frames
+	 * of this stop show that the step did not change the bottom of the stack.
+	 */
+	private void reusePreviousFrameData(final IMIExecutionDMContext execDmc, final IFrameDMContext frameDmc,
+			final DataRequestMonitor<IFrameDMData> rm) {
+		final String threadId = execDmc.getThreadId();
+		final int frameLevel = frameDmc.getLevel();
+		// A step changes the depth by a few frames. A larger change leaves no frames of the first
+		// window to compare, so the depth is only needed up to one window below the previous one.
+		FramesCacheInfo previous = fFramesCache.getThreadFramesCache(threadId).previous;
+		int maxDepth = Math.max(previous.getValidStackDepth(), frameLevel + 1) + FRAME_WINDOW;
+		getStackDepth(execDmc, maxDepth, new DataRequestMonitor<Integer>(getExecutor(), rm) {
+			@Override
+			protected void handleCompleted() {
+				if (!isSuccess()) {
+					fetchFrameData(execDmc, frameDmc, rm);
+					return;
+				}
+				fetchFrames(execDmc, 0, FRAME_WINDOW - 1, new DataRequestMonitor<FramesCacheInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						FramesCacheInfo info = fFramesCache.getThreadFramesCache(threadId);
+						FrameData frameData = info.getFrameData(frameLevel);
+						if (frameData == null && isSuccess() && info.isStackDepthKnown() && info.validatePrevious()) {
+							MIFrame previousFrame = info.getPreviousFrame(frameLevel);
+							if (previousFrame != null) {
+								// The frame is moved to its level in this stop
+								frameData = new FrameDataFromPreviousStop(new MIFrame(previousFrame, frameLevel));
+								info.updateFrameData(frameData);
+							}
+						}
+						if (frameData != null) {
+							rm.done(frameData);
+						} else {
+							fetchFrameData(execDmc, frameDmc, rm);
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Queues a request for the top frame of a thread. The requests made while the executor
+	 * is busy, typically by the views after many threads suspended, are served together.
+	 */
+	private void requestTopFrameData(IFrameDMContext frameDmc, DataRequestMonitor<IFrameDMData> rm) {
+		if (fPendingTopFrameRequests.isEmpty()) {
+			getExecutor().execute(this::flushTopFrameRequests);
+		}
+		fPendingTopFrameRequests.computeIfAbsent(frameDmc, f -> new ArrayList<>()).add(rm);
+	}
+
+	private void flushTopFrameRequests() {
+		final Map<IFrameDMContext, List<DataRequestMonitor<IFrameDMData>>> requests = new LinkedHashMap<>(
+				fPendingTopFrameRequests);
+		fPendingTopFrameRequests.clear();
+
+		final IFrameDMContext[] frameDmcs = requests.keySet().toArray(new IFrameDMContext[requests.size()]);
+		if (frameDmcs.length == 1) {
+			// The frames of a single thread are fetched in a window, which the views
+			// are likely to need next.
+			fetchTopFrameData(frameDmcs[0], requests.get(frameDmcs[0]));
+			return;
+		}
+
+		IMIExecutionDMContext[] execDmcs = new IMIExecutionDMContext[frameDmcs.length];
+		for (int i = 0; i < frameDmcs.length; i++) {
+			execDmcs[i] = DMContexts.getAncestorOfType(frameDmcs[i], IMIExecutionDMContext.class);
+		}
+		getTopFrameData(execDmcs, new DataRequestMonitor<IFrameDMData[]>(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				for (int i = 0; i < frameDmcs.length; i++) {
+					IFrameDMData frameData = isSuccess() ? getData()[i] : null;
+					if (frameData != null) {
+						for (DataRequestMonitor<IFrameDMData> rm : requests.get(frameDmcs[i])) {
+							rm.done(frameData);
+						}
+					} else {
+						fetchTopFrameData(frameDmcs[i], requests.get(frameDmcs[i]));
+					}
+				}
+			}
+		});
+	}
+
+	private void fetchTopFrameData(IFrameDMContext frameDmc, List<DataRequestMonitor<IFrameDMData>> rms) {
+		IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(frameDmc, IMIExecutionDMContext.class);
+		for (DataRequestMonitor<IFrameDMData> rm : rms) {
+			fetchFrameData(execDmc, frameDmc, rm);
+		}
+	}
+
+	/**
+	 * Retrieves the data of the top stack frames of several threads. The frames that are not
+	 * cached yet are fetched for all threads with a single -thread-info request, rather than
+	 * with a request per thread.
+	 * <p>
+	 * The returned array is parallel to the given threads, it contains <code>null</code> for
+	 * threads that are not suspended.
+	 */
+	private void getTopFrameData(final IMIExecutionDMContext[] execDmcs, final DataRequestMonitor<IFrameDMData[]> rm) {
+		final IFrameDMData[] frames = new IFrameDMData[execDmcs.length];
+		ICommandControlDMContext controlDmc = null;
+		for (int i = 0; i < execDmcs.length; i++) {
+			FramesCacheInfo info = fFramesCache.get(execDmcs[i].getThreadId());
+			if (info != null) {
+				frames[i] = info.getFrameData(0);
+			}
+			if (frames[i] == null && controlDmc == null) {
+				controlDmc = DMContexts.getAncestorOfType(execDmcs[i], ICommandControlDMContext.class);
+			}
+		}
+		if (controlDmc == null) {
+			// All frames are cached.
+			rm.done(frames);
+			return;
+		}
+
+		fMICommandCache.execute(fCommandFactory.createMIThreadInfo(controlDmc),
+				new DataRequestMonitor<MIThreadInfoInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						Map<String, MIThread> threads = new HashMap<>();
+						for (MIThread thread : getData().getThreadList()) {
+							threads.put(thread.getThreadId(), thread);
+						}
+						for (int i = 0; i < execDmcs.length; i++) {
+							if (frames[i] != null)
+								continue;
+							// The thread may have resumed since the request was sent.
+							if (!fTraceVisualization && !fRunControl.isSuspended(execDmcs[i]))
+								continue;
+							String threadId = execDmcs[i].getThreadId();
+							MIThread thread = threads.get(threadId);
+							if (thread != null && thread.getTopFrame() != null
+									&& !MIThread.MI_THREAD_STATE_RUNNING.equals(thread.getState())) {
+								FrameData frameData = new FrameDataFromThreadInfo(thread.getTopFrame());
+								fFramesCache.getThreadFramesCache(threadId).updateFrameData(frameData);
+								frames[i] = frameData;
+							}
+						}
+						rm.done(frames);
+					}
+				});
+	}
+
 	@Override
 	public void getArguments(final IFrameDMContext frameDmc, final DataRequestMonitor<IVariableDMContext[]> rm) {
 		final IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(frameDmc, IMIExecutionDMContext.class);
@@ -1136,26 +1494,59 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	 */
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
-		fMICommandCache.setContextAvailable(e.getDMContext(), false);
+		RunStateEvents.setContextAvailable(fMICommandCache, e, isNonStop(), false);
 		if (e.getReason() != StateChangeReason.STEP) {
 			fCachedStoppedEvent = null;
 			fMICommandCache.reset();
 			fFramesCache.clear();
 		}
+		updateSteppingThreads(e);
 
 		handleReturnValues(e);
 	}
 
+	/**
+	 * Records whether the threads resumed by the given event are stepping. A container resumed
+	 * as a whole is stepping for all the threads of which frames are cached.
+	 */
+	private void updateSteppingThreads(IResumedDMEvent e) {
+		boolean stepping = e.getReason() == StateChangeReason.STEP;
+		for (IExecutionDMContext ctx : RunStateEvents.getEventContexts(e)) {
+			IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(ctx, IMIExecutionDMContext.class);
+			if (execDmc != null) {
+				if (stepping) {
+					fSteppingThreads.add(execDmc.getThreadId());
+				} else {
+					fSteppingThreads.remove(execDmc.getThreadId());
+				}
+			} else if (stepping) {
+				fSteppingThreads.addAll(fFramesCache.keySet());
+			} else {
+				fSteppingThreads.clear();
+			}
+		}
+	}
+
 	private void handleReturnValues(IResumedDMEvent e) {
 		// Whenever the execution resumes, we can clear any
 		// return values of previous methods for the resuming
 		// thread context.  For all-stop mode, we get a container event here,
 		// and we can clear the entire list, which should contain at most one
 		// value for all-stop.
-		if (e instanceof IContainerResumedDMEvent) {
+		if (e instanceof IContainerResumedDMEvent && !isNonStop()) {
 			// All-stop mode
 			assert fThreadToReturnVariable.size() <= 1;
 			fThreadToReturnVariable.clear();
+		} else if (e instanceof IContainerResumedDMEvent) {
+			// Non-stop mode, where the threads of a process that resume together
+			// are reported by one container event
+			for (IExecutionDMContext ctx : ((IContainerResumedDMEvent) e).getTriggeringContexts()) {
+				if (ctx instanceof IMIExecutionDMContext) {
+					fThreadToReturnVariable.remove(ctx);
+				} else {
+					fThreadToReturnVariable.clear();
+				}
+			}
 		} else {
 			// Non-stop mode
 			IDMContext ctx = e.getDMContext();
@@ -1167,6 +1558,10 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		}
 	}
 
+	private boolean isNonStop() {
+		return RunStateEvents.isNonStop(fRunControl);
+	}
+
 	/**
 	 * @nooverride This method is not intended to be re-implemented or extended by clients.
 	 * @noreference This method is not intended to be referenced by clients.
@@ -1174,14 +1569,33 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	 */
 	@DsfServiceEventHandler
 	public void eventDispatched(ISuspendedDMEvent e) {
-		fMICommandCache.setContextAvailable(e.getDMContext(), true);
+		RunStateEvents.setContextAvailable(fMICommandCache, e, isNonStop(), true);
 		fMICommandCache.reset();
-		fFramesCache.clear();
+		fFramesCache.clearAfterStep(fSteppingThreads);
+		if (isNonStop()) {
+			for (IExecutionDMContext ctx : RunStateEvents.getEventContexts(e)) {
+				IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(ctx, IMIExecutionDMContext.class);
+				if (execDmc != null) {
+					fSteppingThreads.remove(execDmc.getThreadId());
+				}
+			}
+		} else {
+			fSteppingThreads.clear();
+		}
 
 		handleReturnValues(e);
 	}
 
 	private void handleReturnValues(ISuspendedDMEvent e) {
+		if (e instanceof IMIContainerSuspendedDMEvent) {
+			// Non-stop mode, where the threads of a process that stopped together
+			// are reported by one container event.  Each thread has its own stopped event.
+			for (ISuspendedDMEvent threadEvent : ((IMIContainerSuspendedDMEvent) e).getThreadEvents()) {
+				handleReturnValues(threadEvent);
+			}
+			return;
+		}
+
 		// Process MIFunctionFinishedEvent from within the ISuspendedDMEvent
 		// instead of MIStoppedEvent.
 		// This avoids a race conditions where the actual MIFunctionFinishedEvent
@@ -36,6 +36,7 @@ import java.util.Map;
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.debug.service.IExpressions;
@@ -2313,6 +2314,9 @@ public class MIVariableManager implements ICommandControl {
 			} else if (!getOutOfDate()) {
 				rm.setData(false);
 				rm.done();
+			} else if (batchUpdateRootVariables(this)) {
+				// This root is updated together with the other out-of-date roots
+				updatesPending.add(rm);
 			} else {
 				// Object needs to be updated in the back-end
 				currentState = STATE_UPDATING;
@@ -2338,78 +2342,90 @@ public class MIVariableManager implements ICommandControl {
 							@Override
 							protected void handleCompleted() {
 								if (isSuccess()) {
-									setOutOfDate(false);
+									updateCompleted(getData().getMIVarChanges(), rm);
+								} else {
+									updateFailed(getStatus(), rm);
+								}
+							}
+						});
+			}
+		}
 
-									MIVarChange[] changes = getData().getMIVarChanges();
-									if (changes.length > 0 && !changes[0].isInScope()) {
-										// Object is out-of-scope
-										currentState = STATE_READY;
+		/**
+		 * Processes the result of a -var-update request for this root.
+		 *
+		 * @param changes The changes of this root and its descendants.
+		 */
+		private void updateCompleted(MIVarChange[] changes, final DataRequestMonitor<Boolean> rm) {
+			setOutOfDate(false);
 
-										outOfScope = true;
+			if (changes.length > 0 && !changes[0].isInScope()) {
+				// Object is out-of-scope
+				currentState = STATE_READY;
 
-										// We can delete this root in GDB right away.  This is safe, even
-										// if the root has children, because they are also out-of-scope.
-										// We -must- also remove this entry from our LRU.  If we don't
-										// we can end-up with a race condition that create this object
-										// twice, or have an infinite loop while never re-creating the object.
-										// The can happen if we update a child first then we request
-										// the root later,
-										lruVariableList.remove(getInternalId());
+				outOfScope = true;
 
-										rm.setData(true);
-										rm.done();
+				// We can delete this root in GDB right away.  This is safe, even
+				// if the root has children, because they are also out-of-scope.
+				// We -must- also remove this entry from our LRU.  If we don't
+				// we can end-up with a race condition that create this object
+				// twice, or have an infinite loop while never re-creating the object.
+				// The can happen if we update a child first then we request
+				// the root later,
+				lruVariableList.remove(getInternalId());
 
-										while (!updatesPending.isEmpty()) {
-											DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-											pendingRm.setData(false);
-											pendingRm.done();
-										}
-									} else {
-										// The root object is now up-to-date, we must parse the changes, if any.
-										processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
-											@Override
-											protected void handleCompleted() {
-												currentState = STATE_READY;
-
-												// We only mark this root as updated in our list if it is in-scope.
-												// For out-of-scope object, we don't ever need to re-update them so
-												// we don't need to add them to this list.
-												rootVariableUpdated(MIRootVariableObject.this);
-
-												if (isSuccess()) {
-													rm.setData(false);
-												} else {
-													rm.setStatus(getStatus());
-												}
-												rm.done();
+				rm.setData(true);
+				rm.done();
 
-												while (!updatesPending.isEmpty()) {
-													DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-													if (isSuccess()) {
-														pendingRm.setData(false);
-													} else {
-														pendingRm.setStatus(getStatus());
-													}
-													pendingRm.done();
-												}
-											}
-										});
-									}
-								} else {
-									// We were not able to update for some reason
-									currentState = STATE_READY;
+				while (!updatesPending.isEmpty()) {
+					DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+					pendingRm.setData(false);
+					pendingRm.done();
+				}
+			} else {
+				// The root object is now up-to-date, we must parse the changes, if any.
+				processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						currentState = STATE_READY;
 
-									rm.setData(false);
-									rm.done();
+						// We only mark this root as updated in our list if it is in-scope.
+						// For out-of-scope object, we don't ever need to re-update them so
+						// we don't need to add them to this list.
+						rootVariableUpdated(MIRootVariableObject.this);
 
-									while (!updatesPending.isEmpty()) {
-										DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-										pendingRm.setStatus(getStatus());
-										pendingRm.done();
-									}
-								}
+						if (isSuccess()) {
+							rm.setData(false);
+						} else {
+							rm.setStatus(getStatus());
+						}
+						rm.done();
+
+						while (!updatesPending.isEmpty()) {
+							DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+							if (isSuccess()) {
+								pendingRm.setData(false);
+							} else {
+								pendingRm.setStatus(getStatus());
 							}
-						});
+							pendingRm.done();
+						}
+					}
+				});
+			}
+		}
+
+		private void updateFailed(IStatus status, DataRequestMonitor<Boolean> rm) {
+			// We were not able to update for some reason
+			currentState = STATE_READY;
+
+			rm.setData(false);
+			rm.done();
+
+			while (!updatesPending.isEmpty()) {
+				DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+				pendingRm.setStatus(status);
+				pendingRm.done();
 			}
 		}
 
@@ -2631,6 +2647,7 @@ public class MIVariableManager implements ICommandControl {
 	// as the stack depth to differentiate between expressions that have the
 	// same name but refer to a different context
 	private final IStack fStackService;
+	private final IRunControl fRunControl;
 	private IExpressions fExpressionService;
 
 	// Typically, there will only be one listener, since only the ExpressionService will use this class
@@ -2642,6 +2659,9 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/** Whether out-of-date roots are updated with a single "-var-update *" request */
+	private boolean fBatchUpdateEnabled = true;
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -2655,6 +2675,7 @@ public class MIVariableManager implements ICommandControl {
 		lruVariableList = new LRUVariableCache();
 		fCommandControl = tracker.getService(ICommandControl.class);
 		fStackService = tracker.getService(IStack.class);
+		fRunControl = tracker.getService(IRunControl.class);
 		fExpressionService = tracker.getService(IExpressions.class);
 		fCommandFactory = tracker.getService(IMICommandControl.class).getCommandFactory();
 
@@ -3142,6 +3163,117 @@ public class MIVariableManager implements ICommandControl {
 		}
 	}
 
+	/**
+	 * Updates the out-of-date roots with a single "-var-update *" request, rather than with
+	 * a request per root, if there is more than one of them and the given root is one of them.
+	 *
+	 * @return whether the given root is updated by the request, otherwise it must be updated
+	 *         on its own.
+	 */
+	private boolean batchUpdateRootVariables(MIRootVariableObject requestingRoot) {
+		ICommandControlDMContext controlDmc = requestingRoot.getControlDMContext();
+		if (!fBatchUpdateEnabled || controlDmc == null) {
+			return false;
+		}
+
+		// "-var-update *" updates all variable objects in GDB except the ones of running threads,
+		// so the changes of every root must be processed, not only of the out-of-date ones.
+		final Map<String, MIRootVariableObject> roots = new HashMap<>();
+		final List<MIRootVariableObject> outOfDateRoots = new ArrayList<>();
+		for (MIVariableObject varObj : lruVariableList.values()) {
+			if (varObj instanceof MIRootVariableObject && varObj.getGdbName() != null) {
+				MIRootVariableObject root = (MIRootVariableObject) varObj;
+				if (controlDmc.equals(root.getControlDMContext())) {
+					roots.put(root.getGdbName(), root);
+					if (root.currentState == MIVariableObject.STATE_READY && root.getOutOfDate()
+							&& !root.isOutOfScope() && !isRunning(root)) {
+						outOfDateRoots.add(root);
+					}
+				}
+			}
+		}
+		if (outOfDateRoots.size() < 2 || !outOfDateRoots.contains(requestingRoot)) {
+			return false;
+		}
+
+		for (MIRootVariableObject root : outOfDateRoots) {
+			root.currentState = MIVariableObject.STATE_UPDATING;
+		}
+		fCommandControl.queueCommand(fCommandFactory.createMIVarUpdate(controlDmc, "*"), //$NON-NLS-1$
+				new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						if (!isSuccess()) {
+							// Update the roots one at a time
+							fBatchUpdateEnabled = false;
+							for (MIRootVariableObject root : outOfDateRoots) {
+								root.currentState = MIVariableObject.STATE_READY;
+								List<DataRequestMonitor<Boolean>> pending = new ArrayList<>(root.updatesPending);
+								root.updatesPending.clear();
+								for (DataRequestMonitor<Boolean> pendingRm : pending) {
+									root.update(pendingRm);
+								}
+							}
+							return;
+						}
+
+						// The names of descendants start with the name of their root
+						Map<String, List<MIVarChange>> changesByRoot = new HashMap<>();
+						for (MIVarChange change : getData().getMIVarChanges()) {
+							String name = change.getVarName();
+							int dot = name.indexOf('.');
+							changesByRoot.computeIfAbsent(dot < 0 ? name : name.substring(0, dot),
+									n -> new ArrayList<>()).add(change);
+						}
+
+						for (MIRootVariableObject root : outOfDateRoots) {
+							List<MIVarChange> changes = changesByRoot.remove(root.getGdbName());
+							root.updateCompleted(
+									changes == null ? new MIVarChange[0] : changes.toArray(new MIVarChange[0]),
+									new DataRequestMonitor<Boolean>(fSession.getExecutor(), null));
+						}
+						// GDB does not report these changes again, so they must be applied to the
+						// other roots as well, once they are done with their own request.
+						for (Map.Entry<String, List<MIVarChange>> entry : changesByRoot.entrySet()) {
+							MIRootVariableObject root = roots.get(entry.getKey());
+							if (root != null) {
+								applyChangesWhenReady(root, entry.getValue().toArray(new MIVarChange[0]));
+							}
+						}
+					}
+				});
+		return true;
+	}
+
+	/**
+	 * Applies changes reported by "-var-update *" to a root that is not part of the batch. If
+	 * the root is being created or updated, the changes are applied once it is done, since
+	 * they are more recent than those of its own request.
+	 */
+	private void applyChangesWhenReady(final MIRootVariableObject root, final MIVarChange[] changes) {
+		if (root.isOutOfScope()) {
+			return;
+		}
+		if (root.currentState == MIVariableObject.STATE_READY) {
+			root.currentState = MIVariableObject.STATE_UPDATING;
+			root.updateCompleted(changes, new DataRequestMonitor<Boolean>(fSession.getExecutor(), null));
+		} else {
+			root.updatesPending.add(new ImmediateDataRequestMonitor<Boolean>() {
+				@Override
+				protected void handleCompleted() {
+					if (root.currentState == MIVariableObject.STATE_READY && !root.isOutOfScope()) {
+						root.processChanges(changes, new RequestMonitor(fSession.getExecutor(), null));
+					}
+				}
+			});
+		}
+	}
+
+	private boolean isRunning(MIRootVariableObject root) {
+		IExecutionDMContext execCtx = root.getInternalId().fExecContext;
+		return execCtx != null && fRunControl != null && !fRunControl.isSuspended(execCtx);
+	}
+
 	/**
 	 * @since 1.1
 	 */
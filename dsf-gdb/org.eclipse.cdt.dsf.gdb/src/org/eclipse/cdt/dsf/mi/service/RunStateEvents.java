@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import org.eclipse.cdt.dsf.datamodel.IDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerResumedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.mi.service.IMIRunControl.MIRunMode;
+
+/**
+ * Helpers for the services that follow the resumed and suspended events to know when
+ * commands can be sent for a context.
+ */
+final class RunStateEvents {
+
+	private RunStateEvents() {
+	}
+
+	static boolean isNonStop(IRunControl runControl) {
+		return runControl instanceof IMIRunControl
+				&& ((IMIRunControl) runControl).getRunMode() == MIRunMode.NON_STOP;
+	}
+
+	/**
+	 * Returns the contexts that changed state with the given event, the triggering contexts
+	 * of a container event, or the container itself if there are none.
+	 */
+	static IExecutionDMContext[] getEventContexts(IDMEvent<? extends IExecutionDMContext> e) {
+		IExecutionDMContext[] triggering = null;
+		if (e instanceof IContainerResumedDMEvent) {
+			triggering = ((IContainerResumedDMEvent) e).getTriggeringContexts();
+		} else if (e instanceof IContainerSuspendedDMEvent) {
+			triggering = ((IContainerSuspendedDMEvent) e).getTriggeringContexts();
+		}
+		if (triggering == null || triggering.length == 0) {
+			return new IExecutionDMContext[] { e.getDMContext() };
+		}
+		return triggering;
+	}
+
+	/**
+	 * Marks the contexts of the given resumed or suspended event as unavailable or available
+	 * in the given cache.
+	 * <p>
+	 * In non-stop mode, a container event reports the threads of a process that changed state
+	 * together, and each of these threads may then resume on its own.  The threads are marked
+	 * rather than the container, since the cache considers all the children of an available
+	 * context as available.
+	 */
+	static void setContextAvailable(CommandCache cache, IDMEvent<? extends IExecutionDMContext> e,
+			boolean nonStop, boolean isAvailable) {
+		if (nonStop) {
+			for (IExecutionDMContext ctx : getEventContexts(e)) {
+				cache.setContextAvailable(ctx, isAvailable);
+			}
+		} else {
+			cache.setContextAvailable(e.getDMContext(), isAvailable);
+		}
+	}
+}
@@ -97,7 +97,12 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
-	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
+	/**
+	 * Number of commands that may be on the wire to the backend at any one time. The
+	 * commands are pipelined, such that a suspend that triggers requests for many threads
+	 * or frames does not pay for a round trip to the backend per request.
+	 */
+	private static final int NUMBER_CONCURRENT_COMMANDS = 10;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
 	/*
@@ -386,7 +391,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rm.done();
 		} else {
 			/*
-			 *  We only allow three outstanding commands to be on the wire to the backend
+			 *  We only allow a limited number of outstanding commands to be on the wire to the backend
 			 *  at any one time. This allows for coalescing as well as canceling
 			 *  existing commands on a state change. So we add it to the waiting list and let
 			 *  the user know they can now work with this item if need be.
@@ -408,7 +413,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	}
 
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+		// Fill the pipeline, commands handed to the TX thread are not yet in fRxCommands.
+		while (!fCommandQueue.isEmpty() && fRxCommands.size() + fTxCommands.size() < fNumberOfConcurrentCommands) {
 			final CommandHandle handle = fCommandQueue.remove(0);
 			if (handle != null) {
 				processCommandSent(handle);
@@ -625,9 +631,11 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				}
 				int linecounter = initialMaxLines;
 
-				while (message.length() > 100 && (!limitEnabled || linecounter-- > 0)) {
-					String partial = message.substring(0, 100);
-					message = message.substring(100);
+				// Split the message without copying the remainder for each line, it may be megabytes long.
+				int start = 0;
+				while (message.length() - start > 100 && (!limitEnabled || linecounter-- > 0)) {
+					String partial = message.substring(start, start + 100);
+					start += 100;
 					getMITracingStream().write(partial.getBytes());
 					getMITracingStream().write("\\\n".getBytes()); //$NON-NLS-1$
 				}
@@ -636,7 +644,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							initialMaxLines);
 					getMITracingStream().write(messageTruncatedInfo.getBytes());
 				} else {
-					getMITracingStream().write(message.getBytes());
+					getMITracingStream().write(message.substring(start).getBytes());
 				}
 			} catch (IOException e) {
 				// The tracing stream could be closed at any time
@@ -731,62 +739,73 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		@Override
 		public void run() {
-			while (true) {
-				CommandHandle commandHandle = null;
+			final List<CommandHandle> batch = new ArrayList<>();
+			final StringBuilder out = new StringBuilder();
+			boolean shutdown = false;
+			while (!shutdown) {
+				batch.clear();
+				out.setLength(0);
 
 				try {
-					commandHandle = fTxCommands.take();
+					batch.add(fTxCommands.take());
 				} catch (InterruptedException e) {
 					break; // Shutting down.
 				}
+				// Commands queued in the meantime are written together, GDB reads them
+				// one line at a time and answers them in order.
+				fTxCommands.drainTo(batch);
+
+				for (CommandHandle commandHandle : batch) {
+					if (commandHandle == fTerminatorHandle) {
+						// There is a small possibility that a new command was inserted
+						// in the fRxCommands map after we cleared that map.
+						// Just to be safe, clear it again.
+						// We do this to avoid synchronizing the handling of fRxCommands
+						// because this is more efficient, as it happens only once at shutdown.
+						cancelRxCommands();
+						shutdown = true; // Null command is an indicator that we're shutting down.
+						break;
+					}
 
-				if (commandHandle == fTerminatorHandle) {
-					// There is a small possibility that a new command was inserted
-					// in the fRxCommands map after we cleared that map.
-					// Just to be safe, clear it again.
-					// We do this to avoid synchronizing the handling of fRxCommands
-					// because this is more efficient, as it happens only once at shutdown.
-					cancelRxCommands();
-					break; // Null command is an indicator that we're shutting down.
-				}
+					/*
+					 *  We note that this is an outstanding request at this point.
+					 */
+					if (!(commandHandle.getCommand() instanceof RawCommand)) {
+						// RawCommands will not get an answer, so we cannot put them in the receive queue.
+						fRxCommands.put(commandHandle.getTokenId(), commandHandle);
+					}
 
-				/*
-				 *  We note that this is an outstanding request at this point.
-				 */
-				if (!(commandHandle.getCommand() instanceof RawCommand)) {
-					// RawCommands will not get an answer, so we cannot put them in the receive queue.
-					fRxCommands.put(commandHandle.getTokenId(), commandHandle);
-				}
+					/*
+					 *   Construct the new command and push this command out the pipeline.
+					 */
 
-				/*
-				 *   Construct the new command and push this command out the pipeline.
-				 */
+					final String str;
+					if (commandHandle.getCommand() instanceof RawCommand) {
+						// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
+						str = commandHandle.getCommand().constructCommand();
+					} else if (fUseThreadGroupOption) {
+						// Implies that fUseThreadAndFrameOptions == true
+						str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand(
+								commandHandle.getGroupId(), commandHandle.getThreadId(),
+								commandHandle.getStackFrameId());
+					} else if (fUseThreadAndFrameOptions) {
+						str = commandHandle.getTokenId() + commandHandle.getCommand()
+								.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
+					} else {
+						str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
+					}
 
-				final String str;
-				if (commandHandle.getCommand() instanceof RawCommand) {
-					// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
-					str = commandHandle.getCommand().constructCommand();
-				} else if (fUseThreadGroupOption) {
-					// Implies that fUseThreadAndFrameOptions == true
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand(
-							commandHandle.getGroupId(), commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else if (fUseThreadAndFrameOptions) {
-					str = commandHandle.getTokenId() + commandHandle.getCommand()
-							.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else {
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
+					if (GdbDebugOptions.DEBUG) {
+						GdbDebugOptions.trace(
+								String.format("%s %s  %s", GdbPlugin.getDebugTime(), MI_TRACE_IDENTIFIER, str)); //$NON-NLS-1$
+					}
+					writeToTracingStream(true, str);
+					out.append(str);
 				}
 
 				try {
-					if (fOutputStream != null) {
-
-						if (GdbDebugOptions.DEBUG) {
-							GdbDebugOptions.trace(
-									String.format("%s %s  %s", GdbPlugin.getDebugTime(), MI_TRACE_IDENTIFIER, str)); //$NON-NLS-1$
-						}
-						writeToTracingStream(true, str);
-
-						fOutputStream.write(str.getBytes());
+					if (fOutputStream != null && out.length() > 0) {
+						fOutputStream.write(out.toString().getBytes());
 						fOutputStream.flush();
 					}
 				} catch (IOException e) {
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.commands;
+
+import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListChangedRegistersInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+
+/**
+ *
+ *     -data-list-changed-registers
+ *
+ *   Display a list of the registers that have changed since the last
+ * invocation of this command. GDB keeps a single copy of the registers
+ * for all threads, the list is only meaningful if the previous invocation
+ * was for the same thread and frame.
+ *
+ * @since 7.2
+ */
+public class MIDataListChangedRegisters extends MICommand<MIDataListChangedRegistersInfo> {
+	public MIDataListChangedRegisters(IFrameDMContext ctx) {
+		super(ctx, "-data-list-changed-registers"); //$NON-NLS-1$
+	}
+
+	@Override
+	public MIDataListChangedRegistersInfo getResult(MIOutput output) {
+		return new MIDataListChangedRegistersInfo(output);
+	}
+}
@@ -105,6 +105,39 @@ public class MIDataListRegisterValues extends MICommand<MIDataListRegisterValues
 		return new MIDataListRegisterValuesInfo(output);
 	}
 
+	/**
+	 * Returns whether the values listed by this command include all the values
+	 * listed by the supplied command.
+	 * @since 7.2
+	 */
+	@Override
+	public boolean subsumes(ICommand<? extends ICommandResult> command) {
+		if (!(command instanceof MIDataListRegisterValues) || !command.getContext().equals(getContext())) {
+			return false;
+		}
+		MIDataListRegisterValues cmd = (MIDataListRegisterValues) command;
+		if (fFmt != cmd.fFmt || cmd.regnums == null || cmd.regnums.length == 0) {
+			return false;
+		}
+		if (regnums == null || regnums.length == 0) {
+			// This command lists all the registers
+			return true;
+		}
+		for (int wanted : cmd.regnums) {
+			boolean found = false;
+			for (int regnum : regnums) {
+				if (regnum == wanted) {
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/*
 	 * Takes the supplied command and coalesces it with this one.
 	 * The result is a new third command which represent the two
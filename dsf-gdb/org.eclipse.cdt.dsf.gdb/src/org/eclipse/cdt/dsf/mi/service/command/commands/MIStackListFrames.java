@@ -16,6 +16,8 @@
 
 package org.eclipse.cdt.dsf.mi.service.command.commands;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
@@ -54,12 +56,52 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
  *
  */
 public class MIStackListFrames extends MICommand<MIStackListFramesInfo> {
+	private final int fLow;
+	private final int fHigh;
+
 	public MIStackListFrames(IMIExecutionDMContext execDmc) {
 		super(execDmc, "-stack-list-frames"); //$NON-NLS-1$
+		fLow = -1;
+		fHigh = -1;
 	}
 
 	public MIStackListFrames(IMIExecutionDMContext execDmc, int low, int high) {
 		super(execDmc, "-stack-list-frames", new String[] { Integer.toString(low), Integer.toString(high) }); //$NON-NLS-1$
+		fLow = low;
+		fHigh = high;
+	}
+
+	/**
+	 * Returns the level of the first frame to list, or -1 if the whole stack is listed.
+	 * @since 7.2
+	 */
+	public int getLowFrame() {
+		return fLow;
+	}
+
+	/**
+	 * Returns the level of the last frame to list, or -1 if the whole stack is listed.
+	 * @since 7.2
+	 */
+	public int getHighFrame() {
+		return fHigh;
+	}
+
+	/**
+	 * Returns whether the frames listed by this command include the range of
+	 * frames listed by the supplied command.
+	 * @since 7.2
+	 */
+	@Override
+	public boolean subsumes(ICommand<? extends ICommandResult> command) {
+		if (!(command instanceof MIStackListFrames) || !command.getContext().equals(getContext())) {
+			return false;
+		}
+		MIStackListFrames cmd = (MIStackListFrames) command;
+		if (cmd.fLow < 0) {
+			return false;
+		}
+		return fLow < 0 || (fLow <= cmd.fLow && cmd.fHigh <= fHigh);
 	}
 
 	@Override
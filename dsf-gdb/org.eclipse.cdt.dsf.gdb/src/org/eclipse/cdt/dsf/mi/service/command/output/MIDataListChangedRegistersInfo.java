@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GDB/MI data list changed registers response extraction.
+ *
+ * ^done,changed-registers=["0","1","2","4","11"]
+ *
+ * @since 7.2
+ */
+public class MIDataListChangedRegistersInfo extends MIInfo {
+
+	private final int[] regnos;
+
+	public MIDataListChangedRegistersInfo(MIOutput rr) {
+		super(rr);
+		List<Integer> aList = new ArrayList<>();
+		if (isDone()) {
+			MIResultRecord outr = getMIOutput().getMIResultRecord();
+			if (outr != null) {
+				for (MIResult result : outr.getMIResults()) {
+					if (result.getVariable().equals("changed-registers")) { //$NON-NLS-1$
+						MIValue value = result.getMIValue();
+						if (value instanceof MIList) {
+							parseRegisters((MIList) value, aList);
+						}
+					}
+				}
+			}
+		}
+		regnos = new int[aList.size()];
+		for (int i = 0; i < regnos.length; i++) {
+			regnos[i] = aList.get(i);
+		}
+	}
+
+	/**
+	 * Returns the numbers of the registers that have changed.
+	 */
+	public int[] getRegisterNumbers() {
+		return regnos;
+	}
+
+	private void parseRegisters(MIList list, List<Integer> aList) {
+		for (MIValue value : list.getMIValues()) {
+			if (value instanceof MIConst) {
+				try {
+					aList.add(Integer.parseInt(((MIConst) value).getCString().trim()));
+				} catch (NumberFormatException e) {
+					// Not a register number
+				}
+			}
+		}
+	}
+}
@@ -33,6 +33,20 @@ public class MIFrame {
 		parse(tuple);
 	}
 
+	/**
+	 * Creates a copy of the given frame at another level of the stack.
+	 * @since 7.2
+	 */
+	public MIFrame(MIFrame frame, int level) {
+		this.level = level;
+		addr = frame.addr;
+		func = frame.func;
+		file = frame.file;
+		fullname = frame.fullname;
+		line = frame.line;
+		args = frame.args;
+	}
+
 	public MIArg[] getArgs() {
 		return args;
 	}
@@ -99,6 +99,9 @@ public class MIParser {
 		ResultRecord, OOBRecord, PrimaryPrompt
 	}
 
+	private static final MIResult[] NO_RESULTS = new MIResult[0];
+	private static final MIValue[] NO_VALUES = new MIValue[0];
+
 	public String primaryPrompt = "(gdb)"; //$NON-NLS-1$
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
@@ -126,37 +129,32 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
+		Cursor cursor = new Cursor(line);
 		// Fetch the Token/Id
-		int id = parseToken(buffer);
+		int id = parseToken(cursor);
 		// Consume the '^'
-		buffer.deleteCharAt(0);
+		cursor.pos++;
 
 		MIResultRecord rr = new MIResultRecord();
 		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
+		if (cursor.consume(MIResultRecord.DONE)) {
 			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
+		} else if (cursor.consume(MIResultRecord.ERROR)) {
 			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
+		} else if (cursor.consume(MIResultRecord.EXIT)) {
 			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
+		} else if (cursor.consume(MIResultRecord.RUNNING)) {
 			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
+		} else if (cursor.consume(MIResultRecord.CONNECTED)) {
 			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
 		} else {
 			// Error throw an exception?
 		}
 
 		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
+		if (cursor.peek() == ',') {
+			cursor.pos++;
+			MIResult[] res = processMIResults(cursor);
 			rr.setMIResults(res);
 		}
 		return rr;
@@ -166,13 +164,13 @@ public class MIParser {
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
+		Cursor cursor = new Cursor(line);
+		int id = parseToken(cursor);
 		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
+		char c = cursor.peek();
 		if (c == '*' || c == '+' || c == '=') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			cursor.pos++;
 			MIAsyncRecord async = null;
 			switch (c) {
 			case '*':
@@ -192,22 +190,22 @@ public class MIParser {
 			}
 			async.setToken(id);
 			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
+			int i = line.indexOf(',', cursor.pos);
 			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
+				String asyncClass = line.substring(cursor.pos, i);
 				async.setAsyncClass(asyncClass);
 				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+				cursor.pos = i + 1;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
+				async.setAsyncClass(line.substring(cursor.pos).trim());
+				cursor.pos = line.length();
 			}
-			MIResult[] res = processMIResults(new FSB(buffer));
+			MIResult[] res = processMIResults(cursor);
 			async.setMIResults(res);
 			oob = async;
 		} else if (c == '~' || c == '@' || c == '&') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			cursor.pos++;
 			MIStreamRecord stream = null;
 			switch (c) {
 			case '~':
@@ -225,13 +223,13 @@ public class MIParser {
 				assert false;
 				stream = new MIConsoleStreamOutput();
 			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+			// translateCString() assumes that the leading " is consumed
+			if (cursor.peek() == '"') {
+				cursor.pos++;
 			}
 			// Don't parse any backslashes - backslashes within stream records
 			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
+			stream.setCString(translateCString(cursor, false));
 			oob = stream;
 		} else {
 			// Badly format MI line, just pass it to the user as target stream
@@ -242,21 +240,21 @@ public class MIParser {
 		return oob;
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	private int parseToken(Cursor cursor) {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
+		if (Character.isDigit(cursor.peek())) {
+			int i = cursor.pos + 1;
+			while (i < cursor.end && Character.isDigit(cursor.line.charAt(i))) {
 				i++;
 			}
-			String numbers = buffer.substring(0, i);
+			String numbers = cursor.line.substring(cursor.pos, i);
 			try {
 				id = Integer.parseInt(numbers);
 			} catch (NumberFormatException e) {
 			}
 			// Consume the token.
-			buffer.delete(0, i);
+			cursor.pos = i;
 		}
 		return id;
 	}
@@ -265,15 +263,15 @@ public class MIParser {
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
+	private MIResult[] processMIResults(Cursor cursor) {
 		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
+		MIResult result = processMIResult(cursor);
 		if (result != null) {
 			aList.add(result);
 		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
+		while (cursor.peek() == ',') {
+			cursor.pos++;
+			result = processMIResult(cursor);
 			if (result != null) {
 				aList.add(result);
 			}
@@ -282,28 +280,28 @@ public class MIParser {
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult(Cursor cursor) {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (Character.isLetter(cursor.peek()) && (equal = cursor.line.indexOf('=', cursor.pos)) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
+			String variable = cursor.line.substring(cursor.pos, equal);
 			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			cursor.pos = equal + 1;
+			MIValue value = processMIValue(cursor);
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(cursor.line.substring(cursor.pos));
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
+				cursor.pos = cursor.end;
 			}
 		}
 		return result;
@@ -312,118 +310,147 @@ public class MIParser {
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue(Cursor cursor) {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-				MIConst cnst = new MIConst();
-				// Parse backslashes - backslashes within result
-				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
-				value = cnst;
-			}
+		switch (cursor.peek()) {
+		case '{':
+			cursor.pos++;
+			value = processMITuple(cursor);
+			break;
+		case '[':
+			cursor.pos++;
+			value = processMIList(cursor);
+			break;
+		case '"':
+			cursor.pos++;
+			MIConst cnst = new MIConst();
+			// Parse backslashes - backslashes within result
+			// and out of band records are escaped.
+			cnst.setCString(translateCString(cursor, true));
+			value = cnst;
+			break;
 		}
 		return value;
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed, go to the closing '}'
+	 * consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
+	private MIValue processMITuple(Cursor cursor) {
 		MITuple tuple = new MITuple();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+		List<MIValue> valueList = null;
+		List<MIResult> resultList = null;
 		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
+		while (cursor.hasRemaining() && cursor.peek() != '}') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
+				if (valueList == null)
+					valueList = new ArrayList<>();
 				valueList.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
+				MIResult result = processMIResult(cursor);
 				if (result != null) {
+					if (resultList == null)
+						resultList = new ArrayList<>();
 					resultList.add(result);
 				}
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (cursor.peek() == ',') {
+				cursor.pos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
+		if (cursor.peek() == '}') {
+			cursor.pos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		tuple.setMIValues(values);
-		tuple.setMIResults(res);
+		tuple.setMIValues(toValueArray(valueList));
+		tuple.setMIResults(toResultArray(resultList));
 		return tuple;
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming the chars.
 	 */
-	private MIValue processMIList(FSB buffer) {
+	private MIValue processMIList(Cursor cursor) {
 		MIList list = new MIList();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+		List<MIValue> valueList = null;
+		List<MIResult> resultList = null;
 		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		while (cursor.hasRemaining() && cursor.peek() != ']') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
+				if (valueList == null)
+					valueList = new ArrayList<>();
 				valueList.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
+				MIResult result = processMIResult(cursor);
 				if (result != null) {
+					if (resultList == null)
+						resultList = new ArrayList<>();
 					resultList.add(result);
 				}
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (cursor.peek() == ',') {
+				cursor.pos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+		if (cursor.peek() == ']') {
+			cursor.pos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
+		list.setMIValues(toValueArray(valueList));
+		list.setMIResults(toResultArray(resultList));
 		return list;
 	}
 
+	private static MIValue[] toValueArray(List<MIValue> list) {
+		return list == null ? NO_VALUES : list.toArray(new MIValue[list.size()]);
+	}
+
+	private static MIResult[] toResultArray(List<MIResult> list) {
+		return list == null ? NO_RESULTS : list.toArray(new MIResult[list.size()]);
+	}
+
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
+	 * Assuming the starting double quote was consumed. This method will
 	 * stop at the closing double quote, remove the extra backslash escaping
 	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * cursor will move forward.
+	 * @param cursor The cursor to read from.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
+	private String translateCString(Cursor cursor, boolean parseBackslashes) {
+		final String line = cursor.line;
+		final int start = cursor.pos;
+		// Most strings contain no escapes and are returned as a single substring.
+		int index = start;
+		while (index < cursor.end) {
+			char c = line.charAt(index);
+			if (c == '"') {
+				cursor.pos = index + 1;
+				return line.substring(start, index);
+			}
+			if (c == '\\')
+				break;
+			index++;
+		}
+
 		boolean escape = false;
 		boolean closingQuotes = false;
 
-		StringBuffer sb = new StringBuffer();
+		StringBuilder sb = new StringBuilder(index - start + 16);
+		sb.append(line, start, index);
 
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		for (; index < cursor.end && !closingQuotes; index++) {
+			char c = line.charAt(index);
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -450,7 +477,7 @@ public class MIParser {
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
+		cursor.pos = index;
 		return sb.toString();
 	}
 
@@ -477,6 +504,43 @@ public class MIParser {
 		return true;
 	}
 
+	/**
+	 * Position in a line of MI output. The parser moves the position forward rather than
+	 * deleting the consumed characters, such that no copies of the line are made.
+	 */
+	private static final class Cursor {
+		final String line;
+		final int end;
+		int pos;
+
+		Cursor(String line) {
+			this.line = line;
+			this.end = line.length();
+		}
+
+		boolean hasRemaining() {
+			return pos < end;
+		}
+
+		/**
+		 * Returns the character at the current position, or 0 at the end of the line.
+		 */
+		char peek() {
+			return pos < end ? line.charAt(pos) : 0;
+		}
+
+		/**
+		 * Consumes the given prefix if the remainder of the line starts with it.
+		 */
+		boolean consume(String prefix) {
+			if (line.startsWith(prefix, pos)) {
+				pos += prefix.length();
+				return true;
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Fast String Buffer class. MIParser does a lot
 	 * of deleting off the front of a string, that's clearly
@@ -17,6 +17,10 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIStackListFrames;
+
 /**
  * GDB/MI stack list frames info.
  */
@@ -48,10 +52,44 @@ public class MIStackListFramesInfo extends MIInfo {
 		frames = aList.toArray(new MIFrame[aList.size()]);
 	}
 
+	private MIStackListFramesInfo(MIOutput out, MIFrame[] frames) {
+		super(out);
+		this.frames = frames;
+	}
+
 	public MIFrame[] getMIFrames() {
 		return frames;
 	}
 
+	/**
+	 * Returns the frames of a range contained in the range of this result.  No result is
+	 * returned if the first frame of the range is not in this result, since GDB reports an
+	 * error when the stack does not have enough frames.
+	 * @since 7.2
+	 */
+	@Override
+	public <V extends ICommandResult> V getSubsetResult(ICommand<V> command) {
+		if (command instanceof MIStackListFrames) {
+			MIStackListFrames cmd = (MIStackListFrames) command;
+			List<MIFrame> subset = new ArrayList<>();
+			boolean hasFirstFrame = false;
+			for (MIFrame frame : frames) {
+				int level = frame.getLevel();
+				if (level >= cmd.getLowFrame() && level <= cmd.getHighFrame()) {
+					subset.add(frame);
+					hasFirstFrame |= level == cmd.getLowFrame();
+				}
+			}
+			if (!hasFirstFrame) {
+				return null;
+			}
+			@SuppressWarnings("unchecked")
+			V result = (V) new MIStackListFramesInfo(getMIOutput(), subset.toArray(new MIFrame[subset.size()]));
+			return result;
+		}
+		return super.getSubsetResult(command);
+	}
+
 	void parseStack(MIList miList, List<MIFrame> aList) {
 		MIResult[] results = miList.getMIResults();
 		for (int i = 0; i < results.length; i++) {
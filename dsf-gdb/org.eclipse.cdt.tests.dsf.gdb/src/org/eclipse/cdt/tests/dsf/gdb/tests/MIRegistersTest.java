@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -43,6 +44,7 @@ import org.eclipse.cdt.dsf.concurrent.Query;
 import org.eclipse.cdt.dsf.datamodel.CompositeDMContext;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMContext;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
@@ -58,6 +60,10 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisters;
 import org.eclipse.cdt.dsf.mi.service.MIRegisters.MIRegisterDMC;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
@@ -321,6 +327,78 @@ public class MIRegistersTest extends BaseParametrizedTestCase {
 		assertThat(Long.parseLong(val.substring(1), 8), equalTo(0x1234L));
 	}
 
+	/**
+	 * The values requested together, as the Registers view does, are fetched with a single
+	 * -data-list-register-values request.
+	 */
+	@Test
+	public void getRegisterValuesWithOneRequest() throws Throwable {
+		MIStoppedEvent stoppedEvent = getInitialStoppedEvent();
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		final IRegisterDMContext[] regDMCs = getAllRegisters(frameDmc);
+		fSession.getExecutor().submit(() -> ((ICachingService) fRegService).flushCache(null)).get();
+
+		final List<String> commands = new ArrayList<>();
+		final ICommandListener listener = new ICommandListener() {
+			@Override
+			public void commandQueued(ICommandToken token) {
+				commands.add(token.getCommand().toString());
+			}
+
+			@Override
+			public void commandSent(ICommandToken token) {
+			}
+
+			@Override
+			public void commandRemoved(ICommandToken token) {
+			}
+
+			@Override
+			public void commandDone(ICommandToken token, ICommandResult result) {
+			}
+		};
+		Query<String[]> query = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<String[]> rm) {
+				fServicesTracker.getService(ICommandControl.class).addCommandListener(listener);
+				final String[] values = new String[regDMCs.length];
+				final CountingRequestMonitor countingRm = new ImmediateCountingRequestMonitor(rm) {
+					@Override
+					protected void handleSuccess() {
+						rm.done(values);
+					}
+				};
+				countingRm.setDoneCount(regDMCs.length);
+				for (int i = 0; i < regDMCs.length; i++) {
+					final int index = i;
+					fRegService.getFormattedExpressionValue(
+							fRegService.getFormattedValueContext(regDMCs[i], IFormattedValues.NATURAL_FORMAT),
+							new ImmediateDataRequestMonitor<FormattedValueDMData>(countingRm) {
+								@Override
+								protected void handleSuccess() {
+									values[index] = getData().getFormattedValue();
+									countingRm.done();
+								}
+							});
+				}
+			}
+		};
+		fSession.getExecutor().execute(query);
+		String[] values;
+		try {
+			values = query.get(TestsPlugin.massageTimeout(500), TimeUnit.MILLISECONDS);
+		} finally {
+			fSession.getExecutor().submit(
+					() -> fServicesTracker.getService(ICommandControl.class).removeCommandListener(listener)).get();
+		}
+
+		long valueRequests = commands.stream().filter(c -> c.contains("-data-list-register-values")).count();
+		assertEquals("Commands sent: " + commands, 1, valueRequests);
+		for (int i = 0; i < regDMCs.length; i++) {
+			assertEquals(getModelDataForRegisterDataValue(regDMCs[i], IFormattedValues.NATURAL_FORMAT), values[i]);
+		}
+	}
+
 	@Test
 	public void compareRegisterForMultipleExecutionContexts() throws Throwable {
 		MIStoppedEvent stoppedEvent = SyncUtil
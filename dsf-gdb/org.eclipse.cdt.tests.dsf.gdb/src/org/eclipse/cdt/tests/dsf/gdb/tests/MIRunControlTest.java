@@ -16,6 +16,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.tests.dsf.gdb.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -23,13 +24,20 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateCountingRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.debug.service.IProcesses.IProcessDMContext;
 import org.eclipse.cdt.dsf.debug.service.IProcesses.IThreadDMContext;
@@ -42,6 +50,11 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.IStartedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
+import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.gdb.service.IGDBBackend;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
@@ -49,6 +62,7 @@ import org.eclipse.cdt.dsf.mi.service.IMIProcesses;
 import org.eclipse.cdt.dsf.mi.service.IMIRunControl;
 import org.eclipse.cdt.dsf.mi.service.MIProcesses;
 import org.eclipse.cdt.dsf.mi.service.MIRunControl;
+import org.eclipse.cdt.dsf.mi.service.MIStack;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
@@ -645,6 +659,78 @@ public class MIRunControlTest extends BaseParametrizedTestCase {
 		wait.waitReset();
 	}
 
+	/**
+	 * The top frames of several threads requested together, as the Debug view does after a
+	 * suspend, are fetched with a single -thread-info request.
+	 */
+	@Test
+	public void getTopFramesWithOneRequest() throws Throwable {
+		SyncUtil.runToLocation(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_ALL_THREADS_STARTED"));
+		final IMIExecutionDMContext[] threads = SyncUtil.getExecutionContexts();
+		assertTrue("Expected several threads", threads.length > 1);
+
+		final List<String> commands = new ArrayList<>();
+		final ICommandListener listener = new ICommandListener() {
+			@Override
+			public void commandQueued(ICommandToken token) {
+				commands.add(token.getCommand().toString());
+			}
+
+			@Override
+			public void commandSent(ICommandToken token) {
+			}
+
+			@Override
+			public void commandRemoved(ICommandToken token) {
+			}
+
+			@Override
+			public void commandDone(ICommandToken token, ICommandResult result) {
+			}
+		};
+		Query<IFrameDMData[]> query = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<IFrameDMData[]> rm) {
+				fGDBCtrl.addCommandListener(listener);
+				IStack stack = fServicesTracker.getService(IStack.class);
+				final IFrameDMData[] frames = new IFrameDMData[threads.length];
+				final CountingRequestMonitor countingRm = new ImmediateCountingRequestMonitor(rm) {
+					@Override
+					protected void handleSuccess() {
+						rm.done(frames);
+					}
+				};
+				countingRm.setDoneCount(threads.length);
+				for (int i = 0; i < threads.length; i++) {
+					final int index = i;
+					stack.getFrameData(((MIStack) stack).createFrameDMContext(threads[i], 0),
+							new ImmediateDataRequestMonitor<IFrameDMData>(countingRm) {
+								@Override
+								protected void handleSuccess() {
+									frames[index] = getData();
+									countingRm.done();
+								}
+							});
+				}
+			}
+		};
+		fGDBCtrl.getExecutor().execute(query);
+		IFrameDMData[] frames;
+		try {
+			frames = query.get(TestsPlugin.massageTimeout(2000), TimeUnit.MILLISECONDS);
+		} finally {
+			fGDBCtrl.getExecutor().submit(() -> fGDBCtrl.removeCommandListener(listener)).get();
+		}
+
+		assertEquals("Commands sent: " + commands, 1,
+				commands.stream().filter(c -> c.contains("-thread-info")).count());
+		assertEquals("Commands sent: " + commands, 0,
+				commands.stream().filter(c -> c.contains("-stack-list-frames")).count());
+		for (int i = 0; i < threads.length; i++) {
+			assertEquals(SyncUtil.getFrameData(threads[i], 0).getFunction(), frames[i].getFunction());
+		}
+	}
+
 	/**
 	 * Test that interrupting a running target works
 	 */
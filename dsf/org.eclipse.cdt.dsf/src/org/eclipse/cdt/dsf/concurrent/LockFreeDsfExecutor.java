@@ -0,0 +1,471 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DSF executor whose dispatch thread takes its tasks from a lock-free queue.
+ * <p>
+ * Tasks submitted for immediate execution are appended to a linked queue with a single
+ * atomic swap, any number of threads can submit tasks concurrently and the dispatch thread
+ * takes them without locking.  The dispatch thread is only woken up when it is waiting for
+ * tasks.  Delayed and periodic tasks go through the same queue and are then kept by the
+ * dispatch thread in a priority queue of their own, ordered by their time of execution.
+ * </p><p>
+ * Compared to {@link DefaultDsfExecutor}, this executor does not support the tracing of
+ * the executed runnables.  An exception thrown by a runnable passed to
+ * {@link #execute(Runnable)} is logged.  When this executor is shut down, the delayed
+ * tasks that are not periodic are still executed, as with
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}.  The tasks that did not start
+ * when {@link #shutdownNow()} is called are canceled, but are only returned if it is
+ * called in the dispatch thread.
+ * </p>
+ *
+ * @since 2.12
+ */
+public class LockFreeDsfExecutor extends AbstractExecutorService implements DsfExecutor {
+	/**
+	 * Instance counter for DSF executors.  Used in the executor's thread name.
+	 */
+	private static final AtomicInteger fgInstanceCounter = new AtomicInteger();
+
+	/**
+	 * The number of canceled delayed tasks above which they are removed from the queue
+	 * of delayed tasks, rather than when their time of execution is reached.
+	 */
+	private static final int PURGE_THRESHOLD = 64;
+
+	/** Element of the queue of tasks to execute */
+	private static final class Node {
+		Runnable fTask;
+		volatile Node fNext;
+
+		Node(Runnable task) {
+			fTask = task;
+		}
+	}
+
+	/** Last element of the queue, the element after which the submitting threads append tasks */
+	private final AtomicReference<Node> fTail;
+
+	/**
+	 * Element preceding the first task of the queue, only accessed in the dispatch thread.
+	 */
+	private Node fHead;
+
+	/**
+	 * Delayed tasks, ordered by their time of execution.  Only accessed in the dispatch thread.
+	 */
+	private final PriorityQueue<ScheduledTask<?>> fDelayedTasks = new PriorityQueue<>();
+
+	/** Number of canceled tasks that may still be in the queue of delayed tasks */
+	private final AtomicInteger fCanceledDelayedTasks = new AtomicInteger();
+
+	/** Used to execute the delayed tasks that have the same time of execution in order */
+	private final AtomicLong fSequencer = new AtomicLong();
+
+	private final Thread fThread;
+
+	/** Whether the dispatch thread is waiting, or about to wait, for tasks */
+	private volatile boolean fWaiting;
+
+	private volatile boolean fShutdown;
+	private volatile boolean fStopped;
+
+	/** Whether the dispatch thread stopped taking tasks from the queue */
+	private volatile boolean fExited;
+	private final CountDownLatch fTerminated = new CountDownLatch(1);
+
+	public LockFreeDsfExecutor() {
+		this("DSF Executor"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates and starts a new DSF Executor with the given name.
+	 * @param name Name used to create executor's thread.
+	 */
+	public LockFreeDsfExecutor(String name) {
+		Node stub = new Node(null);
+		fHead = stub;
+		fTail = new AtomicReference<>(stub);
+		String threadName = name + " - " + fgInstanceCounter.getAndIncrement(); //$NON-NLS-1$
+		fThread = new Thread(new ThreadGroup(threadName), this::dispatch, threadName, 0);
+		fThread.start();
+	}
+
+	@Override
+	public boolean isInExecutorThread() {
+		return Thread.currentThread() == fThread;
+	}
+
+	/**
+	 * Task that is executed after a delay, and possibly periodically.
+	 */
+	private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+		/** Time of execution, in nanoseconds */
+		private long fTime;
+
+		/**
+		 * Period in nanoseconds, positive for a fixed rate, negative for a fixed delay and
+		 * zero for a task that is not periodic.
+		 */
+		private final long fPeriod;
+		private final long fSequenceNumber = fSequencer.getAndIncrement();
+
+		ScheduledTask(Callable<V> callable, long time) {
+			super(callable);
+			fTime = time;
+			fPeriod = 0;
+		}
+
+		ScheduledTask(Runnable runnable, long time, long period) {
+			super(runnable, null);
+			fTime = time;
+			fPeriod = period;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(fTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (other == this) {
+				return 0;
+			}
+			if (other instanceof ScheduledTask) {
+				ScheduledTask<?> task = (ScheduledTask<?>) other;
+				long diff = fTime - task.fTime;
+				if (diff != 0) {
+					return diff < 0 ? -1 : 1;
+				}
+				return fSequenceNumber < task.fSequenceNumber ? -1 : 1;
+			}
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return fPeriod != 0;
+		}
+
+		boolean isDue(long now) {
+			return fTime - now <= 0;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean canceled = super.cancel(mayInterruptIfRunning);
+			if (canceled) {
+				fCanceledDelayedTasks.incrementAndGet();
+			}
+			return canceled;
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			} else if (runAndReset() && !fShutdown) {
+				fTime = fPeriod > 0 ? fTime + fPeriod : triggerTime(-fPeriod);
+				fDelayedTasks.add(this);
+			}
+		}
+	}
+
+	/**
+	 * Returns the time of execution of a task executed after the given delay, in nanoseconds.
+	 */
+	private static long triggerTime(long delay) {
+		// Avoid an overflow when comparing times
+		return System.nanoTime() + Math.min(Math.max(delay, 0), Long.MAX_VALUE >> 1);
+	}
+
+	/**
+	 * Appends a task to the queue, and wakes the dispatch thread up if it is waiting.
+	 */
+	private void enqueue(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		if (fShutdown) {
+			throw new RejectedExecutionException("Executor is shut down"); //$NON-NLS-1$
+		}
+		Node node = new Node(task);
+		fTail.getAndSet(node).fNext = node;
+		if (fExited) {
+			// The executor was shut down after the check above, and the dispatch thread
+			// may have drained the queue before the task was appended
+			if (task instanceof Future<?>) {
+				((Future<?>) task).cancel(false);
+			}
+			throw new RejectedExecutionException("Executor is shut down"); //$NON-NLS-1$
+		}
+		if (fWaiting) {
+			LockSupport.unpark(fThread);
+		}
+	}
+
+	/**
+	 * Takes the first task of the queue, only called in the dispatch thread.
+	 * @return the task or <code>null</code> if the queue is empty
+	 */
+	private Runnable poll() {
+		Node next = fHead.fNext;
+		if (next == null) {
+			if (fHead == fTail.get()) {
+				return null;
+			}
+			// A task is being appended, wait for it to be linked
+			do {
+				Thread.onSpinWait();
+				next = fHead.fNext;
+			} while (next == null);
+		}
+		fHead = next;
+		Runnable task = next.fTask;
+		next.fTask = null;
+		return task;
+	}
+
+	private boolean isQueueEmpty() {
+		return fHead.fNext == null && fHead == fTail.get();
+	}
+
+	/**
+	 * Main loop of the dispatch thread.
+	 */
+	private void dispatch() {
+		boolean shutdownHandled = false;
+		try {
+			while (!fStopped) {
+				Runnable task = poll();
+				if (task != null) {
+					if (task instanceof ScheduledTask<?> && !((ScheduledTask<?>) task).isDue(System.nanoTime())) {
+						fDelayedTasks.add((ScheduledTask<?>) task);
+					} else {
+						runDueTasks();
+						run(task);
+					}
+					continue;
+				}
+
+				if (runDueTasks()) {
+					continue;
+				}
+
+				if (fShutdown) {
+					if (!shutdownHandled) {
+						// Periodic tasks are not executed anymore after a shutdown
+						shutdownHandled = true;
+						fDelayedTasks.removeIf(t -> t.isPeriodic() && t.cancel(false));
+					}
+					fDelayedTasks.removeIf(Future::isCancelled);
+					if (fDelayedTasks.isEmpty() && isQueueEmpty()) {
+						break;
+					}
+				}
+
+				waitForTasks();
+			}
+		} finally {
+			// Don't leave the clients waiting for the tasks that won't be executed.  A task
+			// appended after this flag is set is rejected by the submitting thread.
+			fExited = true;
+			drainTasks();
+			fTerminated.countDown();
+		}
+	}
+
+	/**
+	 * Removes the tasks that did not start from the queues and cancels them.
+	 */
+	private List<Runnable> drainTasks() {
+		List<Runnable> tasks = new ArrayList<>();
+		for (Runnable task = poll(); task != null; task = poll()) {
+			tasks.add(task);
+		}
+		tasks.addAll(fDelayedTasks);
+		fDelayedTasks.clear();
+		for (Runnable task : tasks) {
+			if (task instanceof Future<?>) {
+				((Future<?>) task).cancel(false);
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * Executes the delayed tasks whose time of execution is reached.
+	 * @return whether a task was executed
+	 */
+	private boolean runDueTasks() {
+		if (fDelayedTasks.isEmpty()) {
+			return false;
+		}
+		if (fCanceledDelayedTasks.get() > PURGE_THRESHOLD) {
+			fCanceledDelayedTasks.set(0);
+			fDelayedTasks.removeIf(Future::isCancelled);
+		}
+		boolean executed = false;
+		long now = System.nanoTime();
+		ScheduledTask<?> next;
+		while (!fStopped && (next = fDelayedTasks.peek()) != null && next.isDue(now)) {
+			fDelayedTasks.poll();
+			if (!next.isCancelled()) {
+				run(next);
+				executed = true;
+			}
+		}
+		return executed;
+	}
+
+	private void run(Runnable task) {
+		try {
+			task.run();
+		} catch (RuntimeException | Error e) {
+			// Because there is no one else to catch it, it is a
+			// programming error.
+			DefaultDsfExecutor.logException(e);
+		}
+	}
+
+	/**
+	 * Waits until a task is submitted or the time of execution of the first delayed task
+	 * is reached.
+	 */
+	private void waitForTasks() {
+		fWaiting = true;
+		// Check the queue again, a task may have been submitted before it
+		// could see that this thread is waiting
+		if (isQueueEmpty() && !fStopped) {
+			// Don't let a task that interrupted this thread make it spin
+			Thread.interrupted();
+			ScheduledTask<?> next = fDelayedTasks.peek();
+			if (next == null) {
+				LockSupport.park(this);
+			} else {
+				LockSupport.parkNanos(this, next.fTime - System.nanoTime());
+			}
+		}
+		fWaiting = false;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		enqueue(command);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		ScheduledTask<?> task = new ScheduledTask<>(command, triggerTime(unit.toNanos(delay)), 0);
+		enqueue(task);
+		return task;
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		if (callable == null || unit == null) {
+			throw new NullPointerException();
+		}
+		ScheduledTask<V> task = new ScheduledTask<>(callable, triggerTime(unit.toNanos(delay)));
+		enqueue(task);
+		return task;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		if (period <= 0) {
+			throw new IllegalArgumentException();
+		}
+		ScheduledTask<?> task = new ScheduledTask<>(command, triggerTime(unit.toNanos(initialDelay)),
+				unit.toNanos(period));
+		enqueue(task);
+		return task;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		if (command == null || unit == null) {
+			throw new NullPointerException();
+		}
+		if (delay <= 0) {
+			throw new IllegalArgumentException();
+		}
+		ScheduledTask<?> task = new ScheduledTask<>(command, triggerTime(unit.toNanos(initialDelay)),
+				-unit.toNanos(delay));
+		enqueue(task);
+		return task;
+	}
+
+	@Override
+	public void shutdown() {
+		fShutdown = true;
+		LockSupport.unpark(fThread);
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		fShutdown = true;
+		fStopped = true;
+		if (isInExecutorThread()) {
+			return drainTasks();
+		}
+		fThread.interrupt();
+		LockSupport.unpark(fThread);
+		return new ArrayList<>();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return fShutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return fTerminated.getCount() == 0;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return fTerminated.await(timeout, unit);
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "[" + fThread.getName() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -323,7 +323,6 @@ public class DsfMemoryBlock extends PlatformObject implements IMemoryBlockExtens
 	/* (non-Javadoc)
 	 * @see org.eclipse.debug.core.model.IMemoryBlockExtension#getBytesFromAddress(java.math.BigInteger, long)
 	 */
-	@SuppressWarnings("null")
 	@Override
 	public MemoryByte[] getBytesFromAddress(BigInteger address, long units) throws DebugException {
 
@@ -333,10 +332,21 @@ public class DsfMemoryBlock extends PlatformObject implements IMemoryBlockExtens
 		} catch (DebugException e) {
 		}
 
-		if (isUseCacheData() && fBlockAddress.compareTo(address) == 0 && units * addressableSize <= fBlock.length)
-			return fBlock;
+		synchronized (this) {
+			if (isUseCacheData() && fBlockAddress.compareTo(address) == 0 && units * addressableSize <= fBlock.length)
+				return fBlock;
+		}
+
+		return updateBlock(address, fetchMemoryBlock(address, units), addressableSize);
+	}
 
-		MemoryByte[] newBlock = fetchMemoryBlock(address, units);
+	/**
+	 * Flags the bytes of a newly retrieved block that differ from the cached block and
+	 * replaces the cached block. The memory may be read by several threads at once, e.g. by
+	 * a memory search, hence the retrieval itself is done outside of the lock.
+	 */
+	@SuppressWarnings("null")
+	private synchronized MemoryByte[] updateBlock(BigInteger address, MemoryByte[] newBlock, int addressableSize) {
 		int newLength = (newBlock != null) ? newBlock.length : 0;
 
 		// If the retrieved block overlaps with the cached block, flag the changed bytes
@@ -506,7 +516,7 @@ public class DsfMemoryBlock extends PlatformObject implements IMemoryBlockExtens
 			fUseCachedData = true;
 		}
 
-		return fBlock;
+		return newBlock;
 	}
 
 	private boolean isReadableFlagSet(MemoryByte mb) {
@@ -707,8 +717,10 @@ public class DsfMemoryBlock extends PlatformObject implements IMemoryBlockExtens
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
 
 		// Clear the "Changed" flags after each run/resume/step
-		for (int i = 0; i < fLength; i++)
-			fBlock[i].setChanged(false);
+		synchronized (this) {
+			for (int i = 0; i < fLength; i++)
+				fBlock[i].setChanged(false);
+		}
 
 		// Generate the MemoryChangedEvents
 		handleMemoryChange(BigInteger.ZERO);
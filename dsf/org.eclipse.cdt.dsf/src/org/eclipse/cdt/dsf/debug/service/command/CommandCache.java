@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,10 +32,12 @@ import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.osgi.framework.BundleContext;
 
 /**
  * This is a utility class for caching results of commands--typically commands
@@ -49,6 +52,11 @@ import org.eclipse.core.runtime.Status;
  * did before the event. A reset can be done on the entire cache or on a per
  * context basis.
  *
+ * The number of results cached for each context is bounded, the least recently
+ * used results are evicted first.  Commands whose result can be obtained from
+ * the result of a pending command are not sent, see
+ * {@link ICommand#subsumes(ICommand)}.
+ *
  * @since 1.0
  */
 
@@ -81,6 +89,9 @@ public class CommandCache implements ICommandListener {
 
 		private ICommandToken fToken;
 
+		/** Commands whose results will be obtained from the result of this command */
+		private List<CommandInfo> fSubsumedCommands;
+
 		public CommandInfo(CommandStyle cmdstyle, ICommand<ICommandResult> cmd, DataRequestMonitor<ICommandResult> rm) {
 			fCmdStyle = cmdstyle;
 			fCommand = cmd;
@@ -109,6 +120,13 @@ public class CommandCache implements ICommandListener {
 			fCoalescedCmd = cmd;
 		}
 
+		void addSubsumedCommands(List<CommandInfo> cmds) {
+			if (fSubsumedCommands == null) {
+				fSubsumedCommands = new ArrayList<>();
+			}
+			fSubsumedCommands.addAll(cmds);
+		}
+
 		@Override
 		public boolean equals(Object other) {
 			if (!(other instanceof CommandInfo))
@@ -142,6 +160,94 @@ public class CommandCache implements ICommandListener {
 		}
 	}
 
+	/**
+	 * Results cached for a context, in the order they were used.
+	 */
+	private class ContextCache extends LinkedHashMap<CommandInfo, CommandResultInfo> {
+		private static final long serialVersionUID = 1L;
+
+		ContextCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CommandInfo, CommandResultInfo> eldest) {
+			if (size() > fMaxEntriesPerContext) {
+				fEvictions++;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Counters of the use of a command cache.
+	 * @since 2.12
+	 */
+	public static class Statistics {
+		private final long fHits;
+		private final long fMisses;
+		private final long fCoalesced;
+		private final long fEvictions;
+		private final int fSize;
+
+		public Statistics(long hits, long misses, long coalesced, long evictions, int size) {
+			fHits = hits;
+			fMisses = misses;
+			fCoalesced = coalesced;
+			fEvictions = evictions;
+			fSize = size;
+		}
+
+		/** Number of commands whose result was found in the cache */
+		public long getHits() {
+			return fHits;
+		}
+
+		/** Number of commands that were sent to the backend */
+		public long getMisses() {
+			return fMisses;
+		}
+
+		/**
+		 * Number of commands that were not sent because they were identical to, coalesced
+		 * with or subsumed by a pending command
+		 */
+		public long getCoalesced() {
+			return fCoalesced;
+		}
+
+		/** Number of results that were evicted to keep the cache within its bounds */
+		public long getEvictions() {
+			return fEvictions;
+		}
+
+		/** Number of results in the cache */
+		public int getSize() {
+			return fSize;
+		}
+
+		/**
+		 * Returns the sum of these counters and the given ones.
+		 */
+		public Statistics add(Statistics other) {
+			return new Statistics(fHits + other.fHits, fMisses + other.fMisses, fCoalesced + other.fCoalesced,
+					fEvictions + other.fEvictions, fSize + other.fSize);
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + fHits + ", misses=" + fMisses + ", coalesced=" + fCoalesced + ", evictions=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ fEvictions + ", size=" + fSize; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Default maximum number of results cached for a context.
+	 * @since 2.12
+	 */
+	public static final int DEFAULT_MAX_ENTRIES_PER_CONTEXT = 1000;
+
 	private DsfSession fSession;
 
 	/**
@@ -188,7 +294,14 @@ public class CommandCache implements ICommandListener {
 	 */
 	private Set<IDMContext> fAvailableContexts = new HashSet<>();
 
-	private Map<IDMContext, HashMap<CommandInfo, CommandResultInfo>> fCachedContexts = new HashMap<>();
+	private Map<IDMContext, ContextCache> fCachedContexts = new HashMap<>();
+
+	private int fMaxEntriesPerContext = DEFAULT_MAX_ENTRIES_PER_CONTEXT;
+
+	private long fHits;
+	private long fMisses;
+	private long fCoalesced;
+	private long fEvictions;
 
 	private ArrayList<CommandInfo> fPendingQCommandsSent = new ArrayList<>();
 
@@ -254,6 +367,54 @@ public class CommandCache implements ICommandListener {
 		 * their intended target via the ICommandControl service.
 		 */
 		fCommandControl.addCommandListener(this);
+
+		// Make the statistics of this cache available, if the session collects them
+		BundleContext bundleContext = DsfPlugin.getBundleContext();
+		if (bundleContext != null) {
+			DsfServicesTracker tracker = new DsfServicesTracker(bundleContext, session.getId());
+			ICommandCacheStatistics statistics = tracker.getService(ICommandCacheStatistics.class);
+			if (statistics != null) {
+				statistics.addCommandCache(this);
+			}
+			tracker.dispose();
+		}
+	}
+
+	/**
+	 * Sets the maximum number of results cached for a context.
+	 * @since 2.12
+	 */
+	public void setMaxEntriesPerContext(int maxEntries) {
+		assert maxEntries > 0;
+		fMaxEntriesPerContext = maxEntries;
+		for (ContextCache entries : fCachedContexts.values()) {
+			for (Iterator<CommandInfo> itr = entries.keySet().iterator(); entries.size() > maxEntries;) {
+				itr.next();
+				itr.remove();
+				fEvictions++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the counters of the use of this cache.
+	 * @since 2.12
+	 */
+	public Statistics getStatistics() {
+		int size = 0;
+		for (ContextCache entries : fCachedContexts.values()) {
+			size += entries.size();
+		}
+		return new Statistics(fHits, fMisses, fCoalesced, fEvictions, size);
+	}
+
+	private void cacheResult(IDMContext context, CommandInfo cmd, CommandResultInfo resultInfo) {
+		ContextCache entries = fCachedContexts.get(context);
+		if (entries == null) {
+			entries = new ContextCache();
+			fCachedContexts.put(context, entries);
+		}
+		entries.put(cmd, resultInfo);
 	}
 
 	/*
@@ -286,6 +447,9 @@ public class CommandCache implements ICommandListener {
 					 *  command which are referencing the command we just subsumed and change
 					 *  them to point to the new super command.
 					 */
+					if (currentUnsentEntry.fSubsumedCommands != null) {
+						coalescedCmdInfo.addSubsumedCommands(currentUnsentEntry.fSubsumedCommands);
+					}
 
 					for (CommandInfo waitingEntry : new ArrayList<>(fPendingQWaitingForCoalescedCompletion)) {
 
@@ -326,6 +490,15 @@ public class CommandCache implements ICommandListener {
 	 * well as its cache status.
 	 */
 	public <V extends ICommandResult> void execute(ICommand<V> command, DataRequestMonitor<V> rm) {
+		execute(command, rm, true);
+	}
+
+	/**
+	 * @param original whether the command is requested by a client, rather than sent again
+	 * because the pending command that subsumed it failed.
+	 */
+	private <V extends ICommandResult> void execute(ICommand<V> command, DataRequestMonitor<V> rm,
+			boolean original) {
 		assert fSession.getExecutor().isInExecutorThread();
 
 		// Cast the generic ?'s to concrete types in the cache implementation.
@@ -341,17 +514,19 @@ public class CommandCache implements ICommandListener {
 		/*
 		 * If command is already cached, just return the cached data.
 		 */
-		if (fCachedContexts.get(context) != null && fCachedContexts.get(context).containsKey(cachedCmd)) {
-			CommandResultInfo result = fCachedContexts.get(context).get(cachedCmd);
+		ContextCache entries = fCachedContexts.get(context);
+		CommandResultInfo cachedResult = entries != null ? entries.get(cachedCmd) : null;
+		if (cachedResult != null) {
+			fHits++;
 			debug(command.toString().trim());
-			if (result.getStatus().getSeverity() <= IStatus.INFO) {
+			if (cachedResult.getStatus().getSeverity() <= IStatus.INFO) {
 				@SuppressWarnings("unchecked")
-				V v = (V) result.getData();
+				V v = (V) cachedResult.getData();
 				rm.setData(v);
 				debug(v.toString());
 			} else {
-				rm.setStatus(result.getStatus());
-				debug(result.getStatus().toString());
+				rm.setStatus(cachedResult.getStatus());
+				debug(cachedResult.getStatus().toString());
 			}
 			rm.done();
 			return;
@@ -377,6 +552,8 @@ public class CommandCache implements ICommandListener {
 			if (sentCommand.equals(cachedCmd)) {
 				sentCommand.getRequestMonitorList().add(genericDone);
 				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
+				if (original)
+					fCoalesced++;
 				return;
 			}
 		}
@@ -384,10 +561,29 @@ public class CommandCache implements ICommandListener {
 			if (notYetSentCommand.equals(cachedCmd)) {
 				notYetSentCommand.getRequestMonitorList().add(genericDone);
 				debug(command.toString().trim(), "[SND]"); //$NON-NLS-1$
+				if (original)
+					fCoalesced++;
 				return;
 			}
 		}
 
+		/*
+		 *  If a pending command will return a result which contains the result of
+		 *  this command, wait for it rather than sending this command.
+		 */
+		if (original) {
+			for (List<CommandInfo> pendingCommands : List.of(fPendingQCommandsSent, fPendingQCommandsNotYetSent)) {
+				for (CommandInfo pendingCommand : pendingCommands) {
+					if (pendingCommand.getCommand().subsumes(genericCommand)) {
+						pendingCommand.addSubsumedCommands(List.of(cachedCmd));
+						debug(command.toString().trim(), "[SUB]"); //$NON-NLS-1$
+						fCoalesced++;
+						return;
+					}
+				}
+			}
+		}
+
 		/*
 		 *  We see if this command can be combined into a coalesced one. The
 		 *  coalesce routine will take care of the already enqueued one which
@@ -404,6 +600,10 @@ public class CommandCache implements ICommandListener {
 			fPendingQWaitingForCoalescedCompletion.add(cachedCmd);
 			cachedCmd.setCoalescedCmd(coalescedCmd);
 			cachedCmd = coalescedCmd;
+			if (original)
+				fCoalesced++;
+		} else if (original) {
+			fMisses++;
 		}
 
 		/*
@@ -482,13 +682,7 @@ public class CommandCache implements ICommandListener {
 									V subResult = (V) result.getSubsetResult(waitingEntry.getCommand());
 									CommandResultInfo subResultInfo = new CommandResultInfo(subResult, status);
 
-									if (fCachedContexts.get(context) != null) {
-										fCachedContexts.get(context).put(waitingEntry, subResultInfo);
-									} else {
-										HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-										map.put(waitingEntry, subResultInfo);
-										fCachedContexts.put(context, map);
-									}
+									cacheResult(context, waitingEntry, subResultInfo);
 
 									if (!isSuccess()) {
 
@@ -516,21 +710,15 @@ public class CommandCache implements ICommandListener {
 											vPendingRM.done();
 										}
 									}
+									completeSubsumedCommands(waitingEntry, subResult, status);
 								}
 							}
+							completeSubsumedCommands(finalCachedCmd, result, status);
 						} else {
 							// Save the command result in cache, but only if the command's context
 							// is still available.  Otherwise an error may get cached incorrectly.
 							if (isTargetAvailable(context)) {
-								CommandResultInfo resultInfo = new CommandResultInfo(result, status);
-
-								if (fCachedContexts.get(context) != null) {
-									fCachedContexts.get(context).put(finalCachedCmd, resultInfo);
-								} else {
-									HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-									map.put(finalCachedCmd, resultInfo);
-									fCachedContexts.put(context, map);
-								}
+								cacheResult(context, finalCachedCmd, new CommandResultInfo(result, status));
 							}
 							// This is an original request which completed. Indicate success or
 							// failure to the original requesters.
@@ -558,11 +746,47 @@ public class CommandCache implements ICommandListener {
 									vPendingRM.done();
 								}
 							}
+							completeSubsumedCommands(finalCachedCmd, result, status);
 						}
 					}
 				});
 	}
 
+	/**
+	 * Completes the commands that were subsumed by the given command, with the subset of
+	 * its result.  A subsumed command is sent if its result cannot be obtained, such as
+	 * when the given command failed.
+	 */
+	private void completeSubsumedCommands(CommandInfo cmd, ICommandResult result, IStatus status) {
+		List<CommandInfo> subsumedCommands = cmd.fSubsumedCommands;
+		if (subsumedCommands == null) {
+			return;
+		}
+		cmd.fSubsumedCommands = null;
+
+		for (CommandInfo subsumedCmd : subsumedCommands) {
+			ICommandResult subResult = null;
+			if (status.getSeverity() <= IStatus.INFO && result != null) {
+				subResult = result.getSubsetResult(subsumedCmd.getCommand());
+			}
+			if (subResult == null) {
+				for (DataRequestMonitor<ICommandResult> pendingRM : subsumedCmd.getRequestMonitorList()) {
+					execute(subsumedCmd.getCommand(), pendingRM, false);
+				}
+				continue;
+			}
+
+			IDMContext context = subsumedCmd.getCommand().getContext();
+			if (isTargetAvailable(context)) {
+				cacheResult(context, subsumedCmd, new CommandResultInfo(subResult, status));
+			}
+			for (DataRequestMonitor<ICommandResult> pendingRM : subsumedCmd.getRequestMonitorList()) {
+				pendingRM.setData(subResult);
+				pendingRM.done();
+			}
+		}
+	}
+
 	/**
 	 * TODO
 	 */
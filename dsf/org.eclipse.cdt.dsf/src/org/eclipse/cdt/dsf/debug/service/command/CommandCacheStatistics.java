@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Default implementation of {@link ICommandCacheStatistics}.  It should be
+ * started before the services that create command caches.
+ *
+ * @since 2.12
+ */
+public class CommandCacheStatistics extends AbstractDsfService implements ICommandCacheStatistics {
+
+	private final List<CommandCache> fCaches = new ArrayList<>();
+
+	public CommandCacheStatistics(DsfSession session) {
+		super(session);
+	}
+
+	@Override
+	public void initialize(final RequestMonitor rm) {
+		super.initialize(new ImmediateRequestMonitor(rm) {
+			@Override
+			protected void handleSuccess() {
+				register(new String[] { ICommandCacheStatistics.class.getName(),
+						CommandCacheStatistics.class.getName() }, new Hashtable<String, String>());
+				rm.done();
+			}
+		});
+	}
+
+	@Override
+	public void shutdown(RequestMonitor rm) {
+		unregister();
+		fCaches.clear();
+		super.shutdown(rm);
+	}
+
+	@Override
+	protected BundleContext getBundleContext() {
+		return DsfPlugin.getBundleContext();
+	}
+
+	@Override
+	public void addCommandCache(CommandCache cache) {
+		fCaches.add(cache);
+	}
+
+	@Override
+	public void getStatistics(DataRequestMonitor<CommandCache.Statistics> rm) {
+		CommandCache.Statistics statistics = new CommandCache.Statistics(0, 0, 0, 0, 0);
+		for (CommandCache cache : fCaches) {
+			statistics = statistics.add(cache.getStatistics());
+		}
+		rm.setData(statistics);
+		rm.done();
+	}
+}
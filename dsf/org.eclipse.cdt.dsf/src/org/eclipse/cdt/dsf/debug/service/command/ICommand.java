@@ -39,6 +39,19 @@ public interface ICommand<V extends ICommandResult> {
 	 */
 	public ICommand<? extends ICommandResult> coalesceWith(ICommand<? extends ICommandResult> command);
 
+	/**
+	 * Returns whether the result of this command contains the result of the
+	 * supplied command, such that the result of the supplied command can be
+	 * obtained from the result of this one with
+	 * {@link ICommandResult#getSubsetResult(ICommand)}.
+	 * <br>Note: the default implementation returns false.
+	 *
+	 * @since 2.12
+	 */
+	public default boolean subsumes(ICommand<? extends ICommandResult> command) {
+		return false;
+	}
+
 	/**
 	 * Returns the context that this command is to be evaluated in.  May be null
 	 * if the command does not need to be evaluated in a specific context.
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.service.IDsfService;
+
+/**
+ * Service that collects the counters of the command caches of a session, to
+ * show how effective the caches are.  The command caches created after this
+ * service is registered add themselves to it.
+ *
+ * @see CommandCache#getStatistics()
+ * @since 2.12
+ */
+public interface ICommandCacheStatistics extends IDsfService {
+	/**
+	 * Adds a command cache whose counters are collected.
+	 */
+	public void addCommandCache(CommandCache cache);
+
+	/**
+	 * Returns the sum of the counters of the command caches of the session.
+	 */
+	public void getStatistics(DataRequestMonitor<CommandCache.Statistics> rm);
+}
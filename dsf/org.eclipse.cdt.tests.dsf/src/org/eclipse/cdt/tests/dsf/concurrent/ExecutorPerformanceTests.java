@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.LockFreeDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests to measure the performance of the DSF executors with chains of request monitors,
+ * where the completion of each request monitor is a task of the executor.
+ */
+public class ExecutorPerformanceTests extends TestCase {
+
+	private static final int CHAIN_LENGTH = 100;
+	private static final int CHAINS = 1000;
+	private static final int SUBMITTERS = 4;
+
+	public ExecutorPerformanceTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Starts a chain of requests on the executor, the request monitor of each request is the
+	 * parent of the request monitor of the next one.  The last request completes on the executor
+	 * and the request monitors complete in turn.
+	 */
+	private static void startChain(final DsfExecutor executor, final int length, final RequestMonitor rm) {
+		executor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				if (length == 0) {
+					rm.done();
+				} else {
+					startChain(executor, length - 1, new RequestMonitor(executor, rm));
+				}
+			}
+		});
+	}
+
+	private static void runChains(DsfExecutor executor, int chains) throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(chains);
+		for (int i = 0; i < chains; i++) {
+			startChain(executor, CHAIN_LENGTH, new RequestMonitor(executor, null) {
+				@Override
+				protected void handleCompleted() {
+					done.countDown();
+				}
+			});
+		}
+		assertTrue(done.await(60, TimeUnit.SECONDS));
+	}
+
+	private void measureChains(DsfExecutor executor) throws InterruptedException {
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(perf.getDefaultScenarioId(this));
+		try {
+			for (int x = 0; x < 20; x++) {
+				System.gc();
+				meter.start();
+				runChains(executor, CHAINS);
+				meter.stop();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Several threads start chains at the same time, such as the threads reading the output
+	 * of the debugger and the threads of the views.
+	 */
+	private void measureConcurrentChains(final DsfExecutor executor) throws InterruptedException {
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(perf.getDefaultScenarioId(this));
+		try {
+			for (int x = 0; x < 20; x++) {
+				System.gc();
+				final CountDownLatch done = new CountDownLatch(SUBMITTERS);
+				meter.start();
+				for (int t = 0; t < SUBMITTERS; t++) {
+					new Thread(() -> {
+						try {
+							runChains(executor, CHAINS / SUBMITTERS);
+						} catch (InterruptedException e) {
+						}
+						done.countDown();
+					}).start();
+				}
+				assertTrue(done.await(60, TimeUnit.SECONDS));
+				meter.stop();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+			executor.shutdown();
+		}
+	}
+
+	public void testRmChainsDefaultExecutor() throws InterruptedException {
+		measureChains(new DefaultDsfExecutor());
+	}
+
+	public void testRmChainsLockFreeExecutor() throws InterruptedException {
+		measureChains(new LockFreeDsfExecutor());
+	}
+
+	public void testConcurrentRmChainsDefaultExecutor() throws InterruptedException {
+		measureConcurrentChains(new DefaultDsfExecutor());
+	}
+
+	public void testConcurrentRmChainsLockFreeExecutor() throws InterruptedException {
+		measureConcurrentChains(new LockFreeDsfExecutor());
+	}
+}
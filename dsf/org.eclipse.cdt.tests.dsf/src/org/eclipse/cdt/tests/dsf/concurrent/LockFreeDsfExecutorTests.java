@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.LockFreeDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that exercise the lock-free DSF executor.
+ */
+public class LockFreeDsfExecutorTests {
+	LockFreeDsfExecutor fExecutor;
+
+	@Before
+	public void startExecutor() {
+		fExecutor = new LockFreeDsfExecutor();
+	}
+
+	@After
+	public void shutdownExecutor() throws InterruptedException {
+		fExecutor.shutdownNow();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		fExecutor = null;
+	}
+
+	@Test
+	public void executeInOrderTest() throws Exception {
+		final List<Integer> executed = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			final int value = i;
+			fExecutor.execute(() -> {
+				assertTrue(fExecutor.isInExecutorThread());
+				executed.add(value);
+			});
+		}
+		fExecutor.submit(() -> {
+		}).get();
+		assertEquals(1000, executed.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, (int) executed.get(i));
+		}
+		assertFalse(fExecutor.isInExecutorThread());
+	}
+
+	@Test
+	public void concurrentSubmittersTest() throws Exception {
+		final int threads = 8;
+		final int tasks = 100000;
+		final AtomicInteger count = new AtomicInteger();
+		final int[] unsynchronizedCount = new int[1];
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			new Thread(() -> {
+				for (int i = 0; i < tasks; i++) {
+					fExecutor.execute(() -> {
+						// Confined to the executor thread
+						unsynchronizedCount[0]++;
+						count.incrementAndGet();
+					});
+				}
+				done.countDown();
+			}).start();
+		}
+		assertTrue(done.await(60, TimeUnit.SECONDS));
+		fExecutor.submit(() -> {
+		}).get(60, TimeUnit.SECONDS);
+		assertEquals(threads * tasks, count.get());
+		assertEquals(threads * tasks, fExecutor.submit(() -> unsynchronizedCount[0]).get().intValue());
+	}
+
+	@Test
+	public void queryTest() throws Exception {
+		Query<Integer> q = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<Integer> rm) {
+				fExecutor.schedule(() -> {
+					rm.setData(1);
+					rm.done();
+				}, 10, TimeUnit.MILLISECONDS);
+			}
+		};
+		fExecutor.execute(q);
+		assertEquals(1, (int) q.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void exceptionTest() throws Exception {
+		fExecutor.execute(() -> {
+			throw new IllegalStateException("Expected by the test"); //$NON-NLS-1$
+		});
+		Future<?> future = fExecutor.submit(() -> {
+			throw new IllegalStateException("Expected by the test"); //$NON-NLS-1$
+		});
+		try {
+			future.get();
+			fail("Expected an exception"); //$NON-NLS-1$
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		// The executor thread is still alive
+		assertEquals(Integer.valueOf(2), fExecutor.submit(() -> 2).get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void scheduleOrderTest() throws Exception {
+		final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+		fExecutor.schedule(() -> executed.add(3), 60, TimeUnit.MILLISECONDS);
+		fExecutor.schedule(() -> executed.add(2), 30, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> canceled = fExecutor.schedule(() -> executed.add(-1), 20, TimeUnit.MILLISECONDS);
+		fExecutor.schedule(() -> executed.add(1), 0, TimeUnit.MILLISECONDS);
+		fExecutor.execute(() -> executed.add(0));
+		assertTrue(canceled.cancel(false));
+		ScheduledFuture<Integer> last = fExecutor.schedule(() -> executed.size(), 100, TimeUnit.MILLISECONDS);
+		assertEquals(4, last.get(10, TimeUnit.SECONDS).intValue());
+		assertEquals(Integer.valueOf(3), executed.get(3));
+		assertTrue(executed.indexOf(2) > Math.max(executed.indexOf(0), executed.indexOf(1)));
+		assertFalse(executed.contains(-1));
+	}
+
+	@Test
+	public void periodicTest() throws Exception {
+		final CountDownLatch fixedRate = new CountDownLatch(5);
+		final CountDownLatch fixedDelay = new CountDownLatch(5);
+		ScheduledFuture<?> rate = fExecutor.scheduleAtFixedRate(fixedRate::countDown, 0, 5, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> delay = fExecutor.scheduleWithFixedDelay(fixedDelay::countDown, 0, 5,
+				TimeUnit.MILLISECONDS);
+		assertTrue(fixedRate.await(10, TimeUnit.SECONDS));
+		assertTrue(fixedDelay.await(10, TimeUnit.SECONDS));
+		assertTrue(rate.cancel(false));
+		assertTrue(delay.cancel(false));
+		assertTrue(rate.isCancelled());
+	}
+
+	@Test
+	public void shutdownTest() throws Exception {
+		final CountDownLatch delayed = new CountDownLatch(1);
+		fExecutor.schedule(delayed::countDown, 20, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> periodic = fExecutor.scheduleAtFixedRate(() -> {
+		}, 1, 1, TimeUnit.HOURS);
+		fExecutor.execute(() -> fExecutor.shutdown());
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		// The delayed task was executed, the periodic task was canceled
+		assertEquals(0, delayed.getCount());
+		assertTrue(periodic.isCancelled());
+		assertTrue(fExecutor.isShutdown());
+		assertTrue(fExecutor.isTerminated());
+		try {
+			fExecutor.execute(() -> {
+			});
+			fail("Expected a rejected execution"); //$NON-NLS-1$
+		} catch (RejectedExecutionException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void shutdownNowTest() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		fExecutor.execute(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				// Interrupted by shutdownNow()
+			}
+		});
+		Future<?> pending = fExecutor.submit(() -> {
+		});
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		fExecutor.shutdownNow();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		assertTrue(pending.isCancelled());
+	}
+
+	@Test
+	public void submitWhileShuttingDownTest() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			final LockFreeDsfExecutor executor = new LockFreeDsfExecutor();
+			final List<Future<?>> accepted = Collections.synchronizedList(new ArrayList<>());
+			final CountDownLatch start = new CountDownLatch(1);
+			List<Thread> submitters = new ArrayList<>();
+			for (int j = 0; j < 4; j++) {
+				Thread submitter = new Thread(() -> {
+					try {
+						start.await();
+						while (true) {
+							accepted.add(executor.submit(() -> {
+							}));
+						}
+					} catch (RejectedExecutionException | InterruptedException e) {
+						// The executor is shut down
+					}
+				});
+				submitter.start();
+				submitters.add(submitter);
+			}
+			start.countDown();
+			Thread.sleep(1);
+			executor.shutdown();
+			for (Thread submitter : submitters) {
+				submitter.join(10000);
+			}
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			// Every accepted task was either executed or canceled
+			synchronized (accepted) {
+				for (Future<?> future : accepted) {
+					assertTrue(future.isDone());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.debug;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.internal.DsfPlugin;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bounds, the coalescing and the counters of the command cache, with commands
+ * that read a range of values and are completed by the tests.
+ */
+public class CommandCacheTests {
+
+	private TestDsfExecutor fExecutor;
+	private DsfSession fSession;
+	private TestCommandControl fCommandControl;
+	private CommandCache fCache;
+	private TestContext fContext;
+
+	/**
+	 * Reads the values from <code>low</code> to <code>high</code>, inclusive.
+	 */
+	private static class RangeCommand implements ICommand<RangeResult> {
+		final IDMContext fContext;
+		final int fLow;
+		final int fHigh;
+
+		RangeCommand(IDMContext context, int low, int high) {
+			fContext = context;
+			fLow = low;
+			fHigh = high;
+		}
+
+		@Override
+		public ICommand<? extends ICommandResult> coalesceWith(ICommand<? extends ICommandResult> command) {
+			return null;
+		}
+
+		@Override
+		public boolean subsumes(ICommand<? extends ICommandResult> command) {
+			if (!(command instanceof RangeCommand)) {
+				return false;
+			}
+			RangeCommand other = (RangeCommand) command;
+			return fContext.equals(other.fContext) && fLow <= other.fLow && other.fHigh <= fHigh;
+		}
+
+		@Override
+		public IDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof RangeCommand)) {
+				return false;
+			}
+			RangeCommand other = (RangeCommand) obj;
+			return fContext.equals(other.fContext) && fLow == other.fLow && fHigh == other.fHigh;
+		}
+
+		@Override
+		public int hashCode() {
+			return fContext.hashCode() + 31 * fLow + 961 * fHigh;
+		}
+
+		@Override
+		public String toString() {
+			return "range " + fLow + ' ' + fHigh; //$NON-NLS-1$
+		}
+	}
+
+	private static class RangeResult implements ICommandResult {
+		final int fLow;
+		final int fHigh;
+		// Whether a subset of the values can be obtained
+		final boolean fDivisible;
+
+		RangeResult(int low, int high, boolean divisible) {
+			fLow = low;
+			fHigh = high;
+			fDivisible = divisible;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <V extends ICommandResult> V getSubsetResult(ICommand<V> command) {
+			if (!fDivisible) {
+				return null;
+			}
+			RangeCommand range = (RangeCommand) command;
+			return (V) new RangeResult(range.fLow, range.fHigh, true);
+		}
+	}
+
+	private static class RangeRequestMonitor extends DataRequestMonitor<RangeResult> {
+		boolean fDone;
+
+		RangeRequestMonitor() {
+			super(ImmediateExecutor.getInstance(), null);
+		}
+
+		@Override
+		protected void handleCompleted() {
+			fDone = true;
+		}
+	}
+
+	private static class TestContext extends AbstractDMContext {
+		TestContext(String sessionId) {
+			super(sessionId, new IDMContext[0]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode();
+		}
+	}
+
+	/**
+	 * Queues the commands until the tests complete them.
+	 */
+	private static class TestCommandControl implements ICommandControl {
+		final List<ICommandListener> fListeners = new ArrayList<>();
+		final List<ICommand<?>> fQueued = new ArrayList<>();
+		final List<DataRequestMonitor<?>> fRequestMonitors = new ArrayList<>();
+
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				DataRequestMonitor<V> rm) {
+			ICommandToken token = () -> command;
+			fQueued.add(command);
+			fRequestMonitors.add(rm);
+			for (ICommandListener listener : fListeners) {
+				listener.commandQueued(token);
+			}
+			return token;
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+			int index = fQueued.indexOf(token.getCommand());
+			fQueued.remove(index);
+			fRequestMonitors.remove(index);
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+			fListeners.add(listener);
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+			fListeners.remove(listener);
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+
+		@SuppressWarnings("unchecked")
+		void complete(int index, RangeResult result) {
+			fQueued.remove(index);
+			DataRequestMonitor<RangeResult> rm = (DataRequestMonitor<RangeResult>) fRequestMonitors.remove(index);
+			if (result != null) {
+				rm.setData(result);
+			} else {
+				rm.setStatus(new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, "Expected by the test")); //$NON-NLS-1$
+			}
+			rm.done();
+		}
+	}
+
+	@Before
+	public void startCache() throws Exception {
+		fExecutor = new TestDsfExecutor();
+		fSession = callInExecutor(() -> DsfSession.startSession(fExecutor, "org.eclipse.cdt.tests.dsf")); //$NON-NLS-1$
+		fContext = new TestContext(fSession.getId());
+		fCommandControl = new TestCommandControl();
+		fCache = callInExecutor(() -> {
+			CommandCache cache = new CommandCache(fSession, fCommandControl);
+			cache.setContextAvailable(fContext, true);
+			return cache;
+		});
+	}
+
+	@After
+	public void endSession() throws Exception {
+		callInExecutor(() -> {
+			DsfSession.endSession(fSession);
+			return null;
+		});
+		fExecutor.shutdown();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		assertFalse(fExecutor.exceptionsCaught());
+	}
+
+	private <T> T callInExecutor(Callable<T> callable) throws Exception {
+		return fExecutor.submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private RangeRequestMonitor execute(final int low, final int high) throws Exception {
+		return callInExecutor(() -> {
+			RangeRequestMonitor rm = new RangeRequestMonitor();
+			fCache.execute(new RangeCommand(fContext, low, high), rm);
+			return rm;
+		});
+	}
+
+	private void complete(final int index, final RangeResult result) throws Exception {
+		callInExecutor(() -> {
+			fCommandControl.complete(index, result);
+			return null;
+		});
+	}
+
+	@Test
+	public void testHitsAndMisses() throws Exception {
+		RangeRequestMonitor first = execute(0, 9);
+		RangeRequestMonitor identical = execute(0, 9);
+		assertEquals(1, fCommandControl.fQueued.size());
+		complete(0, new RangeResult(0, 9, true));
+		assertTrue(first.isSuccess());
+		assertTrue(identical.isSuccess());
+
+		RangeRequestMonitor cached = execute(0, 9);
+		assertTrue(cached.fDone);
+		assertEquals(first.getData(), cached.getData());
+
+		CommandCache.Statistics statistics = callInExecutor(() -> fCache.getStatistics());
+		assertEquals(1, statistics.getHits());
+		assertEquals(1, statistics.getMisses());
+		assertEquals(1, statistics.getCoalesced());
+		assertEquals(1, statistics.getSize());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() throws Exception {
+		callInExecutor(() -> {
+			fCache.setMaxEntriesPerContext(3);
+			return null;
+		});
+		for (int i = 0; i < 3; i++) {
+			execute(i, i);
+			complete(0, new RangeResult(i, i, false));
+		}
+		// Use the first entry so that the second one is the least recently used
+		assertTrue(execute(0, 0).fDone);
+		execute(3, 3);
+		complete(0, new RangeResult(3, 3, false));
+
+		assertTrue(execute(0, 0).fDone);
+		assertFalse(execute(1, 1).fDone);
+		CommandCache.Statistics statistics = callInExecutor(() -> fCache.getStatistics());
+		assertEquals(1, statistics.getEvictions());
+		assertEquals(3, statistics.getSize());
+	}
+
+	@Test
+	public void testSubsumedCommand() throws Exception {
+		execute(0, 99);
+		RangeRequestMonitor subsumed = execute(10, 19);
+		RangeRequestMonitor other = execute(90, 109);
+		assertEquals(2, fCommandControl.fQueued.size());
+
+		complete(0, new RangeResult(0, 99, true));
+		assertTrue(subsumed.isSuccess());
+		assertEquals(10, subsumed.getData().fLow);
+		assertEquals(19, subsumed.getData().fHigh);
+		assertFalse(other.fDone);
+
+		// The subset result is cached
+		assertTrue(execute(10, 19).fDone);
+		CommandCache.Statistics statistics = callInExecutor(() -> fCache.getStatistics());
+		assertEquals(1, statistics.getHits());
+		assertEquals(2, statistics.getMisses());
+		assertEquals(1, statistics.getCoalesced());
+	}
+
+	@Test
+	public void testSubsumedCommandIsSentOnFailure() throws Exception {
+		execute(0, 99);
+		RangeRequestMonitor subsumed = execute(10, 19);
+		complete(0, null);
+		assertFalse(subsumed.fDone);
+		assertEquals(1, fCommandControl.fQueued.size());
+		assertEquals(new RangeCommand(fContext, 10, 19), fCommandControl.fQueued.get(0));
+
+		complete(0, new RangeResult(10, 19, true));
+		assertTrue(subsumed.isSuccess());
+		// Sending it again is not counted as another request
+		assertEquals(1, callInExecutor(() -> fCache.getStatistics()).getMisses());
+	}
+
+	@Test
+	public void testSubsumedCommandIsSentWithoutSubset() throws Exception {
+		execute(0, 99);
+		RangeRequestMonitor subsumed = execute(10, 19);
+		complete(0, new RangeResult(0, 99, false));
+		assertFalse(subsumed.fDone);
+		complete(0, new RangeResult(10, 19, false));
+		assertTrue(subsumed.isSuccess());
+	}
+}
@@ -14,7 +14,7 @@
 package org.eclipse.cdt.debug.core.memory.tests;
 
 import java.math.BigInteger;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
@@ -33,36 +33,26 @@ final class EmulateMemory implements WriteMemory, IReadMemory {
 
 	private final BigInteger addressable;
 	private final BigInteger base;
-	//FIXME: needs improvements, assumes identical pattern during write and read
-	private final Map<BigInteger, byte[]> storage;
+	private final Map<BigInteger, Byte> storage;
 
 	EmulateMemory(BigInteger addressable, BigInteger base) {
 		this.addressable = addressable;
 		this.base = base;
-		this.storage = new LinkedHashMap<>();
+		this.storage = new HashMap<>();
 	}
 
 	@Override
 	public MemoryByte[] from(BigInteger offset, long units) throws DebugException {
 		int length = (int) (units * addressable.longValue());
 		MemoryByte[] result = new MemoryByte[length];
-		int i = 0;
-		while (i < length) {
-			byte[] raw = storage.getOrDefault(offset.add(BigInteger.valueOf(i)), new byte[0]);
-			int obtained = raw.length;
-			if (obtained > 0) {
-				for (int j = 0; j < obtained; j++) {
-					result[i + j] = new MemoryByte(raw[j]);
-				}
-				i = i + obtained;
+		for (int i = 0; i < length; i++) {
+			Byte value = storage.get(offset.add(BigInteger.valueOf(i)));
+			if (value != null) {
+				result[i] = new MemoryByte(value);
 			} else {
-				//unreachable with current test data
 				MemoryByte unavailable = new MemoryByte();
 				unavailable.setReadable(false);
-				for (int j = i; j < length; j++) {
-					result[i + j] = unavailable;
-				}
-				i = length;
+				result[i] = unavailable;
 			}
 		}
 		return result;
@@ -70,7 +60,9 @@ final class EmulateMemory implements WriteMemory, IReadMemory {
 
 	@Override
 	public void to(BigInteger offset, byte[] data) throws DebugException {
-		storage.put(base.add(offset), data);
+		for (int i = 0; i < data.length; i++) {
+			storage.put(base.add(offset).add(BigInteger.valueOf(i)), data[i]);
+		}
 	}
 
 	@Override
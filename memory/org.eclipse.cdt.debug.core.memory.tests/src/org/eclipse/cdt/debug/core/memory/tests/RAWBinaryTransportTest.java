@@ -13,18 +13,22 @@
  *******************************************************************************/
 package org.eclipse.cdt.debug.core.memory.tests;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
+import org.eclipse.cdt.debug.core.memory.transport.FileExport;
 import org.eclipse.cdt.debug.core.memory.transport.ImportRequest;
 import org.eclipse.cdt.debug.internal.core.memory.transport.RAWBinaryExport;
 import org.eclipse.cdt.debug.internal.core.memory.transport.RAWBinaryImport;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -57,6 +61,58 @@ public final class RAWBinaryTransportTest {
 		transport("memory_10001.bin", end); //$NON-NLS-1$
 	}
 
+	@Test
+	public void cancelKeepsPartialFile() throws CoreException, IOException {
+		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
+		File input = new InputFile("memory_10001.bin").get(); //$NON-NLS-1$
+		new RAWBinaryImport(input, new ImportRequest(base, start, memory), new CollectScrolls())//
+				.run(new NullProgressMonitor());
+		File output = new OutputFile("memory_10001_canceled.bin").get(); //$NON-NLS-1$
+		// Cancel while the first block is transferred
+		NullProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public void subTask(String name) {
+				setCanceled(true);
+			}
+		};
+		BigInteger end = start.add(new BigInteger("10001", 16)); //$NON-NLS-1$
+		new RAWBinaryExport(output, new ExportRequest(start, end, BigInteger.ONE, memory)).run(monitor);
+		byte[] expected = read(input);
+		byte[] actual = read(output);
+		Assert.assertTrue(actual.length > 0 && actual.length < expected.length);
+		Assert.assertArrayEquals(Arrays.copyOf(expected, actual.length), actual);
+	}
+
+	@Test
+	public void overriddenOutputIsUsed() throws CoreException {
+		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
+		File output = new OutputFile("memory_overridden.bin").get(); //$NON-NLS-1$
+		output.delete();
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		BigInteger end = start.add(new BigInteger("ff", 16)); //$NON-NLS-1$
+		new FileExport(output, new ExportRequest(start, end, BigInteger.ONE, memory)) {
+
+			@SuppressWarnings("deprecation")
+			@Override
+			protected OutputStream output(File file) {
+				return stream;
+			}
+
+			@Override
+			protected BigInteger chunkSize() {
+				return BigInteger.ONE;
+			}
+
+			@Override
+			protected void transfer(OutputStream out, BigInteger factor, IProgressMonitor monitor)
+					throws IOException {
+				out.write(new byte[] { 1, 2, 3 });
+			}
+		}.run(new NullProgressMonitor());
+		Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, stream.toByteArray());
+		Assert.assertFalse(output.exists());
+	}
+
 	private void transport(String name, BigInteger end) throws CoreException, IOException {
 		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
 		CollectScrolls scroll = new CollectScrolls();
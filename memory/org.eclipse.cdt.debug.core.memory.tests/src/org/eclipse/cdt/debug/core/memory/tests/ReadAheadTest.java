@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.tests;
+
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+import org.eclipse.cdt.debug.internal.core.memory.transport.ReadAhead;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class ReadAheadTest {
+
+	private static final BigInteger BLOCK = BigInteger.valueOf(16);
+
+	private static boolean isReading() {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (ReadAhead.THREAD_NAME.equals(thread.getName()) && thread.isAlive())
+				return true;
+		}
+		return false;
+	}
+
+	private static void assertStopsReading() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (isReading() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assert.assertFalse(isReading());
+	}
+
+	@Test
+	public void readsAllBlocks() throws DebugException, InterruptedException {
+		IReadMemory memory = (address, units) -> {
+			MemoryByte[] bytes = new MemoryByte[(int) units];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = new MemoryByte((byte) (address.intValue() + i));
+			}
+			return bytes;
+		};
+		try (ReadAhead reader = new ReadAhead(memory, BigInteger.ZERO, BigInteger.valueOf(100), BLOCK,
+				BigInteger.ONE)) {
+			BigInteger address = BigInteger.ZERO;
+			for (ReadAhead.Block block; (block = reader.next(new NullProgressMonitor())) != null;) {
+				Assert.assertEquals(address, block.address());
+				Assert.assertEquals(block.length().intValue(), block.bytes().length);
+				Assert.assertEquals((byte) address.intValue(), block.bytes()[0].getValue());
+				address = address.add(block.length());
+			}
+			Assert.assertEquals(BigInteger.valueOf(100), address);
+		}
+		assertStopsReading();
+	}
+
+	@Test
+	public void closeStopsReaderThatFailsWhenInterrupted() throws InterruptedException {
+		final int queued = 4;
+		final AtomicInteger reads = new AtomicInteger();
+		final CountDownLatch blocked = new CountDownLatch(1);
+		// The read that waits for the consumer turns the interruption into an error, which
+		// cannot be queued as the consumer no longer takes the blocks.
+		IReadMemory memory = (address, units) -> {
+			if (reads.incrementAndGet() > queued) {
+				blocked.countDown();
+				try {
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					throw new DebugException(new Status(IStatus.ERROR, getClass().getName(), "Interrupted")); //$NON-NLS-1$
+				}
+			}
+			return new MemoryByte[(int) units];
+		};
+		ReadAhead reader = new ReadAhead(memory, BigInteger.ZERO, BLOCK.multiply(BigInteger.TEN), BLOCK,
+				BigInteger.ONE);
+		Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		reader.close();
+		assertStopsReading();
+	}
+}
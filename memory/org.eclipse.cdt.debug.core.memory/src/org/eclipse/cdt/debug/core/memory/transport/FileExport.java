@@ -19,6 +19,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.eclipse.cdt.debug.internal.core.memory.transport.Messages;
 import org.eclipse.core.runtime.CoreException;
@@ -43,6 +46,8 @@ public abstract class FileExport implements ICoreRunnable {
 	protected final IReadMemory read;
 
 	private final File file;
+	private long transferStarted;
+	private long transferred;
 
 	protected FileExport(File input, ExportRequest request) {
 		this.file = input;
@@ -54,7 +59,7 @@ public abstract class FileExport implements ICoreRunnable {
 
 	@Override
 	public void run(IProgressMonitor monitor) throws CoreException {
-		try (OutputStream output = output(file)) {
+		try {
 			BigInteger jobs = end.subtract(start).divide(chunkSize());
 			BigInteger factor = BigInteger.ONE;
 			if (jobs.compareTo(BigInteger.valueOf(0x7FFFFFFF)) > 0) {
@@ -62,8 +67,17 @@ public abstract class FileExport implements ICoreRunnable {
 				jobs = jobs.divide(factor);
 			}
 			monitor.beginTask(Messages.FileExport_task_transferring, jobs.intValue());
-			transfer(output, factor, monitor);
-			output.flush();
+			transferStarted = System.currentTimeMillis();
+			if (overridesOutput()) {
+				// Keep writing through the stream of subclasses that still provide their own
+				try (OutputStream output = output(file)) {
+					transfer(output, factor, monitor);
+				}
+			} else {
+				try (FileChannel channel = channel(file)) {
+					transfer(channel, factor, monitor);
+				}
+			}
 		} catch (IOException ex) {
 			requestFailed(Messages.FileExport_e_write_file, ex);
 		} catch (DebugException ex) {
@@ -81,12 +95,59 @@ public abstract class FileExport implements ICoreRunnable {
 	 * @param file to export to
 	 * @return writer instance
 	 * @throws IOException
+	 * @deprecated the file is written through {@link #channel(File)}, unless a subclass
+	 *             overrides this method, in which case the file is written through the
+	 *             returned stream
 	 */
+	@Deprecated
 	protected OutputStream output(File file) throws IOException {
 		file.getParentFile().mkdirs();
 		return new BufferedOutputStream(new FileOutputStream(file));
 	}
 
+	private boolean overridesOutput() {
+		for (Class<?> type = getClass(); type != FileExport.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod("output", File.class); //$NON-NLS-1$
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Look in the superclass
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates the channel for the given file
+	 *
+	 * @param file to export to
+	 * @return channel instance
+	 * @throws IOException
+	 * @since 0.3
+	 */
+	protected FileChannel channel(File file) throws IOException {
+		file.getParentFile().mkdirs();
+		return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Transfers the memory to the given channel. By default the memory is transferred through
+	 * {@link #transfer(OutputStream, BigInteger, IProgressMonitor)}. The data transferred so far
+	 * is written to the file when the transfer fails or is canceled.
+	 *
+	 * @since 0.3
+	 */
+	protected void transfer(FileChannel channel, BigInteger factor, IProgressMonitor monitor)
+			throws IOException, DebugException {
+		OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+		try {
+			transfer(output, factor, monitor);
+		} finally {
+			output.flush();
+		}
+	}
+
 	/**
 	 * Determines the data chunk to use for export
 	 *
@@ -98,7 +159,13 @@ public abstract class FileExport implements ICoreRunnable {
 			throws IOException, DebugException;
 
 	protected String transferring(BigInteger length, BigInteger address) {
-		return String.format(Messages.FileExport_sub_transferring, length.toString(10), address.toString(16));
+		long elapsed = System.currentTimeMillis() - transferStarted;
+		String message = String.format(Messages.FileExport_sub_transferring, length.toString(10), address.toString(16));
+		if (elapsed > 0 && transferred > 0) {
+			message = String.format(Messages.FileExport_sub_throughput, message, transferred / elapsed);
+		}
+		transferred += length.longValue();
+		return message;
 	}
 
 	protected void requestFailed(String message, Throwable exception) throws DebugException {
@@ -20,6 +20,7 @@ public class Messages extends NLS {
 	public static String FileExport_e_export_memory;
 	public static String FileExport_e_read_target;
 	public static String FileExport_e_write_file;
+	public static String FileExport_sub_throughput;
 	public static String FileExport_sub_transferring;
 	public static String FileExport_task_transferring;
 	public static String FileImport_e_import_file;
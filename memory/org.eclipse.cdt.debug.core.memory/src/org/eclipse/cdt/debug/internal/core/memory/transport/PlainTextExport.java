@@ -18,6 +18,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
@@ -27,6 +29,9 @@ import org.eclipse.debug.core.model.MemoryByte;
 
 public final class PlainTextExport extends FileExport {
 
+	/** Number of lines read from the target at once */
+	private static final int LINES_PER_BLOCK = 2048;
+
 	public PlainTextExport(File output, ExportRequest request) {
 		super(output, request);
 	}
@@ -46,41 +51,38 @@ public final class PlainTextExport extends FileExport {
 	@Override
 	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException {
-		// These variables control how the output will be formatted
-		// The output data is split by chunks of 1 addressable unit size.
-		final BigInteger dataCellSize = BigInteger.valueOf(1);
-		BigInteger transferAddress = start;
+		final HexFormat hex = HexFormat.of().withUpperCase();
+		final int unitSize = addressable.intValue();
 		BigInteger jobCount = BigInteger.ZERO;
 		BigInteger dataCellsPerLine = chunkSize();
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = dataCellsPerLine;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
-			}
-			monitor.subTask(transferring(length, transferAddress));
-			StringBuilder buf = new StringBuilder();
-			for (int i = 0; i < length.divide(dataCellSize).intValue(); i++) {
-				if (i != 0) {
-					buf.append(" "); //$NON-NLS-1$
-				}
-				BigInteger from = transferAddress.add(dataCellSize.multiply(BigInteger.valueOf(i)));
-				MemoryByte[] bytes = read.from(from, dataCellSize.longValue());
-				for (int byteIndex = 0; byteIndex < bytes.length; byteIndex++) {
-					//FIXME: check MemoryByte#isReadable
-					String bString = BigInteger.valueOf(0xFF & bytes[byteIndex].getValue()).toString(16);
-					if (bString.length() == 1) {
-						buf.append("0"); //$NON-NLS-1$
+		BigInteger blockLength = dataCellsPerLine.multiply(BigInteger.valueOf(LINES_PER_BLOCK));
+		try (ReadAhead blocks = new ReadAhead(read, start, end, blockLength, BigInteger.ONE)) {
+			ReadAhead.Block block;
+			while ((block = blocks.next(monitor)) != null) {
+				monitor.subTask(transferring(block.length(), block.address()));
+				MemoryByte[] bytes = block.bytes();
+				int cells = block.length().intValue();
+				StringBuilder buf = new StringBuilder(cells * (unitSize * 2 + 1));
+				for (int line = 0; line < cells; line += dataCellsPerLine.intValue()) {
+					int lineEnd = Math.min(line + dataCellsPerLine.intValue(), cells);
+					for (int i = line; i < lineEnd; i++) {
+						if (i != line) {
+							buf.append(' ');
+						}
+						for (int byteIndex = i * unitSize; byteIndex < (i + 1) * unitSize
+								&& byteIndex < bytes.length; byteIndex++) {
+							//FIXME: check MemoryByte#isReadable
+							hex.toHexDigits(buf, bytes[byteIndex].getValue());
+						}
+					}
+					buf.append('\n');
+					jobCount = jobCount.add(BigInteger.ONE);
+					if (jobCount.compareTo(factor) == 0) {
+						jobCount = BigInteger.ZERO;
+						monitor.worked(1);
 					}
-					buf.append(bString);
 				}
-			}
-			output.write(buf.toString().toUpperCase().getBytes());
-			output.write("\n".getBytes()); //$NON-NLS-1$
-			transferAddress = transferAddress.add(length);
-			jobCount = jobCount.add(BigInteger.ONE);
-			if (jobCount.compareTo(factor) == 0) {
-				jobCount = BigInteger.ZERO;
-				monitor.worked(1);
+				output.write(buf.toString().getBytes(StandardCharsets.US_ASCII));
 			}
 		}
 	}
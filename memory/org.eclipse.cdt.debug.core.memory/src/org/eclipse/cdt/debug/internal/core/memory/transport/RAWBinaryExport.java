@@ -18,6 +18,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
@@ -33,31 +37,47 @@ public final class RAWBinaryExport extends FileExport {
 
 	@Override
 	protected BigInteger chunkSize() {
-		return BigInteger.valueOf(1024);
+		return BigInteger.valueOf(64 * 1024);
+	}
+
+	@Override
+	protected void transfer(FileChannel channel, BigInteger factor, IProgressMonitor monitor)
+			throws IOException, DebugException {
+		transfer((WritableByteChannel) channel, factor, monitor);
 	}
 
 	@Override
 	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException {
-		BigInteger transferAddress = start;
+		transfer(Channels.newChannel(output), factor, monitor);
+	}
+
+	private void transfer(WritableByteChannel channel, BigInteger factor, IProgressMonitor monitor)
+			throws IOException, DebugException {
 		BigInteger jobCount = BigInteger.ZERO;
-		BigInteger chunkSize = chunkSize();
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = chunkSize;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
-			}
-			monitor.subTask(transferring(length, transferAddress));
-			MemoryByte[] byteValues = read.from(transferAddress, length.longValue() / addressable.longValue());
-			for (MemoryByte memoryByte : byteValues) {
-				//FIXME: check MemoryByte#isReadable
-				output.write(memoryByte.getValue());
-			}
-			transferAddress = transferAddress.add(length);
-			jobCount = jobCount.add(BigInteger.ONE);
-			if (jobCount.compareTo(factor) == 0) {
-				jobCount = BigInteger.ZERO;
-				monitor.worked(1);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(chunkSize().intValue());
+		try (ReadAhead blocks = new ReadAhead(read, start, end, chunkSize(), addressable)) {
+			ReadAhead.Block block;
+			while ((block = blocks.next(monitor)) != null) {
+				monitor.subTask(transferring(block.length(), block.address()));
+				MemoryByte[] byteValues = block.bytes();
+				buffer.clear();
+				if (buffer.capacity() < byteValues.length) {
+					buffer = ByteBuffer.allocateDirect(byteValues.length);
+				}
+				for (MemoryByte memoryByte : byteValues) {
+					//FIXME: check MemoryByte#isReadable
+					buffer.put(memoryByte.getValue());
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				jobCount = jobCount.add(BigInteger.ONE);
+				if (jobCount.compareTo(factor) == 0) {
+					jobCount = BigInteger.ZERO;
+					monitor.worked(1);
+				}
 			}
 		}
 	}
@@ -19,6 +19,8 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.eclipse.cdt.debug.core.memory.transport.FileImport;
 import org.eclipse.cdt.debug.core.memory.transport.IScrollMemory;
@@ -26,33 +28,38 @@ import org.eclipse.cdt.debug.core.memory.transport.ImportRequest;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.debug.core.DebugException;
 
-public final class RAWBinaryImport extends FileImport<FileInputStream> {
+public final class RAWBinaryImport extends FileImport<FileChannel> {
 
 	public RAWBinaryImport(File input, ImportRequest request, IScrollMemory scroll) {
 		super(input, request, scroll);
 	}
 
 	@Override
-	protected FileInputStream input(File file) throws FileNotFoundException {
-		return new FileInputStream(file);
+	protected FileChannel input(File file) throws FileNotFoundException {
+		return new FileInputStream(file).getChannel();
 	}
 
 	@Override
-	protected void transfer(FileInputStream input, BigInteger factor, IProgressMonitor monitor)
+	protected void transfer(FileChannel input, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException {
-		byte[] byteValues = new byte[1024];
-		int actualByteCount = input.read(byteValues);
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
 		BigInteger recordAddress = start;
-		while (actualByteCount != -1 && !monitor.isCanceled()) {
-			byte data[] = new byte[actualByteCount];
-			for (int i = 0; i < data.length; i++) {
-				data[i] = byteValues[i];
+		while (!monitor.isCanceled()) {
+			buffer.clear();
+			while (buffer.hasRemaining() && input.read(buffer) != -1) {
+				// fill the buffer
+			}
+			buffer.flip();
+			int actualByteCount = buffer.remaining();
+			if (actualByteCount == 0) {
+				break;
 			}
+			byte data[] = new byte[actualByteCount];
+			buffer.get(data);
 			write.to(recordAddress.subtract(base), data);
 			BigInteger jobCount = BigInteger.valueOf(actualByteCount).divide(factor);
 			monitor.worked(jobCount.intValue());
 			recordAddress = recordAddress.add(BigInteger.valueOf(actualByteCount));
-			actualByteCount = input.read(byteValues);
 		}
 		scroll.accept(start);
 	}
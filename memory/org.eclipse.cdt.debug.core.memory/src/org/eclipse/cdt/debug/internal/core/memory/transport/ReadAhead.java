@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.internal.core.memory.transport;
+
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * Reads memory in blocks on a background thread, ahead of the consumer, such that reading
+ * the target overlaps with writing the previous blocks to a file.
+ *
+ */
+public final class ReadAhead implements AutoCloseable {
+
+	/**
+	 * A block of memory
+	 */
+	public static final class Block {
+		private final BigInteger address;
+		private final BigInteger length;
+		private final MemoryByte[] bytes;
+
+		Block(BigInteger address, BigInteger length, MemoryByte[] bytes) {
+			this.address = address;
+			this.length = length;
+			this.bytes = bytes;
+		}
+
+		public BigInteger address() {
+			return address;
+		}
+
+		public BigInteger length() {
+			return length;
+		}
+
+		public MemoryByte[] bytes() {
+			return bytes;
+		}
+	}
+
+	/** Number of blocks read ahead of the consumer */
+	private static final int DEPTH = 4;
+	private static final long CANCEL_POLL_INTERVAL = 100;
+	private static final Block END = new Block(null, null, null);
+	/** Name of the thread reading the memory */
+	public static final String THREAD_NAME = "Memory Transport Read-Ahead"; //$NON-NLS-1$
+
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(DEPTH);
+	private final Thread thread;
+	private volatile boolean closed;
+	private boolean done;
+
+	/**
+	 * Starts reading the memory between <code>start</code> (inclusive) and <code>end</code> (exclusive).
+	 *
+	 * @param read the memory to read
+	 * @param blockLength the distance between the addresses of consecutive blocks
+	 * @param unitLength the divisor of the block length giving the number of units to read
+	 */
+	public ReadAhead(IReadMemory read, BigInteger start, BigInteger end, BigInteger blockLength,
+			BigInteger unitLength) {
+		thread = new Thread(() -> {
+			try {
+				BigInteger address = start;
+				while (address.compareTo(end) < 0) {
+					BigInteger length = blockLength.min(end.subtract(address));
+					MemoryByte[] bytes = read.from(address, length.divide(unitLength).longValue());
+					if (!put(new Block(address, length, bytes)))
+						return;
+					address = address.add(length);
+				}
+				put(END);
+			} catch (DebugException | RuntimeException e) {
+				put(e);
+			}
+		}, THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Adds an item to the queue, waiting for space as long as the consumer has not closed it.
+	 * The interruption by {@link #close()} may be consumed by the read of the memory, hence the
+	 * flag is checked rather than blocking until interrupted.
+	 *
+	 * @return whether the item was added
+	 */
+	private boolean put(Object item) {
+		try {
+			while (!closed) {
+				if (queue.offer(item, CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS))
+					return true;
+			}
+		} catch (InterruptedException e) {
+			// closed
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the next block of memory, waiting for it to be read if necessary.
+	 *
+	 * @return the next block or <code>null</code> when all blocks have been returned or the monitor is canceled
+	 * @throws DebugException if reading the block failed
+	 */
+	public Block next(IProgressMonitor monitor) throws DebugException {
+		while (!done && !monitor.isCanceled()) {
+			Object next;
+			try {
+				next = queue.poll(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+			if (next == END) {
+				done = true;
+			} else if (next instanceof DebugException) {
+				done = true;
+				throw (DebugException) next;
+			} else if (next instanceof RuntimeException) {
+				done = true;
+				throw (RuntimeException) next;
+			} else if (next != null) {
+				return (Block) next;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		thread.interrupt();
+	}
+
+}
@@ -18,6 +18,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
@@ -40,75 +42,64 @@ public final class SRecordExport extends FileExport {
 	@Override
 	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException {
+		final HexFormat hex = HexFormat.of().withUpperCase();
 		final BigInteger DATA_PER_RECORD = chunkSize();
 		final BigInteger DATA_PER_TRANSFER = BigInteger.valueOf(4096).multiply(DATA_PER_RECORD);
 		BigInteger jobCount = BigInteger.ZERO;
-		BigInteger transferAddress = start;
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = DATA_PER_TRANSFER;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
-			}
-			monitor.subTask(transferring(length, transferAddress));
-			MemoryByte[] bytes = read.from(transferAddress, length.longValue() / addressable.longValue());
-			BigInteger sRecordAddress = transferAddress;
-			BigInteger sRecordEndAddress = transferAddress.add(length);
-			while (sRecordAddress.compareTo(sRecordEndAddress) < 0 && !monitor.isCanceled()) {
-				BigInteger sRecordDataLength = DATA_PER_RECORD;
-				if (sRecordEndAddress.subtract(sRecordAddress).compareTo(sRecordDataLength) < 0) {
-					sRecordDataLength = end.subtract(sRecordAddress);
-				}
-				output.write("S3".getBytes()); // FIXME 4 byte address //$NON-NLS-1$
-
+		try (ReadAhead blocks = new ReadAhead(read, start, end, DATA_PER_TRANSFER, addressable)) {
+			ReadAhead.Block block;
+			while ((block = blocks.next(monitor)) != null && !monitor.isCanceled()) {
+				BigInteger transferAddress = block.address();
+				BigInteger length = block.length();
+				monitor.subTask(transferring(length, transferAddress));
+				MemoryByte[] bytes = block.bytes();
 				StringBuilder buf = new StringBuilder();
-				BigInteger sRecordLength = BigInteger.valueOf(4); // address size
-				sRecordLength = sRecordLength.add(sRecordDataLength);
-				sRecordLength = sRecordLength.add(BigInteger.ONE); // checksum
-				String transferAddressString = sRecordAddress.toString(16);
-				String lengthString = sRecordLength.toString(16);
-				if (lengthString.length() == 1) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(lengthString);
-				for (int i = 0; i < 8 - transferAddressString.length(); i++) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(transferAddressString);
-				final int byteOffset = sRecordAddress.subtract(transferAddress).intValue();
-				final int byteLength = byteOffset + sRecordDataLength.intValue();
-				for (int byteIndex = byteOffset; byteIndex < byteLength; byteIndex++) {
-					//FIXME: check MemoryByte#isReadable
-					String bString = BigInteger.valueOf(0xFF & bytes[byteIndex].getValue()).toString(16);
-					if (bString.length() == 1) {
-						buf.append("0"); //$NON-NLS-1$
+				BigInteger sRecordAddress = transferAddress;
+				BigInteger sRecordEndAddress = transferAddress.add(length);
+				while (sRecordAddress.compareTo(sRecordEndAddress) < 0 && !monitor.isCanceled()) {
+					BigInteger sRecordDataLength = DATA_PER_RECORD;
+					if (sRecordEndAddress.subtract(sRecordAddress).compareTo(sRecordDataLength) < 0) {
+						sRecordDataLength = end.subtract(sRecordAddress);
+					}
+					buf.append("S3"); // FIXME 4 byte address //$NON-NLS-1$
+
+					final int recordStart = buf.length();
+					BigInteger sRecordLength = BigInteger.valueOf(4); // address size
+					sRecordLength = sRecordLength.add(sRecordDataLength);
+					sRecordLength = sRecordLength.add(BigInteger.ONE); // checksum
+					String transferAddressString = sRecordAddress.toString(16).toUpperCase();
+					hex.toHexDigits(buf, sRecordLength.byteValue());
+					for (int i = 0; i < 8 - transferAddressString.length(); i++) {
+						buf.append('0');
+					}
+					buf.append(transferAddressString);
+					final int byteOffset = sRecordAddress.subtract(transferAddress).intValue();
+					final int byteLength = byteOffset + sRecordDataLength.intValue();
+					for (int byteIndex = byteOffset; byteIndex < byteLength; byteIndex++) {
+						//FIXME: check MemoryByte#isReadable
+						hex.toHexDigits(buf, bytes[byteIndex].getValue());
+					}
+					/*
+					 * The least significant byte of the one's complement of the sum of the values
+					 * represented by the pairs of characters making up the records length, address,
+					 * and the code/data fields.
+					 */
+					byte checksum = 0;
+					for (int i = recordStart; i < buf.length(); i += 2) {
+						checksum += (byte) ((Character.digit(buf.charAt(i), 16) << 4)
+								| Character.digit(buf.charAt(i + 1), 16));
+					}
+					hex.toHexDigits(buf, (byte) (0xFF - checksum));
+					buf.append('\n');
+					sRecordAddress = sRecordAddress.add(sRecordDataLength);
+					jobCount = jobCount.add(BigInteger.ONE);
+					if (jobCount.compareTo(factor) == 0) {
+						jobCount = BigInteger.ZERO;
+						monitor.worked(1);
 					}
-					buf.append(bString);
-				}
-				/*
-				 * The least significant byte of the one's complement of the sum of the values
-				 * represented by the pairs of characters making up the records length, address,
-				 * and the code/data fields.
-				 */
-				byte checksum = 0;
-				for (int i = 0; i < buf.length(); i += 2) {
-					BigInteger value = new BigInteger(buf.substring(i, i + 2), 16);
-					checksum += value.byteValue();
-				}
-				String bString = BigInteger.valueOf(0xFF - checksum).and(BigInteger.valueOf(0xFF)).toString(16);
-				if (bString.length() == 1) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(bString);
-				output.write(buf.toString().toUpperCase().getBytes());
-				output.write("\n".getBytes()); //$NON-NLS-1$
-				sRecordAddress = sRecordAddress.add(sRecordDataLength);
-				jobCount = jobCount.add(BigInteger.ONE);
-				if (jobCount.compareTo(factor) == 0) {
-					jobCount = BigInteger.ZERO;
-					monitor.worked(1);
 				}
+				output.write(buf.toString().getBytes(StandardCharsets.US_ASCII));
 			}
-			transferAddress = transferAddress.add(length);
 		}
 	}
 
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.ui.memory.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.debug.ui.memory.search.FindReplaceDialog.SearchPhrase;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.model.IMemoryBlockExtension;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+/**
+ * Tests the search of memory that is read in several blocks, with a memory block backed by an
+ * array.
+ */
+public class MemorySearchEngineTest {
+
+	private static final int BLOCK = MemorySearchEngine.INITIAL_BLOCK_SIZE;
+
+	private final byte[] fMemory = new byte[4 * BLOCK];
+	/** Address from which reads return no bytes, or -1 */
+	private int fReadLimit = -1;
+	private final AtomicInteger fConcurrentReads = new AtomicInteger();
+	private final AtomicInteger fMaxConcurrentReads = new AtomicInteger();
+
+	private final IMemoryBlockExtension fMemoryBlock = (IMemoryBlockExtension) Proxy.newProxyInstance(
+			getClass().getClassLoader(), new Class<?>[] { IMemoryBlockExtension.class }, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "getBytesFromAddress": //$NON-NLS-1$
+					return read(((BigInteger) args[0]).intValue(), ((Long) args[1]).intValue());
+				case "setValue": //$NON-NLS-1$
+					byte[] bytes = (byte[]) args[1];
+					System.arraycopy(bytes, 0, fMemory, ((BigInteger) args[0]).intValue(), bytes.length);
+					return null;
+				case "getBigBaseAddress": //$NON-NLS-1$
+					return BigInteger.ZERO;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+
+	private static class BytePhrase implements SearchPhrase {
+		private final byte[] fBytes;
+
+		BytePhrase(String phrase) {
+			fBytes = phrase.getBytes(StandardCharsets.ISO_8859_1);
+		}
+
+		@Override
+		public boolean isMatch(MemoryByte[] bytes) {
+			for (int i = 0; i < bytes.length; i++) {
+				if (bytes[i].getValue() != fBytes[i])
+					return false;
+			}
+			return true;
+		}
+
+		@Override
+		public int getByteLength() {
+			return fBytes.length;
+		}
+
+		@Override
+		public byte[][] getPatterns() {
+			return new byte[][] { fBytes };
+		}
+	}
+
+	private MemoryByte[] read(int address, int length) throws InterruptedException {
+		int concurrent = fConcurrentReads.incrementAndGet();
+		fMaxConcurrentReads.accumulateAndGet(concurrent, Math::max);
+		try {
+			// Give concurrent reads the chance to overlap
+			Thread.sleep(2);
+			if (fReadLimit >= 0)
+				length = Math.max(0, Math.min(length, fReadLimit - address));
+			MemoryByte[] bytes = new MemoryByte[length];
+			for (int i = 0; i < length; i++) {
+				bytes[i] = new MemoryByte(fMemory[address + i]);
+			}
+			return bytes;
+		} finally {
+			fConcurrentReads.decrementAndGet();
+		}
+	}
+
+	private void write(int address, String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.ISO_8859_1);
+		System.arraycopy(bytes, 0, fMemory, address, bytes.length);
+	}
+
+	/**
+	 * Searches the whole memory and returns the addresses of the matches in the order they
+	 * are reported. Each match is replaced with the given replacement unless it is null.
+	 */
+	private List<Integer> search(String phrase, boolean forward, String replacement) throws Exception {
+		List<Integer> matches = new ArrayList<>();
+		MemorySearchEngine engine = new MemorySearchEngine(fMemoryBlock, new BytePhrase(phrase), 2);
+		assertTrue(engine.search(BigInteger.ZERO, BigInteger.valueOf(fMemory.length - 1), forward,
+				replacement != null, (address, bytes) -> {
+					assertEquals(phrase.length(), bytes.length);
+					matches.add(address.intValue());
+					if (replacement != null)
+						write(address.intValue(), replacement);
+					return true;
+				}, "", new NullProgressMonitor())); //$NON-NLS-1$
+		return matches;
+	}
+
+	@Test
+	public void matchesSpanningBlocks() throws Exception {
+		write(0, "abcd"); //$NON-NLS-1$
+		write(BLOCK - 2, "abcd"); //$NON-NLS-1$
+		write(2 * BLOCK - 1, "abcd"); //$NON-NLS-1$
+		write(fMemory.length - 4, "abcd"); //$NON-NLS-1$
+		List<Integer> expected = Arrays.asList(0, BLOCK - 2, 2 * BLOCK - 1, fMemory.length - 4);
+		assertEquals(expected, search("abcd", true, null)); //$NON-NLS-1$
+
+		List<Integer> reversed = new ArrayList<>(expected);
+		Collections.reverse(reversed);
+		assertEquals(reversed, search("abcd", false, null)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void backwardMatchesSpanningBlocks() throws Exception {
+		// The first block of a backward search ends at the end of the memory
+		int boundary = fMemory.length - BLOCK;
+		write(boundary - 3, "abcd"); //$NON-NLS-1$
+		write(boundary - 20, "abcd"); //$NON-NLS-1$
+		assertEquals(Arrays.asList(boundary - 3, boundary - 20), search("abcd", false, null)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void noMatchSpansShortRead() throws Exception {
+		write(BLOCK - 2, "abcd"); //$NON-NLS-1$
+		write(BLOCK + 8, "abcd"); //$NON-NLS-1$
+		fReadLimit = BLOCK - 1;
+		assertEquals(Arrays.asList(), search("abcd", true, null)); //$NON-NLS-1$
+		fReadLimit = BLOCK + 12;
+		assertEquals(Arrays.asList(BLOCK - 2, BLOCK + 8), search("abcd", true, null)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void overlappingMatchesAreFound() throws Exception {
+		write(BLOCK - 2, "aaaa"); //$NON-NLS-1$
+		assertEquals(Arrays.asList(BLOCK - 2, BLOCK - 1, BLOCK), search("aa", true, null)); //$NON-NLS-1$
+		assertEquals(Arrays.asList(BLOCK, BLOCK - 1, BLOCK - 2), search("aa", false, null)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void replacedMatchesDoNotOverlap() throws Exception {
+		// The second replacement starts in the byte kept from the first block
+		write(BLOCK - 3, "aaaaaaa"); //$NON-NLS-1$
+		assertEquals(Arrays.asList(BLOCK - 3, BLOCK - 1, BLOCK + 1), search("aa", true, "ab")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertArrayEquals("abababa".getBytes(StandardCharsets.ISO_8859_1), //$NON-NLS-1$
+				Arrays.copyOfRange(fMemory, BLOCK - 3, BLOCK + 4));
+		assertEquals(Arrays.asList(), search("aa", true, "ab")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void replacedMatchesDoNotOverlapBackward() throws Exception {
+		int boundary = fMemory.length - BLOCK;
+		write(boundary - 4, "aaaaaaa"); //$NON-NLS-1$
+		assertEquals(Arrays.asList(boundary + 1, boundary - 1, boundary - 3), search("aa", false, "ba")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertArrayEquals("abababa".getBytes(StandardCharsets.ISO_8859_1), //$NON-NLS-1$
+				Arrays.copyOfRange(fMemory, boundary - 4, boundary + 3));
+	}
+
+	@Test
+	public void searchStopsWhenListenerStops() throws Exception {
+		write(16, "ab"); //$NON-NLS-1$
+		write(3 * BLOCK, "ab"); //$NON-NLS-1$
+		List<Integer> matches = new ArrayList<>();
+		assertTrue(new MemorySearchEngine(fMemoryBlock, new BytePhrase("ab"), 2).search(BigInteger.ZERO, //$NON-NLS-1$
+				BigInteger.valueOf(fMemory.length - 1), true, false, (address, bytes) -> {
+					matches.add(address.intValue());
+					return false;
+				}, "", new NullProgressMonitor())); //$NON-NLS-1$
+		assertEquals(Arrays.asList(16), matches);
+	}
+
+	@Test
+	public void memoryBlocksAreReadOneAtATimeUnlessThreadSafe() throws Exception {
+		assertFalse(MemorySearchEngine.supportsConcurrentReads(fMemoryBlock));
+		new MemorySearchEngine(fMemoryBlock, new BytePhrase("ab")).search(BigInteger.ZERO, //$NON-NLS-1$
+				BigInteger.valueOf(fMemory.length - 1), true, false, (address, bytes) -> true, "", //$NON-NLS-1$
+				new NullProgressMonitor());
+		assertEquals(1, fMaxConcurrentReads.get());
+	}
+}
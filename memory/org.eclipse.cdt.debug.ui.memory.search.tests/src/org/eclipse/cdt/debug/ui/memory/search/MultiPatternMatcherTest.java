@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.ui.memory.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+public class MultiPatternMatcherTest {
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static MemoryByte[] memory(String s) {
+		byte[] bytes = bytes(s);
+		MemoryByte[] memory = new MemoryByte[bytes.length];
+		for (int i = 0; i < bytes.length; i++) {
+			memory[i] = new MemoryByte(bytes[i]);
+		}
+		return memory;
+	}
+
+	/**
+	 * Returns the matches as "offset:length" in the order they are reported.
+	 */
+	private static List<String> scan(String text, boolean ignoreCase, String... patterns) {
+		byte[][] p = new byte[patterns.length][];
+		for (int i = 0; i < patterns.length; i++) {
+			p[i] = bytes(patterns[i]);
+		}
+		List<String> matches = new ArrayList<>();
+		MemoryByte[] memory = memory(text);
+		new MultiPatternMatcher(p, ignoreCase).scan(memory, 0, memory.length, (offset, length) -> {
+			matches.add(offset + ":" + length); //$NON-NLS-1$
+			return true;
+		});
+		return matches;
+	}
+
+	@Test
+	public void overlappingPatterns() {
+		assertEquals(Arrays.asList("1:3", "2:2", "2:4"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				scan("ushers", false, "he", "she", "his", "hers")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	@Test
+	public void overlappingOccurrences() {
+		assertEquals(Arrays.asList("0:2", "1:2", "2:2"), scan("aaaa", false, "aa")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	@Test
+	public void ignoreCase() {
+		assertEquals(Arrays.asList("0:3", "4:3"), scan("AbC aBc abd", true, "abc")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals(Arrays.asList(), scan("AbC aBc", false, "abc")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void bytesAboveAscii() {
+		assertEquals(Arrays.asList("1:2"), scan("\u00e1\u00ff\u0080\u00e1", true, "\u00ff\u0080")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// Only ASCII letters are folded
+		assertEquals(Arrays.asList(), scan("\u00c1", true, "\u00e1")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void duplicateAndEmptyPatterns() {
+		assertEquals(Arrays.asList("1:2"), scan("xaby", false, "ab", "", "ab")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals(Arrays.asList(), scan("xaby", false)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void scansRange() {
+		MemoryByte[] memory = memory("abab"); //$NON-NLS-1$
+		List<Integer> offsets = new ArrayList<>();
+		new MultiPatternMatcher(new byte[][] { bytes("ab") }, false).scan(memory, 1, 4, (offset, length) -> { //$NON-NLS-1$
+			offsets.add(offset);
+			return true;
+		});
+		assertEquals(Arrays.asList(2), offsets);
+	}
+
+	@Test
+	public void collectorStopsScan() {
+		MemoryByte[] memory = memory("ababab"); //$NON-NLS-1$
+		List<Integer> offsets = new ArrayList<>();
+		assertFalse(new MultiPatternMatcher(new byte[][] { bytes("ab") }, false).scan(memory, 0, memory.length, //$NON-NLS-1$
+				(offset, length) -> {
+					offsets.add(offset);
+					return offsets.size() < 2;
+				}));
+		assertEquals(Arrays.asList(0, 2), offsets);
+	}
+}
@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.ui.memory.search;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cdt.debug.ui.memory.search.FindReplaceDialog.SearchPhrase;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IMemoryBlockExtension;
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * Searches a range of memory for a phrase. Several blocks of memory are read concurrently to
+ * hide the latency of the target, if the memory block supports it, and the size of the blocks
+ * is adapted to the measured throughput. The blocks are matched in the order of the search as
+ * they arrive, only the bytes of a potential match that spans two blocks are kept from one
+ * block to the next.
+ */
+class MemorySearchEngine {
+
+	interface IMatchListener {
+		/**
+		 * Called for each match, in the direction of the search.
+		 * @param address address of the first byte of the match
+		 * @param bytes the matching bytes
+		 * @return whether to continue the search
+		 */
+		boolean matchFound(BigInteger address, MemoryByte[] bytes);
+	}
+
+	/** Number of reads that are outstanding at any time, for memory blocks that can be read concurrently */
+	static final int PIPELINE_DEPTH = 4;
+	/**
+	 * Memory blocks known to support concurrent reads. This plug-in does not depend on DSF,
+	 * the class is identified by name.
+	 */
+	private static final String CONCURRENT_MEMORY_BLOCK = "org.eclipse.cdt.dsf.debug.model.DsfMemoryBlock"; //$NON-NLS-1$
+	static final int MIN_BLOCK_SIZE = 4 * 1024;
+	static final int INITIAL_BLOCK_SIZE = 16 * 1024;
+	static final int MAX_BLOCK_SIZE = 1024 * 1024;
+	/** Reads taking longer than this make the search slow to cancel, the block size is reduced */
+	static final long MAX_READ_TIME = 500;
+	private static final int PROGRESS_UNITS = 1000;
+	private static final long CANCEL_POLL_INTERVAL = 100;
+
+	private static class Block {
+		final BigInteger fAddress;
+		final int fLength;
+		MemoryByte[] fBytes;
+		long fElapsed;
+
+		Block(BigInteger address, int length) {
+			fAddress = address;
+			fLength = length;
+		}
+	}
+
+	private final IMemoryBlockExtension fMemoryBlock;
+	private final SearchPhrase fPhrase;
+	private final MultiPatternMatcher fMatcher;
+	private final int fPipelineDepth;
+
+	private int fBlockSize = INITIAL_BLOCK_SIZE;
+	/** Throughput in bytes per millisecond of the previous block size */
+	private double fThroughput;
+	/**
+	 * For a search that skips overlapping matches, the end of the last reported match when
+	 * searching forward or its start when searching backward, <code>null</code> before the first.
+	 */
+	private BigInteger fReportedLimit;
+
+	MemorySearchEngine(IMemoryBlockExtension memoryBlock, SearchPhrase phrase) {
+		this(memoryBlock, phrase, supportsConcurrentReads(memoryBlock) ? PIPELINE_DEPTH : 1);
+	}
+
+	/**
+	 * @param pipelineDepth the number of reads that are outstanding at any time, memory blocks
+	 *            that are not thread-safe must be read one block at a time.
+	 */
+	MemorySearchEngine(IMemoryBlockExtension memoryBlock, SearchPhrase phrase, int pipelineDepth) {
+		fMemoryBlock = memoryBlock;
+		fPhrase = phrase;
+		fMatcher = new MultiPatternMatcher(phrase.getPatterns(), phrase.isCaseInsensitive());
+		fPipelineDepth = pipelineDepth;
+	}
+
+	/**
+	 * Returns whether {@link IMemoryBlockExtension#getBytesFromAddress(BigInteger, long)} of the
+	 * given memory block may be called by several threads at once.
+	 */
+	static boolean supportsConcurrentReads(IMemoryBlockExtension memoryBlock) {
+		for (Class<?> c = memoryBlock.getClass(); c != null; c = c.getSuperclass()) {
+			if (CONCURRENT_MEMORY_BLOCK.equals(c.getName()))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Searches the memory between <code>start</code> and <code>end</code> (both inclusive).
+	 * @param disjoint whether matches that overlap a previously reported match are skipped. This is
+	 *            required when the listener replaces the matches, the bytes kept from a block for
+	 *            the matches spanning two blocks are those read before the replacement.
+	 * @return <code>false</code> if the search was canceled.
+	 */
+	boolean search(BigInteger start, BigInteger end, boolean forward, boolean disjoint, IMatchListener listener,
+			String taskName, IProgressMonitor monitor) throws DebugException {
+		final int phraseLength = fPhrase.getByteLength();
+		final BigInteger range = end.subtract(start).add(BigInteger.ONE);
+		if (phraseLength == 0 || BigInteger.valueOf(phraseLength).compareTo(range) > 0)
+			return true;
+
+		monitor.beginTask(taskName, PROGRESS_UNITS);
+		fReportedLimit = null;
+		ExecutorService executor = Executors.newFixedThreadPool(fPipelineDepth, r -> {
+			Thread thread = new Thread(r, "Memory Search"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+		try {
+			BigInteger next = forward ? start : end;
+			BigInteger searched = BigInteger.ZERO;
+			int worked = 0;
+			MemoryByte[] carry = new MemoryByte[0];
+			while (true) {
+				// Keep the pipeline full
+				while (pending.size() < fPipelineDepth && next != null) {
+					final Block block;
+					if (forward) {
+						BigInteger remaining = end.subtract(next).add(BigInteger.ONE);
+						block = new Block(next, remaining.min(BigInteger.valueOf(fBlockSize)).intValue());
+						next = next.add(BigInteger.valueOf(block.fLength));
+						if (next.compareTo(end) > 0)
+							next = null;
+					} else {
+						BigInteger remaining = next.subtract(start).add(BigInteger.ONE);
+						int length = remaining.min(BigInteger.valueOf(fBlockSize)).intValue();
+						block = new Block(next.subtract(BigInteger.valueOf(length - 1)), length);
+						next = block.fAddress.subtract(BigInteger.ONE);
+						if (next.compareTo(start) < 0)
+							next = null;
+					}
+					pending.add(executor.submit(() -> read(block)));
+				}
+				if (pending.isEmpty())
+					return true;
+
+				Block block = waitFor(pending.peek(), monitor);
+				if (block == null)
+					return false;
+				pending.remove();
+				adaptBlockSize(block);
+
+				// A match can span the current block and the adjacent bytes kept from the previous one.
+				// Fewer bytes than requested are read from the start of the block, no match spans
+				// their end.
+				boolean complete = block.fBytes.length == block.fLength;
+				if (!complete && !forward)
+					carry = new MemoryByte[0];
+				if (!match(block, carry, forward, disjoint, listener))
+					return true;
+				carry = complete ? getCarry(block.fBytes, carry, forward, phraseLength - 1) : new MemoryByte[0];
+
+				searched = searched.add(BigInteger.valueOf(block.fLength));
+				int done = searched.multiply(BigInteger.valueOf(PROGRESS_UNITS)).divide(range).intValue();
+				monitor.worked(done - worked);
+				worked = done;
+			}
+		} finally {
+			for (Future<Block> future : pending)
+				future.cancel(true);
+			executor.shutdownNow();
+		}
+	}
+
+	private Block read(Block block) throws DebugException {
+		long startTime = System.currentTimeMillis();
+		block.fBytes = fMemoryBlock.getBytesFromAddress(block.fAddress, block.fLength);
+		block.fElapsed = System.currentTimeMillis() - startTime;
+		return block;
+	}
+
+	/**
+	 * Waits for a read to complete, the search is canceled if the monitor is canceled.
+	 * @return the block or <code>null</code> if the search is canceled.
+	 */
+	private Block waitFor(Future<Block> future, IProgressMonitor monitor) throws DebugException {
+		while (!monitor.isCanceled()) {
+			try {
+				return future.get(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// Check for cancellation
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof DebugException)
+					throw (DebugException) e.getCause();
+				throw new RuntimeException(e.getCause());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Larger blocks reduce the number of round trips to the target, the block size is
+	 * doubled as long as that increases the throughput and the reads remain short enough
+	 * for the search to be canceled promptly. It is halved when the reads become too slow.
+	 */
+	private void adaptBlockSize(Block block) {
+		if (block.fLength != fBlockSize)
+			return; // The last block of the range, or a block of a previous size
+		double throughput = (double) block.fLength / Math.max(block.fElapsed, 1);
+		if (block.fElapsed > MAX_READ_TIME) {
+			fBlockSize = Math.max(fBlockSize / 2, MIN_BLOCK_SIZE);
+		} else if (throughput > fThroughput && block.fElapsed < MAX_READ_TIME / 2) {
+			fBlockSize = Math.min(fBlockSize * 2, MAX_BLOCK_SIZE);
+		}
+		fThroughput = throughput;
+	}
+
+	/**
+	 * Matches the bytes of a block, preceded or followed by the bytes kept from the
+	 * previous block depending on the direction of the search.
+	 * @return whether to continue the search
+	 */
+	private boolean match(Block block, MemoryByte[] carry, boolean forward, boolean disjoint,
+			IMatchListener listener) {
+		final MemoryByte[] bytes = new MemoryByte[carry.length + block.fBytes.length];
+		final BigInteger address;
+		if (forward) {
+			System.arraycopy(carry, 0, bytes, 0, carry.length);
+			System.arraycopy(block.fBytes, 0, bytes, carry.length, block.fBytes.length);
+			address = block.fAddress.subtract(BigInteger.valueOf(carry.length));
+		} else {
+			System.arraycopy(block.fBytes, 0, bytes, 0, block.fBytes.length);
+			System.arraycopy(carry, 0, bytes, block.fBytes.length, carry.length);
+			address = block.fAddress;
+		}
+
+		if (forward) {
+			return fMatcher.scan(bytes, 0, bytes.length, (offset, length) -> {
+				BigInteger matchAddress = address.add(BigInteger.valueOf(offset));
+				if (disjoint && fReportedLimit != null && matchAddress.compareTo(fReportedLimit) < 0)
+					return true;
+				MemoryByte[] match = Arrays.copyOfRange(bytes, offset, offset + length);
+				if (!fPhrase.isMatch(match))
+					return true;
+				fReportedLimit = matchAddress.add(BigInteger.valueOf(length));
+				return listener.matchFound(matchAddress, match);
+			});
+		}
+
+		// Report the matches of a backward search from the highest address
+		final int length = fPhrase.getByteLength();
+		final List<Integer> offsets = new ArrayList<>();
+		fMatcher.scan(bytes, 0, bytes.length, (offset, l) -> offsets.add(offset));
+		for (int i = offsets.size() - 1; i >= 0; i--) {
+			int offset = offsets.get(i);
+			BigInteger matchAddress = address.add(BigInteger.valueOf(offset));
+			if (disjoint && fReportedLimit != null
+					&& matchAddress.add(BigInteger.valueOf(length)).compareTo(fReportedLimit) > 0)
+				continue;
+			MemoryByte[] match = Arrays.copyOfRange(bytes, offset, offset + length);
+			if (!fPhrase.isMatch(match))
+				continue;
+			fReportedLimit = matchAddress;
+			if (!listener.matchFound(matchAddress, match))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the bytes of the block, and of the previous carry if the block is smaller,
+	 * that a match in the next block can start or end with.
+	 */
+	private static MemoryByte[] getCarry(MemoryByte[] bytes, MemoryByte[] carry, boolean forward, int length) {
+		MemoryByte[] result = new MemoryByte[Math.min(length, bytes.length + carry.length)];
+		if (forward) {
+			int fromBytes = Math.min(result.length, bytes.length);
+			int fromCarry = result.length - fromBytes;
+			System.arraycopy(carry, carry.length - fromCarry, result, 0, fromCarry);
+			System.arraycopy(bytes, bytes.length - fromBytes, result, fromCarry, fromBytes);
+		} else {
+			int fromBytes = Math.min(result.length, bytes.length);
+			System.arraycopy(bytes, 0, result, 0, fromBytes);
+			System.arraycopy(carry, 0, result, fromBytes, result.length - fromBytes);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.debug.ui.memory.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * Finds all occurrences of a set of byte patterns in a single pass over memory (Aho-Corasick).
+ * The automaton is built once per search and is a complete transition table, such that every
+ * byte of memory is examined exactly once regardless of the number of patterns.
+ */
+class MultiPatternMatcher {
+
+	interface IMatchCollector {
+		/**
+		 * Called for each occurrence of a pattern, in the order of the end of the occurrences.
+		 * @param offset index of the first byte of the occurrence
+		 * @param length length of the pattern
+		 * @return whether to continue scanning
+		 */
+		boolean matchFound(int offset, int length);
+	}
+
+	private static final int ALPHABET_SIZE = 256;
+	private static final int[] NO_OUTPUT = new int[0];
+
+	private final boolean fIgnoreCase;
+	/** Transitions of the automaton by state and byte value */
+	private final int[][] fTransitions;
+	/** Lengths of the patterns ending in each state */
+	private final int[][] fOutputs;
+
+	/**
+	 * @param patterns the patterns to search for, empty patterns are ignored.
+	 * @param ignoreCase whether ASCII letters match regardless of their case.
+	 */
+	MultiPatternMatcher(byte[][] patterns, boolean ignoreCase) {
+		fIgnoreCase = ignoreCase;
+
+		// Build the trie of the patterns
+		List<int[]> transitions = new ArrayList<>();
+		List<int[]> outputs = new ArrayList<>();
+		transitions.add(newState());
+		outputs.add(NO_OUTPUT);
+		for (byte[] pattern : patterns) {
+			if (pattern.length == 0)
+				continue;
+			int state = 0;
+			for (byte b : pattern) {
+				int c = fold(b);
+				if (transitions.get(state)[c] < 0) {
+					transitions.get(state)[c] = transitions.size();
+					transitions.add(newState());
+					outputs.add(NO_OUTPUT);
+				}
+				state = transitions.get(state)[c];
+			}
+			if (outputs.get(state).length == 0) {
+				// Duplicate patterns are reported once
+				outputs.set(state, new int[] { pattern.length });
+			}
+		}
+		fTransitions = transitions.toArray(new int[transitions.size()][]);
+		fOutputs = outputs.toArray(new int[outputs.size()][]);
+
+		// Complete the transitions with the failure links, breadth first
+		int[] failure = new int[fTransitions.length];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int c = 0; c < ALPHABET_SIZE; c++) {
+			int next = fTransitions[0][c];
+			if (next < 0) {
+				fTransitions[0][c] = 0;
+			} else {
+				failure[next] = 0;
+				queue.add(next);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			fOutputs[state] = concat(fOutputs[state], fOutputs[failure[state]]);
+			for (int c = 0; c < ALPHABET_SIZE; c++) {
+				int next = fTransitions[state][c];
+				if (next < 0) {
+					fTransitions[state][c] = fTransitions[failure[state]][c];
+				} else {
+					failure[next] = fTransitions[failure[state]][c];
+					queue.add(next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reports the occurrences of the patterns within <code>bytes[from..to-1]</code>.
+	 * @return whether the scan was completed, i.e. the collector did not stop it.
+	 */
+	boolean scan(MemoryByte[] bytes, int from, int to, IMatchCollector collector) {
+		int state = 0;
+		for (int i = from; i < to; i++) {
+			state = fTransitions[state][fold(bytes[i].getValue())];
+			for (int length : fOutputs[state]) {
+				if (!collector.matchFound(i - length + 1, length))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private int fold(byte b) {
+		int c = b & 0xFF;
+		if (fIgnoreCase && c >= 'a' && c <= 'z')
+			return c - 'a' + 'A';
+		return c;
+	}
+
+	private static int[] newState() {
+		int[] state = new int[ALPHABET_SIZE];
+		Arrays.fill(state, -1);
+		return state;
+	}
+
+	private static int[] concat(int[] a, int[] b) {
+		if (b.length == 0)
+			return a;
+		if (a.length == 0)
+			return b;
+		int[] result = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		return result;
+	}
+}